@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Startup benchmark for the verification services: time to readiness (/readyz answers 200) and time to
+# the first verification response, both measured from process launch, over several cold starts.
+#
+#   infra/scripts/startup-benchmark.sh <attestation|gateway> <jar|cds|native> [runs=5]
+#
+# Build the variant first (see the cds/native profiles in the service pom):
+#   jar:    mvn -DskipTests package -pl services/<svc>-service -am
+#   cds:    mvn -Pcds -DskipTests package -pl services/<svc>-service -am
+#   native: mvn -Pnative -DskipTests package -pl services/<svc>-service -am
+#           (attestation: add -Dspring-boot.aot.jvmArguments="-Dagenttrust.attestation.replay.backend=local",
+#            the benchmark runs without Redis)
+#
+# The first request is deliberately rejected (malformed signature) so it needs no keys, Redis or
+# attestation-service behind the gateway, yet still runs the full MVC + Jackson + Problem Details path.
+# Target: readiness under 1 s for attestation-service and gateway-service.
+set -euo pipefail
+
+SERVICE="${1:?usage: $0 <attestation|gateway> <jar|cds|native> [runs]}"
+MODE="${2:?usage: $0 <attestation|gateway> <jar|cds|native> [runs]}"
+RUNS="${3:-5}"
+PORT="${BENCH_PORT:-18181}"
+ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/../.." && pwd)"
+TARGET="$ROOT/services/$SERVICE-service/target"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="$SERVICE-service-0.0.1-SNAPSHOT.jar"
+
+app_args=(--server.port="$PORT")
+case "$SERVICE" in
+  attestation)
+    app_args+=(--agenttrust.attestation.replay.backend=local --management.health.redis.enabled=false)
+    first_request=(-H 'Content-Type: application/json'
+      -d '{"method":"POST","authority":"merchant.local","path":"/v1/agent/verify","tenantId":"__platform__","signatureInput":"sig1=()","signature":"sig1=:AA==:"}'
+      "http://localhost:$PORT/v1/attestations/verify")
+    ;;
+  gateway)
+    first_request=(-H 'Host: merchant.local' -H 'Signature-Input: malformed' -H 'Signature: sig1=:AA==:'
+      "http://localhost:$PORT/v1/agent/verify")
+    ;;
+  *) echo "unknown service: $SERVICE" >&2; exit 2 ;;
+esac
+
+case "$MODE" in
+  jar)    cmd=("$JAVA" -jar "$TARGET/$JAR") ;;
+  cds)    cmd=("$JAVA" -XX:SharedArchiveFile="$TARGET/cds/application.jsa" -Xlog:cds=error -jar "$TARGET/cds/$JAR") ;;
+  native) cmd=("$TARGET/$SERVICE-service") ;;
+  *) echo "unknown mode: $MODE" >&2; exit 2 ;;
+esac
+
+now_ms() { date +%s%3N; }
+
+ready_times=()
+first_times=()
+for run in $(seq 1 "$RUNS"); do
+  log="$(mktemp)"
+  start=$(now_ms)
+  "${cmd[@]}" "${app_args[@]}" > "$log" 2>&1 &
+  pid=$!
+
+  ready=""
+  until [[ -n "$ready" ]]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "run $run: process exited before readiness; log: $log" >&2
+      exit 1
+    fi
+    if curl -fs -o /dev/null "http://localhost:$PORT/readyz"; then
+      ready=$(( $(now_ms) - start ))
+    else
+      sleep 0.01
+    fi
+  done
+  curl -s -o /dev/null -X POST "${first_request[@]}"
+  first=$(( $(now_ms) - start ))
+
+  kill "$pid" && wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  ready_times+=("$ready")
+  first_times+=("$first")
+  echo "run $run: ready ${ready} ms, first verification response ${first} ms"
+done
+
+summary() {
+  sort -n | awk '{ v[NR] = $1 } END { printf "min %d ms, median %d ms, max %d ms\n", v[1], v[int((NR + 1) / 2)], v[NR] }'
+}
+echo "$SERVICE ($MODE), $RUNS runs"
+echo "  time to ready:         $(printf '%s\n' "${ready_times[@]}" | summary)"
+echo "  time to first request: $(printf '%s\n' "${first_times[@]}" | summary)"
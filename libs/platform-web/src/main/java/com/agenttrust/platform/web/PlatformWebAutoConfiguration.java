@@ -1,31 +1,73 @@
 package com.agenttrust.platform.web;
 
+import com.agenttrust.platform.web.admission.AdaptiveConcurrencyLimitFilter;
+import com.agenttrust.platform.web.admission.AdmissionProperties;
 import com.agenttrust.platform.web.observability.RequestCorrelationFilter;
+import com.agenttrust.platform.web.observability.TraceContextSource;
+import com.agenttrust.platform.web.observability.TracerTraceContextSource;
 import com.agenttrust.platform.web.problem.GlobalProblemHandler;
+import com.agenttrust.platform.web.problem.ProblemRuntimeHints;
+import com.agenttrust.platform.web.warmup.WarmUp;
+import com.agenttrust.platform.web.warmup.WarmUpProperties;
+import com.agenttrust.platform.web.warmup.WarmUpTask;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
-import org.springframework.core.Ordered;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Auto-configuration for shared web primitives.
  *
  * This ensures services that depend on platform-web automatically get:
- * - RequestCorrelationFilter (traceparent + X-Correlation-Id handling)
+ * - RequestCorrelationFilter (traceparent + X-Correlation-Id handling; reports the server span's
+ *   context when Micrometer Tracing is present)
+ * - AdaptiveConcurrencyLimitFilter (load shedding; agenttrust.platform.admission.*)
  * - GlobalProblemHandler (RFC 9457 Problem Details responses)
+ * - native-image hints for ProblemDetails (ProblemRuntimeHints)
+ * - WarmUp (runs the service's WarmUpTask beans before readiness; agenttrust.platform.warmup.*)
+ *
+ * Filter order: Boot's ServerHttpObservationFilter (HIGHEST_PRECEDENCE + 1) starts the server span
+ * first, then correlation, then admission control, so shed requests still carry trace ids.
  *
  * Note: This class is activated via META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports
  * (added as the next Sprint 1 file).
  */
 @AutoConfiguration
+@EnableConfigurationProperties({AdmissionProperties.class, WarmUpProperties.class})
+@ImportRuntimeHints(ProblemRuntimeHints.class)
 public class PlatformWebAutoConfiguration {
 
     @Bean
-    public FilterRegistrationBean<RequestCorrelationFilter> requestCorrelationFilter() {
+    public FilterRegistrationBean<RequestCorrelationFilter> requestCorrelationFilter(
+            ObjectProvider<TraceContextSource> traceContextSource) {
         FilterRegistrationBean<RequestCorrelationFilter> bean = new FilterRegistrationBean<>();
-        bean.setFilter(new RequestCorrelationFilter());
+        bean.setFilter(new RequestCorrelationFilter(traceContextSource.getIfAvailable(() -> TraceContextSource.NONE)));
         bean.setName("agenttrustRequestCorrelationFilter");
-        bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        bean.setOrder(RequestCorrelationFilter.ORDER);
+        bean.addUrlPatterns("/*");
+        return bean;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "agenttrust.platform.admission", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(
+            AdmissionProperties props) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> bean = new FilterRegistrationBean<>();
+        bean.setFilter(new AdaptiveConcurrencyLimitFilter(props));
+        bean.setName("agenttrustAdaptiveConcurrencyLimitFilter");
+        bean.setOrder(RequestCorrelationFilter.ORDER + 1);
         bean.addUrlPatterns("/*");
         return bean;
     }
@@ -34,4 +76,48 @@ public class PlatformWebAutoConfiguration {
     public GlobalProblemHandler globalProblemHandler() {
         return new GlobalProblemHandler();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WarmUp warmUp(WarmUpProperties props, ObjectProvider<WarmUpTask> tasks) {
+        return new WarmUp(props, tasks.orderedStream().toList());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Tracer.class)
+    static class TracingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(TraceContextSource.class)
+        TraceContextSource tracerTraceContextSource(ObjectProvider<Tracer> tracer) {
+            Tracer t = tracer.getIfAvailable();
+            return (t == null) ? TraceContextSource.NONE : new TracerTraceContextSource(t);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class AdmissionMetricsConfiguration {
+
+        @Bean
+        MeterBinder admissionMetrics(
+                ObjectProvider<FilterRegistrationBean<AdaptiveConcurrencyLimitFilter>> adaptiveConcurrencyLimitFilter) {
+            return registry -> {
+                FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> bean = adaptiveConcurrencyLimitFilter.getIfAvailable();
+                if (bean == null) {
+                    return;
+                }
+                AdaptiveConcurrencyLimitFilter filter = bean.getFilter();
+                Gauge.builder("agenttrust.admission.limit", filter, AdaptiveConcurrencyLimitFilter::limit)
+                        .description("Current adaptive concurrency limit")
+                        .register(registry);
+                Gauge.builder("agenttrust.admission.inflight", filter, AdaptiveConcurrencyLimitFilter::inflight)
+                        .description("Admitted requests in flight")
+                        .register(registry);
+                FunctionCounter.builder("agenttrust.admission.rejected", filter, AdaptiveConcurrencyLimitFilter::rejected)
+                        .description("Requests shed with 503 by admission control")
+                        .register(registry);
+            };
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.agenttrust.platform.web.admission;
+
+import com.agenttrust.platform.web.observability.RequestCorrelationFilter;
+import com.agenttrust.platform.web.problem.ProblemTemplate;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control: caps requests in flight at an adaptive (AIMD) limit and sheds the excess
+ * with 503 Problem Details instead of letting them queue on the container's thread pool.
+ *
+ * The limit grows while requests complete within {@code latencyThreshold} and backs off when a
+ * request is slower, answers 503/504 or throws (a downstream dependency is struggling), so a slow
+ * dependency turns into fast rejections rather than an ever-growing backlog of waiting threads.
+ *
+ * Probe paths ({@code exemptPaths}) are neither limited nor counted, so liveness/readiness keep
+ * answering while the service sheds load.
+ *
+ * Runs right after RequestCorrelationFilter so rejections still carry traceId/requestId.
+ */
+public final class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final ProblemTemplate OVERLOADED = ProblemTemplate.of(
+            URI.create("https://agenttrust.dev/problems/overloaded"),
+            "Service overloaded",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "OVERLOADED");
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AimdLimit limit;
+    private final long latencyThresholdNanos;
+    private final String[] exemptPaths;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimitFilter(AdmissionProperties props) {
+        this(props, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimitFilter(AdmissionProperties props, LongSupplier nanoClock) {
+        if (props.getLatencyThreshold() == null || props.getLatencyThreshold().isNegative()
+                || props.getLatencyThreshold().isZero()) {
+            throw new IllegalArgumentException("agenttrust.platform.admission.latency-threshold must be positive");
+        }
+        this.limit = new AimdLimit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(),
+                props.getBackoffRatio(), nanoClock.getAsLong());
+        this.latencyThresholdNanos = props.getLatencyThreshold().toNanos();
+        List<String> paths = props.getExemptPaths();
+        this.exemptPaths = paths.toArray(String[]::new);
+        this.nanoClock = nanoClock;
+    }
+
+    public int limit() {
+        return limit.limit();
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path == null) {
+            return false;
+        }
+        for (String prefix : exemptPaths) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        int current = inflight.incrementAndGet();
+        if (current > limit.limit()) {
+            inflight.decrementAndGet();
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = nanoClock.getAsLong();
+        boolean threw = true;
+        try {
+            filterChain.doFilter(request, response);
+            threw = false;
+        } finally {
+            inflight.decrementAndGet();
+            long end = nanoClock.getAsLong();
+            int status = response.getStatus();
+            // A thrown exception leaves the status at 200; it must not count as a request served in time.
+            boolean overloaded = threw
+                    || end - start > latencyThresholdNanos
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+            limit.onSample(start, end, current, overloaded);
+        }
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = OVERLOADED.render(
+                "Too many requests in flight; retry shortly.",
+                request.getRequestURI(),
+                attr(request, RequestCorrelationFilter.ATTR_TRACE_ID),
+                attr(request, RequestCorrelationFilter.ATTR_REQUEST_ID),
+                null);
+        response.setStatus(OVERLOADED.status());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(ProblemTemplate.PROBLEM_JSON.toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String attr(HttpServletRequest request, String name) {
+        Object v = request.getAttribute(name);
+        return (v instanceof String s) ? s : null;
+    }
+}
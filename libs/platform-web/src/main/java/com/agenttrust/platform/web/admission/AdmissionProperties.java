@@ -0,0 +1,95 @@
+package com.agenttrust.platform.web.admission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive concurrency limit (load shedding) for every service using platform-web.
+ */
+@ConfigurationProperties(prefix = "agenttrust.platform.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Concurrent requests admitted before the limit has adapted.
+     */
+    private int initialLimit = 100;
+
+    private int minLimit = 10;
+
+    private int maxLimit = 1000;
+
+    /**
+     * Multiplicative decrease applied when a request signals overload.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * A request slower than this (or answered 503/504) signals overload. Set above the normal p99.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Path prefixes never shed, so probes keep answering under load.
+     */
+    private List<String> exemptPaths = new ArrayList<>(List.of("/healthz", "/readyz", "/livez", "/actuator"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public List<String> getExemptPaths() {
+        return exemptPaths;
+    }
+
+    public void setExemptPaths(List<String> exemptPaths) {
+        this.exemptPaths = (exemptPaths == null) ? new ArrayList<>() : new ArrayList<>(exemptPaths);
+    }
+}
@@ -0,0 +1,77 @@
+package com.agenttrust.platform.web.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additive-increase / multiplicative-decrease concurrency limit.
+ *
+ * A request that completes in time while the limit was at least half used grows the limit by
+ * 1/limit, i.e. by about one per limit's worth of requests. A request that signals overload shrinks
+ * it by {@code backoffRatio}, once per episode: requests that started before the last decrease were
+ * admitted under the old limit and do not shrink it again, so one slow burst does not collapse the
+ * limit to the minimum.
+ *
+ * Lock-free: the limit is a double kept in an AtomicLong and, like the episode start, updated by CAS.
+ */
+final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long nowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("admission limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("admission backoffRatio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        this.lastDecreaseNanos = new AtomicLong(nowNanos);
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @param startNanos when the request was admitted
+     * @param inflight   requests in flight when it was admitted, itself included
+     * @param overloaded the request was too slow, answered 503/504 or threw
+     */
+    void onSample(long startNanos, long endNanos, int inflight, boolean overloaded) {
+        if (overloaded) {
+            for (;;) {
+                long last = lastDecreaseNanos.get();
+                if (startNanos - last < 0) {
+                    return;
+                }
+                // Only the sample that moves the episode start decreases, so racing samples back off once.
+                if (lastDecreaseNanos.compareAndSet(last, endNanos)) {
+                    update(-1);
+                    return;
+                }
+            }
+        } else if (inflight * 2 >= limit()) {
+            update(+1);
+        }
+    }
+
+    private void update(int direction) {
+        for (;;) {
+            long bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = (direction > 0)
+                    ? Math.min(maxLimit, current + 1.0 / current)
+                    : Math.max(minLimit, current * backoffRatio);
+            if (next == current || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -5,12 +5,15 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 /**
@@ -24,11 +27,15 @@ import java.util.UUID;
  * - sets request attributes used by GlobalProblemHandler to populate RFC9457 extensions
  * - stores traceId/correlationId in MDC for structured logging
  *
- * Note: In Sprint 1 we generate traceparent when missing so every request has a traceId,
- * even before OpenTelemetry export is wired (later sprint).
+ * Trace context comes from the active server span when a tracer is present (see
+ * {@link TraceContextSource}); otherwise the incoming traceparent is used, or a new one is generated
+ * so every request has a traceId even without OpenTelemetry.
  */
 public final class RequestCorrelationFilter extends OncePerRequestFilter {
 
+    /** Registration order: right after Boot's ServerHttpObservationFilter (HIGHEST_PRECEDENCE + 1). */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
     public static final String HEADER_CORRELATION_ID = "X-Correlation-Id";
     public static final String HEADER_TRACEPARENT = "traceparent";
     public static final String HEADER_TRACESTATE = "tracestate";
@@ -43,7 +50,36 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
 
     private static final int MAX_CORRELATION_ID_LEN = 128;
 
-    private static final SecureRandom RNG = new SecureRandom();
+    private static final int MAX_TRACESTATE_LEN = 512;
+
+    /**
+     * Seeds only. Per-request ids come from a thread-local SplittableRandom, so the hot path never
+     * touches SecureRandom's lock. Correlation/trace ids need uniqueness, not unpredictability.
+     */
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+    private static final ThreadLocal<SplittableRandom> RNG =
+            ThreadLocal.withInitial(() -> new SplittableRandom(SEED_SOURCE.nextLong()));
+
+    private final TraceContextSource traceContextSource;
+
+    public RequestCorrelationFilter() {
+        this(TraceContextSource.NONE);
+    }
+
+    public RequestCorrelationFilter(TraceContextSource traceContextSource) {
+        this.traceContextSource = Objects.requireNonNull(traceContextSource, "traceContextSource");
+    }
+
+    /**
+     * traceparent for an outbound call made on behalf of a request: same trace and flags, fresh
+     * parent-id, so the callee's span hangs off this hop instead of off the original caller.
+     *
+     * @return null when {@code traceparent} is not a valid version-00 traceparent
+     */
+    public static String childTraceparent(String traceparent) {
+        TraceContext parent = TraceContext.parse(traceparent);
+        return (parent == null) ? null : parent.child().traceparent();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -52,15 +88,21 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
 
         String correlationId = sanitizeCorrelationId(request.getHeader(HEADER_CORRELATION_ID));
         if (correlationId == null) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = newCorrelationId();
         }
 
         TraceContext traceContext = TraceContext.parse(request.getHeader(HEADER_TRACEPARENT));
+        TraceContext span = TraceContext.parse(traceContextSource.currentTraceparent());
+        // A span that did not continue the caller's trace (tracer with propagation off) must not
+        // replace the caller's trace id.
+        if (span != null && (traceContext == null || span.traceId().equals(traceContext.traceId()))) {
+            traceContext = span;
+        }
         if (traceContext == null) {
             traceContext = TraceContext.newRoot();
         }
 
-        String tracestate = sanitizeHeaderValue(request.getHeader(HEADER_TRACESTATE), 512);
+        String tracestate = sanitizeHeaderValue(request.getHeader(HEADER_TRACESTATE), MAX_TRACESTATE_LEN);
 
         // Request attributes (used by GlobalProblemHandler for RFC9457 extensions)
         request.setAttribute(ATTR_REQUEST_ID, correlationId);
@@ -89,7 +131,7 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
         }
     }
 
-    private static String sanitizeCorrelationId(String raw) {
+    static String sanitizeCorrelationId(String raw) {
         String v = sanitizeHeaderValue(raw, MAX_CORRELATION_ID_LEN);
         if (v == null || v.isBlank()) {
             return null;
@@ -101,22 +143,65 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
      * Removes control characters, trims, and enforces a maximum length.
      * We intentionally avoid strict regex enforcement to prevent breaking real clients,
      * while still protecting logs/headers from unbounded or control-char input.
+     *
+     * Single pass, no regex: a well-formed value that needs no trimming or truncation is returned
+     * as-is (no allocation).
      */
-    private static String sanitizeHeaderValue(String raw, int maxLen) {
+    static String sanitizeHeaderValue(String raw, int maxLen) {
         if (raw == null) {
             return null;
         }
-        String trimmed = raw.trim();
-        if (trimmed.isEmpty()) {
+
+        // Same bounds as String.trim(): strip chars <= ' ' at both ends.
+        int start = 0;
+        int end = raw.length();
+        while (start < end && raw.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && raw.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
             return null;
         }
 
-        // Remove ASCII control chars (0x00-0x1F, 0x7F)
-        String cleaned = trimmed.replaceAll("[\\x00-\\x1F\\x7F]+", "");
-        if (cleaned.length() > maxLen) {
-            cleaned = cleaned.substring(0, maxLen);
+        int firstControl = -1;
+        for (int i = start; i < end; i++) {
+            if (isControl(raw.charAt(i))) {
+                firstControl = i;
+                break;
+            }
+        }
+
+        if (firstControl < 0) {
+            int limit = Math.min(end, start + maxLen);
+            return (start == 0 && limit == raw.length()) ? raw : raw.substring(start, limit);
+        }
+
+        // Rare path: drop ASCII control chars (0x00-0x1F, 0x7F), then truncate.
+        char[] out = new char[Math.min(end - start, maxLen)];
+        int n = 0;
+        for (int i = start; i < end && n < out.length; i++) {
+            char c = raw.charAt(i);
+            if (!isControl(c)) {
+                out[n++] = c;
+            }
         }
-        return cleaned;
+        return new String(out, 0, n);
+    }
+
+    private static boolean isControl(char c) {
+        return c < 0x20 || c == 0x7F;
+    }
+
+    /**
+     * Random (version 4 layout) UUID string without going through UUID.randomUUID()'s SecureRandom.
+     */
+    static String newCorrelationId() {
+        SplittableRandom rng = RNG.get();
+        long msb = (rng.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (rng.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
     }
 
     /**
@@ -125,14 +210,19 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
      */
     static final class TraceContext {
 
+        private static final int TRACEPARENT_LEN = 55;   // "00-" + 32 + "-" + 16 + "-" + 2
+        private static final int TRACE_ID_OFFSET = 3;
+        private static final int PARENT_ID_OFFSET = 36;
+        private static final int FLAGS_OFFSET = 53;
+
+        private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private final String traceparent;
         private final String traceId;
-        private final String parentId;
-        private final String flags;
 
-        private TraceContext(String traceId, String parentId, String flags) {
-            this.traceId = Objects.requireNonNull(traceId, "traceId");
-            this.parentId = Objects.requireNonNull(parentId, "parentId");
-            this.flags = Objects.requireNonNull(flags, "flags");
+        private TraceContext(String traceparent) {
+            this.traceparent = Objects.requireNonNull(traceparent, "traceparent");
+            this.traceId = traceparent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + 32);
         }
 
         String traceId() {
@@ -140,76 +230,117 @@ public final class RequestCorrelationFilter extends OncePerRequestFilter {
         }
 
         String traceparent() {
-            return "00-" + traceId + "-" + parentId + "-" + flags;
+            return traceparent;
         }
 
+        /**
+         * Parses a version-00 traceparent in place (fixed offsets, no split/regex).
+         * Surrounding whitespace and upper-case hex are tolerated; the normalized form is lower-case.
+         */
         static TraceContext parse(String traceparent) {
             if (traceparent == null) {
                 return null;
             }
-            String v = traceparent.trim().toLowerCase(Locale.ROOT);
-            String[] parts = v.split("-");
-            if (parts.length != 4) {
+
+            int start = 0;
+            int end = traceparent.length();
+            while (start < end && traceparent.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && traceparent.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (end - start != TRACEPARENT_LEN) {
                 return null;
             }
 
-            String version = parts[0];
-            String traceId = parts[1];
-            String parentId = parts[2];
-            String flags = parts[3];
-
-            if (version.length() != 2) return null;
-            if (!isLowerHex(version, 2)) return null;
-
-            if (traceId.length() != 32) return null;
-            if (!isLowerHex(traceId, 32)) return null;
-            if (isAllZeros(traceId)) return null;
-
-            if (parentId.length() != 16) return null;
-            if (!isLowerHex(parentId, 16)) return null;
-            if (isAllZeros(parentId)) return null;
-
-            if (flags.length() != 2) return null;
-            if (!isLowerHex(flags, 2)) return null;
-
             // We intentionally accept only version "00" for now.
-            if (!"00".equals(version)) {
-                return null;
+            if (traceparent.charAt(start) != '0' || traceparent.charAt(start + 1) != '0') return null;
+            if (traceparent.charAt(start + 2) != '-') return null;
+            if (traceparent.charAt(start + PARENT_ID_OFFSET - 1) != '-') return null;
+            if (traceparent.charAt(start + FLAGS_OFFSET - 1) != '-') return null;
+
+            boolean upper = false;
+            for (int i = TRACE_ID_OFFSET; i < TRACEPARENT_LEN; i++) {
+                if (i == PARENT_ID_OFFSET - 1 || i == FLAGS_OFFSET - 1) {
+                    continue;
+                }
+                int kind = hexKind(traceparent.charAt(start + i));
+                if (kind < 0) return null;
+                upper |= kind == 1;
             }
 
-            return new TraceContext(traceId, parentId, flags);
+            if (isAllZeros(traceparent, start + TRACE_ID_OFFSET, 32)) return null;
+            if (isAllZeros(traceparent, start + PARENT_ID_OFFSET, 16)) return null;
+
+            String normalized = (start == 0 && end == traceparent.length())
+                    ? traceparent
+                    : traceparent.substring(start, end);
+            if (upper) {
+                normalized = normalized.toLowerCase(Locale.ROOT);
+            }
+            return new TraceContext(normalized);
         }
 
         static TraceContext newRoot() {
-            String traceId = randomHex(16);  // 16 bytes => 32 hex chars
-            String parentId = randomHex(8);  // 8 bytes => 16 hex chars
-            String flags = "01"; // sampled; later OpenTelemetry will control this
-            return new TraceContext(traceId, parentId, flags);
-        }
-
-        private static String randomHex(int bytes) {
-            byte[] b = new byte[bytes];
-            RNG.nextBytes(b);
-            StringBuilder sb = new StringBuilder(bytes * 2);
-            for (byte value : b) {
-                sb.append(Character.forDigit((value >> 4) & 0xF, 16));
-                sb.append(Character.forDigit(value & 0xF, 16));
-            }
-            return sb.toString();
+            SplittableRandom rng = RNG.get();
+
+            byte[] buf = new byte[TRACEPARENT_LEN];
+            buf[0] = '0';
+            buf[1] = '0';
+            buf[2] = '-';
+            long hi;
+            long lo;
+            do {
+                hi = rng.nextLong();
+                lo = rng.nextLong();
+            } while (hi == 0 && lo == 0);
+            writeHex(buf, TRACE_ID_OFFSET, hi);
+            writeHex(buf, TRACE_ID_OFFSET + 16, lo);
+            buf[PARENT_ID_OFFSET - 1] = '-';
+            long parent;
+            do {
+                parent = rng.nextLong();
+            } while (parent == 0);
+            writeHex(buf, PARENT_ID_OFFSET, parent);
+            buf[FLAGS_OFFSET - 1] = '-';
+            buf[FLAGS_OFFSET] = '0';
+            buf[FLAGS_OFFSET + 1] = '1'; // sampled; with a tracer the server span's context is used instead
+
+            return new TraceContext(new String(buf, StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Same trace id and flags, new random parent-id.
+         */
+        TraceContext child() {
+            byte[] buf = traceparent.getBytes(StandardCharsets.US_ASCII);
+            long parent;
+            do {
+                parent = RNG.get().nextLong();
+            } while (parent == 0);
+            writeHex(buf, PARENT_ID_OFFSET, parent);
+            return new TraceContext(new String(buf, StandardCharsets.US_ASCII));
         }
 
-        private static boolean isLowerHex(String s, int len) {
-            if (s.length() != len) return false;
-            for (int i = 0; i < s.length(); i++) {
-                char c = s.charAt(i);
-                boolean ok = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
-                if (!ok) return false;
+        private static void writeHex(byte[] buf, int offset, long value) {
+            for (int i = 15; i >= 0; i--) {
+                buf[offset + i] = HEX[(int) (value & 0xF)];
+                value >>>= 4;
             }
-            return true;
         }
 
-        private static boolean isAllZeros(String s) {
-            for (int i = 0; i < s.length(); i++) {
+        /**
+         * @return 0 for [0-9a-f], 1 for [A-F], -1 otherwise
+         */
+        private static int hexKind(char c) {
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')) return 0;
+            if (c >= 'A' && c <= 'F') return 1;
+            return -1;
+        }
+
+        private static boolean isAllZeros(String s, int offset, int len) {
+            for (int i = offset; i < offset + len; i++) {
                 if (s.charAt(i) != '0') {
                     return false;
                 }
@@ -0,0 +1,22 @@
+package com.agenttrust.platform.web.observability;
+
+/**
+ * Supplies the trace context RequestCorrelationFilter should report for the current request.
+ *
+ * With a tracer, the server span is started before RequestCorrelationFilter runs; the filter then
+ * echoes that span's context (so traceId in logs, Problem Details and exported spans agree) instead
+ * of parsing or generating its own.
+ */
+@FunctionalInterface
+public interface TraceContextSource {
+
+    /**
+     * No tracer: RequestCorrelationFilter parses the incoming traceparent or starts a new trace.
+     */
+    TraceContextSource NONE = () -> null;
+
+    /**
+     * @return W3C traceparent of the span active on the calling thread, or null when there is none
+     */
+    String currentTraceparent();
+}
@@ -0,0 +1,33 @@
+package com.agenttrust.platform.web.observability;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * {@link TraceContextSource} backed by Micrometer Tracing (e.g. the OpenTelemetry bridge).
+ */
+public final class TracerTraceContextSource implements TraceContextSource {
+
+    private final Tracer tracer;
+
+    public TracerTraceContextSource(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String currentTraceparent() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        TraceContext context = span.context();
+        String traceId = context.traceId();
+        String spanId = context.spanId();
+        if (traceId == null || traceId.length() != 32 || spanId == null || spanId.length() != 16) {
+            // Noop tracer or a non-W3C id format: let the filter fall back to the incoming header.
+            return null;
+        }
+        return "00-" + traceId + "-" + spanId + (Boolean.TRUE.equals(context.sampled()) ? "-01" : "-00");
+    }
+}
@@ -5,7 +5,6 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,18 +26,24 @@ public class GlobalProblemHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalProblemHandler.class);
 
-    private static final MediaType PROBLEM_JSON = MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON);
-
     // Stable problem type identifiers (human-readable and linkable later).
     private static final URI TYPE_VALIDATION = URI.create("https://agenttrust.dev/problems/validation-error");
     private static final URI TYPE_BAD_REQUEST = URI.create("https://agenttrust.dev/problems/bad-request");
     private static final URI TYPE_INTERNAL = URI.create("https://agenttrust.dev/problems/internal-error");
 
+    // Static members are pre-rendered once; only request-specific members are written per response.
+    private static final ProblemTemplate VALIDATION_FAILED =
+            ProblemTemplate.of(TYPE_VALIDATION, "Validation failed", HttpStatus.BAD_REQUEST, "VALIDATION_ERROR");
+    private static final ProblemTemplate BAD_REQUEST =
+            ProblemTemplate.of(TYPE_BAD_REQUEST, "Bad request", HttpStatus.BAD_REQUEST, "BAD_REQUEST");
+    private static final ProblemTemplate INTERNAL_ERROR =
+            ProblemTemplate.of(TYPE_INTERNAL, "Internal error", HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR");
+
     private static final int MAX_DETAIL_CHARS = 300;
     private static final int MAX_LOG_CHARS = 500;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ProblemDetails> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+    public ResponseEntity<byte[]> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                        HttpServletRequest request) {
         String detail = ex.getBindingResult()
                 .getFieldErrors()
@@ -46,48 +51,42 @@ public class GlobalProblemHandler {
                 .map(fe -> fe.getField() + ": " + defaultIfBlank(fe.getDefaultMessage(), "invalid"))
                 .collect(Collectors.joining("; "));
 
-        return problem(HttpStatus.BAD_REQUEST, TYPE_VALIDATION, "Validation failed",
-                normalizeDetail(detail), request, "VALIDATION_ERROR");
+        return problem(VALIDATION_FAILED, normalizeDetail(detail), request);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<ProblemDetails> handleConstraintViolation(ConstraintViolationException ex,
+    public ResponseEntity<byte[]> handleConstraintViolation(ConstraintViolationException ex,
                                                                     HttpServletRequest request) {
         String detail = ex.getConstraintViolations()
                 .stream()
                 .map(v -> v.getPropertyPath() + ": " + v.getMessage())
                 .collect(Collectors.joining("; "));
 
-        return problem(HttpStatus.BAD_REQUEST, TYPE_VALIDATION, "Validation failed",
-                normalizeDetail(detail), request, "VALIDATION_ERROR");
+        return problem(VALIDATION_FAILED, normalizeDetail(detail), request);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ProblemDetails> handleIllegalArgument(IllegalArgumentException ex,
+    public ResponseEntity<byte[]> handleIllegalArgument(IllegalArgumentException ex,
                                                                 HttpServletRequest request) {
         // Do not echo raw message (can leak internals). Log it instead.
         log.warn("Bad request: {}", safeForLog(ex.getMessage()));
-        return problem(HttpStatus.BAD_REQUEST, TYPE_BAD_REQUEST, "Bad request",
-                "Invalid request.", request, "BAD_REQUEST");
+        return problem(BAD_REQUEST, "Invalid request.", request);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ProblemDetails> handleUnhandled(Exception ex,
+    public ResponseEntity<byte[]> handleUnhandled(Exception ex,
                                                           HttpServletRequest request) {
         // Log full stack trace for operators; response stays generic.
         log.error("Unhandled exception on {} {}", request.getMethod(), request.getRequestURI(), ex);
-        return problem(HttpStatus.INTERNAL_SERVER_ERROR, TYPE_INTERNAL, "Internal error",
-                "An unexpected error occurred.", request, "INTERNAL_ERROR");
+        return problem(INTERNAL_ERROR, "An unexpected error occurred.", request);
     }
 
-    private ResponseEntity<ProblemDetails> problem(HttpStatus status,
-                                                   URI type,
-                                                   String title,
-                                                   String detail,
-                                                   HttpServletRequest request,
-                                                   String errorCode) {
+    private ResponseEntity<byte[]> problem(ProblemTemplate template,
+                                           String detail,
+                                           HttpServletRequest request) {
 
-        URI instance = toInstanceUri(request);
+        // RFC 9457: instance is a URI reference; the path-only request URI is acceptable.
+        String instance = request.getRequestURI();
 
         // These attributes will be set by request filters later in Sprint 1/2.
         String traceId = attr(request, "agenttrust.traceId");
@@ -96,22 +95,7 @@ public class GlobalProblemHandler {
         // Only include tenantId if trusted middleware already derived it (never from body).
         String tenantId = attr(request, "agenttrust.tenantId");
 
-        ProblemDetails body = new ProblemDetails(
-                type,
-                title,
-                status.value(),
-                detail,
-                instance,
-                errorCode,
-                traceId,
-                requestId,
-                tenantId
-        );
-
-        return ResponseEntity
-                .status(status)
-                .contentType(PROBLEM_JSON)
-                .body(body);
+        return template.toResponse(detail, instance, traceId, requestId, tenantId);
     }
 
     private static String attr(HttpServletRequest request, String key) {
@@ -119,20 +103,6 @@ public class GlobalProblemHandler {
         return (v instanceof String s && !s.isBlank()) ? s : null;
     }
 
-    private static URI toInstanceUri(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        if (path == null || path.isBlank()) {
-            return URI.create("/");
-        }
-        try {
-            // RFC 9457: instance is a URI reference; path-only is acceptable.
-            return URI.create(path);
-        } catch (IllegalArgumentException e) {
-            // Never fail during error handling.
-            return URI.create("/");
-        }
-    }
-
     private static String normalizeDetail(String raw) {
         return sanitizeString(raw, MAX_DETAIL_CHARS);
     }
@@ -0,0 +1,20 @@
+package com.agenttrust.platform.web.problem;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for Problem Details.
+ *
+ * Handlers return {@link ProblemDetails} through Jackson databind (GlobalProblemHandler,
+ * ResponseEntity bodies), which needs reflective access to the record's components and canonical
+ * constructor. AOT infers that for controller return types, not for exception handlers and filters.
+ */
+public class ProblemRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ProblemDetails.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.agenttrust.platform.web.problem;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-rendered RFC 9457 problem for hot failure paths.
+ *
+ * The static members (type, title, status, errorCode) are JSON-encoded once at construction.
+ * Per response, a Jackson streaming generator writes only the request-specific members
+ * (detail, instance, traceId, requestId, tenantId) and splices the static fragments in as raw bytes.
+ * No ProblemDetails record or databind serialization is involved.
+ *
+ * Output is byte-for-byte what the default ObjectMapper produces for the equivalent
+ * {@link ProblemDetails}: same member order, null members written as null.
+ * Instances are immutable and thread-safe; create them once (e.g. one per error code).
+ */
+public final class ProblemTemplate {
+
+    public static final MediaType PROBLEM_JSON = MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final int status;
+    /** {@code "type":...,"title":...,"status":N,} - the trailing comma precedes "detail". */
+    private final SerializedString head;
+    /** {@code ,"errorCode":...} between "instance" and "traceId". */
+    private final SerializedString errorCode;
+
+    private ProblemTemplate(int status, SerializedString head, SerializedString errorCode) {
+        this.status = status;
+        this.head = head;
+        this.errorCode = errorCode;
+    }
+
+    public static ProblemTemplate of(URI type, String title, HttpStatusCode status, String errorCode) {
+        // Reuse the record's invariants (type/title/status) so both paths reject the same inputs.
+        ProblemDetails.of(type, title, status.value());
+
+        String head = members(g -> {
+            g.writeStringField("type", type.toString());
+            g.writeStringField("title", title);
+            g.writeNumberField("status", status.value());
+        });
+        String code = members(g -> writeNullable(g, "errorCode", errorCode));
+        return new ProblemTemplate(status.value(), new SerializedString(head + ","), new SerializedString("," + code));
+    }
+
+    public int status() {
+        return status;
+    }
+
+    /**
+     * @param instance request path (RFC 9457 instance, URI reference); "/" when null, blank or not a URI
+     * @return UTF-8 application/problem+json body
+     */
+    public byte[] render(String detail, String instance, String traceId, String requestId, String tenantId) {
+        ByteArrayBuilder out = new ByteArrayBuilder(256);
+        try (JsonGenerator g = JSON.createGenerator(out)) {
+            g.writeStartObject();
+            // The generator has not written a member yet, so it puts no comma before "detail".
+            g.writeRaw(head);
+            writeNullable(g, "detail", detail);
+            g.writeStringField("instance", instance(instance));
+            g.writeRaw(errorCode);
+            writeNullable(g, "traceId", traceId);
+            writeNullable(g, "requestId", requestId);
+            writeNullable(g, "tenantId", tenantId);
+            g.writeEndObject();
+        } catch (IOException e) {
+            // ByteArrayBuilder never throws; keep the signature clean for callers.
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public ResponseEntity<byte[]> toResponse(String detail,
+                                             String instance,
+                                             String traceId,
+                                             String requestId,
+                                             String tenantId) {
+        return ResponseEntity
+                .status(status)
+                .contentType(PROBLEM_JSON)
+                .body(render(detail, instance, traceId, requestId, tenantId));
+    }
+
+    private static void writeNullable(JsonGenerator g, String name, String value) throws IOException {
+        if (value != null) {
+            g.writeStringField(name, value);
+        } else {
+            g.writeNullField(name);
+        }
+    }
+
+    /**
+     * Same fallback as the URI-typed ProblemDetails.instance: "/" for anything that is not a URI reference.
+     */
+    private static String instance(String instance) {
+        if (instance == null || instance.isBlank()) {
+            return "/";
+        }
+        try {
+            return URI.create(instance).toString();
+        } catch (IllegalArgumentException e) {
+            return "/";
+        }
+    }
+
+    /**
+     * JSON object members written by {@code body}, without the enclosing braces.
+     */
+    private static String members(MemberWriter body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator g = JSON.createGenerator(out)) {
+            g.writeStartObject();
+            body.write(g);
+            g.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String json = out.toString(StandardCharsets.UTF_8);
+        return json.substring(1, json.length() - 1);
+    }
+
+    @FunctionalInterface
+    private interface MemberWriter {
+        void write(JsonGenerator g) throws IOException;
+    }
+
+    @Override
+    public String toString() {
+        return "ProblemTemplate{status=" + status + ", members=" + head.getValue() + errorCode.getValue() + "}";
+    }
+}
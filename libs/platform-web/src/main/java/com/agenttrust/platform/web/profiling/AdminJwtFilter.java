@@ -0,0 +1,149 @@
+package com.agenttrust.platform.web.profiling;
+
+import com.agenttrust.platform.web.observability.RequestCorrelationFilter;
+import com.agenttrust.platform.web.problem.ProblemTemplate;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Guards operator endpoints (the jfr actuator endpoint, attestation-service's key registry API) in
+ * services without Spring Security: requires an admin-service bearer token carrying the configured
+ * role, answering 401/403 with the same Problem Details as admin-service's own security chain.
+ */
+public final class AdminJwtFilter extends OncePerRequestFilter {
+
+    /** Registration order: after correlation and admission control, so rejections carry trace ids. */
+    public static final int ORDER = RequestCorrelationFilter.ORDER + 2;
+
+    static final ProblemTemplate UNAUTHORIZED = ProblemTemplate.of(
+            URI.create("https://agenttrust.dev/problems/unauthorized"),
+            "Unauthorized",
+            HttpStatus.UNAUTHORIZED,
+            "AUTH_UNAUTHORIZED");
+
+    static final ProblemTemplate FORBIDDEN = ProblemTemplate.of(
+            URI.create("https://agenttrust.dev/problems/forbidden"),
+            "Forbidden",
+            HttpStatus.FORBIDDEN,
+            "AUTH_FORBIDDEN");
+
+    static final ProblemTemplate UNAVAILABLE = ProblemTemplate.of(
+            URI.create("https://agenttrust.dev/problems/service-unavailable"),
+            "Service unavailable",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "AUTH_KEYS_UNAVAILABLE");
+
+    private static final String BEARER = "Bearer ";
+
+    private static final Duration JWKS_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration JWKS_TTL = Duration.ofMinutes(5);
+    private static final Duration JWKS_MIN_REFRESH = Duration.ofSeconds(30);
+
+    private final AdminJwtVerifier verifier;
+
+    AdminJwtFilter(AdminJwtVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    /**
+     * Filter checking tokens against admin-service's key set at {@code jwksUri}.
+     *
+     * @param role value required in the token's "roles" claim (case-insensitive)
+     */
+    public static AdminJwtFilter forAdminService(URI jwksUri, String issuer, String role) {
+        return new AdminJwtFilter(new AdminJwtVerifier(jwksFetcher(jwksUri), issuer, role, Clock.systemUTC(),
+                JWKS_TTL, JWKS_MIN_REFRESH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String token = (authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length()))
+                ? authorization.substring(BEARER.length()).trim()
+                : null;
+        try {
+            verifier.verify(token);
+        } catch (AdminJwtVerifier.Rejected e) {
+            ProblemTemplate problem = switch (e.status()) {
+                case 403 -> FORBIDDEN;
+                case 503 -> UNAVAILABLE;
+                default -> UNAUTHORIZED;
+            };
+            if (problem == UNAUTHORIZED) {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            }
+            write(request, response, problem, e.getMessage());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response,
+                              ProblemTemplate problem, String detail) throws IOException {
+        byte[] body = problem.render(
+                detail,
+                request.getRequestURI(),
+                attr(request, RequestCorrelationFilter.ATTR_TRACE_ID),
+                attr(request, RequestCorrelationFilter.ATTR_REQUEST_ID),
+                null);
+        response.setStatus(problem.status());
+        response.setContentType(ProblemTemplate.PROBLEM_JSON.toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String attr(HttpServletRequest request, String name) {
+        Object v = request.getAttribute(name);
+        return (v instanceof String s) ? s : null;
+    }
+
+    /**
+     * Conditional GET: admin-service answers 304 to a matching If-None-Match, and the previous
+     * body is reused.
+     */
+    private static Supplier<String> jwksFetcher(URI jwksUri) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(JWKS_TIMEOUT).build();
+        AtomicReference<HttpResponse<String>> last = new AtomicReference<>();
+        return () -> {
+            HttpResponse<String> previous = last.get();
+            HttpRequest.Builder request = HttpRequest.newBuilder(jwksUri).timeout(JWKS_TIMEOUT).GET();
+            if (previous != null) {
+                previous.headers().firstValue("ETag").ifPresent(etag -> request.header("If-None-Match", etag));
+            }
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 304 && previous != null) {
+                    return previous.body();
+                }
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("JWKS fetch returned " + response.statusCode());
+                }
+                last.set(response);
+                return response.body();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("JWKS fetch interrupted", e);
+            }
+        };
+    }
+}
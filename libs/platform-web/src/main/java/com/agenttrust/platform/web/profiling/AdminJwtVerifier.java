@@ -0,0 +1,233 @@
+package com.agenttrust.platform.web.profiling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.AlgorithmParameters;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Checks admin-service access tokens (RS256, ES256 or EdDSA; "roles" claim) against admin-service's
+ * JWKS, for services that do not run Spring Security. The header alg must match the JWK found for
+ * the kid.
+ *
+ * The key set is fetched lazily and cached for {@code keySetTtl}; a token with an unknown kid
+ * triggers a refetch at most once per {@code minRefreshInterval}, so key rotation is picked up
+ * without letting bogus kids hammer admin-service.
+ */
+final class AdminJwtVerifier {
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+    private static final Base64.Decoder B64URL = Base64.getUrlDecoder();
+    private static final Set<String> ALGORITHMS = Set.of("RS256", "ES256", "EdDSA");
+
+    /**
+     * ASN.1 DER SubjectPublicKeyInfo prefix for Ed25519 (raw 32-byte key follows).
+     */
+    private static final byte[] ED25519_SPKI_PREFIX = {
+        0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00
+    };
+
+    private final Supplier<String> jwksSource;
+    private final String issuer;
+    private final String role;
+    private final Clock clock;
+    private final long keySetTtlMillis;
+    private final long minRefreshMillis;
+    private final ObjectMapper json = new ObjectMapper();
+
+    private volatile Map<String, JwkKey> keys = Map.of();
+    private volatile long fetchedAt;
+    private volatile long lastFetchAttempt = Long.MIN_VALUE / 2;
+
+    AdminJwtVerifier(Supplier<String> jwksSource, String issuer, String role, Clock clock,
+                     Duration keySetTtl, Duration minRefreshInterval) {
+        this.jwksSource = jwksSource;
+        this.issuer = issuer;
+        this.role = role;
+        this.clock = clock;
+        this.keySetTtlMillis = keySetTtl.toMillis();
+        this.minRefreshMillis = minRefreshInterval.toMillis();
+    }
+
+    /**
+     * @throws Rejected with 401 (bad/expired token), 403 (valid token without the role) or
+     *                  503 (key set unavailable)
+     */
+    void verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+
+        JsonNode header;
+        JsonNode claims;
+        byte[] signature;
+        try {
+            header = json.readTree(B64URL.decode(parts[0]));
+            claims = json.readTree(B64URL.decode(parts[1]));
+            signature = B64URL.decode(parts[2]);
+        } catch (Exception e) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+        String alg = header.path("alg").asText();
+        if (!ALGORITHMS.contains(alg)) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+
+        JwkKey key = key(header.path("kid").asText(""));
+        if (!key.alg().equals(alg) || !signatureValid(key, parts[0] + "." + parts[1], signature)) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+
+        long now = clock.millis() / 1000;
+        long skew = CLOCK_SKEW.toSeconds();
+        if (!issuer.equals(claims.path("iss").asText())
+                || !claims.path("exp").canConvertToLong()
+                || claims.path("exp").asLong() + skew < now
+                || (claims.has("nbf") && claims.path("nbf").asLong() - skew > now)) {
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+
+        for (JsonNode r : claims.path("roles")) {
+            if (role.equalsIgnoreCase(r.asText())) {
+                return;
+            }
+        }
+        throw new Rejected(403, "You do not have permission to perform this action");
+    }
+
+    private JwkKey key(String kid) {
+        long now = clock.millis();
+        JwkKey key = keys.get(kid);
+        if (key != null && now - fetchedAt < keySetTtlMillis) {
+            return key;
+        }
+        synchronized (this) {
+            key = keys.get(kid);
+            boolean fresh = now - fetchedAt < keySetTtlMillis;
+            if ((key == null || !fresh) && now - lastFetchAttempt >= minRefreshMillis) {
+                lastFetchAttempt = now;
+                try {
+                    keys = parseJwks(jwksSource.get());
+                    fetchedAt = now;
+                } catch (RuntimeException e) {
+                    // Keep serving the cached keys; only fail when we have nothing for this kid.
+                }
+                key = keys.get(kid);
+            }
+        }
+        if (key == null) {
+            if (keys.isEmpty()) {
+                throw new Rejected(503, "Admin key set unavailable");
+            }
+            throw new Rejected(401, "Missing or invalid access token");
+        }
+        return key;
+    }
+
+    private Map<String, JwkKey> parseJwks(String body) {
+        try {
+            Map<String, JwkKey> parsed = new HashMap<>();
+            for (JsonNode jwk : json.readTree(body).path("keys")) {
+                if (!jwk.hasNonNull("kid")) {
+                    continue;
+                }
+                JwkKey key = switch (jwk.path("kty").asText()) {
+                    case "RSA" -> new JwkKey("RS256", KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                            unsigned(jwk.path("n")), unsigned(jwk.path("e")))));
+                    case "EC" -> "P-256".equals(jwk.path("crv").asText())
+                            ? new JwkKey("ES256", KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                                    new ECPoint(unsigned(jwk.path("x")), unsigned(jwk.path("y"))), p256())))
+                            : null;
+                    case "OKP" -> "Ed25519".equals(jwk.path("crv").asText())
+                            ? new JwkKey("EdDSA", ed25519(B64URL.decode(jwk.path("x").asText())))
+                            : null;
+                    default -> null;
+                };
+                if (key != null && (!jwk.has("alg") || key.alg().equals(jwk.path("alg").asText()))) {
+                    parsed.put(jwk.path("kid").asText(), key);
+                }
+            }
+            return Map.copyOf(parsed);
+        } catch (Exception e) {
+            throw new IllegalStateException("invalid admin JWKS", e);
+        }
+    }
+
+    private static BigInteger unsigned(JsonNode base64url) {
+        return new BigInteger(1, B64URL.decode(base64url.asText()));
+    }
+
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters params = AlgorithmParameters.getInstance("EC");
+        params.init(new ECGenParameterSpec("secp256r1"));
+        return params.getParameterSpec(ECParameterSpec.class);
+    }
+
+    private static PublicKey ed25519(byte[] raw) throws GeneralSecurityException {
+        if (raw.length != 32) {
+            throw new GeneralSecurityException("Ed25519 key must be 32 bytes");
+        }
+        byte[] spki = new byte[ED25519_SPKI_PREFIX.length + raw.length];
+        System.arraycopy(ED25519_SPKI_PREFIX, 0, spki, 0, ED25519_SPKI_PREFIX.length);
+        System.arraycopy(raw, 0, spki, ED25519_SPKI_PREFIX.length, raw.length);
+        return KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(spki));
+    }
+
+    private static boolean signatureValid(JwkKey key, String signingInput, byte[] signature) {
+        try {
+            Signature verifier = Signature.getInstance(switch (key.alg()) {
+                case "RS256" -> "SHA256withRSA";
+                // JWS carries ECDSA signatures as R || S, not DER
+                case "ES256" -> "SHA256withECDSAinP1363Format";
+                default -> "Ed25519";
+            });
+            verifier.initVerify(key.publicKey());
+            verifier.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A published key and the only JWS alg accepted for it.
+     */
+    private record JwkKey(String alg, PublicKey publicKey) {
+    }
+
+    static final class Rejected extends RuntimeException {
+
+        private final int status;
+
+        Rejected(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.agenttrust.platform.web.profiling;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Wires the {@link JfrEndpoint} when {@code agenttrust.platform.jfr.enabled=true}.
+ *
+ * Services with Spring Security (admin-service) protect /actuator/jfr in their own filter chain;
+ * everywhere else {@link AdminJwtFilter} checks admin-service JWTs against {@code admin.jwks-uri},
+ * and startup fails if that is not configured, so the endpoint is never served unauthenticated.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnProperty(prefix = "agenttrust.platform.jfr", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(JfrProperties.class)
+@ImportRuntimeHints(JfrAutoConfiguration.SummaryHints.class)
+public class JfrAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    JfrRecorder jfrRecorder(JfrProperties props) {
+        Path directory = props.getDirectory().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "agenttrust-jfr")
+                : Path.of(props.getDirectory());
+        return new JfrRecorder(props.getDefaultDuration(), props.getMaxDuration(), props.getMaxSize().toBytes(),
+                directory, Clock.systemUTC());
+    }
+
+    @Bean
+    JfrEndpoint jfrEndpoint(JfrRecorder jfrRecorder) {
+        return new JfrEndpoint(jfrRecorder);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnMissingClass("org.springframework.security.web.SecurityFilterChain")
+    static class AdminJwtConfiguration {
+
+        @Bean
+        FilterRegistrationBean<AdminJwtFilter> jfrAdminJwtFilter(
+                JfrProperties props,
+                @Value("${management.endpoints.web.base-path:/actuator}") String basePath) {
+            JfrProperties.Admin admin = props.getAdmin();
+            if (admin.getJwksUri().isBlank()) {
+                throw new IllegalStateException(
+                        "agenttrust.platform.jfr.admin.jwks-uri is required when agenttrust.platform.jfr.enabled=true");
+            }
+            FilterRegistrationBean<AdminJwtFilter> bean = new FilterRegistrationBean<>();
+            bean.setFilter(AdminJwtFilter.forAdminService(URI.create(admin.getJwksUri()), admin.getIssuer(),
+                    admin.getRole()));
+            bean.setName("agenttrustJfrAdminJwtFilter");
+            bean.setOrder(AdminJwtFilter.ORDER);
+            bean.addUrlPatterns(basePath + "/jfr", basePath + "/jfr/*");
+            return bean;
+        }
+    }
+
+    /**
+     * The summary is serialized by the actuator's own ObjectMapper, outside AOT's controller inference.
+     */
+    static class SummaryHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JfrSummary.class);
+        }
+    }
+}
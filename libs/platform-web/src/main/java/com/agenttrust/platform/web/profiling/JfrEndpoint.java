@@ -0,0 +1,86 @@
+package com.agenttrust.platform.web.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+/**
+ * {@code /actuator/jfr}: on-demand JFR recordings.
+ *
+ * <pre>
+ *   GET    /actuator/jfr            status of the current/last recording
+ *   POST   /actuator/jfr            start; body {"durationSeconds": 120} (optional, clamped to max-duration)
+ *   DELETE /actuator/jfr            stop early
+ *   GET    /actuator/jfr/recording  the finished .jfr file (open with JMC or `jfr print`)
+ *   GET    /actuator/jfr/summary    top allocation sites and contended monitors of that file
+ * </pre>
+ *
+ * The two GET parts answer 409 while a recording is running and 404 when none was taken.
+ */
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    static final int SUMMARY_TOP = 10;
+
+    private static final MimeType OCTET_STREAM = MimeType.valueOf("application/octet-stream");
+
+    private final JfrRecorder recorder;
+
+    JfrEndpoint(JfrRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds) {
+        Duration duration = (durationSeconds == null) ? null : Duration.ofSeconds(durationSeconds);
+        if (!recorder.start(duration)) {
+            return new WebEndpointResponse<>(recorder.status(), HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(recorder.status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        recorder.stop();
+        return recorder.status();
+    }
+
+    @ReadOperation(produces = {"application/json", "application/octet-stream"})
+    public WebEndpointResponse<Object> part(@Selector String part) {
+        if (!"recording".equals(part) && !"summary".equals(part)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recorder.isRunning()) {
+            return new WebEndpointResponse<>(recorder.status(), HttpStatus.CONFLICT.value());
+        }
+        Path file = recorder.finishedFile();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if ("recording".equals(part)) {
+            return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK, OCTET_STREAM);
+        }
+        try {
+            return new WebEndpointResponse<>(JfrSummary.of(file, SUMMARY_TOP), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
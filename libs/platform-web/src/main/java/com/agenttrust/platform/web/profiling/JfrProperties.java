@@ -0,0 +1,123 @@
+package com.agenttrust.platform.web.profiling;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * On-demand JFR profiling via the {@code jfr} actuator endpoint. Off by default.
+ *
+ * Turning it on also requires exposing the endpoint (management.endpoints.web.exposure.include: jfr)
+ * and, in services without Spring Security, {@code admin.jwks-uri} so callers can be checked against
+ * admin-service JWTs.
+ */
+@ConfigurationProperties(prefix = "agenttrust.platform.jfr")
+public class JfrProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Used when a start request does not name a duration.
+     */
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    /**
+     * Upper bound for one recording; longer requests are clamped.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Upper bound for the recording file; JFR drops the oldest chunks beyond it.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Where the (single) recording file is kept; empty = java.io.tmpdir/agenttrust-jfr.
+     */
+    private String directory = "";
+
+    private final Admin admin = new Admin();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Admin getAdmin() {
+        return admin;
+    }
+
+    public static final class Admin {
+
+        /**
+         * admin-service key set, e.g. http://admin-service:8081/.well-known/jwks.json.
+         */
+        private String jwksUri = "";
+
+        private String issuer = "agenttrust-admin";
+
+        /**
+         * Value required in the token's "roles" claim (case-insensitive).
+         */
+        private String role = "platform_admin";
+
+        public String getJwksUri() {
+            return jwksUri;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public void setIssuer(String issuer) {
+            this.issuer = issuer;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+    }
+}
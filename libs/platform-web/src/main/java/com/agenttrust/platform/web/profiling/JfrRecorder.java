@@ -0,0 +1,152 @@
+package com.agenttrust.platform.web.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * At most one bounded JFR recording per process.
+ *
+ * Uses the JDK "profile" settings (CPU execution samples, allocation samples, monitor enter/wait over
+ * 10 ms) with an explicit duration and size cap, so a forgotten recording stops by itself and cannot
+ * fill the disk. The last recording's file is kept for download until the next start replaces it.
+ */
+final class JfrRecorder implements AutoCloseable {
+
+    static final String FILE_NAME = "agenttrust-profile.jfr";
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final Path directory;
+    private final Clock clock;
+
+    private Recording recording;
+    private Instant startedAt;
+    private Duration requested;
+
+    JfrRecorder(Duration defaultDuration, Duration maxDuration, long maxSizeBytes, Path directory, Clock clock) {
+        if (maxDuration == null || maxDuration.isNegative() || maxDuration.isZero()) {
+            throw new IllegalArgumentException("agenttrust.platform.jfr.max-duration must be positive");
+        }
+        if (maxSizeBytes <= 0) {
+            throw new IllegalArgumentException("agenttrust.platform.jfr.max-size must be positive");
+        }
+        this.defaultDuration = (defaultDuration == null || defaultDuration.isNegative() || defaultDuration.isZero())
+                ? maxDuration
+                : min(defaultDuration, maxDuration);
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeBytes;
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    /**
+     * @return false when a recording is already running
+     */
+    synchronized boolean start(Duration duration) {
+        if (isRunning()) {
+            return false;
+        }
+        Duration bounded = (duration == null || duration.isNegative() || duration.isZero())
+                ? defaultDuration
+                : min(duration, maxDuration);
+        closeRecording();
+        try {
+            Files.createDirectories(directory);
+            Recording r = new Recording(Configuration.getConfiguration("profile"));
+            r.setName("agenttrust-profile");
+            r.setToDisk(true);
+            r.setDuration(bounded);
+            r.setMaxSize(maxSizeBytes);
+            r.setDestination(file());
+            r.start();
+            recording = r;
+            startedAt = clock.instant();
+            requested = bounded;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("JDK 'profile' JFR configuration unavailable", e);
+        }
+    }
+
+    /**
+     * Stops a running recording early; its file stays available. No-op when nothing is running.
+     */
+    synchronized void stop() {
+        if (isRunning()) {
+            recording.stop();
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return recording != null
+                && (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED);
+    }
+
+    /**
+     * @return the finished recording, or null when none exists or one is still running
+     */
+    synchronized Path finishedFile() {
+        if (recording == null || isRunning()) {
+            return null;
+        }
+        Path file = file();
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startedAt", startedAt.toString());
+        status.put("durationSeconds", requested.toSeconds());
+        status.put("maxSizeBytes", maxSizeBytes);
+        if (!isRunning()) {
+            Path file = file();
+            if (Files.isRegularFile(file)) {
+                try {
+                    status.put("sizeBytes", Files.size(file));
+                } catch (IOException e) {
+                    // Reported without a size; the download would fail the same way.
+                }
+            }
+        }
+        return status;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path file() {
+        return directory.resolve(FILE_NAME);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return (a.compareTo(b) <= 0) ? a : b;
+    }
+}
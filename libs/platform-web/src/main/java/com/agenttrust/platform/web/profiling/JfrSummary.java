@@ -0,0 +1,115 @@
+package com.agenttrust.platform.web.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Digest of a recording, so a first look does not need JMC: where memory is allocated and which
+ * monitors threads block on.
+ *
+ * Sites are the first non-JDK frame of each stack, so {@code Arrays.copyOf} is attributed to the
+ * code that grew the array.
+ */
+public record JfrSummary(long allocationSamples,
+                         List<AllocationSite> topAllocationSites,
+                         long monitorEnterEvents,
+                         List<ContendedMonitor> topContendedMonitors) {
+
+    /**
+     * @param bytes sampled allocation weight (an estimate of bytes allocated at the site)
+     */
+    public record AllocationSite(String frame, long bytes, double percent) {
+    }
+
+    public record ContendedMonitor(String monitorClass, String frame, long events, long blockedMillis) {
+    }
+
+    static JfrSummary of(Path recording, int top) throws IOException {
+        Map<String, long[]> allocations = new HashMap<>();
+        Map<String, long[]> monitors = new HashMap<>();
+        Map<String, String[]> monitorKeys = new HashMap<>();
+        long allocationSamples = 0;
+        long monitorEvents = 0;
+        long totalWeight = 0;
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        allocationSamples++;
+                        totalWeight += weight;
+                        allocations.computeIfAbsent(site(event.getStackTrace()), k -> new long[1])[0] += weight;
+                    }
+                    case "jdk.JavaMonitorEnter" -> {
+                        monitorEvents++;
+                        RecordedClass monitorClass = event.getClass("monitorClass");
+                        String className = (monitorClass == null) ? "?" : monitorClass.getName();
+                        String frame = site(event.getStackTrace());
+                        String key = className + '\u0000' + frame;
+                        monitorKeys.putIfAbsent(key, new String[] {className, frame});
+                        long[] agg = monitors.computeIfAbsent(key, k -> new long[2]);
+                        agg[0]++;
+                        agg[1] += event.getDuration().toNanos();
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        long total = Math.max(1, totalWeight);
+        List<AllocationSite> sites = new ArrayList<>(allocations.size());
+        allocations.forEach((frame, w) ->
+                sites.add(new AllocationSite(frame, w[0], Math.round(w[0] * 1000.0 / total) / 10.0)));
+        sites.sort(Comparator.comparingLong(AllocationSite::bytes).reversed());
+
+        List<ContendedMonitor> contended = new ArrayList<>(monitors.size());
+        monitors.forEach((key, agg) -> {
+            String[] k = monitorKeys.get(key);
+            contended.add(new ContendedMonitor(k[0], k[1], agg[0], agg[1] / 1_000_000));
+        });
+        contended.sort(Comparator.comparingLong(ContendedMonitor::blockedMillis)
+                .thenComparingLong(ContendedMonitor::events).reversed());
+
+        return new JfrSummary(allocationSamples, head(sites, top), monitorEvents, head(contended, top));
+    }
+
+    private static <T> List<T> head(List<T> list, int n) {
+        return List.copyOf(list.subList(0, Math.min(n, list.size())));
+    }
+
+    private static String site(RecordedStackTrace stack) {
+        if (stack == null || stack.getFrames().isEmpty()) {
+            return "?";
+        }
+        List<RecordedFrame> frames = stack.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && !isJdk(frame.getMethod().getType().getName())) {
+                return describe(frame);
+            }
+        }
+        return describe(frames.get(0));
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        int line = frame.getLineNumber();
+        return (line > 0) ? method + ":" + line : method;
+    }
+}
@@ -0,0 +1,67 @@
+package com.agenttrust.platform.web.redis;
+
+import io.lettuce.core.RedisCredentials;
+import io.lettuce.core.RedisCredentialsProvider;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+
+/**
+ * Connection factories for services that own a Redis connection outside Boot's auto-configuration
+ * (replay shards, the gateway's global rate limiter), configured from a redis:// or rediss:// URL.
+ */
+public final class RedisConnections {
+
+    private RedisConnections() {
+        // utility class
+    }
+
+    /**
+     * Unstarted factory for the standalone server named by {@code url}: host, port, database,
+     * credentials and TLS come from the URL.
+     *
+     * @param clientResources shared Lettuce resources, or null for the factory's own
+     */
+    public static LettuceConnectionFactory connectionFactory(String url, Duration commandTimeout,
+                                                             ClientResources clientResources) {
+        RedisURI uri = RedisURI.create(url);
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout);
+        if (clientResources != null) {
+            client.clientResources(clientResources);
+        }
+        if (uri.isSsl()) {
+            client.useSsl();
+        }
+        return new LettuceConnectionFactory(standalone(uri), client.build());
+    }
+
+    static RedisStandaloneConfiguration standalone(RedisURI uri) {
+        RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration(uri.getHost(), uri.getPort());
+        standalone.setDatabase(uri.getDatabase());
+        RedisCredentials credentials = credentials(uri.getCredentialsProvider());
+        if (credentials != null) {
+            if (credentials.hasUsername()) {
+                standalone.setUsername(credentials.getUsername());
+            }
+            if (credentials.hasPassword()) {
+                standalone.setPassword(credentials.getPassword());
+            }
+        }
+        return standalone;
+    }
+
+    private static RedisCredentials credentials(RedisCredentialsProvider provider) {
+        if (provider == null) {
+            return null;
+        }
+        // URL credentials are static; anything else is resolved once, at startup.
+        return (provider instanceof RedisCredentialsProvider.ImmediateRedisCredentialsProvider immediate)
+                ? immediate.resolveCredentialsNow()
+                : provider.resolveCredentials().block();
+    }
+}
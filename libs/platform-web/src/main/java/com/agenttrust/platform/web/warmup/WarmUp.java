@@ -0,0 +1,151 @@
+package com.agenttrust.platform.web.warmup;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * Pushes synthetic requests through the service's hot path before it reports ready, so the first
+ * real requests after a deploy do not run interpreted parser, Jackson and crypto code.
+ *
+ * Runs as the last ApplicationRunner on the startup thread: the web server is already listening
+ * (readiness endpoints answer, with 503), and Boot publishes ReadinessState.ACCEPTING_TRAFFIC only
+ * after it returns, so the actuator readiness group waits as well. Services gate their own /readyz
+ * on {@link #isReady()}.
+ *
+ * Warm-up is best effort: a failing task or the {@code maxDuration} bound ends it early, and the
+ * service becomes ready regardless.
+ */
+public final class WarmUp implements ApplicationRunner, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUp.class);
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        DISABLED
+    }
+
+    /**
+     * @param iterations synthetic requests run across all tasks
+     * @param detail     why warm-up ended early, or null
+     */
+    public record Status(State state, long durationMillis, long iterations, String detail) {
+
+        /**
+         * True once warm-up has ended, however it ended.
+         */
+        public boolean ready() {
+            return state != State.PENDING && state != State.RUNNING;
+        }
+
+        /**
+         * JSON-friendly view for health endpoints.
+         */
+        public Map<String, Object> details() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("status", state.name().toLowerCase(Locale.ROOT));
+            m.put("durationMs", durationMillis);
+            m.put("iterations", iterations);
+            if (detail != null) {
+                m.put("detail", detail);
+            }
+            return m;
+        }
+    }
+
+    private final List<WarmUpTask> tasks;
+    private final int iterations;
+    private final long maxDurationNanos;
+
+    private volatile Status status;
+    private volatile long startNanos;
+    private volatile long progress;
+
+    public WarmUp(WarmUpProperties props, List<WarmUpTask> tasks) {
+        this.tasks = List.copyOf(tasks);
+        this.iterations = Math.max(0, props.getIterations());
+        Duration max = props.getMaxDuration();
+        this.maxDurationNanos = (max == null || max.isNegative()) ? 0L : max.toNanos();
+        this.status = new Status(props.isEnabled() ? State.PENDING : State.DISABLED, 0L, 0L, null);
+    }
+
+    public Status status() {
+        Status s = status;
+        if (s.state() == State.RUNNING) {
+            return new Status(State.RUNNING, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), progress, null);
+        }
+        return s;
+    }
+
+    public boolean isReady() {
+        return status.ready();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        run();
+    }
+
+    void run() {
+        if (status.state() != State.PENDING) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDurationNanos;
+        startNanos = start;
+        status = new Status(State.RUNNING, 0L, 0L, null);
+
+        long done = 0;
+        State state = State.COMPLETED;
+        String detail = null;
+        String current = null;
+        try {
+            for (WarmUpTask task : tasks) {
+                current = task.name();
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        if (System.nanoTime() - deadline >= 0) {
+                            detail = "stopped at maxDuration";
+                            break;
+                        }
+                        task.run();
+                        progress = ++done;
+                    }
+                } finally {
+                    task.finish();
+                }
+                if (detail != null) {
+                    break;
+                }
+            }
+        } catch (Exception | LinkageError e) {
+            state = State.FAILED;
+            detail = current + ": " + e;
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        status = new Status(state, millis, done, detail);
+        if (state == State.FAILED) {
+            log.warn("Warm-up failed after {} ms and {} iterations; serving without it: {}", millis, done, detail);
+        } else {
+            log.info("Warm-up finished in {} ms: {} iterations over {} task(s){}", millis, done, tasks.size(),
+                    (detail == null) ? "" : " (" + detail + ")");
+        }
+    }
+}
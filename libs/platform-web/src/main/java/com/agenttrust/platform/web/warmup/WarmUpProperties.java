@@ -0,0 +1,48 @@
+package com.agenttrust.platform.web.warmup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * JIT warm-up before readiness for every service using platform-web that contributes
+ * {@link WarmUpTask} beans.
+ */
+@ConfigurationProperties(prefix = "agenttrust.platform.warmup")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Synthetic requests per task. Around 10k calls get the hot methods through C2.
+     */
+    private int iterations = 10_000;
+
+    /**
+     * Upper bound for the whole warm-up; the service becomes ready when it is reached, warm or not.
+     */
+    private Duration maxDuration = Duration.ofSeconds(20);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
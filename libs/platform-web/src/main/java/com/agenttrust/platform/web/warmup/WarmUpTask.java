@@ -0,0 +1,29 @@
+package com.agenttrust.platform.web.warmup;
+
+/**
+ * One synthetic unit of hot-path work run by {@link WarmUp} before the service reports ready.
+ *
+ * Implementations must have no externally visible side effects (no persisted rows, no replay
+ * entries in shared stores, no business metrics): they exist only to get the request path
+ * class-loaded, profiled and JIT-compiled.
+ */
+public interface WarmUpTask {
+
+    /**
+     * Short name for logs and the readiness body, e.g. "attestation-verify".
+     */
+    String name();
+
+    /**
+     * Runs one synthetic request. Called {@code agenttrust.platform.warmup.iterations} times on a
+     * single thread. Throwing aborts the warm-up; the service still becomes ready.
+     */
+    void run() throws Exception;
+
+    /**
+     * Called once after the last iteration, also after a failure; releases anything held only for
+     * warm-up (threads, keys, in-memory stores).
+     */
+    default void finish() {
+    }
+}
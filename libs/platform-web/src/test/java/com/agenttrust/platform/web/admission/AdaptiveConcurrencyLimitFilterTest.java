@@ -0,0 +1,254 @@
+package com.agenttrust.platform.web.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void aimd_backsOffOncePerEpisode_thenGrowsWhenUsed() {
+        AimdLimit limit = new AimdLimit(100, 10, 200, 0.5, 0);
+
+        limit.onSample(1, 2, 100, true);
+        assertEquals(50, limit.limit());
+        // Started before the decrease: admitted under the old limit, must not shrink it again.
+        limit.onSample(1, 3, 100, true);
+        assertEquals(50, limit.limit());
+        limit.onSample(4, 5, 50, true);
+        assertEquals(25, limit.limit());
+
+        // Mostly idle: no evidence the limit is too low, so it does not grow.
+        for (int i = 0; i < 1000; i++) {
+            limit.onSample(10, 11, 1, false);
+        }
+        assertEquals(25, limit.limit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10, 11, 25, false);
+        }
+        assertTrue(limit.limit() > 25);
+    }
+
+    @Test
+    void aimd_concurrentOverloadSamples_backOffOncePerEpisode() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            AimdLimit limit = new AimdLimit(1024, 1, 1024, 0.5, 0);
+            int threads = 8;
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] samplers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                // Same episode: every request started before any of them ended.
+                long end = 100 + i;
+                samplers[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    limit.onSample(10, end, 1024, true);
+                });
+                samplers[i].start();
+            }
+            start.countDown();
+            for (Thread t : samplers) {
+                t.join();
+            }
+            assertEquals(512, limit.limit());
+        }
+    }
+
+    @Test
+    void aimd_clampedToBounds_andValidated() {
+        AimdLimit limit = new AimdLimit(10, 10, 11, 0.5, 0);
+        limit.onSample(1, 2, 10, true);
+        assertEquals(10, limit.limit());
+        for (int i = 0; i < 1000; i++) {
+            limit.onSample(10, 11, 11, false);
+        }
+        assertEquals(11, limit.limit());
+
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(5, 10, 20, 0.9, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 10, 20, 1.0, 0));
+    }
+
+    @Test
+    void overLimit_shedsWith503Problem_andExemptPathsStillPass() throws Exception {
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(props(2, 1, 10));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch entered = new CountDownLatch(2);
+        FilterChain blocking = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread[] holders = new Thread[2];
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = new Thread(() -> run(filter, "/v1/agent/verify", blocking));
+            holders[i].start();
+        }
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/agent/verify");
+        request.setAttribute("agenttrust.traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> fail("over the limit must not reach the chain"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("application/problem+json", response.getContentType());
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"errorCode\":\"OVERLOADED\""), body);
+        assertTrue(body.contains("\"traceId\":\"4bf92f3577b34da6a3ce929d0e0e4736\""), body);
+        assertEquals(1, filter.rejected());
+
+        AtomicInteger probed = new AtomicInteger();
+        for (String path : new String[] {"/readyz", "/healthz", "/actuator/health"}) {
+            MockHttpServletResponse probe = run(filter, path, (req, res) -> probed.incrementAndGet());
+            assertEquals(200, probe.getStatus(), path);
+        }
+        assertEquals(3, probed.get());
+        assertEquals(503, run(filter, "/readyzz", (req, res) -> fail("not an exempt path")).getStatus());
+
+        release.countDown();
+        for (Thread t : holders) {
+            t.join();
+        }
+        assertEquals(0, filter.inflight());
+    }
+
+    @Test
+    void slowAndFailingResponses_shrinkLimit() throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(props(100, 10, 100), nanos::get);
+
+        run(filter, "/v1/x", (req, res) -> nanos.addAndGet(50 * MS));
+        assertEquals(90, filter.limit());
+
+        nanos.addAndGet(MS);
+        run(filter, "/v1/x", (req, res) -> ((MockHttpServletResponse) res).setStatus(504));
+        assertEquals(81, filter.limit());
+
+        nanos.addAndGet(MS);
+        run(filter, "/v1/x", (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+        assertEquals(81, filter.limit(), "a plain 5xx is a request failure, not an overload signal");
+    }
+
+    @Test
+    void chainThrows_countsAsOverload_andIsRethrown() {
+        AtomicLong nanos = new AtomicLong();
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(props(100, 10, 100), nanos::get);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/v1/x"), response, (req, res) -> {
+                    throw new IllegalStateException("dependency failed");
+                }));
+
+        assertEquals("dependency failed", thrown.getMessage());
+        assertEquals(200, response.getStatus(), "status still reads 200 when the chain throws");
+        assertEquals(90, filter.limit());
+        assertEquals(0, filter.inflight());
+    }
+
+    /**
+     * 32 clients against a dependency that turns slow (60ms, threshold 20ms) and then recovers.
+     * While slow, the limit must fall and the excess be shed instead of queueing; once the
+     * dependency is fast again the limit must climb back.
+     */
+    @Test
+    void stress_slowDependency_shedsLoad_thenRecovers() throws Exception {
+        AdmissionProperties props = props(64, 4, 256);
+        props.setLatencyThreshold(Duration.ofMillis(20));
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(props);
+
+        AtomicInteger dependencyMillis = new AtomicInteger(60);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        FilterChain dependency = (req, res) -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(dependencyMillis.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        };
+
+        long slowDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+        runClients(32, filter, dependency, slowDeadline);
+        int limitWhileSlow = filter.limit();
+        long shedWhileSlow = filter.rejected();
+
+        assertTrue(limitWhileSlow < 64, "limit should back off, was " + limitWhileSlow);
+        assertTrue(shedWhileSlow > 0, "excess load should be shed");
+        assertTrue(maxConcurrent.get() <= 64, "never more than the initial limit in flight");
+        assertEquals(0, filter.inflight());
+
+        dependencyMillis.set(1);
+        long fastDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+        runClients(32, filter, dependency, fastDeadline);
+
+        assertTrue(filter.limit() > limitWhileSlow,
+                "limit should recover: " + limitWhileSlow + " -> " + filter.limit());
+        assertEquals(0, filter.inflight());
+    }
+
+    private static void runClients(int clients, AdaptiveConcurrencyLimitFilter filter, FilterChain dependency,
+                                   long deadline) throws InterruptedException {
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            threads[i] = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (run(filter, "/v1/agent/verify", dependency).getStatus() == 503) {
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private static MockHttpServletResponse run(AdaptiveConcurrencyLimitFilter filter, String path, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static AdmissionProperties props(int initial, int min, int max) {
+        AdmissionProperties props = new AdmissionProperties();
+        props.setInitialLimit(initial);
+        props.setMinLimit(min);
+        props.setMaxLimit(max);
+        props.setLatencyThreshold(Duration.ofMillis(10));
+        return props;
+    }
+}
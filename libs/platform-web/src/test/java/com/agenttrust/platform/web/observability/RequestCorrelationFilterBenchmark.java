@@ -0,0 +1,115 @@
+package com.agenttrust.platform.web.observability;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-request header work of RequestCorrelationFilter, current implementation vs. the previous
+ * regex/split/SecureRandom version (kept here verbatim as the baseline).
+ *
+ * Run from libs/platform-web (allocation numbers come from the gc profiler, see gc.alloc.rate.norm):
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       org.openjdk.jmh.Main RequestCorrelationFilterBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RequestCorrelationFilterBenchmark {
+
+    private static final SecureRandom LEGACY_RNG = new SecureRandom();
+
+    String correlationHeader = "c0ffee00-1234-4abc-8def-0123456789ab";
+    String traceparentHeader = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+    String tracestateHeader = "congo=t61rcWkgMzE,rojo=00f067aa0ba902b7";
+
+    /**
+     * Incoming request carries all headers (propagated call).
+     */
+    @Benchmark
+    public void propagated_current(Blackhole bh) {
+        bh.consume(RequestCorrelationFilter.sanitizeCorrelationId(correlationHeader));
+        RequestCorrelationFilter.TraceContext ctx = RequestCorrelationFilter.TraceContext.parse(traceparentHeader);
+        bh.consume(ctx.traceId());
+        bh.consume(ctx.traceparent());
+        bh.consume(ctx.traceparent());
+        bh.consume(RequestCorrelationFilter.sanitizeHeaderValue(tracestateHeader, 512));
+    }
+
+    @Benchmark
+    public void propagated_legacy(Blackhole bh) {
+        bh.consume(legacySanitize(correlationHeader, 128));
+        String[] ctx = legacyParse(traceparentHeader);
+        bh.consume(ctx[1]);
+        bh.consume("00-" + ctx[1] + "-" + ctx[2] + "-" + ctx[3]);
+        bh.consume("00-" + ctx[1] + "-" + ctx[2] + "-" + ctx[3]);
+        bh.consume(legacySanitize(tracestateHeader, 512));
+    }
+
+    /**
+     * Edge request without any correlation headers (ids generated).
+     */
+    @Benchmark
+    public void generated_current(Blackhole bh) {
+        bh.consume(RequestCorrelationFilter.newCorrelationId());
+        RequestCorrelationFilter.TraceContext ctx = RequestCorrelationFilter.TraceContext.newRoot();
+        bh.consume(ctx.traceId());
+        bh.consume(ctx.traceparent());
+        bh.consume(ctx.traceparent());
+    }
+
+    @Benchmark
+    public void generated_legacy(Blackhole bh) {
+        bh.consume(UUID.randomUUID().toString());
+        String traceId = legacyRandomHex(16);
+        String parentId = legacyRandomHex(8);
+        bh.consume(traceId);
+        bh.consume("00-" + traceId + "-" + parentId + "-01");
+        bh.consume("00-" + traceId + "-" + parentId + "-01");
+    }
+
+    private static String legacySanitize(String raw, int maxLen) {
+        String trimmed = raw.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        String cleaned = trimmed.replaceAll("[\\x00-\\x1F\\x7F]+", "");
+        if (cleaned.length() > maxLen) {
+            cleaned = cleaned.substring(0, maxLen);
+        }
+        return cleaned;
+    }
+
+    private static String[] legacyParse(String traceparent) {
+        String v = traceparent.trim().toLowerCase(Locale.ROOT);
+        return v.split("-");
+    }
+
+    private static String legacyRandomHex(int bytes) {
+        byte[] b = new byte[bytes];
+        LEGACY_RNG.nextBytes(b);
+        StringBuilder sb = new StringBuilder(bytes * 2);
+        for (byte value : b) {
+            sb.append(Character.forDigit((value >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(value & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
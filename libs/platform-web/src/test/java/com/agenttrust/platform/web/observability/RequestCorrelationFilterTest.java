@@ -0,0 +1,115 @@
+package com.agenttrust.platform.web.observability;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestCorrelationFilterTest {
+
+    private static final String VALID = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void sanitize_cleanValue_returnsSameInstance() {
+        String raw = "corr-123";
+        assertSame(raw, RequestCorrelationFilter.sanitizeHeaderValue(raw, 128));
+    }
+
+    @Test
+    void sanitize_trimsStripsControlCharsAndTruncates() {
+        assertEquals("abc", RequestCorrelationFilter.sanitizeHeaderValue("  abc \t", 128));
+        assertEquals("abcdef", RequestCorrelationFilter.sanitizeHeaderValue("ab\r\ncd\u0000ef", 128));
+        assertEquals("abc", RequestCorrelationFilter.sanitizeHeaderValue("\u007Fabc", 128));
+        assertEquals("abcd", RequestCorrelationFilter.sanitizeHeaderValue("a\u0001bcdef", 4));
+        assertEquals("abcd", RequestCorrelationFilter.sanitizeHeaderValue("abcdef", 4));
+        assertNull(RequestCorrelationFilter.sanitizeHeaderValue(" \t ", 128));
+        assertNull(RequestCorrelationFilter.sanitizeHeaderValue(null, 128));
+    }
+
+    @Test
+    void sanitizeCorrelationId_controlOnlyValue_treatedAsMissing() {
+        assertNull(RequestCorrelationFilter.sanitizeCorrelationId("\u007F\u007F"));
+    }
+
+    @Test
+    void newCorrelationId_isVersion4Uuid() {
+        UUID id = UUID.fromString(RequestCorrelationFilter.newCorrelationId());
+        assertEquals(4, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void parse_validTraceparent_reusesInput() {
+        RequestCorrelationFilter.TraceContext ctx = RequestCorrelationFilter.TraceContext.parse(VALID);
+
+        assertNotNull(ctx);
+        assertSame(VALID, ctx.traceparent());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", ctx.traceId());
+    }
+
+    @Test
+    void parse_upperCaseAndWhitespace_normalized() {
+        RequestCorrelationFilter.TraceContext ctx =
+                RequestCorrelationFilter.TraceContext.parse("  " + VALID.toUpperCase() + " ");
+
+        assertNotNull(ctx);
+        assertEquals(VALID, ctx.traceparent());
+    }
+
+    @Test
+    void parse_invalidTraceparents_rejected() {
+        assertNull(RequestCorrelationFilter.TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e473g-00f067aa0ba902b7-01"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736_00f067aa0ba902b7-01"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse(VALID + "-extra"));
+        assertNull(RequestCorrelationFilter.TraceContext.parse("garbage"));
+    }
+
+    @Test
+    void newRoot_producesParseableTraceparent() {
+        RequestCorrelationFilter.TraceContext root = RequestCorrelationFilter.TraceContext.newRoot();
+
+        RequestCorrelationFilter.TraceContext reparsed = RequestCorrelationFilter.TraceContext.parse(root.traceparent());
+        assertNotNull(reparsed);
+        assertEquals(root.traceId(), reparsed.traceId());
+        assertTrue(root.traceparent().endsWith("-01"));
+    }
+
+    @Test
+    void childTraceparent_keepsTraceAndFlags_newParentId() {
+        String child = RequestCorrelationFilter.childTraceparent(VALID);
+
+        assertNotNull(child);
+        assertTrue(child.startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-"), child);
+        assertTrue(child.endsWith("-01"), child);
+        assertNotEquals("00f067aa0ba902b7", child.substring(36, 52));
+        assertNotNull(RequestCorrelationFilter.TraceContext.parse(child));
+        assertNull(RequestCorrelationFilter.childTraceparent("garbage"));
+    }
+
+    @Test
+    void doFilter_activeSpanWins_whenItContinuesTheIncomingTrace() throws Exception {
+        String span = "00-4bf92f3577b34da6a3ce929d0e0e4736-b7ad6b7169203331-01";
+
+        assertEquals(span, filter(span, VALID).getHeader(RequestCorrelationFilter.HEADER_TRACEPARENT));
+        assertEquals(span, filter(span, null).getHeader(RequestCorrelationFilter.HEADER_TRACEPARENT));
+        // Unrelated root span (propagation disabled): the caller's trace is kept.
+        assertEquals(VALID, filter("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00", VALID)
+                .getHeader(RequestCorrelationFilter.HEADER_TRACEPARENT));
+    }
+
+    private static MockHttpServletResponse filter(String spanTraceparent, String incoming) throws Exception {
+        RequestCorrelationFilter filter = new RequestCorrelationFilter(() -> spanTraceparent);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/x");
+        if (incoming != null) {
+            request.addHeader(RequestCorrelationFilter.HEADER_TRACEPARENT, incoming);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+}
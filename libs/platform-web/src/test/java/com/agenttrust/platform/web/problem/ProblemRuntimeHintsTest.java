@@ -0,0 +1,20 @@
+package com.agenttrust.platform.web.problem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class ProblemRuntimeHintsTest {
+
+    @Test
+    void registersProblemDetailsForJacksonBinding() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new ProblemRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProblemDetails.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ProblemDetails.class.getMethod("errorCode")).test(hints));
+    }
+}
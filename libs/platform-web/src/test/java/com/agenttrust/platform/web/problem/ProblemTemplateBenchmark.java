@@ -0,0 +1,53 @@
+package com.agenttrust.platform.web.problem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Cost of producing one rejection body: ProblemDetails + Jackson databind (previous path) vs.
+ * ProblemTemplate. Run like RequestCorrelationFilterBenchmark, e.g. "ProblemTemplateBenchmark -prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemTemplateBenchmark {
+
+    private static final URI TYPE = URI.create("https://agenttrust.dev/problems/attestation-failed");
+    private static final String TITLE = "Attestation verification failed";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ProblemTemplate template =
+            ProblemTemplate.of(TYPE, TITLE, HttpStatus.UNAUTHORIZED, "ATTESTATION_INVALID_SIGNATURE");
+
+    String path = "/v1/attestations/verify";
+    String detail = "signature verification failed";
+    String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+    String requestId = "c0ffee00-1234-4abc-8def-0123456789ab";
+    String tenantId = "tenantA";
+
+    @Benchmark
+    public byte[] jacksonRecord() throws Exception {
+        ProblemDetails problem = new ProblemDetails(TYPE, TITLE, 401, detail, URI.create(path),
+                "ATTESTATION_INVALID_SIGNATURE", traceId, requestId, tenantId);
+        return mapper.writeValueAsBytes(problem);
+    }
+
+    @Benchmark
+    public byte[] template() {
+        return template.render(detail, path, traceId, requestId, tenantId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.agenttrust.platform.web.problem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class ProblemTemplateTest {
+
+    private static final URI TYPE = URI.create("https://agenttrust.dev/problems/attestation-failed");
+
+    /**
+     * What the services' message converters use to serialize a returned ProblemDetails.
+     */
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void render_matchesSerializedProblemDetails() throws Exception {
+        ProblemTemplate template = ProblemTemplate.of(TYPE, "Attestation verification failed",
+                HttpStatus.UNAUTHORIZED, "ATTESTATION_INVALID_SIGNATURE");
+
+        byte[] rendered = template.render("signature verification failed", "/v1/attestations/verify",
+                "4bf92f3577b34da6a3ce929d0e0e4736", "req-1", "tenantA");
+
+        ProblemDetails expected = new ProblemDetails(TYPE, "Attestation verification failed", 401,
+                "signature verification failed", URI.create("/v1/attestations/verify"),
+                "ATTESTATION_INVALID_SIGNATURE", "4bf92f3577b34da6a3ce929d0e0e4736", "req-1", "tenantA");
+
+        assertBytesEqual(mapper.writeValueAsBytes(expected), rendered);
+    }
+
+    @Test
+    void render_writesNullMembers_andDefaultsInstance_likeProblemDetails() throws Exception {
+        ProblemTemplate template = ProblemTemplate.of(TYPE, "Bad request", HttpStatus.BAD_REQUEST, null);
+
+        byte[] rendered = template.render(null, null, null, null, null);
+
+        ProblemDetails expected = new ProblemDetails(TYPE, "Bad request", 400, null, URI.create("/"),
+                null, null, null, null);
+        assertBytesEqual(mapper.writeValueAsBytes(expected), rendered);
+        JsonNode json = mapper.readTree(rendered);
+        assertTrue(json.get("detail").isNull());
+        assertTrue(json.get("tenantId").isNull());
+    }
+
+    @Test
+    void render_invalidInstance_fallsBackToRoot() throws Exception {
+        ProblemTemplate template = ProblemTemplate.of(TYPE, "Bad request", HttpStatus.BAD_REQUEST, "BAD_REQUEST");
+
+        assertEquals("/", mapper.readTree(template.render(null, "/a b", null, null, null)).get("instance").asText());
+    }
+
+    @Test
+    void render_escapesDynamicMembers() throws Exception {
+        ProblemTemplate template = ProblemTemplate.of(TYPE, "Bad request", HttpStatus.BAD_REQUEST, "BAD_REQUEST");
+        String hostile = "t\"e\\n\u0001ant-é☃";
+
+        JsonNode json = mapper.readTree(template.render(hostile, "/p", null, null, hostile));
+
+        assertEquals(hostile, json.get("detail").asText());
+        assertEquals(hostile, json.get("tenantId").asText());
+    }
+
+    @Test
+    void toResponse_setsStatusAndProblemMediaType() {
+        ProblemTemplate template = ProblemTemplate.of(TYPE, "Replay", HttpStatus.CONFLICT, "ATTESTATION_REPLAY_DETECTED");
+
+        ResponseEntity<byte[]> response = template.toResponse(null, "/x", null, null, null);
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals(ProblemTemplate.PROBLEM_JSON, response.getHeaders().getContentType());
+    }
+
+    private static void assertBytesEqual(byte[] expected, byte[] actual) {
+        assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+    }
+}
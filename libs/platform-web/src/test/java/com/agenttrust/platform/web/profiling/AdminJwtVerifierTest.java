@@ -0,0 +1,183 @@
+package com.agenttrust.platform.web.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class AdminJwtVerifierTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final KeyPair k1 = rsa();
+    private final KeyPair k2 = rsa();
+    private final AtomicReference<String> jwks = new AtomicReference<>(jwks("k1", k1));
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    void verify_acceptsPlatformAdmin() {
+        AdminJwtVerifier verifier = verifier(NOW);
+
+        verifier.verify(token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"PLATFORM_ADMIN\"]"));
+        verifier.verify(token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+        assertEquals(1, fetches.get(), "key set cached between calls");
+    }
+
+    @Test
+    void verify_rejectsBadTokensWith401_andMissingRoleWith403() {
+        AdminJwtVerifier verifier = verifier(NOW);
+
+        assertStatus(401, verifier, null);
+        assertStatus(401, verifier, "not.a.jwt.at-all");
+        assertStatus(401, verifier, token("k1", k1.getPrivate(), "agenttrust-admin", NOW.minusSeconds(60), "[\"platform_admin\"]"));
+        assertStatus(401, verifier, token("k1", k1.getPrivate(), "someone-else", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+        assertStatus(401, verifier, token("k1", k2.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+        String good = token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]");
+        assertStatus(401, verifier, b64("{\"alg\":\"none\",\"kid\":\"k1\"}") + "." + good.split("\\.")[1] + ".");
+
+        assertStatus(403, verifier, token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"tenant_admin\"]"));
+    }
+
+    @Test
+    void unknownKid_refetchesKeySet_atMostOncePerInterval() {
+        AdminJwtVerifier verifier = verifier(NOW);
+        verifier.verify(token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+
+        // Rotated within the refresh interval: the new kid is not picked up yet.
+        jwks.set(jwks("k2", k2));
+        assertStatus(401, verifier, token("k2", k2.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+        assertEquals(1, fetches.get());
+
+        AdminJwtVerifier later = new AdminJwtVerifier(source(), "agenttrust-admin", "platform_admin",
+                Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofMinutes(5), Duration.ZERO);
+        later.verify(token("k2", k2.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+    }
+
+    @Test
+    void verify_acceptsEs256AndEdDsa_onlyWithTheirOwnAlg() throws Exception {
+        KeyPairGenerator ecGen = KeyPairGenerator.getInstance("EC");
+        ecGen.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ec = ecGen.generateKeyPair();
+        KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        ECPublicKey ecPub = (ECPublicKey) ec.getPublic();
+        byte[] edSpki = ed.getPublic().getEncoded();
+        jwks.set("{\"keys\":["
+                + "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"ec\",\"alg\":\"ES256\""
+                + ",\"x\":\"" + B64URL.encodeToString(fixed32(ecPub.getW().getAffineX().toByteArray())) + "\""
+                + ",\"y\":\"" + B64URL.encodeToString(fixed32(ecPub.getW().getAffineY().toByteArray())) + "\"},"
+                + "{\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"kid\":\"ed\",\"alg\":\"EdDSA\""
+                + ",\"x\":\"" + B64URL.encodeToString(Arrays.copyOfRange(edSpki, edSpki.length - 32, edSpki.length))
+                + "\"}]}");
+        AdminJwtVerifier verifier = verifier(NOW);
+        Instant exp = NOW.plusSeconds(300);
+
+        verifier.verify(token("ES256", "SHA256withECDSAinP1363Format", "ec", ec.getPrivate(), "agenttrust-admin", exp,
+                "[\"platform_admin\"]"));
+        verifier.verify(token("EdDSA", "Ed25519", "ed", ed.getPrivate(), "agenttrust-admin", exp,
+                "[\"platform_admin\"]"));
+
+        // Ed25519 signature presented under the EC key's kid, and DER instead of JWS (R || S) encoding.
+        assertStatus(401, verifier, token("EdDSA", "Ed25519", "ec", ed.getPrivate(), "agenttrust-admin", exp,
+                "[\"platform_admin\"]"));
+        assertStatus(401, verifier, token("ES256", "SHA256withECDSA", "ec", ec.getPrivate(), "agenttrust-admin", exp,
+                "[\"platform_admin\"]"));
+    }
+
+    @Test
+    void unreachableKeySet_is503() {
+        AdminJwtVerifier verifier = new AdminJwtVerifier(() -> {
+            throw new IllegalStateException("connection refused");
+        }, "agenttrust-admin", "platform_admin", Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofMinutes(5),
+                Duration.ofSeconds(30));
+
+        assertStatus(503, verifier, token("k1", k1.getPrivate(), "agenttrust-admin", NOW.plusSeconds(300), "[\"platform_admin\"]"));
+    }
+
+    private AdminJwtVerifier verifier(Instant now) {
+        return new AdminJwtVerifier(source(), "agenttrust-admin", "platform_admin",
+                Clock.fixed(now, ZoneOffset.UTC), Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    private Supplier<String> source() {
+        return () -> {
+            fetches.incrementAndGet();
+            return jwks.get();
+        };
+    }
+
+    private static void assertStatus(int status, AdminJwtVerifier verifier, String token) {
+        AdminJwtVerifier.Rejected e = assertThrows(AdminJwtVerifier.Rejected.class, () -> verifier.verify(token));
+        assertEquals(status, e.status());
+    }
+
+    private static String token(String kid, PrivateKey key, String issuer, Instant exp, String roles) {
+        return token("RS256", "SHA256withRSA", kid, key, issuer, exp, roles);
+    }
+
+    private static String token(String alg, String jcaName, String kid, PrivateKey key, String issuer, Instant exp,
+                                String roles) {
+        String header = "{\"alg\":\"" + alg + "\",\"kid\":\"" + kid + "\"}";
+        String claims = "{\"iss\":\"" + issuer + "\",\"sub\":\"ops\",\"exp\":" + exp.getEpochSecond()
+                + ",\"roles\":" + roles + "}";
+        String input = b64(header) + "." + b64(claims);
+        try {
+            Signature signer = Signature.getInstance(jcaName);
+            signer.initSign(key);
+            signer.update(input.getBytes(StandardCharsets.US_ASCII));
+            return input + "." + B64URL.encodeToString(signer.sign());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String jwks(String kid, KeyPair pair) {
+        RSAPublicKey pub = (RSAPublicKey) pair.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"alg\":\"RS256\",\"use\":\"sig\""
+                + ",\"n\":\"" + B64URL.encodeToString(unsigned(pub.getModulus().toByteArray())) + "\""
+                + ",\"e\":\"" + B64URL.encodeToString(unsigned(pub.getPublicExponent().toByteArray())) + "\"}]}";
+    }
+
+    private static byte[] unsigned(byte[] twosComplement) {
+        return (twosComplement.length > 1 && twosComplement[0] == 0)
+                ? Arrays.copyOfRange(twosComplement, 1, twosComplement.length)
+                : twosComplement;
+    }
+
+    private static byte[] fixed32(byte[] twosComplement) {
+        byte[] out = new byte[32];
+        byte[] unsigned = unsigned(twosComplement);
+        System.arraycopy(unsigned, 0, out, 32 - unsigned.length, unsigned.length);
+        return out;
+    }
+
+    private static String b64(String json) {
+        return B64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeyPair rsa() {
+        try {
+            KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+            gen.initialize(2048);
+            return gen.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
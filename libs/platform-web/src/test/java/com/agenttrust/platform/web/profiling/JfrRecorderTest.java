@@ -0,0 +1,120 @@
+package com.agenttrust.platform.web.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recording_isSingle_andSummarizesAllocationsAndContention() throws Exception {
+        try (JfrRecorder recorder = recorder(Duration.ofMinutes(1))) {
+            assertEquals("NONE", recorder.status().get("state"));
+            assertNull(recorder.finishedFile());
+
+            assertTrue(recorder.start(Duration.ofSeconds(30)));
+            assertFalse(recorder.start(null), "only one recording at a time");
+            assertNull(recorder.finishedFile(), "no download while running");
+
+            List<byte[]> retained = allocate();
+            contend(new Gate());
+            recorder.stop();
+
+            Path file = recorder.finishedFile();
+            assertNotNull(file);
+            assertFalse(recorder.isRunning());
+            assertTrue((Long) recorder.status().get("sizeBytes") > 0);
+            assertFalse(retained.isEmpty());
+
+            JfrSummary summary = JfrSummary.of(file, 10);
+            assertTrue(summary.allocationSamples() > 0);
+            assertTrue(summary.topAllocationSites().stream()
+                    .anyMatch(s -> s.frame().startsWith(JfrRecorderTest.class.getName() + ".allocate")),
+                    summary.topAllocationSites().toString());
+            assertTrue(summary.topContendedMonitors().stream()
+                    .anyMatch(m -> m.monitorClass().equals(Gate.class.getName()) && m.blockedMillis() > 0),
+                    summary.topContendedMonitors().toString());
+
+            // The next start replaces the previous recording.
+            assertTrue(recorder.start(null));
+            assertNull(recorder.finishedFile());
+        }
+    }
+
+    @Test
+    void start_clampsDurationToMax() {
+        try (JfrRecorder recorder = recorder(Duration.ofSeconds(5))) {
+            assertTrue(recorder.start(Duration.ofHours(1)));
+            assertEquals(5L, recorder.status().get("durationSeconds"));
+        }
+    }
+
+    @Test
+    void invalidLimits_rejectedAtConstruction() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JfrRecorder(null, Duration.ZERO, 1, dir, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JfrRecorder(null, Duration.ofSeconds(1), 0, dir, Clock.systemUTC()));
+    }
+
+    private JfrRecorder recorder(Duration max) {
+        return new JfrRecorder(Duration.ofSeconds(10), max, 64L * 1024 * 1024, dir, Clock.systemUTC());
+    }
+
+    private static List<byte[]> allocate() {
+        List<byte[]> retained = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            byte[] chunk = new byte[16 * 1024];
+            if (i % 100 == 0) {
+                retained.add(chunk);
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Holds the monitor well past the profile settings' 10 ms monitor-enter threshold while
+     * another thread waits for it.
+     */
+    private static void contend(Gate gate) throws InterruptedException {
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (gate) {
+                held.countDown();
+                sleep(200);
+            }
+        });
+        holder.start();
+        held.await();
+        Thread waiter = new Thread(() -> {
+            synchronized (gate) {
+                gate.entered++;
+            }
+        });
+        waiter.start();
+        holder.join();
+        waiter.join();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Gate {
+        int entered;
+    }
+}
@@ -0,0 +1,119 @@
+package com.agenttrust.platform.web.warmup;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class WarmUpTest {
+
+    @Test
+    void run_executesEveryTask_thenReportsReady() {
+        CountingTask a = new CountingTask("a", -1);
+        CountingTask b = new CountingTask("b", -1);
+        WarmUp warmUp = new WarmUp(props(true, 50, Duration.ofSeconds(30)), List.of(a, b));
+
+        assertFalse(warmUp.isReady());
+        assertEquals(WarmUp.State.PENDING, warmUp.status().state());
+
+        warmUp.run();
+
+        assertTrue(warmUp.isReady());
+        assertEquals(WarmUp.State.COMPLETED, warmUp.status().state());
+        assertEquals(100, warmUp.status().iterations());
+        assertEquals(50, a.runs.get());
+        assertEquals(50, b.runs.get());
+        assertTrue(a.finished.get() && b.finished.get());
+        assertEquals("completed", warmUp.status().details().get("status"));
+    }
+
+    @Test
+    void failingTask_endsWarmUp_butServiceBecomesReady() {
+        CountingTask failing = new CountingTask("failing", 3);
+        CountingTask next = new CountingTask("next", -1);
+        WarmUp warmUp = new WarmUp(props(true, 50, Duration.ofSeconds(30)), List.of(failing, next));
+
+        warmUp.run();
+
+        assertTrue(warmUp.isReady());
+        assertEquals(WarmUp.State.FAILED, warmUp.status().state());
+        assertEquals(3, warmUp.status().iterations());
+        assertTrue(failing.finished.get(), "finish() runs after a failure too");
+        assertEquals(0, next.runs.get());
+        assertTrue(warmUp.status().detail().startsWith("failing: "));
+        assertTrue(warmUp.status().detail().contains("synthetic failure"));
+    }
+
+    @Test
+    void maxDuration_boundsWarmUp() {
+        CountingTask slow = new CountingTask("slow", -1) {
+            @Override
+            public void run() throws Exception {
+                super.run();
+                Thread.sleep(5);
+            }
+        };
+        WarmUp warmUp = new WarmUp(props(true, 1_000_000, Duration.ofMillis(50)), List.of(slow));
+
+        warmUp.run();
+
+        assertEquals(WarmUp.State.COMPLETED, warmUp.status().state());
+        assertEquals("stopped at maxDuration", warmUp.status().detail());
+        assertTrue(slow.runs.get() < 1_000_000);
+        assertTrue(slow.finished.get());
+    }
+
+    @Test
+    void disabled_isReadyWithoutRunning() {
+        CountingTask task = new CountingTask("t", -1);
+        WarmUp warmUp = new WarmUp(props(false, 50, Duration.ofSeconds(30)), List.of(task));
+
+        assertTrue(warmUp.isReady());
+        warmUp.run();
+
+        assertEquals(WarmUp.State.DISABLED, warmUp.status().state());
+        assertEquals(0, task.runs.get());
+    }
+
+    private static WarmUpProperties props(boolean enabled, int iterations, Duration maxDuration) {
+        WarmUpProperties props = new WarmUpProperties();
+        props.setEnabled(enabled);
+        props.setIterations(iterations);
+        props.setMaxDuration(maxDuration);
+        return props;
+    }
+
+    private static class CountingTask implements WarmUpTask {
+
+        final String name;
+        final int failAt;
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicBoolean finished = new AtomicBoolean();
+
+        CountingTask(String name, int failAt) {
+            this.name = name;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void run() throws Exception {
+            if (runs.get() == failAt) {
+                throw new IllegalStateException("synthetic failure");
+            }
+            runs.incrementAndGet();
+        }
+
+        @Override
+        public void finish() {
+            finished.set(true);
+        }
+    }
+}
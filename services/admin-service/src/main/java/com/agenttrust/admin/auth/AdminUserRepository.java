@@ -1,7 +1,12 @@
 package com.agenttrust.admin.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +15,18 @@ public interface AdminUserRepository extends JpaRepository<AdminUserEntity, UUID
     Optional<AdminUserEntity> findByTenantIdAndUsername(String tenantId, String username);
 
     boolean existsByTenantIdAndUsername(String tenantId, String username);
+
+    /**
+     * Replaces the password hash only if it is still {@code oldHash} (login-time rehash).
+     *
+     * @return number of rows updated (0 if the password changed meanwhile)
+     */
+    @Modifying
+    @Transactional
+    @Query("update AdminUserEntity u set u.passwordHash = :newHash, u.updatedAt = :now "
+            + "where u.userId = :userId and u.passwordHash = :oldHash")
+    int replacePasswordHash(@Param("userId") UUID userId,
+                            @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash,
+                            @Param("now") OffsetDateTime now);
 }
@@ -1,11 +1,10 @@
 package com.agenttrust.admin.auth;
 
 import com.agenttrust.admin.auth.config.AuthProperties;
-import com.agenttrust.admin.auth.keys.JwtRsaKeyManager;
+import com.agenttrust.admin.auth.keys.AdminJwtKey;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import org.springframework.stereotype.Component;
@@ -20,9 +19,9 @@ import java.util.UUID;
 public class JwtIssuer {
 
     private final AuthProperties authProperties;
-    private final JwtRsaKeyManager keyManager;
+    private final AdminJwtKeyManager keyManager;
 
-    public JwtIssuer(AuthProperties authProperties, JwtRsaKeyManager keyManager) {
+    public JwtIssuer(AuthProperties authProperties, AdminJwtKeyManager keyManager) {
         this.authProperties = Objects.requireNonNull(authProperties, "authProperties");
         this.keyManager = Objects.requireNonNull(keyManager, "keyManager");
     }
@@ -50,14 +49,15 @@ public class JwtIssuer {
                 .claim("roles", roles)
                 .build();
 
-        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
-                .keyID(keyManager.keyId())
+        AdminJwtKey key = keyManager.signingKey();
+        JWSHeader header = new JWSHeader.Builder(key.algorithm().jwsAlgorithm())
+                .keyID(key.keyId())
                 .build();
 
         SignedJWT jwt = new SignedJWT(header, claims);
 
         try {
-            jwt.sign(new RSASSASigner(keyManager.privateKey()));
+            jwt.sign(key.signer());
             return jwt.serialize();
         } catch (JOSEException e) {
             throw new IllegalStateException("Failed to sign JWT", e);
@@ -0,0 +1,204 @@
+package com.agenttrust.admin.auth;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory failed-login counters per username and per client IP, consulted before any password
+ * check so throttled attempts cost no BCrypt work.
+ *
+ * An attempt is counted as a failure when it is admitted ({@link #reserve}), in the same critical
+ * section as the limit check, so concurrent guesses cannot all pass the check before any of them
+ * fails. Each key gets a fixed window that starts at its first attempt; once a key reaches its limit
+ * it is blocked until the window ends. A successful login clears the username's counter and takes
+ * back only its own attempt from the IP's (so one valid account cannot launder attempts against
+ * others).
+ *
+ * Counters live in {@value #STRIPES} independently locked LRU stripes, so concurrent logins rarely
+ * contend and memory stays bounded by {@code maxTrackedKeys} per dimension. State is per instance;
+ * the limits are meant to stop bursts, not to be an exact global budget.
+ */
+public final class LoginThrottle {
+
+    static final int STRIPES = 64;
+
+    private final FailureCounter usernames;
+    private final FailureCounter clientIps;
+
+    public LoginThrottle(Duration window, int maxFailuresPerUsername, int maxFailuresPerIp, int maxTrackedKeys) {
+        this(window, maxFailuresPerUsername, maxFailuresPerIp, maxTrackedKeys, System::currentTimeMillis);
+    }
+
+    LoginThrottle(Duration window, int maxFailuresPerUsername, int maxFailuresPerIp, int maxTrackedKeys,
+                  LongSupplier clockMillis) {
+        if (window == null || !window.isPositive()) {
+            throw new IllegalArgumentException("agenttrust.auth.login.throttle.window must be positive");
+        }
+        int perStripe = Math.max(1, maxTrackedKeys / STRIPES);
+        this.usernames = new FailureCounter(window.toMillis(), maxFailuresPerUsername, perStripe, clockMillis);
+        this.clientIps = new FailureCounter(window.toMillis(), maxFailuresPerIp, perStripe, clockMillis);
+    }
+
+    /**
+     * Seconds until the username or IP may try again, or 0 when an attempt would be allowed. Only a
+     * peek: use {@link #reserve} to admit an attempt.
+     */
+    public long retryAfterSeconds(String username, String clientIp) {
+        return seconds(Math.max(usernames.blockedForMillis(normalize(username)), clientIps.blockedForMillis(clientIp)));
+    }
+
+    /**
+     * Admits an attempt and counts it as a failure, or returns the seconds until the username or IP
+     * may try again. After a 0 the caller must end the attempt with {@link #onSuccess}, with
+     * {@link #release} when the credentials were never checked, or not at all when they were wrong.
+     */
+    public long reserve(String username, String clientIp) {
+        String user = normalize(username);
+        long millis = usernames.tryIncrement(user);
+        if (millis > 0) {
+            return seconds(millis);
+        }
+        millis = clientIps.tryIncrement(clientIp);
+        if (millis > 0) {
+            usernames.decrement(user);
+            return seconds(millis);
+        }
+        return 0;
+    }
+
+    /**
+     * Takes back an attempt admitted by {@link #reserve} that was not a credential check.
+     */
+    public void release(String username, String clientIp) {
+        usernames.decrement(normalize(username));
+        clientIps.decrement(clientIp);
+    }
+
+    public void onSuccess(String username, String clientIp) {
+        usernames.clear(normalize(username));
+        clientIps.decrement(clientIp);
+    }
+
+    private static long seconds(long millis) {
+        return (millis <= 0) ? 0 : Math.max(1, (millis + 999) / 1000);
+    }
+
+    private static String normalize(String username) {
+        return (username == null) ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class FailureCounter {
+
+        private final long windowMillis;
+        private final int maxFailures;
+        private final LongSupplier clockMillis;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        FailureCounter(long windowMillis, int maxFailures, int maxKeysPerStripe, LongSupplier clockMillis) {
+            this.windowMillis = windowMillis;
+            this.maxFailures = maxFailures;
+            this.clockMillis = clockMillis;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(maxKeysPerStripe);
+            }
+        }
+
+        long blockedForMillis(String key) {
+            if (key == null || maxFailures <= 0) {
+                return 0;
+            }
+            long now = clockMillis.getAsLong();
+            Stripe stripe = stripe(key);
+            synchronized (stripe) {
+                Window w = stripe.get(key);
+                if (w == null || now - w.startedAt >= windowMillis) {
+                    return 0;
+                }
+                return (w.failures >= maxFailures) ? w.startedAt + windowMillis - now : 0;
+            }
+        }
+
+        /**
+         * Counts one attempt unless the key is blocked; returns the millis it stays blocked, else 0.
+         */
+        long tryIncrement(String key) {
+            if (key == null || maxFailures <= 0) {
+                return 0;
+            }
+            long now = clockMillis.getAsLong();
+            Stripe stripe = stripe(key);
+            synchronized (stripe) {
+                Window w = stripe.get(key);
+                if (w == null || now - w.startedAt >= windowMillis) {
+                    w = new Window(now);
+                    stripe.put(key, w);
+                } else if (w.failures >= maxFailures) {
+                    return w.startedAt + windowMillis - now;
+                }
+                w.failures++;
+                return 0;
+            }
+        }
+
+        void decrement(String key) {
+            if (key == null || maxFailures <= 0) {
+                return;
+            }
+            long now = clockMillis.getAsLong();
+            Stripe stripe = stripe(key);
+            synchronized (stripe) {
+                Window w = stripe.get(key);
+                // A window that ended meanwhile no longer holds the attempt.
+                if (w != null && now - w.startedAt < windowMillis && w.failures > 0) {
+                    w.failures--;
+                }
+            }
+        }
+
+        void clear(String key) {
+            if (key == null) {
+                return;
+            }
+            Stripe stripe = stripe(key);
+            synchronized (stripe) {
+                stripe.remove(key);
+            }
+        }
+
+        private Stripe stripe(String key) {
+            int h = key.hashCode();
+            return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used key beyond capacity.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Window> {
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Window {
+
+        final long startedAt;
+        int failures;
+
+        Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
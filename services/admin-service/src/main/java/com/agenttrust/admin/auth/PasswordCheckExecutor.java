@@ -0,0 +1,69 @@
+package com.agenttrust.admin.auth;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool for BCrypt work on the login path.
+ *
+ * A password check costs tens of milliseconds of pure CPU. Running it on request threads lets a
+ * burst of login attempts occupy every core; here at most {@code threads} checks run at once, at
+ * most {@code queueCapacity} wait, and anything beyond that is rejected immediately (the caller
+ * answers 429) instead of queueing unbounded work.
+ */
+public final class PasswordCheckExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordCheckExecutor(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("password check pool needs >= 1 thread and a non-negative queue");
+        }
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "admin-password-check-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs the check on the pool and waits for its result.
+     *
+     * @throws RejectedExecutionException when all threads are busy and the queue is full
+     */
+    public <T> T run(Callable<T> check) {
+        Future<T> future = executor.submit(check);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("password check interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("password check failed", e.getCause());
+        }
+    }
+
+    int queued() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
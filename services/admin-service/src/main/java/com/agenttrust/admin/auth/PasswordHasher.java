@@ -1,5 +1,6 @@
 package com.agenttrust.admin.auth;
 
+import com.agenttrust.admin.auth.config.AuthProperties;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -8,12 +9,23 @@ import java.util.Objects;
 @Component
 public class PasswordHasher {
 
+    /**
+     * Outcome of a login password check.
+     *
+     * @param upgradedHash new hash at the configured cost when the password matched a hash with a
+     *                     lower cost factor, else null
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
     private final BCryptPasswordEncoder encoder;
 
-    public PasswordHasher() {
-        // Cost factor 10 is a reasonable baseline for a portfolio MVP.
-        // We can make this configurable later.
-        this.encoder = new BCryptPasswordEncoder(10);
+    public PasswordHasher(AuthProperties authProperties) {
+        int cost = authProperties.getPassword().getBcryptCost();
+        if (cost < 4 || cost > 31) {
+            throw new IllegalStateException("agenttrust.auth.password.bcrypt-cost must be between 4 and 31");
+        }
+        this.encoder = new BCryptPasswordEncoder(cost);
     }
 
     public String hash(String rawPassword) {
@@ -29,4 +41,15 @@ public class PasswordHasher {
         Objects.requireNonNull(passwordHash, "passwordHash");
         return encoder.matches(rawPassword, passwordHash);
     }
+
+    /**
+     * Checks a password and, if it matches a hash weaker than the configured cost, re-hashes it, so
+     * raising the cost factor upgrades stored hashes as users log in.
+     */
+    public Verification verify(String rawPassword, String passwordHash) {
+        if (!matches(rawPassword, passwordHash)) {
+            return new Verification(false, null);
+        }
+        return new Verification(true, encoder.upgradeEncoding(passwordHash) ? encoder.encode(rawPassword) : null);
+    }
 }
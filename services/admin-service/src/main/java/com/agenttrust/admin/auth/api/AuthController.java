@@ -3,17 +3,30 @@ package com.agenttrust.admin.auth.api;
 import com.agenttrust.admin.auth.AdminUserEntity;
 import com.agenttrust.admin.auth.AdminUserRepository;
 import com.agenttrust.admin.auth.JwtIssuer;
+import com.agenttrust.admin.auth.LoginThrottle;
+import com.agenttrust.admin.auth.PasswordCheckExecutor;
 import com.agenttrust.admin.auth.PasswordHasher;
 import com.agenttrust.admin.auth.config.AuthProperties;
 import com.agenttrust.admin.tenancy.TenantService;
+import com.agenttrust.platform.web.observability.RequestCorrelationFilter;
+import com.agenttrust.platform.web.problem.ProblemTemplate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.agenttrust.admin.auth.api.AuthDtos.LoginRequest;
 import static com.agenttrust.admin.auth.api.AuthDtos.LoginResponse;
@@ -22,40 +35,78 @@ import static com.agenttrust.admin.auth.api.AuthDtos.LoginResponse;
 @RequestMapping("/v1/admin/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
+    private static final ProblemTemplate LOGIN_RATE_LIMITED = ProblemTemplate.of(
+            URI.create("https://agenttrust.dev/problems/rate-limited"),
+            "Too many requests",
+            HttpStatus.TOO_MANY_REQUESTS,
+            "AUTH_RATE_LIMITED");
+
     private final AuthProperties authProperties;
     private final AdminUserRepository adminUserRepository;
     private final PasswordHasher passwordHasher;
+    private final PasswordCheckExecutor passwordCheckExecutor;
+    private final LoginThrottle loginThrottle;
     private final JwtIssuer jwtIssuer;
 
     public AuthController(
             AuthProperties authProperties,
             AdminUserRepository adminUserRepository,
             PasswordHasher passwordHasher,
+            PasswordCheckExecutor passwordCheckExecutor,
+            LoginThrottle loginThrottle,
             JwtIssuer jwtIssuer
     ) {
         this.authProperties = Objects.requireNonNull(authProperties, "authProperties");
         this.adminUserRepository = Objects.requireNonNull(adminUserRepository, "adminUserRepository");
         this.passwordHasher = Objects.requireNonNull(passwordHasher, "passwordHasher");
+        this.passwordCheckExecutor = Objects.requireNonNull(passwordCheckExecutor, "passwordCheckExecutor");
+        this.loginThrottle = Objects.requireNonNull(loginThrottle, "loginThrottle");
         this.jwtIssuer = Objects.requireNonNull(jwtIssuer, "jwtIssuer");
     }
 
     @PostMapping("/login")
-    public LoginResponse login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         String username = request.username().trim();
         String password = request.password();
+        String clientIp = httpRequest.getRemoteAddr();
+
+        // Before the user lookup and BCrypt, so throttled attempts cost neither. The attempt counts as a
+        // failure from here on, so concurrent guesses cannot all pass the check while BCrypt runs.
+        long retryAfterSeconds = loginThrottle.reserve(username, clientIp);
+        if (retryAfterSeconds > 0) {
+            return rateLimited(httpRequest, retryAfterSeconds, "Too many failed login attempts; retry after "
+                    + retryAfterSeconds + "s.");
+        }
 
         AdminUserEntity user = adminUserRepository
                 .findByTenantIdAndUsername(TenantService.PLATFORM_TENANT_ID, username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid credentials"));
+                .orElse(null);
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid credentials");
+        }
 
         if (!user.isActive()) {
+            loginThrottle.release(username, clientIp);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "inactive user");
         }
 
-        boolean ok = passwordHasher.matches(password, user.getPasswordHash());
-        if (!ok) {
+        PasswordHasher.Verification verification;
+        try {
+            verification = passwordCheckExecutor.run(() -> passwordHasher.verify(password, user.getPasswordHash()));
+        } catch (RejectedExecutionException e) {
+            loginThrottle.release(username, clientIp);
+            return rateLimited(httpRequest, 1, "Too many concurrent login attempts; retry shortly.");
+        }
+        if (!verification.matches()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid credentials");
         }
+        loginThrottle.onSuccess(username, clientIp);
+
+        if (verification.upgradedHash() != null) {
+            upgradePasswordHash(user, verification.upgradedHash());
+        }
 
         List<String> roles = Arrays.asList(user.getRoles());
 
@@ -65,6 +116,38 @@ public class AuthController {
                 roles
         );
 
-        return new LoginResponse(token, "Bearer", authProperties.getJwt().getTtlSeconds());
+        return ResponseEntity.ok(new LoginResponse(token, "Bearer", authProperties.getJwt().getTtlSeconds()));
+    }
+
+    /**
+     * Stores a hash at the current cost factor. Conditional on the old hash, so a concurrent password
+     * change is never overwritten; a failure here must not fail an otherwise valid login.
+     */
+    private void upgradePasswordHash(AdminUserEntity user, String upgradedHash) {
+        try {
+            adminUserRepository.replacePasswordHash(user.getUserId(), user.getPasswordHash(), upgradedHash,
+                    OffsetDateTime.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.warn("Password hash upgrade failed for admin user {}", user.getUserId(), e);
+        }
+    }
+
+    private static ResponseEntity<byte[]> rateLimited(HttpServletRequest request, long retryAfterSeconds,
+                                                      String detail) {
+        return ResponseEntity
+                .status(LOGIN_RATE_LIMITED.status())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .contentType(ProblemTemplate.PROBLEM_JSON)
+                .body(LOGIN_RATE_LIMITED.render(
+                        detail,
+                        request.getRequestURI(),
+                        attr(request, RequestCorrelationFilter.ATTR_TRACE_ID),
+                        attr(request, RequestCorrelationFilter.ATTR_REQUEST_ID),
+                        null));
+    }
+
+    private static String attr(HttpServletRequest request, String name) {
+        Object v = request.getAttribute(name);
+        return (v instanceof String s) ? s : null;
     }
 }
@@ -1,29 +1,39 @@
 package com.agenttrust.admin.auth.api;
 
-import com.agenttrust.admin.auth.keys.JwtRsaKeyManager;
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 @RestController
 public class JwksController {
 
-    private final JwtRsaKeyManager keyManager;
+    private final AdminJwtKeyManager keyManager;
+    private final CacheControl cacheControl;
 
-    public JwksController(JwtRsaKeyManager keyManager) {
+    public JwksController(AdminJwtKeyManager keyManager, AuthProperties authProperties) {
         this.keyManager = keyManager;
+        Duration maxAge = authProperties.getJwt().getJwksMaxAge();
+        this.cacheControl = CacheControl.maxAge(maxAge == null ? Duration.ZERO : maxAge).cachePublic();
     }
 
+    /**
+     * Serves the pre-serialized key set. The ETag lets verifiers revalidate with If-None-Match and
+     * get a body-less 304 (handled by Spring for ResponseEntity with an ETag) until keys change.
+     * Retired keys stay in the set for the rotation grace window, so a max-age well below it is safe.
+     */
     @GetMapping(path = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> jwks() {
-        // Cacheable but short-lived for MVP; key rotation later will require careful cache behavior.
+    public ResponseEntity<byte[]> jwks() {
+        AdminJwtKeyManager.Jwks jwks = keyManager.jwks();
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
-                .body(keyManager.jwksJson());
+                .cacheControl(cacheControl)
+                .eTag(jwks.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwks.json());
     }
 }
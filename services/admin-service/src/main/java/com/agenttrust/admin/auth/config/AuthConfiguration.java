@@ -1,9 +1,28 @@
 package com.agenttrust.admin.auth.config;
 
+import com.agenttrust.admin.auth.LoginThrottle;
+import com.agenttrust.admin.auth.PasswordCheckExecutor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableConfigurationProperties(AuthProperties.class)
 public class AuthConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public PasswordCheckExecutor passwordCheckExecutor(AuthProperties authProperties) {
+        AuthProperties.Login login = authProperties.getLogin();
+        return new PasswordCheckExecutor(login.getPasswordCheckThreads(), login.getQueueCapacity());
+    }
+
+    @Bean
+    public LoginThrottle loginThrottle(AuthProperties authProperties) {
+        AuthProperties.Login.Throttle throttle = authProperties.getLogin().getThrottle();
+        return new LoginThrottle(
+                throttle.getWindow(),
+                throttle.getMaxFailuresPerUsername(),
+                throttle.getMaxFailuresPerIp(),
+                throttle.getMaxTrackedKeys());
+    }
 }
@@ -2,6 +2,8 @@ package com.agenttrust.admin.auth.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Admin-service authentication configuration.
  *
@@ -14,6 +16,8 @@ public class AuthProperties {
 
     private final BootstrapAdmin bootstrapAdmin = new BootstrapAdmin();
     private final Jwt jwt = new Jwt();
+    private final Password password = new Password();
+    private final Login login = new Login();
 
     public BootstrapAdmin getBootstrapAdmin() {
         return bootstrapAdmin;
@@ -23,6 +27,119 @@ public class AuthProperties {
         return jwt;
     }
 
+    public Password getPassword() {
+        return password;
+    }
+
+    public Login getLogin() {
+        return login;
+    }
+
+    public static final class Password {
+
+        /**
+         * BCrypt cost factor (log2 rounds, 4-31) for new hashes. Raising it upgrades existing
+         * hashes transparently on each user's next successful login; each +1 doubles check time.
+         */
+        private int bcryptCost = 10;
+
+        public int getBcryptCost() {
+            return bcryptCost;
+        }
+
+        public void setBcryptCost(int bcryptCost) {
+            this.bcryptCost = bcryptCost;
+        }
+    }
+
+    /**
+     * Login endpoint protection (see PasswordCheckExecutor and LoginThrottle).
+     */
+    public static final class Login {
+
+        /**
+         * Threads running BCrypt checks; bounds the CPU a login burst can take from the admin API.
+         */
+        private int passwordCheckThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Checks allowed to wait for a thread; beyond that logins are rejected with 429 at once.
+         */
+        private int queueCapacity = 16;
+
+        private final Throttle throttle = new Throttle();
+
+        public int getPasswordCheckThreads() {
+            return passwordCheckThreads;
+        }
+
+        public void setPasswordCheckThreads(int passwordCheckThreads) {
+            this.passwordCheckThreads = passwordCheckThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Throttle getThrottle() {
+            return throttle;
+        }
+
+        /**
+         * Failed-attempt limits; a username or client IP that reaches its limit gets 429 until its
+         * window (started at the first failure) ends. Zero disables a limit.
+         */
+        public static final class Throttle {
+
+            private Duration window = Duration.ofMinutes(15);
+
+            private int maxFailuresPerUsername = 5;
+
+            private int maxFailuresPerIp = 50;
+
+            /**
+             * Usernames and IPs tracked each; least recently seen keys are dropped beyond this.
+             */
+            private int maxTrackedKeys = 100_000;
+
+            public Duration getWindow() {
+                return window;
+            }
+
+            public void setWindow(Duration window) {
+                this.window = window;
+            }
+
+            public int getMaxFailuresPerUsername() {
+                return maxFailuresPerUsername;
+            }
+
+            public void setMaxFailuresPerUsername(int maxFailuresPerUsername) {
+                this.maxFailuresPerUsername = maxFailuresPerUsername;
+            }
+
+            public int getMaxFailuresPerIp() {
+                return maxFailuresPerIp;
+            }
+
+            public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+                this.maxFailuresPerIp = maxFailuresPerIp;
+            }
+
+            public int getMaxTrackedKeys() {
+                return maxTrackedKeys;
+            }
+
+            public void setMaxTrackedKeys(int maxTrackedKeys) {
+                this.maxTrackedKeys = maxTrackedKeys;
+            }
+        }
+    }
+
     public static final class BootstrapAdmin {
         /**
          * Bootstrap admin username provided by environment variable.
@@ -67,7 +184,22 @@ public class AuthProperties {
          */
         private long ttlSeconds = 900;
 
+        /**
+         * Signing algorithm for new tokens: RS256, ES256 or EdDSA (Ed25519).
+         * Changing it generates a new key at startup; the previous key stays published
+         * (and valid for verification) until tokens it signed have expired.
+         */
+        private String algorithm = "RS256";
+
+        /**
+         * Cache-Control max-age of GET /.well-known/jwks.json. Responses carry an ETag, so
+         * verifiers revalidate with a cheap 304 once it passes.
+         */
+        private Duration jwksMaxAge = Duration.ofMinutes(5);
+
         private final Keystore keystore = new Keystore();
+        private final Rotation rotation = new Rotation();
+        private final VerifiedCache verifiedCache = new VerifiedCache();
 
         public String getIssuer() {
             return issuer;
@@ -85,10 +217,109 @@ public class AuthProperties {
             this.ttlSeconds = ttlSeconds;
         }
 
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public Duration getJwksMaxAge() {
+            return jwksMaxAge;
+        }
+
+        public void setJwksMaxAge(Duration jwksMaxAge) {
+            this.jwksMaxAge = jwksMaxAge;
+        }
+
         public Keystore getKeystore() {
             return keystore;
         }
 
+        public Rotation getRotation() {
+            return rotation;
+        }
+
+        public VerifiedCache getVerifiedCache() {
+            return verifiedCache;
+        }
+
+        /**
+         * Scheduled signing key rotation (see JwtKeyRotationScheduler).
+         */
+        public static final class Rotation {
+
+            /**
+             * Age of the signing key after which a new one is generated; zero disables scheduled rotation.
+             */
+            private Duration interval = Duration.ofDays(30);
+
+            /**
+             * How long a retired key stays published after rotation. Never shorter than the token
+             * TTL plus clock skew, so tokens signed just before a rotation stay valid until exp.
+             */
+            private Duration graceWindow = Duration.ofMinutes(20);
+
+            /**
+             * How often key age and retired-key expiry are checked.
+             */
+            private Duration checkInterval = Duration.ofMinutes(1);
+
+            public Duration getInterval() {
+                return interval;
+            }
+
+            public void setInterval(Duration interval) {
+                this.interval = interval;
+            }
+
+            public Duration getGraceWindow() {
+                return graceWindow;
+            }
+
+            public void setGraceWindow(Duration graceWindow) {
+                this.graceWindow = graceWindow;
+            }
+
+            public Duration getCheckInterval() {
+                return checkInterval;
+            }
+
+            public void setCheckInterval(Duration checkInterval) {
+                this.checkInterval = checkInterval;
+            }
+        }
+
+        /**
+         * Cache of successfully verified tokens in front of the JWT decoder (see CachingJwtDecoder).
+         */
+        public static final class VerifiedCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Distinct tokens kept; each entry expires at its token's exp at the latest.
+             */
+            private long maximumSize = 10_000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
         public static final class Keystore {
 
             /**
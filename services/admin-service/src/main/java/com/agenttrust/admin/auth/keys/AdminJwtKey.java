@@ -0,0 +1,97 @@
+package com.agenttrust.admin.auth.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jwk.JWK;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * One admin JWT key as published in the JWKS.
+ *
+ * The current signing key carries its private key; retired keys are public only and stay published
+ * for the rotation grace window (at least the token TTL) after {@code retiredAt}.
+ */
+public final class AdminJwtKey {
+
+    private final String keyId;
+    private final AdminJwtAlgorithm algorithm;
+    private final PublicKey publicKey;
+    private final PrivateKey privateKey;
+    private final Instant createdAt;
+    private final Instant retiredAt;
+    private final JWK publicJwk;
+    private final JWSSigner signer;
+
+    AdminJwtKey(String keyId, AdminJwtAlgorithm algorithm, PublicKey publicKey, PrivateKey privateKey,
+                Instant createdAt, Instant retiredAt) {
+        this.keyId = Objects.requireNonNull(keyId, "keyId");
+        this.algorithm = Objects.requireNonNull(algorithm, "algorithm");
+        this.publicKey = Objects.requireNonNull(publicKey, "publicKey");
+        this.privateKey = privateKey;
+        this.createdAt = createdAt;
+        this.retiredAt = retiredAt;
+        this.publicJwk = algorithm.publicJwk(keyId, publicKey);
+        try {
+            this.signer = (privateKey == null) ? null : algorithm.signer(privateKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unusable admin JWT signing key " + keyId, e);
+        }
+    }
+
+    public String keyId() {
+        return keyId;
+    }
+
+    public AdminJwtAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public PublicKey publicKey() {
+        return publicKey;
+    }
+
+    /**
+     * When the key was generated; null for retired keys loaded from disk.
+     */
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Null for the current signing key.
+     */
+    public Instant retiredAt() {
+        return retiredAt;
+    }
+
+    /**
+     * Signer for the current key (thread-safe, reused across tokens).
+     *
+     * @throws IllegalStateException for retired keys, which are never used to sign
+     */
+    public JWSSigner signer() {
+        if (signer == null) {
+            throw new IllegalStateException("Admin JWT key " + keyId + " is retired and cannot sign");
+        }
+        return signer;
+    }
+
+    /**
+     * Public JWK (no private key material).
+     */
+    public JWK publicJwk() {
+        return publicJwk;
+    }
+
+    PrivateKey privateKey() {
+        return privateKey;
+    }
+
+    AdminJwtKey retire(Instant at) {
+        return new AdminJwtKey(keyId, algorithm, publicKey, null, createdAt, at);
+    }
+}
@@ -0,0 +1,366 @@
+package com.agenttrust.admin.auth.keys;
+
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.*;
+import java.security.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Admin JWT key material: the current signing key plus retired keys that are still published.
+ *
+ * The signing algorithm is agenttrust.auth.jwt.algorithm (RS256, ES256 or EdDSA). Files next to
+ * the configured keystore path:
+ *
+ * - {@code <path>.pkcs8 / .spki / .kid / .alg}: current signing key ({@code .alg} absent = RS256,
+ *   the original layout). The {@code .kid} modification time is the key's creation time.
+ * - {@code <path>.retired.<kid>.<alg>.spki}: public part of a retired key; its modification time is
+ *   the retirement time.
+ *
+ * The signing key is rotated once it is older than agenttrust.auth.jwt.rotation.interval (see
+ * {@link JwtKeyRotationScheduler}) and whenever the configured algorithm changes at startup. A
+ * retired key stays in the JWKS and keeps verifying tokens for the grace window, which is never
+ * shorter than the token TTL plus clock skew, so tokens issued just before a rotation remain valid
+ * until they expire.
+ *
+ * All published state (signing key, kid lookup map, serialized JWKS and its ETag) is one immutable
+ * snapshot, rebuilt on change; the request paths only read it.
+ */
+@Component
+public class AdminJwtKeyManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminJwtKeyManager.class);
+
+    /**
+     * Matches the default clock skew of Spring Security's JwtTimestampValidator.
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final String RETIRED = ".retired.";
+
+    /**
+     * Serialized JWKS (public keys only) and its strong ETag. The array must not be modified.
+     */
+    public record Jwks(byte[] json, String etag) {
+    }
+
+    private record KeySet(AdminJwtKey signingKey, Map<String, AdminJwtKey> byKid, Jwks jwks, long version) {
+    }
+
+    private final AuthProperties authProperties;
+    private final AdminJwtAlgorithm configuredAlgorithm;
+
+    private volatile KeySet keySet;
+    private long version;
+
+    public AdminJwtKeyManager(AuthProperties authProperties) {
+        this.authProperties = Objects.requireNonNull(authProperties, "authProperties");
+        this.configuredAlgorithm = AdminJwtAlgorithm.fromJoseName(authProperties.getJwt().getAlgorithm());
+        Duration grace = authProperties.getJwt().getRotation().getGraceWindow();
+        if (grace != null && grace.compareTo(minimumRetention()) < 0) {
+            log.warn("agenttrust.auth.jwt.rotation.grace-window={} is shorter than the token TTL plus clock skew; "
+                    + "retired keys stay published for {}", grace, minimumRetention());
+        }
+        loadOrCreateKeys();
+    }
+
+    /**
+     * Current key for issuing tokens.
+     */
+    public AdminJwtKey signingKey() {
+        return keySet.signingKey();
+    }
+
+    /**
+     * Published key for a token's kid, or null if unknown or no longer published.
+     */
+    public AdminJwtKey verificationKey(String keyId) {
+        return (keyId == null) ? null : keySet.byKid().get(keyId);
+    }
+
+    /**
+     * Changes whenever the verification key material changes. Caches of verified tokens compare
+     * against it and drop their entries on a change.
+     */
+    public long keySetVersion() {
+        return keySet.version();
+    }
+
+    /**
+     * Public JWKS (no private key material): the signing key first, then retired keys.
+     * Served as-is by GET /.well-known/jwks.json
+     */
+    public Jwks jwks() {
+        return keySet.jwks();
+    }
+
+    /**
+     * Generates a new signing key for the configured algorithm and retires the current one.
+     */
+    public synchronized AdminJwtKey rotate() {
+        return rotate(Instant.now());
+    }
+
+    /**
+     * Rotates the signing key once it is older than the rotation interval and stops publishing
+     * retired keys past their grace window. Called periodically by {@link JwtKeyRotationScheduler}.
+     */
+    synchronized void maintain(Instant now) {
+        dropExpiredRetiredKeys(now);
+
+        Duration interval = authProperties.getJwt().getRotation().getInterval();
+        AdminJwtKey current = keySet.signingKey();
+        if (interval != null && interval.isPositive() && current.createdAt() != null
+                && !now.isBefore(current.createdAt().plus(interval))) {
+            rotate(now);
+        }
+    }
+
+    private AdminJwtKey rotate(Instant now) {
+        try {
+            Files.createDirectories(keyDir());
+            AdminJwtKey previous = keySet.signingKey();
+            AdminJwtKey retired = retire(previous, now);
+            AdminJwtKey next = createSigningKey(now);
+
+            Map<String, AdminJwtKey> keys = new LinkedHashMap<>();
+            keys.put(next.keyId(), next);
+            keys.put(retired.keyId(), retired);
+            keySet.byKid().values().stream()
+                    .filter(k -> k.retiredAt() != null && !keys.containsKey(k.keyId()))
+                    .forEach(k -> keys.put(k.keyId(), k));
+            publish(next, keys);
+
+            log.info("Rotated admin JWT signing key {} ({}) -> {} ({}); previous key published until {}",
+                    previous.keyId(), previous.algorithm().joseName(), next.keyId(), next.algorithm().joseName(),
+                    retainUntil(retired));
+            return next;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to rotate admin JWT key material", e);
+        }
+    }
+
+    private synchronized void loadOrCreateKeys() {
+        if (keySet != null) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(keyDir());
+            Instant now = Instant.now();
+
+            Map<String, AdminJwtKey> keys = new LinkedHashMap<>();
+            AdminJwtKey current = loadSigningKey();
+            AdminJwtKey retiredNow = null;
+            if (current != null && current.algorithm() != configuredAlgorithm) {
+                log.info("Admin JWT algorithm changed from {} to {}; retiring key {}",
+                        current.algorithm().joseName(), configuredAlgorithm.joseName(), current.keyId());
+                retiredNow = retire(current, now);
+                current = null;
+            }
+            if (current == null) {
+                current = createSigningKey(now);
+                log.info("Generated new admin JWT {} key material at {} (kid={})",
+                        current.algorithm().joseName(), basePath(), current.keyId());
+            } else {
+                log.info("Loaded admin JWT {} key material from {} (kid={})",
+                        current.algorithm().joseName(), basePath(), current.keyId());
+            }
+
+            keys.put(current.keyId(), current);
+            if (retiredNow != null) {
+                keys.put(retiredNow.keyId(), retiredNow);
+            }
+            for (AdminJwtKey retired : loadRetiredKeys()) {
+                keys.putIfAbsent(retired.keyId(), retired);
+            }
+            publish(current, keys);
+            dropExpiredRetiredKeys(now);
+
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load or create admin JWT key material", e);
+        }
+    }
+
+    private void publish(AdminJwtKey current, Map<String, AdminJwtKey> keys) {
+        List<JWK> jwks = new ArrayList<>(keys.size());
+        for (AdminJwtKey key : keys.values()) {
+            jwks.add(key.publicJwk());
+        }
+        byte[] json = new JWKSet(jwks).toString(true).getBytes(StandardCharsets.UTF_8);
+        Jwks document = new Jwks(json, "\"" + sha256(json) + "\"");
+
+        this.keySet = new KeySet(current, Collections.unmodifiableMap(new LinkedHashMap<>(keys)), document, ++version);
+    }
+
+    private void dropExpiredRetiredKeys(Instant now) {
+        Map<String, AdminJwtKey> keys = new LinkedHashMap<>(keySet.byKid());
+        boolean removed = keys.values().removeIf(k -> {
+            if (k.retiredAt() == null || now.isBefore(retainUntil(k))) {
+                return false;
+            }
+            deleteQuietly(retiredPath(k));
+            log.info("Admin JWT key {} ({}) is past its grace window and no longer published",
+                    k.keyId(), k.algorithm().joseName());
+            return true;
+        });
+        if (removed) {
+            publish(keySet.signingKey(), keys);
+        }
+    }
+
+    private Instant retainUntil(AdminJwtKey retired) {
+        Duration grace = authProperties.getJwt().getRotation().getGraceWindow();
+        Duration minimum = minimumRetention();
+        return retired.retiredAt().plus((grace == null || grace.compareTo(minimum) < 0) ? minimum : grace);
+    }
+
+    private Duration minimumRetention() {
+        return Duration.ofSeconds(Math.max(0, authProperties.getJwt().getTtlSeconds())).plus(CLOCK_SKEW);
+    }
+
+    private AdminJwtKey loadSigningKey() throws IOException, GeneralSecurityException {
+        Path privatePath = sibling(".pkcs8");
+        Path publicPath = sibling(".spki");
+        Path kidPath = sibling(".kid");
+        Path algPath = sibling(".alg");
+        if (!(Files.exists(privatePath) && Files.exists(publicPath) && Files.exists(kidPath))) {
+            return null;
+        }
+
+        AdminJwtAlgorithm alg = Files.exists(algPath)
+                ? AdminJwtAlgorithm.fromJoseName(Files.readString(algPath, StandardCharsets.UTF_8))
+                : AdminJwtAlgorithm.RS256;
+        String kid = Files.readString(kidPath, StandardCharsets.UTF_8).trim();
+        if (kid.isBlank()) {
+            throw new IllegalStateException("kid file is blank: " + kidPath);
+        }
+        return new AdminJwtKey(kid, alg,
+                alg.decodePublicKey(Files.readAllBytes(publicPath)),
+                alg.decodePrivateKey(Files.readAllBytes(privatePath)),
+                Files.getLastModifiedTime(kidPath).toInstant(),
+                null);
+    }
+
+    private AdminJwtKey createSigningKey(Instant now) throws IOException, GeneralSecurityException {
+        KeyPair keyPair = configuredAlgorithm.generate();
+        String kid = computeKid(keyPair.getPublic());
+
+        Path privatePath = sibling(".pkcs8");
+        writeAtomic(privatePath, keyPair.getPrivate().getEncoded());
+        writeAtomic(sibling(".spki"), keyPair.getPublic().getEncoded());
+        writeAtomicString(sibling(".alg"), configuredAlgorithm.joseName());
+        writeAtomicString(sibling(".kid"), kid);
+        Files.setLastModifiedTime(sibling(".kid"), FileTime.from(now));
+
+        // Best-effort permissions for private key file on POSIX filesystems (WSL should support this)
+        setOwnerReadWriteOnly(privatePath);
+
+        return new AdminJwtKey(kid, configuredAlgorithm, keyPair.getPublic(), keyPair.getPrivate(), now, null);
+    }
+
+    private AdminJwtKey retire(AdminJwtKey key, Instant now) throws IOException {
+        Path path = retiredPath(key);
+        writeAtomic(path, key.publicKey().getEncoded());
+        Files.setLastModifiedTime(path, FileTime.from(now));
+        return key.retire(now);
+    }
+
+    private List<AdminJwtKey> loadRetiredKeys() throws IOException {
+        Path base = basePath();
+        String prefix = base.getFileName() + RETIRED;
+        List<AdminJwtKey> retired = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(keyDir(), prefix + "*.spki")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String[] parts = name.substring(prefix.length(), name.length() - ".spki".length()).split("\\.");
+                try {
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("unexpected file name");
+                    }
+                    AdminJwtAlgorithm alg = AdminJwtAlgorithm.fromJoseName(parts[1]);
+                    Instant retiredAt = Files.getLastModifiedTime(file).toInstant();
+                    retired.add(new AdminJwtKey(parts[0], alg, alg.decodePublicKey(Files.readAllBytes(file)), null,
+                            null, retiredAt));
+                } catch (IllegalArgumentException | GeneralSecurityException e) {
+                    log.warn("Ignoring unreadable retired admin JWT key {}: {}", file, e.toString());
+                }
+            }
+        }
+        return retired;
+    }
+
+    private Path basePath() {
+        return Paths.get(authProperties.getJwt().getKeystore().getPath()).toAbsolutePath();
+    }
+
+    private Path keyDir() {
+        Path basePath = basePath();
+        return basePath.getParent() != null ? basePath.getParent() : Paths.get(".").toAbsolutePath();
+    }
+
+    private Path sibling(String suffix) {
+        return Paths.get(basePath().toString() + suffix);
+    }
+
+    private Path retiredPath(AdminJwtKey key) {
+        return sibling(RETIRED + key.keyId() + "." + key.algorithm().joseName() + ".spki");
+    }
+
+    private static String computeKid(PublicKey pub) {
+        return sha256(pub.getEncoded());
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeAtomic(Path path, byte[] bytes) throws IOException {
+        Path tmp = Paths.get(path.toString() + ".tmp");
+        Files.write(tmp, bytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeAtomicString(Path path, String value) throws IOException {
+        writeAtomic(path, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void setOwnerReadWriteOnly(Path path) {
+        try {
+            // chmod 600 equivalent on POSIX. If not supported (e.g., Windows FS), ignore.
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (Exception ignored) {
+            // best-effort only
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // best-effort only; an expired file is skipped again on the next start
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.agenttrust.admin.auth.keys;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import java.security.Key;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Selects the verification key for an admin JWT by its kid, among the keys currently published by
+ * {@link AdminJwtKeyManager}. The header alg must match the key's algorithm; tokens without a kid or
+ * with an unknown one are rejected.
+ */
+public final class AdminJwtKeySelector implements JWSKeySelector<SecurityContext> {
+
+    private final AdminJwtKeyManager keyManager;
+
+    public AdminJwtKeySelector(AdminJwtKeyManager keyManager) {
+        this.keyManager = Objects.requireNonNull(keyManager, "keyManager");
+    }
+
+    @Override
+    public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+        AdminJwtKey key = keyManager.verificationKey(header.getKeyID());
+        if (key == null || !key.algorithm().jwsAlgorithm().equals(header.getAlgorithm())) {
+            return List.of();
+        }
+        return List.of(key.publicKey());
+    }
+}
@@ -0,0 +1,73 @@
+package com.agenttrust.admin.auth.keys;
+
+import com.agenttrust.admin.auth.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically lets {@link AdminJwtKeyManager} rotate an aged signing key and stop publishing
+ * retired keys past their grace window.
+ *
+ * Runs on its own daemon thread every agenttrust.auth.jwt.rotation.check-interval. Key age is taken
+ * from the key files, so the schedule survives restarts. A failed rotation keeps the current key
+ * and is retried on the next check.
+ */
+@Component
+public class JwtKeyRotationScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRotationScheduler.class);
+
+    private final AdminJwtKeyManager keyManager;
+    private final Duration checkInterval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public JwtKeyRotationScheduler(AdminJwtKeyManager keyManager, AuthProperties authProperties) {
+        this.keyManager = Objects.requireNonNull(keyManager, "keyManager");
+        Duration configured = authProperties.getJwt().getRotation().getCheckInterval();
+        this.checkInterval = (configured == null || !configured.isPositive()) ? Duration.ofMinutes(1) : configured;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "admin-jwt-key-rotation");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodMs = Math.max(1000, checkInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::check, 0, periodMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void check() {
+        try {
+            keyManager.maintain(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Admin JWT key rotation check failed; keeping the current key: {}", e.toString());
+        }
+    }
+}
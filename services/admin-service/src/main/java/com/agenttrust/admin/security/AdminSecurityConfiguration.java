@@ -1,12 +1,19 @@
 package com.agenttrust.admin.security;
 
 import com.agenttrust.admin.auth.config.AuthProperties;
-import com.agenttrust.admin.auth.keys.JwtRsaKeyManager;
+import com.agenttrust.admin.auth.keys.AdminJwtAlgorithm;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
+import com.agenttrust.admin.auth.keys.AdminJwtKeySelector;
 import com.agenttrust.platform.web.problem.ProblemDetails;
 import com.agenttrust.platform.web.problem.ProblemMediaTypes;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -72,6 +79,9 @@ public class AdminSecurityConfiguration {
             // Tenant management is platform-admin only
             .requestMatchers("/v1/admin/tenants", "/v1/admin/tenants/**").hasRole("PLATFORM_ADMIN")
 
+            // On-demand profiling (agenttrust.platform.jfr.enabled), platform-admin only
+            .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("PLATFORM_ADMIN")
+
             // Other admin APIs require a valid JWT
             .requestMatchers("/v1/admin/**").authenticated()
 
@@ -90,11 +100,37 @@ public class AdminSecurityConfiguration {
   /**
    * Provide a JwtDecoder so the app can start without requiring jwk-set-uri.
    * Admin-service validates tokens using its local public key material.
+   * Verified tokens are cached until their exp (agenttrust.auth.jwt.verified-cache.*), so repeat
+   * calls with the same token skip signature verification.
    */
   @Bean
-  JwtDecoder jwtDecoder(JwtRsaKeyManager keyManager, AuthProperties authProperties) {
-    NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(keyManager.publicKey()).build();
-    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(authProperties.getJwt().getIssuer()));
+  JwtDecoder jwtDecoder(AdminJwtKeyManager keyManager,
+                        AuthProperties authProperties,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+    NimbusJwtDecoder decoder = signatureDecoder(keyManager, authProperties.getJwt().getIssuer());
+
+    AuthProperties.Jwt.VerifiedCache cacheProps = authProperties.getJwt().getVerifiedCache();
+    if (!cacheProps.isEnabled()) {
+      return decoder;
+    }
+    CachingJwtDecoder caching = new CachingJwtDecoder(decoder, keyManager::keySetVersion, cacheProps.getMaximumSize());
+    meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, caching.cache(), "admin.jwt_verified"));
+    return caching;
+  }
+
+  /**
+   * Verifies against every key the key manager currently publishes (selected by kid), whatever its
+   * algorithm, so tokens signed before a key rotation or algorithm change stay valid until exp.
+   */
+  static NimbusJwtDecoder signatureDecoder(AdminJwtKeyManager keyManager, String issuer) {
+    DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+    processor.setJWSKeySelector(new AdminJwtKeySelector(keyManager));
+    processor.setJWSVerifierFactory(AdminJwtAlgorithm.verifierFactory());
+    // Claims are checked by the Spring validator below, as with NimbusJwtDecoder's own builders.
+    processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+    NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
     return decoder;
   }
 
@@ -0,0 +1,134 @@
+package com.agenttrust.admin.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Verified-token cache in front of the admin JWT decoder.
+ *
+ * Automation clients send the same admin token thousands of times within its TTL; only the first
+ * use pays for parsing, RSA verification and claim validation.
+ *
+ * - Keyed by SHA-256 of the token string, so bearer tokens are not kept as map keys.
+ * - An entry never outlives the token's exp; tokens without exp are not cached.
+ * - Bounded by maximumSize (W-TinyLFU eviction).
+ * - Only successfully decoded tokens are cached; rejected tokens go to the delegate every time.
+ * - Dropped entirely when the key manager's key set version changes (rotation, reload).
+ */
+public final class CachingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder delegate;
+  private final LongSupplier keySetVersion;
+  private final Clock clock;
+  private final Cache<String, Jwt> cache;
+
+  private volatile long cachedVersion;
+
+  public CachingJwtDecoder(JwtDecoder delegate, LongSupplier keySetVersion, long maximumSize) {
+    this(delegate, keySetVersion, maximumSize, Clock.systemUTC(), Ticker.systemTicker());
+  }
+
+  CachingJwtDecoder(JwtDecoder delegate, LongSupplier keySetVersion, long maximumSize, Clock clock, Ticker ticker) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.keySetVersion = Objects.requireNonNull(keySetVersion, "keySetVersion");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("agenttrust.auth.jwt.verified-cache.maximum-size must be positive");
+    }
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new UntilExp(clock))
+        .ticker(ticker)
+        .recordStats()
+        .build();
+    this.cachedVersion = keySetVersion.getAsLong();
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    long version = keySetVersion.getAsLong();
+    if (version != cachedVersion) {
+      invalidate(version);
+    }
+    if (token == null || token.isEmpty()) {
+      return delegate.decode(token);
+    }
+
+    String key = sha256(token);
+    Jwt cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    Jwt jwt = delegate.decode(token);
+    Instant exp = jwt.getExpiresAt();
+    // Not cached if the keys changed while this token was being verified against the old set.
+    if (exp != null && exp.isAfter(clock.instant()) && keySetVersion.getAsLong() == version) {
+      cache.put(key, jwt);
+    }
+    return jwt;
+  }
+
+  /**
+   * Exposed for cache metrics binding.
+   */
+  Cache<String, Jwt> cache() {
+    return cache;
+  }
+
+  private synchronized void invalidate(long version) {
+    if (version != cachedVersion) {
+      cache.invalidateAll();
+      cachedVersion = version;
+    }
+  }
+
+  private static String sha256(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Lifetime of an entry: the time left until the token's exp.
+   */
+  private record UntilExp(Clock clock) implements Expiry<String, Jwt> {
+
+    @Override
+    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+      Instant exp = jwt.getExpiresAt();
+      if (exp == null) {
+        return 0L;
+      }
+      return Math.max(0L, Duration.between(clock.instant(), exp).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, jwt, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
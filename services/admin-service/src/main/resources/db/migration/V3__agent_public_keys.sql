@@ -0,0 +1,22 @@
+-- V3__agent_public_keys.sql
+-- Tenant-scoped agent public keys (read by attestation-service when keys.source=postgres).
+-- Store PUBLIC keys only.
+
+CREATE TABLE IF NOT EXISTS agent_public_keys (
+  tenant_id          TEXT NOT NULL,
+  key_id             TEXT NOT NULL,
+  status             TEXT NOT NULL DEFAULT 'ACTIVE',
+  -- Base64 of the raw 32-byte Ed25519 public key or its SubjectPublicKeyInfo.
+  public_key_base64  TEXT NOT NULL,
+  not_after          TIMESTAMPTZ,
+  created_at         TIMESTAMPTZ NOT NULL DEFAULT now(),
+  updated_at         TIMESTAMPTZ NOT NULL DEFAULT now(),
+  CONSTRAINT agent_public_keys_pk PRIMARY KEY (tenant_id, key_id),
+  CONSTRAINT agent_public_keys_key_id_len CHECK (char_length(key_id) BETWEEN 1 AND 256),
+  CONSTRAINT agent_public_keys_status_valid CHECK (status IN ('ACTIVE', 'REVOKED')),
+  CONSTRAINT agent_public_keys_tenant_fk FOREIGN KEY (tenant_id) REFERENCES tenants (tenant_id)
+);
+
+-- Attestation looks keys up by keyId alone (to tell KEY_NOT_FOUND from TENANT_KEY_MISMATCH).
+CREATE INDEX IF NOT EXISTS agent_public_keys_key_id_idx
+  ON agent_public_keys (key_id);
@@ -0,0 +1,9 @@
+-- V4__agent_public_keys_algorithm.sql
+-- RFC 9421 algorithm per agent key; existing rows are Ed25519.
+
+ALTER TABLE agent_public_keys
+  ADD COLUMN IF NOT EXISTS algorithm TEXT NOT NULL DEFAULT 'ed25519';
+
+ALTER TABLE agent_public_keys
+  ADD CONSTRAINT agent_public_keys_algorithm_valid
+  CHECK (algorithm IN ('ed25519', 'ecdsa-p256-sha256', 'rsa-pss-sha512', 'hmac-sha256'));
@@ -0,0 +1,125 @@
+package com.agenttrust.admin.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private final AtomicLong nowMillis = new AtomicLong(1_000_000L);
+    private final LoginThrottle throttle = new LoginThrottle(WINDOW, 3, 5, 10_000, nowMillis::get);
+
+    @Test
+    void username_isBlockedAfterMaxFailures_untilWindowEnds() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.retryAfterSeconds("alice", "10.0.0." + i)).isZero();
+            assertThat(throttle.reserve("alice", "10.0.0." + i)).isZero();
+        }
+
+        assertThat(throttle.reserve("alice", "10.0.0.99")).isEqualTo(WINDOW.toSeconds());
+        assertThat(throttle.retryAfterSeconds("ALICE ", "10.0.0.99")).isPositive();
+        assertThat(throttle.retryAfterSeconds("bob", "10.0.0.99")).isZero();
+
+        nowMillis.addAndGet(WINDOW.toMillis() - 1_500);
+        assertThat(throttle.retryAfterSeconds("alice", "10.0.0.99")).isEqualTo(2);
+
+        nowMillis.addAndGet(1_500);
+        assertThat(throttle.retryAfterSeconds("alice", "10.0.0.99")).isZero();
+    }
+
+    @Test
+    void clientIp_isBlockedAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttle.reserve("user" + i, "192.0.2.1");
+        }
+
+        assertThat(throttle.reserve("someone-else", "192.0.2.1")).isPositive();
+        assertThat(throttle.retryAfterSeconds("someone-else", "192.0.2.2")).isZero();
+        // The IP rejection took back the username's attempt.
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.reserve("someone-else", "192.0.2.2")).isZero();
+        }
+    }
+
+    @Test
+    void success_clearsUsername_andTakesBackOnlyItsOwnIpAttempt() {
+        throttle.reserve("alice", "192.0.2.1");
+        throttle.reserve("alice", "192.0.2.1");
+        throttle.reserve("alice", "192.0.2.1");
+        throttle.onSuccess("alice", "192.0.2.1");
+        throttle.reserve("alice", "192.0.2.1");
+        throttle.reserve("alice", "192.0.2.1");
+
+        assertThat(throttle.retryAfterSeconds("alice", "192.0.2.3")).isZero();
+
+        throttle.reserve("alice", "192.0.2.3");
+        assertThat(throttle.reserve("bob", "192.0.2.1")).isZero();
+        assertThat(throttle.retryAfterSeconds("bob", "192.0.2.1")).isPositive();
+    }
+
+    @Test
+    void release_takesBackAnUncheckedAttempt() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.reserve("alice", "192.0.2.1")).isZero();
+            throttle.release("alice", "192.0.2.1");
+        }
+
+        assertThat(throttle.retryAfterSeconds("alice", "192.0.2.1")).isZero();
+    }
+
+    @Test
+    void concurrentReservations_admitAtMostTheLimit() throws Exception {
+        int threads = 16;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String ip = "10.0.1." + i;
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    if (throttle.reserve("alice", ip) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // No guess has failed yet, and still only maxFailuresPerUsername of them got through.
+        assertThat(admitted).hasValue(3);
+    }
+
+    @Test
+    void trackedKeys_areBounded() {
+        LoginThrottle small = new LoginThrottle(WINDOW, 1, 0, LoginThrottle.STRIPES, nowMillis::get);
+        small.reserve("alice", null);
+        for (int i = 0; i < 10_000; i++) {
+            small.reserve("user" + i, null);
+        }
+
+        // One key per stripe: alice's counter was evicted by later usernames.
+        assertThat(small.retryAfterSeconds("alice", null)).isZero();
+        assertThat(small.retryAfterSeconds("user9999", null)).isPositive();
+    }
+}
@@ -0,0 +1,48 @@
+package com.agenttrust.admin.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordCheckExecutorTest {
+
+    @Test
+    void run_returnsResultAndPropagatesFailures() {
+        try (PasswordCheckExecutor executor = new PasswordCheckExecutor(1, 1)) {
+            assertThat(executor.run(() -> Thread.currentThread().getName())).startsWith("admin-password-check-");
+            assertThatThrownBy(() -> executor.run(() -> {
+                throw new IllegalArgumentException("boom");
+            })).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+        }
+    }
+
+    @Test
+    void saturatedPool_rejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (PasswordCheckExecutor executor = new PasswordCheckExecutor(1, 1)) {
+            Future<Boolean> running = callers.submit(() -> executor.run(() -> release.await(10, TimeUnit.SECONDS)));
+            Future<Boolean> queued = callers.submit(() -> executor.run(() -> true));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.queued() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> executor.run(() -> true)).isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
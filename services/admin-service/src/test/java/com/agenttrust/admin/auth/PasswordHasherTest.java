@@ -0,0 +1,44 @@
+package com.agenttrust.admin.auth;
+
+import com.agenttrust.admin.auth.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    @Test
+    void verify_rehashesWhenCostWasRaised() {
+        String oldHash = hasher(4).hash("s3cret-pass");
+        PasswordHasher current = hasher(5);
+
+        PasswordHasher.Verification verification = current.verify("s3cret-pass", oldHash);
+
+        assertThat(verification.matches()).isTrue();
+        assertThat(verification.upgradedHash()).startsWith("$2a$05$");
+        assertThat(current.matches("s3cret-pass", verification.upgradedHash())).isTrue();
+        assertThat(current.verify("s3cret-pass", verification.upgradedHash()).upgradedHash()).isNull();
+    }
+
+    @Test
+    void verify_wrongPassword_neverRehashes() {
+        String oldHash = hasher(4).hash("s3cret-pass");
+
+        PasswordHasher.Verification verification = hasher(5).verify("wrong", oldHash);
+
+        assertThat(verification.matches()).isFalse();
+        assertThat(verification.upgradedHash()).isNull();
+    }
+
+    @Test
+    void outOfRangeCost_isRejected() {
+        assertThatThrownBy(() -> hasher(3)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static PasswordHasher hasher(int cost) {
+        AuthProperties properties = new AuthProperties();
+        properties.getPassword().setBcryptCost(cost);
+        return new PasswordHasher(properties);
+    }
+}
@@ -0,0 +1,139 @@
+package com.agenttrust.admin.auth.api;
+
+import com.agenttrust.admin.auth.AdminUserEntity;
+import com.agenttrust.admin.auth.AdminUserRepository;
+import com.agenttrust.admin.auth.JwtIssuer;
+import com.agenttrust.admin.auth.LoginThrottle;
+import com.agenttrust.admin.auth.PasswordCheckExecutor;
+import com.agenttrust.admin.auth.PasswordHasher;
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
+import com.agenttrust.admin.tenancy.TenantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AuthControllerTest {
+
+    private static final String PASSWORD = "s3cret-pass";
+
+    @TempDir
+    Path dir;
+
+    private final AuthProperties props = new AuthProperties();
+    private final AdminUserRepository repository = mock(AdminUserRepository.class);
+    private final LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(15), 2, 50, 10_000);
+    private PasswordCheckExecutor executor = new PasswordCheckExecutor(1, 0);
+
+    @BeforeEach
+    void setUp() {
+        props.getJwt().setAlgorithm("ES256");
+        props.getJwt().getKeystore().setPath(dir.resolve("admin-jwt").toString());
+        props.getPassword().setBcryptCost(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void throttledLogin_answers429WithRetryAfter_withoutLookupOrBcrypt() throws Exception {
+        AdminUserEntity alice = user(hasher(5).hash(PASSWORD));
+        when(repository.findByTenantIdAndUsername(TenantService.PLATFORM_TENANT_ID, "alice"))
+                .thenReturn(Optional.of(alice));
+        MockMvc mvc = mvc();
+
+        login(mvc, "alice", "wrong-password").andExpect(status().isUnauthorized());
+        login(mvc, "alice", "wrong-password").andExpect(status().isUnauthorized());
+
+        login(mvc, "alice", PASSWORD)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "900"))
+                .andExpect(content().contentType("application/problem+json"))
+                .andExpect(jsonPath("$.errorCode").value("AUTH_RATE_LIMITED"))
+                .andExpect(jsonPath("$.instance").value("/v1/admin/auth/login"));
+        verify(repository, times(2)).findByTenantIdAndUsername(anyString(), anyString());
+    }
+
+    @Test
+    void loginWithWeakerHash_succeeds_andStoresRehash() throws Exception {
+        String oldHash = hasher(4).hash(PASSWORD);
+        AdminUserEntity alice = user(oldHash);
+        when(repository.findByTenantIdAndUsername(TenantService.PLATFORM_TENANT_ID, "alice"))
+                .thenReturn(Optional.of(alice));
+
+        login(mvc(), "alice", PASSWORD)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+        verify(repository).replacePasswordHash(eq(alice.getUserId()), eq(oldHash), startsWith("$2a$05$"), any());
+    }
+
+    @Test
+    void rehashFailure_doesNotFailLogin() throws Exception {
+        AdminUserEntity alice = user(hasher(4).hash(PASSWORD));
+        when(repository.findByTenantIdAndUsername(TenantService.PLATFORM_TENANT_ID, "alice"))
+                .thenReturn(Optional.of(alice));
+        when(repository.replacePasswordHash(any(), any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        login(mvc(), "alice", PASSWORD).andExpect(status().isOk());
+    }
+
+    @Test
+    void saturatedPasswordPool_answers429_andDoesNotCountAsFailure() throws Exception {
+        executor.close();
+        executor = mock(PasswordCheckExecutor.class);
+        when(executor.run(any())).thenThrow(new RejectedExecutionException("full"));
+        when(repository.findByTenantIdAndUsername(TenantService.PLATFORM_TENANT_ID, "alice"))
+                .thenReturn(Optional.of(user(hasher(5).hash(PASSWORD))));
+        MockMvc mvc = mvc();
+
+        for (int i = 0; i < 3; i++) {
+            login(mvc, "alice", PASSWORD)
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+        }
+        assertThat(throttle.retryAfterSeconds("alice", "127.0.0.1")).isZero();
+    }
+
+    private MockMvc mvc() {
+        JwtIssuer issuer = new JwtIssuer(props, new AdminJwtKeyManager(props));
+        return MockMvcBuilders.standaloneSetup(
+                new AuthController(props, repository, hasher(5), executor, throttle, issuer)).build();
+    }
+
+    private static ResultActions login(MockMvc mvc, String username, String password) throws Exception {
+        return mvc.perform(post("/v1/admin/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private static AdminUserEntity user(String passwordHash) {
+        return new AdminUserEntity(UUID.randomUUID(), TenantService.PLATFORM_TENANT_ID, "alice", passwordHash,
+                new String[] {"platform_admin"}, true);
+    }
+
+    private static PasswordHasher hasher(int cost) {
+        AuthProperties properties = new AuthProperties();
+        properties.getPassword().setBcryptCost(cost);
+        return new PasswordHasher(properties);
+    }
+}
@@ -0,0 +1,49 @@
+package com.agenttrust.admin.auth.api;
+
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class JwksControllerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void servesEtaggedKeySet_andAnswers304UntilKeysChange() throws Exception {
+        AuthProperties props = new AuthProperties();
+        props.getJwt().setAlgorithm("ES256");
+        props.getJwt().getKeystore().setPath(dir.resolve("admin-jwt").toString());
+        AdminJwtKeyManager keyManager = new AdminJwtKeyManager(props);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new JwksController(keyManager, props)).build();
+
+        MvcResult first = mvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value(keyManager.signingKey().keyId()))
+                .andExpect(jsonPath("$.keys[0].d").doesNotExist())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertThat(etag).isEqualTo(keyManager.jwks().etag());
+
+        mvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        keyManager.rotate();
+        mvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", keyManager.jwks().etag()))
+                .andExpect(jsonPath("$.keys.length()").value(2));
+    }
+}
@@ -0,0 +1,163 @@
+package com.agenttrust.admin.auth.keys;
+
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdminJwtKeyManagerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaultsToRs256_andReloadsTheSameKey() throws Exception {
+        AdminJwtKeyManager first = new AdminJwtKeyManager(props("RS256"));
+        AdminJwtKeyManager second = new AdminJwtKeyManager(props("RS256"));
+
+        assertThat(first.signingKey().algorithm()).isEqualTo(AdminJwtAlgorithm.RS256);
+        assertThat(second.signingKey().keyId()).isEqualTo(first.signingKey().keyId());
+        assertThat(keys(second)).singleElement()
+                .satisfies(jwk -> {
+                    assertThat(jwk).containsEntry("kty", "RSA").containsEntry("alg", "RS256");
+                    assertThat(jwk).doesNotContainKeys("d", "p", "q");
+                });
+    }
+
+    @Test
+    void algorithmChange_retiresPreviousKey_whichStaysPublished() throws Exception {
+        AdminJwtKey rsa = new AdminJwtKeyManager(props("RS256")).signingKey();
+
+        AdminJwtKeyManager ec = new AdminJwtKeyManager(props("ES256"));
+        AdminJwtKeyManager ed = new AdminJwtKeyManager(props("EdDSA"));
+
+        assertThat(ec.signingKey().algorithm()).isEqualTo(AdminJwtAlgorithm.ES256);
+        assertThat(ed.signingKey().algorithm()).isEqualTo(AdminJwtAlgorithm.EDDSA);
+        assertThat(ed.verificationKey(rsa.keyId()).retiredAt()).isNotNull();
+        assertThat(ed.verificationKey(ec.signingKey().keyId())).isNotNull();
+
+        List<Map<String, Object>> jwks = keys(ed);
+        assertThat(jwks).extracting(k -> k.get("kty")).containsExactly("OKP", "EC", "RSA");
+        assertThat(jwks.get(0)).containsEntry("crv", "Ed25519").containsEntry("alg", "EdDSA").doesNotContainKey("d");
+        assertThat(jwks.get(1)).containsEntry("crv", "P-256").containsEntry("alg", "ES256").doesNotContainKey("d");
+        assertThatThrownBy(() -> ed.verificationKey(rsa.keyId()).signer()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rotate_publishesNewKey_andChangesKeySetVersion() throws Exception {
+        AdminJwtKeyManager manager = new AdminJwtKeyManager(props("ES256"));
+        AdminJwtKey before = manager.signingKey();
+        long version = manager.keySetVersion();
+
+        AdminJwtKey after = manager.rotate();
+
+        assertThat(after.keyId()).isNotEqualTo(before.keyId());
+        assertThat(manager.signingKey()).isSameAs(after);
+        assertThat(manager.keySetVersion()).isNotEqualTo(version);
+        assertThat(keys(manager)).extracting(k -> k.get("kid"))
+                .containsExactly(after.keyId(), before.keyId());
+
+        AdminJwtKeyManager restarted = new AdminJwtKeyManager(props("ES256"));
+        assertThat(restarted.signingKey().keyId()).isEqualTo(after.keyId());
+        assertThat(restarted.verificationKey(before.keyId())).isNotNull();
+    }
+
+    @Test
+    void maintain_rotatesAgedKey_thenDropsItAfterGraceWindow() throws Exception {
+        AuthProperties props = props("ES256");
+        props.getJwt().getRotation().setInterval(Duration.ofDays(30));
+        props.getJwt().getRotation().setGraceWindow(Duration.ofMinutes(30));
+        AdminJwtKeyManager manager = new AdminJwtKeyManager(props);
+        AdminJwtKey first = manager.signingKey();
+        String etag = manager.jwks().etag();
+        Instant start = first.createdAt();
+
+        manager.maintain(start.plus(Duration.ofDays(29)));
+        assertThat(manager.signingKey()).isSameAs(first);
+        assertThat(manager.jwks().etag()).isEqualTo(etag);
+
+        Instant rotatedAt = start.plus(Duration.ofDays(30));
+        manager.maintain(rotatedAt);
+        AdminJwtKey second = manager.signingKey();
+        assertThat(second.keyId()).isNotEqualTo(first.keyId());
+        assertThat(manager.verificationKey(first.keyId())).isNotNull();
+        assertThat(manager.jwks().etag()).isNotEqualTo(etag);
+
+        manager.maintain(rotatedAt.plus(Duration.ofMinutes(29)));
+        assertThat(keys(manager)).hasSize(2);
+
+        manager.maintain(rotatedAt.plus(Duration.ofMinutes(30)));
+        assertThat(manager.verificationKey(first.keyId())).isNull();
+        assertThat(keys(manager)).extracting(k -> k.get("kid")).containsExactly(second.keyId());
+        assertThat(manager.signingKey()).isSameAs(second);
+    }
+
+    @Test
+    void graceWindow_isNeverShorterThanTokenTtl() {
+        AuthProperties props = props("EdDSA");
+        props.getJwt().getRotation().setGraceWindow(Duration.ofMinutes(1));
+        AdminJwtKeyManager manager = new AdminJwtKeyManager(props);
+        AdminJwtKey old = manager.signingKey();
+        manager.rotate();
+        Instant retiredAt = manager.verificationKey(old.keyId()).retiredAt();
+
+        // ttl 900 s + 60 s skew
+        manager.maintain(retiredAt.plusSeconds(959));
+        assertThat(manager.verificationKey(old.keyId())).isNotNull();
+        manager.maintain(retiredAt.plusSeconds(960));
+        assertThat(manager.verificationKey(old.keyId())).isNull();
+    }
+
+    @Test
+    void retiredKey_pastGraceWindow_isNotLoadedAfterRestart() throws Exception {
+        AdminJwtKeyManager manager = new AdminJwtKeyManager(props("EdDSA"));
+        AdminJwtKey old = manager.signingKey();
+        manager.rotate();
+
+        Path retiredFile;
+        try (Stream<Path> files = Files.list(dir)) {
+            retiredFile = files.filter(p -> p.getFileName().toString().contains(".retired.")).findFirst().orElseThrow();
+        }
+        // default grace window: 20 min
+        Files.setLastModifiedTime(retiredFile, FileTime.from(Instant.now().minus(Duration.ofMinutes(21))));
+
+        AdminJwtKeyManager restarted = new AdminJwtKeyManager(props("EdDSA"));
+
+        assertThat(restarted.verificationKey(old.keyId())).isNull();
+        assertThat(keys(restarted)).hasSize(1);
+        assertThat(retiredFile).doesNotExist();
+    }
+
+    @Test
+    void unknownAlgorithm_failsStartup() {
+        assertThatThrownBy(() -> new AdminJwtKeyManager(props("HS256")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HS256");
+    }
+
+    private AuthProperties props(String algorithm) {
+        AuthProperties props = new AuthProperties();
+        props.getJwt().setAlgorithm(algorithm);
+        props.getJwt().getKeystore().setPath(dir.resolve("admin-jwt").toString());
+        return props;
+    }
+
+    private static List<Map<String, Object>> keys(AdminJwtKeyManager manager) throws Exception {
+        Map<String, List<Map<String, Object>>> jwks = new ObjectMapper().readValue(manager.jwks().json(),
+                new TypeReference<>() { });
+        return jwks.get("keys");
+    }
+}
@@ -0,0 +1,70 @@
+package com.agenttrust.admin.security;
+
+import com.agenttrust.admin.auth.JwtIssuer;
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin JWT issue (login) and uncached verify throughput per signing algorithm
+ * (agenttrust.auth.jwt.algorithm).
+ *
+ * Run from services/admin-service:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       org.openjdk.jmh.Main AdminJwtBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdminJwtBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    String alg;
+
+    private JwtIssuer issuer;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        AuthProperties props = new AuthProperties();
+        props.getJwt().setAlgorithm(alg);
+        props.getJwt().getKeystore().setPath(Files.createTempDirectory("admin-jwt-bench").resolve("admin-jwt").toString());
+
+        AdminJwtKeyManager keys = new AdminJwtKeyManager(props);
+        issuer = new JwtIssuer(props, keys);
+        decoder = AdminSecurityConfiguration.signatureDecoder(keys, props.getJwt().getIssuer());
+        token = issue();
+        decoder.decode(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return issuer.issueAdminToken("admin", "__platform__", List.of("PLATFORM_ADMIN"));
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
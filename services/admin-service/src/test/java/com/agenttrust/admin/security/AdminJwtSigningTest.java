@@ -0,0 +1,93 @@
+package com.agenttrust.admin.security;
+
+import com.agenttrust.admin.auth.JwtIssuer;
+import com.agenttrust.admin.auth.config.AuthProperties;
+import com.agenttrust.admin.auth.keys.AdminJwtKeyManager;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdminJwtSigningTest {
+
+    private static final String ISSUER = "agenttrust-admin-test";
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256", "EdDSA"})
+    void issuedToken_verifies(String algorithm) {
+        AuthProperties props = props(algorithm);
+        AdminJwtKeyManager keys = new AdminJwtKeyManager(props);
+        JwtDecoder decoder = AdminSecurityConfiguration.signatureDecoder(keys, ISSUER);
+
+        String token = new JwtIssuer(props, keys).issueAdminToken("alice", "__platform__", List.of("ADMIN"));
+        Jwt jwt = decoder.decode(token);
+
+        assertThat(jwt.getHeaders()).containsEntry("alg", algorithm).containsEntry("kid", keys.signingKey().keyId());
+        assertThat(jwt.getSubject()).isEqualTo("alice");
+        assertThat(jwt.getClaimAsStringList("roles")).containsExactly("ADMIN");
+
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + flipFirstChar(parts[2]);
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256", "EdDSA"})
+    void tokenFromRetiredKey_stillVerifies_untilItExpires(String algorithm) {
+        AuthProperties before = props(algorithm);
+        AdminJwtKeyManager keys = new AdminJwtKeyManager(before);
+        String oldToken = new JwtIssuer(before, keys).issueAdminToken("alice", "t1", List.of("ADMIN"));
+
+        AuthProperties after = props(algorithm.equals("EdDSA") ? "ES256" : "EdDSA");
+        AdminJwtKeyManager switched = new AdminJwtKeyManager(after);
+        JwtDecoder decoder = AdminSecurityConfiguration.signatureDecoder(switched, ISSUER);
+
+        assertThat(decoder.decode(oldToken).getSubject()).isEqualTo("alice");
+        String newToken = new JwtIssuer(after, switched).issueAdminToken("bob", "t1", List.of("ADMIN"));
+        assertThat(decoder.decode(newToken).getSubject()).isEqualTo("bob");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ES256", "EdDSA"})
+    void headerAlg_mustMatchTheKey(String algorithm) {
+        AuthProperties props = props(algorithm);
+        AdminJwtKeyManager keys = new AdminJwtKeyManager(props);
+        JwtDecoder decoder = AdminSecurityConfiguration.signatureDecoder(keys, ISSUER);
+        String token = new JwtIssuer(props, keys).issueAdminToken("alice", "t1", List.of("ADMIN"));
+
+        String[] parts = token.split("\\.");
+        String header = "{\"kid\":\"" + keys.signingKey().keyId() + "\",\"alg\":\"RS256\"}";
+        String forged = b64(header) + "." + parts[1] + "." + parts[2];
+
+        assertThatThrownBy(() -> decoder.decode(forged)).isInstanceOf(BadJwtException.class);
+    }
+
+    private AuthProperties props(String algorithm) {
+        AuthProperties props = new AuthProperties();
+        props.getJwt().setIssuer(ISSUER);
+        props.getJwt().setAlgorithm(algorithm);
+        props.getJwt().getKeystore().setPath(dir.resolve("admin-jwt").toString());
+        return props;
+    }
+
+    private static String flipFirstChar(String s) {
+        return (s.charAt(0) == 'A' ? 'B' : 'A') + s.substring(1);
+    }
+
+    private static String b64(String s) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.agenttrust.admin.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final FakeTime time = new FakeTime();
+    private final AtomicLong keySetVersion = new AtomicLong(1);
+    private final CountingDecoder delegate = new CountingDecoder(time);
+    private final CachingJwtDecoder decoder =
+            new CachingJwtDecoder(delegate, keySetVersion::get, 100, time.clock(), time);
+
+    @Test
+    void repeatedToken_isVerifiedOnce() {
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegate.calls.get()).isEqualTo(1);
+        assertThat(decoder.cache().stats().hitCount()).isEqualTo(1);
+
+        decoder.decode("token-b");
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void entry_expiresAtTokenExp() {
+        decoder.decode("token-a");
+
+        time.advance(CountingDecoder.TTL.minusSeconds(1));
+        decoder.decode("token-a");
+        assertThat(delegate.calls.get()).isEqualTo(1);
+
+        time.advance(Duration.ofSeconds(2));
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void keySetChange_dropsCachedTokens() {
+        decoder.decode("token-a");
+
+        keySetVersion.incrementAndGet();
+        decoder.decode("token-a");
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+        decoder.decode("token-a");
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectedTokens_areNotCached() {
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+        assertThat(decoder.cache().estimatedSize()).isZero();
+    }
+
+    /**
+     * Issues tokens valid for {@link #TTL} from the first decode, rejects "bad" and expired ones.
+     */
+    private static final class CountingDecoder implements JwtDecoder {
+
+        static final Duration TTL = Duration.ofMinutes(15);
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final FakeTime time;
+
+        CountingDecoder(FakeTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public Jwt decode(String token) {
+            calls.incrementAndGet();
+            Instant now = time.clock().instant();
+            if ("bad".equals(token) || now.isAfter(T0.plus(TTL))) {
+                throw new BadJwtException("rejected");
+            }
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("admin")
+                    .issuedAt(T0)
+                    .expiresAt(T0.plus(TTL))
+                    .build();
+        }
+    }
+
+    /**
+     * Wall clock and cache ticker advanced together.
+     */
+    private static final class FakeTime implements Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        void advance(Duration d) {
+            nanos.addAndGet(d.toNanos());
+        }
+
+        Clock clock() {
+            return new Clock() {
+                @Override
+                public ZoneId getZone() {
+                    return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(ZoneId zone) {
+                    return this;
+                }
+
+                @Override
+                public Instant instant() {
+                    return T0.plusNanos(nanos.get());
+                }
+            };
+        }
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.agenttrust.attestation;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// No default DataSource: the only database (agent keys) is optional and wired by KeyResolverConfiguration.
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 public class AttestationServiceApplication {
 
   public static void main(String[] args) {
@@ -2,11 +2,12 @@ package com.agenttrust.attestation.api;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.util.Map;
 
 /**
  * Internal DTOs for attestation verification.
  *
- * - Bodyless verification (no Content-Digest)
+ * - Bodyless verification (a covered Content-Digest header is signed over, not checked against a body)
  * - Minimal safe payload (no full request body forwarding)
  * - tenantId is derived by gateway (trusted internal propagation)
  */
@@ -39,8 +40,30 @@ public final class AttestationDtos {
 
       @NotBlank
       @Size(max = 8192)
-      String signature
-  ) { }
+      String signature,
+
+      /** Request scheme for @target-uri; defaults to https when absent. */
+      @Size(max = 16)
+      String scheme,
+
+      /** Raw query string without '?', for @query, @query-param and @target-uri. */
+      @Size(max = 4096)
+      String query,
+
+      /** Header fields covered by the signature (only those; gateway filters by Signature-Input). */
+      @Size(max = 32)
+      Map<String, String> headers
+  ) {
+
+    public VerifyRequest(String method,
+                         String authority,
+                         String path,
+                         String tenantId,
+                         String signatureInput,
+                         String signature) {
+      this(method, authority, path, tenantId, signatureInput, signature, null, null, Map.of());
+    }
+  }
 
   public record VerifyResponse(
       boolean verified
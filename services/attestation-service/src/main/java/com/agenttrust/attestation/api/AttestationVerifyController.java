@@ -3,11 +3,14 @@ package com.agenttrust.attestation.api;
 import com.agenttrust.attestation.verify.AttestationVerifierService;
 import com.agenttrust.attestation.verify.AttestationVerifierService.FailureCode;
 import com.agenttrust.attestation.verify.AttestationVerifierService.VerifyOutcome;
-import com.agenttrust.platform.web.problem.ProblemDetails;
 import com.agenttrust.platform.web.problem.ProblemMediaTypes;
+import com.agenttrust.platform.web.problem.ProblemTemplate;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,16 +19,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+// Explicit binding hints for native images: the body type is only reachable through ResponseEntity<?>.
+@RegisterReflectionForBinding({AttestationDtos.VerifyRequest.class, AttestationDtos.VerifyResponse.class})
 @RestController
 @RequestMapping("/v1/attestations")
 public class AttestationVerifyController {
 
-  private static final MediaType PROBLEM_JSON =
-      MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON);
-
   private static final URI TYPE_ATTESTATION_FAILED =
       URI.create("https://agenttrust.dev/problems/attestation-failed");
 
+  private static final String TITLE_ATTESTATION_FAILED = "Attestation verification failed";
+
+  /**
+   * Rejections are the hot path under attack traffic (bad signatures, replays), so the static part
+   * of every failure response is rendered once per FailureCode.
+   */
+  private static final Map<FailureCode, ProblemTemplate> FAILURE_PROBLEMS = buildFailureProblems();
+
   private final AttestationVerifierService verifier;
 
   public AttestationVerifyController(AttestationVerifierService verifier) {
@@ -47,26 +57,27 @@ public class AttestationVerifyController {
       return ResponseEntity.ok(new AttestationDtos.VerifyResponse(true));
     }
 
-    FailureCode code = outcome.failure().code();
-    HttpStatus status = mapHttpStatus(code);
-    String errorCode = mapErrorCode(code);
-
-    ProblemDetails problem = new ProblemDetails(
-        TYPE_ATTESTATION_FAILED,
-        "Attestation verification failed",
-        status.value(),
+    ProblemTemplate problem = FAILURE_PROBLEMS.get(outcome.failure().code());
+    return problem.toResponse(
         outcome.failure().message(),
-        toInstanceUri(request),
-        errorCode,
+        request.getRequestURI(),
         attr(request, "agenttrust.traceId"),
         attr(request, "agenttrust.requestId"),
         body.tenantId()
     );
+  }
 
-    return ResponseEntity
-        .status(status)
-        .contentType(PROBLEM_JSON)
-        .body(problem);
+  private static Map<FailureCode, ProblemTemplate> buildFailureProblems() {
+    Map<FailureCode, ProblemTemplate> problems = new EnumMap<>(FailureCode.class);
+    for (FailureCode code : FailureCode.values()) {
+      problems.put(code, ProblemTemplate.of(
+          TYPE_ATTESTATION_FAILED,
+          TITLE_ATTESTATION_FAILED,
+          mapHttpStatus(code),
+          mapErrorCode(code)
+      ));
+    }
+    return problems;
   }
 
   private static HttpStatus mapHttpStatus(FailureCode code) {
@@ -97,16 +108,4 @@ public class AttestationVerifyController {
     Object v = request.getAttribute(key);
     return (v instanceof String s && !s.isBlank()) ? s : null;
   }
-
-  private static URI toInstanceUri(HttpServletRequest request) {
-    String path = request.getRequestURI();
-    if (path == null || path.isBlank()) {
-      return URI.create("/");
-    }
-    try {
-      return URI.create(path);
-    } catch (IllegalArgumentException e) {
-      return URI.create("/");
-    }
-  }
 }
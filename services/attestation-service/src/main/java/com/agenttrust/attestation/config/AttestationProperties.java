@@ -1,15 +1,19 @@
 package com.agenttrust.attestation.config;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Attestation-service configuration.
  *
  * - Bodyless verification (no Content-Digest yet)
- * - RFC 9421 signature verification (ED25519)
+ * - RFC 9421 signature verification (ed25519, ecdsa-p256-sha256, rsa-pss-sha512, hmac-sha256)
  * - Nonce replay defense via Redis
  *
  * We intentionally avoid hard validation annotations so incremental Sprint 3 work
@@ -22,6 +26,9 @@ public class AttestationProperties {
     private final Profile profile = new Profile();
     private final Replay replay = new Replay();
     private final Keys keys = new Keys();
+    private final Signatures signatures = new Signatures();
+    private final ClockSettings clock = new ClockSettings();
+    private final Metrics metrics = new Metrics();
 
     public Profile getProfile() {
         return profile;
@@ -35,6 +42,18 @@ public class AttestationProperties {
         return keys;
     }
 
+    public Signatures getSignatures() {
+        return signatures;
+    }
+
+    public ClockSettings getClock() {
+        return clock;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
     public static final class Profile {
 
         /**
@@ -120,6 +139,39 @@ public class AttestationProperties {
          */
         private int defaultTtlSeconds = 480;
 
+        /**
+         * Where nonces are stored:
+         * - redis (default): the spring.data.redis connection (standalone, sentinel or cluster)
+         * - sharded: independent Redis endpoints, routed by (tenantId, keyId) via consistent hashing
+         * - local: in-process store for single-node and test deployments; not shared between instances
+         */
+        private String backend = "redis";
+
+        /**
+         * Wrap tenantId:keyId in a Redis Cluster hash tag so all nonces of a signing key share a slot.
+         */
+        private boolean hashTags = false;
+
+        /**
+         * Key encoding: plain (prefix:tenantId:keyId:nonce) or compact (prefix + 128-bit digest: prefix length + 23 bytes, i.e. 29 with the default prefix).
+         * Switching encoding forgets nonces recorded under the old one; switch all instances together
+         * and accept that nonces of still-valid signatures (at most maxWindowSeconds old) are not
+         * recognised during the cutover.
+         */
+        private String keyEncoding = "plain";
+
+        /**
+         * keys (default): one Redis key per nonce. buckets: nonces are fields of per-window hashes
+         * (requires keyEncoding=compact).
+         */
+        private String layout = "keys";
+
+        private final Buckets buckets = new Buckets();
+
+        private final Sharded sharded = new Sharded();
+
+        private final Local local = new Local();
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -143,16 +195,646 @@ public class AttestationProperties {
         public void setDefaultTtlSeconds(int defaultTtlSeconds) {
             this.defaultTtlSeconds = defaultTtlSeconds;
         }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public void setBackend(String backend) {
+            this.backend = backend;
+        }
+
+        public boolean isHashTags() {
+            return hashTags;
+        }
+
+        public void setHashTags(boolean hashTags) {
+            this.hashTags = hashTags;
+        }
+
+        public String getKeyEncoding() {
+            return keyEncoding;
+        }
+
+        public void setKeyEncoding(String keyEncoding) {
+            this.keyEncoding = keyEncoding;
+        }
+
+        public String getLayout() {
+            return layout;
+        }
+
+        public void setLayout(String layout) {
+            this.layout = layout;
+        }
+
+        public Buckets getBuckets() {
+            return buckets;
+        }
+
+        public Sharded getSharded() {
+            return sharded;
+        }
+
+        public Local getLocal() {
+            return local;
+        }
+
+        public static final class Buckets {
+
+            /**
+             * Expiry window covered by one hash; nonces may be kept up to one window longer than their TTL.
+             */
+            private Duration window = Duration.ofSeconds(60);
+
+            /**
+             * Hashes per window, partitioned by signing key, to avoid one hot key per window.
+             */
+            private int partitions = 64;
+
+            public Duration getWindow() {
+                return window;
+            }
+
+            public void setWindow(Duration window) {
+                this.window = window;
+            }
+
+            public int getPartitions() {
+                return partitions;
+            }
+
+            public void setPartitions(int partitions) {
+                this.partitions = partitions;
+            }
+        }
+
+        public static final class Sharded {
+
+            /**
+             * Ring points per shard; more points give a more even spread.
+             */
+            private int virtualNodes = 160;
+
+            /**
+             * Per-command timeout. A slow shard fails closed after this instead of holding the request.
+             */
+            private Duration timeout = Duration.ofMillis(500);
+
+            private List<ShardEndpoint> shards = new ArrayList<>();
+
+            public int getVirtualNodes() {
+                return virtualNodes;
+            }
+
+            public void setVirtualNodes(int virtualNodes) {
+                this.virtualNodes = virtualNodes;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+
+            public List<ShardEndpoint> getShards() {
+                return shards;
+            }
+
+            public void setShards(List<ShardEndpoint> shards) {
+                this.shards = shards;
+            }
+        }
+
+        public static final class Local {
+
+            /**
+             * Upper bound on live nonces. When reached, new nonces fail closed until entries expire.
+             */
+            private int maxEntries = 1_000_000;
+
+            /**
+             * One-second slots in the expiry wheel. Should cover the longest replay TTL so each entry is
+             * visited once.
+             */
+            private int wheelSlots = 1024;
+
+            private final Journal journal = new Journal();
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getWheelSlots() {
+                return wheelSlots;
+            }
+
+            public void setWheelSlots(int wheelSlots) {
+                this.wheelSlots = wheelSlots;
+            }
+
+            public Journal getJournal() {
+                return journal;
+            }
+
+            public static final class Journal {
+
+                /**
+                 * Journal file. Empty (default) keeps nonces in memory only, so a restart forgets them.
+                 */
+                private String path = "";
+
+                /**
+                 * Mapped file size; compacted to live entries when full.
+                 */
+                private DataSize size = DataSize.ofMegabytes(64);
+
+                /**
+                 * Force every record to disk. Without it a process crash is covered, power loss is not.
+                 */
+                private boolean fsync = false;
+
+                public String getPath() {
+                    return path;
+                }
+
+                public void setPath(String path) {
+                    this.path = path;
+                }
+
+                public DataSize getSize() {
+                    return size;
+                }
+
+                public void setSize(DataSize size) {
+                    this.size = size;
+                }
+
+                public boolean isFsync() {
+                    return fsync;
+                }
+
+                public void setFsync(boolean fsync) {
+                    this.fsync = fsync;
+                }
+            }
+        }
+
+        public static final class ShardEndpoint {
+
+            /**
+             * Stable shard name. Ring placement derives from it, so renaming a shard moves its keys.
+             */
+            private String name;
+
+            /**
+             * redis://[:password@]host:port[/database] or rediss:// for TLS.
+             */
+            private String url;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+        }
+    }
+
+    /**
+     * Clock used for all time checks of a verification. Each request reads it once.
+     */
+    public static final class ClockSettings {
+
+        /**
+         * Serve time from a value refreshed every {@code tick} by a background thread instead of
+         * reading the OS clock per request.
+         */
+        private boolean cached = false;
+
+        private Duration tick = Duration.ofMillis(1);
+
+        public boolean isCached() {
+            return cached;
+        }
+
+        public void setCached(boolean cached) {
+            this.cached = cached;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+    }
+
+    public static final class Metrics {
+
+        /**
+         * Distinct tenant tag values on attestation.verify.failures; further tenants are tagged "other".
+         */
+        private int maxTenants = 100;
+
+        public int getMaxTenants() {
+            return maxTenants;
+        }
+
+        public void setMaxTenants(int maxTenants) {
+            this.maxTenants = maxTenants;
+        }
+    }
+
+    public static final class Signatures {
+
+        /**
+         * How a request carrying several signature labels is judged.
+         * - ALL: every label must verify (default)
+         * - ANY: at least one label must verify
+         */
+        public enum Policy { ALL, ANY }
+
+        /**
+         * Upper bound on labels per request; each label costs a key lookup and a signature check.
+         */
+        private int maxLabels = 4;
+
+        private Policy policy = Policy.ALL;
+
+        /**
+         * Per-tenant overrides of {@link #policy}, keyed by tenantId.
+         */
+        private Map<String, Policy> tenantPolicies = new HashMap<>();
+
+        /**
+         * Worker threads for verifying additional labels in parallel (0 = available processors).
+         * The first label is always verified on the request thread.
+         */
+        private int threads = 0;
+
+        /**
+         * Bounded hand-off queue; when full, the request thread verifies the label itself.
+         */
+        private int queueCapacity = 256;
+
+        public int getMaxLabels() {
+            return maxLabels;
+        }
+
+        public void setMaxLabels(int maxLabels) {
+            this.maxLabels = maxLabels;
+        }
+
+        public Policy getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(Policy policy) {
+            this.policy = policy;
+        }
+
+        public Map<String, Policy> getTenantPolicies() {
+            return tenantPolicies;
+        }
+
+        public void setTenantPolicies(Map<String, Policy> tenantPolicies) {
+            this.tenantPolicies = tenantPolicies;
+        }
+
+        public Policy policyFor(String tenantId) {
+            Policy p = (tenantId == null) ? null : tenantPolicies.get(tenantId);
+            return (p != null) ? p : policy;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
     }
 
     public static final class Keys {
 
+        /**
+         * Where the key registry comes from (bound case-insensitively; unknown values fail startup).
+         */
+        public enum Source {
+            /** registry.entries below, fixed until restart (default). */
+            STATIC,
+            /** A watched YAML/JSON file (file.path); registry.entries act as bootstrap keys. */
+            FILE,
+            /** Polled from admin-service (admin.url); registry.entries act as bootstrap keys. */
+            ADMIN,
+            /** Per-key lookups in the agent_public_keys table behind a near cache (postgres.*). */
+            POSTGRES;
+
+            /**
+             * Served from a versioned in-memory snapshot that is reloaded at runtime.
+             */
+            public boolean reloadable() {
+                return this == FILE || this == ADMIN;
+            }
+        }
+
+        private Source source = Source.STATIC;
+
         private final Registry registry = new Registry();
+        private final File file = new File();
+        private final Admin admin = new Admin();
+        private final Postgres postgres = new Postgres();
+        private final Ops ops = new Ops();
+
+        public Source getSource() {
+            return source;
+        }
+
+        public void setSource(Source source) {
+            this.source = source;
+        }
 
         public Registry getRegistry() {
             return registry;
         }
 
+        public File getFile() {
+            return file;
+        }
+
+        public Admin getAdmin() {
+            return admin;
+        }
+
+        public Postgres getPostgres() {
+            return postgres;
+        }
+
+        public Ops getOps() {
+            return ops;
+        }
+
+        /**
+         * Operator API under /internal/v1/keys (registry status, forced reload). Off by default; when
+         * enabled every call needs an admin-service JWT with {@code role}, checked against {@code jwksUri}.
+         */
+        public static final class Ops {
+
+            private boolean enabled = false;
+
+            /**
+             * admin-service key set, e.g. http://admin-service:8081/.well-known/jwks.json. Required when enabled.
+             */
+            private String jwksUri = "";
+
+            private String issuer = "agenttrust-admin";
+
+            /**
+             * Value required in the token's "roles" claim (case-insensitive).
+             */
+            private String role = "platform_admin";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getJwksUri() {
+                return jwksUri;
+            }
+
+            public void setJwksUri(String jwksUri) {
+                this.jwksUri = jwksUri;
+            }
+
+            public String getIssuer() {
+                return issuer;
+            }
+
+            public void setIssuer(String issuer) {
+                this.issuer = issuer;
+            }
+
+            public String getRole() {
+                return role;
+            }
+
+            public void setRole(String role) {
+                this.role = role;
+            }
+        }
+
+        public static final class File {
+
+            /**
+             * Path of the registry file (same shape as registry.entries under an "entries" key).
+             */
+            private String path;
+
+            /**
+             * How often the file is re-read; bounds revocation propagation delay.
+             */
+            private Duration pollInterval = Duration.ofSeconds(2);
+
+            public String getPath() {
+                return path;
+            }
+
+            public void setPath(String path) {
+                this.path = path;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+        }
+
+        public static final class Admin {
+
+            /**
+             * admin-service registry endpoint returning the registry document as JSON (ETag-aware).
+             */
+            private String url;
+
+            /**
+             * Poll interval; bounds revocation propagation delay.
+             */
+            private Duration pollInterval = Duration.ofSeconds(2);
+
+            /**
+             * Connect/read timeout for one poll.
+             */
+            private Duration timeout = Duration.ofSeconds(2);
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        public static final class Postgres {
+
+            /**
+             * JDBC URL of the database holding agent_public_keys (owned by admin-service).
+             */
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            /**
+             * Lookups only happen on cache misses/refreshes, so a small pool is enough.
+             */
+            private int maximumPoolSize = 4;
+
+            private final Cache cache = new Cache();
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Cache getCache() {
+                return cache;
+            }
+
+            public static final class Cache {
+
+                /**
+                 * Upper bound on cached keyIds (positive and negative entries together).
+                 */
+                private long maximumSize = 100_000;
+
+                /**
+                 * Hard upper bound on how long a cached key is used; bounds revocation propagation
+                 * when the database is unreachable and refreshes keep failing.
+                 */
+                private Duration ttl = Duration.ofMinutes(5);
+
+                /**
+                 * Entries accessed after this age are reloaded in the background while the cached value
+                 * keeps serving; bounds revocation propagation for keys in use.
+                 */
+                private Duration refreshAfter = Duration.ofSeconds(30);
+
+                /**
+                 * How long an unknown keyId is remembered as KEY_NOT_FOUND.
+                 */
+                private Duration negativeTtl = Duration.ofSeconds(10);
+
+                public long getMaximumSize() {
+                    return maximumSize;
+                }
+
+                public void setMaximumSize(long maximumSize) {
+                    this.maximumSize = maximumSize;
+                }
+
+                public Duration getTtl() {
+                    return ttl;
+                }
+
+                public void setTtl(Duration ttl) {
+                    this.ttl = ttl;
+                }
+
+                public Duration getRefreshAfter() {
+                    return refreshAfter;
+                }
+
+                public void setRefreshAfter(Duration refreshAfter) {
+                    this.refreshAfter = refreshAfter;
+                }
+
+                public Duration getNegativeTtl() {
+                    return negativeTtl;
+                }
+
+                public void setNegativeTtl(Duration negativeTtl) {
+                    this.negativeTtl = negativeTtl;
+                }
+            }
+        }
+
         public static final class Registry {
 
             /**
@@ -181,7 +863,16 @@ public class AttestationProperties {
             private String status = "ACTIVE";
 
             /**
-             * Base64-encoded raw Ed25519 public key bytes (32 bytes).
+             * RFC 9421 algorithm the key belongs to: ed25519 (default), ecdsa-p256-sha256,
+             * rsa-pss-sha512 or hmac-sha256. Signatures must use this alg.
+             */
+            private String algorithm = "ed25519";
+
+            /**
+             * Base64 key material:
+             * - ed25519: raw 32-byte public key or SubjectPublicKeyInfo
+             * - ecdsa-p256-sha256 / rsa-pss-sha512: SubjectPublicKeyInfo (DER)
+             * - hmac-sha256: shared secret (>= 32 bytes); a secret, not a public key
              */
             private String publicKeyBase64;
 
@@ -214,6 +905,14 @@ public class AttestationProperties {
                 this.status = status;
             }
 
+            public String getAlgorithm() {
+                return algorithm;
+            }
+
+            public void setAlgorithm(String algorithm) {
+                this.algorithm = algorithm;
+            }
+
             public String getPublicKeyBase64() {
                 return publicKeyBase64;
             }
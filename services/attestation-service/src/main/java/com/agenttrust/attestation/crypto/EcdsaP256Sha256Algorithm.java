@@ -0,0 +1,51 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.AlgorithmParameters;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+
+/**
+ * RFC 9421 "ecdsa-p256-sha256". Key material: base64 SubjectPublicKeyInfo of a P-256 key.
+ *
+ * RFC 9421 carries the signature as the fixed-size r||s concatenation (64 bytes), not ASN.1 DER,
+ * which is exactly the JDK's P1363 format.
+ */
+final class EcdsaP256Sha256Algorithm extends JcaSignatureAlgorithm {
+
+  static final String NAME = "ecdsa-p256-sha256";
+
+  private static final ECParameterSpec P256 = p256();
+
+  EcdsaP256Sha256Algorithm() {
+    super(NAME, ECPublicKey.class, "SHA256withECDSAinP1363Format", null);
+  }
+
+  @Override
+  public Key decodeKey(String base64) {
+    PublicKey key = KeyMaterialDecoding.spki(KeyMaterialDecoding.base64(base64), "EC");
+    if (!(key instanceof ECPublicKey ec) || !isP256(ec.getParams())) {
+      return null;
+    }
+    return key;
+  }
+
+  private static boolean isP256(ECParameterSpec params) {
+    return params != null
+        && params.getCurve().equals(P256.getCurve())
+        && params.getGenerator().equals(P256.getGenerator())
+        && params.getOrder().equals(P256.getOrder());
+  }
+
+  private static ECParameterSpec p256() {
+    try {
+      AlgorithmParameters params = AlgorithmParameters.getInstance("EC");
+      params.init(new ECGenParameterSpec("secp256r1"));
+      return params.getParameterSpec(ECParameterSpec.class);
+    } catch (Exception ex) {
+      throw new IllegalStateException("secp256r1 not available", ex);
+    }
+  }
+}
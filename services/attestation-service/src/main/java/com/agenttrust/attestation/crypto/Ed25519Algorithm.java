@@ -0,0 +1,67 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.Key;
+import java.security.interfaces.EdECPublicKey;
+
+/**
+ * RFC 9421 "ed25519". Key material: base64 of the raw 32-byte key or an Ed25519 SubjectPublicKeyInfo.
+ */
+final class Ed25519Algorithm extends JcaSignatureAlgorithm {
+
+  static final String NAME = "ed25519";
+
+  /**
+   * ASN.1 DER SubjectPublicKeyInfo prefix for Ed25519.
+   *
+   * SPKI = SEQUENCE(
+   *   SEQUENCE( OID 1.3.101.112 ),
+   *   BIT STRING (0 unused bits, 32-byte public key)
+   * )
+   */
+  private static final byte[] ED25519_SPKI_PREFIX = new byte[] {
+      0x30, 0x2a,
+      0x30, 0x05,
+      0x06, 0x03,
+      0x2b, 0x65, 0x70,
+      0x03, 0x21, 0x00
+  };
+
+  Ed25519Algorithm() {
+    super(NAME, EdECPublicKey.class, "Ed25519", null);
+  }
+
+  @Override
+  public Key decodeKey(String base64) {
+    byte[] decoded = KeyMaterialDecoding.base64(base64);
+    if (decoded == null) {
+      return null;
+    }
+
+    byte[] spki;
+    if (decoded.length == 32) {
+      // raw Ed25519 public key → wrap into SPKI for Java KeyFactory
+      spki = new byte[ED25519_SPKI_PREFIX.length + decoded.length];
+      System.arraycopy(ED25519_SPKI_PREFIX, 0, spki, 0, ED25519_SPKI_PREFIX.length);
+      System.arraycopy(decoded, 0, spki, ED25519_SPKI_PREFIX.length, decoded.length);
+    } else if (looksLikeEd25519Spki(decoded)) {
+      // accept already-SPKI encoded keys to reduce friction for future upgrades
+      spki = decoded;
+    } else {
+      return null;
+    }
+
+    return KeyMaterialDecoding.spki(spki, "Ed25519");
+  }
+
+  private static boolean looksLikeEd25519Spki(byte[] decoded) {
+    if (decoded.length < ED25519_SPKI_PREFIX.length + 32) {
+      return false;
+    }
+    for (int i = 0; i < ED25519_SPKI_PREFIX.length; i++) {
+      if (decoded[i] != ED25519_SPKI_PREFIX[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,67 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * RFC 9421 "hmac-sha256". Key material: base64 of a shared secret of at least 32 bytes.
+ *
+ * Unlike the other algorithms the registry entry is a SECRET; only use it where the key registry
+ * itself is protected accordingly.
+ */
+final class HmacSha256Algorithm implements SignatureAlgorithm {
+
+  static final String NAME = "hmac-sha256";
+
+  private static final String JCA_NAME = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+
+  private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(HmacSha256Algorithm::newMac);
+
+  HmacSha256Algorithm() {
+    newMac();
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public Key decodeKey(String base64) {
+    byte[] secret = KeyMaterialDecoding.base64(base64);
+    if (secret == null || secret.length < MIN_SECRET_BYTES) {
+      return null;
+    }
+    return new SecretKeySpec(secret, JCA_NAME);
+  }
+
+  @Override
+  public boolean verify(Key key, byte[] signatureBase, byte[] signature) {
+    if (!(key instanceof SecretKey) || signatureBase == null || signature == null) {
+      return false;
+    }
+    try {
+      Mac mac = macs.get();
+      mac.init(key);
+      byte[] expected = mac.doFinal(signatureBase);
+      // Constant-time comparison.
+      return MessageDigest.isEqual(expected, signature);
+    } catch (Exception ex) {
+      // Fail closed
+      return false;
+    }
+  }
+
+  private static Mac newMac() {
+    try {
+      return Mac.getInstance(JCA_NAME);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(JCA_NAME + " not available", ex);
+    }
+  }
+}
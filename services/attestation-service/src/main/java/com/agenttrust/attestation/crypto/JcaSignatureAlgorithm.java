@@ -0,0 +1,67 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * Public-key algorithm backed by a JCA {@link Signature}, pooled per thread.
+ *
+ * initVerify() fully resets a Signature, so a pooled instance never carries state from a previous
+ * (possibly failed) verification. Instances that threw are still discarded: a provider-selecting
+ * Signature that failed initVerify stays bound to no provider and rejects every later key.
+ */
+abstract class JcaSignatureAlgorithm implements SignatureAlgorithm {
+
+  private final String name;
+  private final Class<? extends PublicKey> keyType;
+  private final ThreadLocal<Signature> signatures;
+
+  JcaSignatureAlgorithm(String name,
+                        Class<? extends PublicKey> keyType,
+                        String jcaAlgorithm,
+                        AlgorithmParameterSpec params) {
+    this.name = name;
+    this.keyType = keyType;
+    this.signatures = ThreadLocal.withInitial(() -> newSignature(jcaAlgorithm, params));
+    // Fail at startup rather than on the first request if the JDK lacks the algorithm.
+    newSignature(jcaAlgorithm, params);
+  }
+
+  @Override
+  public final String name() {
+    return name;
+  }
+
+  @Override
+  public final boolean verify(Key key, byte[] signatureBase, byte[] signature) {
+    if (!keyType.isInstance(key) || signatureBase == null || signature == null) {
+      return false;
+    }
+    try {
+      Signature sig = signatures.get();
+      sig.initVerify((PublicKey) key);
+      sig.update(signatureBase);
+      return sig.verify(signature);
+    } catch (Exception ex) {
+      // Fail closed
+      signatures.remove();
+      return false;
+    }
+  }
+
+  private static Signature newSignature(String jcaAlgorithm, AlgorithmParameterSpec params) {
+    try {
+      Signature sig = Signature.getInstance(jcaAlgorithm);
+      if (params != null) {
+        sig.setParameter(params);
+      }
+      return sig;
+    } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException ex) {
+      throw new IllegalStateException(jcaAlgorithm + " not available", ex);
+    }
+  }
+}
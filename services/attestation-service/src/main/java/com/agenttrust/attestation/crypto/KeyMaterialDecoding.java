@@ -0,0 +1,43 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Shared decoding helpers. Decoding happens once per registry load, never on the verification hot path.
+ */
+final class KeyMaterialDecoding {
+
+  private KeyMaterialDecoding() {
+  }
+
+  /**
+   * @return decoded bytes, or null if missing or not valid base64
+   */
+  static byte[] base64(String base64) {
+    if (base64 == null || base64.isBlank()) {
+      return null;
+    }
+    try {
+      return Base64.getDecoder().decode(base64.trim());
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the SubjectPublicKeyInfo-encoded key, or null if it cannot be parsed by {@code keyAlgorithm}
+   */
+  static PublicKey spki(byte[] der, String keyAlgorithm) {
+    if (der == null) {
+      return null;
+    }
+    try {
+      return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(der));
+    } catch (Exception ex) {
+      return null;
+    }
+  }
+}
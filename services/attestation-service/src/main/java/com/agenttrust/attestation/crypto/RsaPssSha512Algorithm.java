@@ -0,0 +1,35 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+
+/**
+ * RFC 9421 "rsa-pss-sha512": RSASSA-PSS, SHA-512, MGF1 with SHA-512, 64-byte salt.
+ * Key material: base64 SubjectPublicKeyInfo (rsaEncryption or id-RSASSA-PSS), at least 2048 bits.
+ */
+final class RsaPssSha512Algorithm extends JcaSignatureAlgorithm {
+
+  static final String NAME = "rsa-pss-sha512";
+
+  private static final int MIN_MODULUS_BITS = 2048;
+
+  RsaPssSha512Algorithm() {
+    super(NAME, RSAPublicKey.class, "RSASSA-PSS", new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1));
+  }
+
+  @Override
+  public Key decodeKey(String base64) {
+    byte[] der = KeyMaterialDecoding.base64(base64);
+    PublicKey key = KeyMaterialDecoding.spki(der, "RSA");
+    if (key == null) {
+      key = KeyMaterialDecoding.spki(der, "RSASSA-PSS");
+    }
+    if (!(key instanceof RSAPublicKey rsa) || rsa.getModulus().bitLength() < MIN_MODULUS_BITS) {
+      return null;
+    }
+    return key;
+  }
+}
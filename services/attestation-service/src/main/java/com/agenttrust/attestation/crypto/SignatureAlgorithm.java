@@ -0,0 +1,29 @@
+package com.agenttrust.attestation.crypto;
+
+import java.security.Key;
+
+/**
+ * One RFC 9421 signature algorithm (the {@code alg} signature parameter).
+ *
+ * Implementations are thread-safe; JCA engines are pooled per thread, so verification does not pay
+ * the provider lookup of {@code Signature.getInstance} / {@code Mac.getInstance} per request.
+ */
+public interface SignatureAlgorithm {
+
+  /**
+   * RFC 9421 algorithm identifier, e.g. "ed25519".
+   */
+  String name();
+
+  /**
+   * Decodes registry key material (base64) into a verification key.
+   *
+   * @return the key, or null if the material is missing or not valid for this algorithm
+   */
+  Key decodeKey(String base64);
+
+  /**
+   * Verifies {@code signature} over the signature base. Never throws; any error is a failed verification.
+   */
+  boolean verify(Key key, byte[] signatureBase, byte[] signature);
+}
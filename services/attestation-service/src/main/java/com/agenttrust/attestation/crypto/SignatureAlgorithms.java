@@ -0,0 +1,52 @@
+package com.agenttrust.attestation.crypto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of supported RFC 9421 algorithms, keyed by the {@code alg} signature parameter.
+ *
+ * The profile's allowedAlgorithms selects which of these a deployment accepts; each key registry
+ * entry names the algorithm its key material belongs to.
+ */
+public final class SignatureAlgorithms {
+
+  public static final String DEFAULT = Ed25519Algorithm.NAME;
+
+  private static final Map<String, SignatureAlgorithm> BY_NAME = index(List.of(
+      new Ed25519Algorithm(),
+      new EcdsaP256Sha256Algorithm(),
+      new RsaPssSha512Algorithm(),
+      new HmacSha256Algorithm()
+  ));
+
+  private SignatureAlgorithms() {
+  }
+
+  /**
+   * @return the algorithm, or null if {@code alg} is not supported
+   */
+  public static SignatureAlgorithm forName(String alg) {
+    if (alg == null) {
+      return null;
+    }
+    SignatureAlgorithm a = BY_NAME.get(alg);
+    return (a != null) ? a : BY_NAME.get(alg.trim().toLowerCase(Locale.ROOT));
+  }
+
+  public static Set<String> names() {
+    return BY_NAME.keySet();
+  }
+
+  private static Map<String, SignatureAlgorithm> index(List<SignatureAlgorithm> algorithms) {
+    Map<String, SignatureAlgorithm> byName = new LinkedHashMap<>();
+    for (SignatureAlgorithm a : algorithms) {
+      byName.put(a.name(), a);
+    }
+    return Collections.unmodifiableMap(byName);
+  }
+}
@@ -1,10 +1,8 @@
 package com.agenttrust.attestation.health;
 
+import com.agenttrust.attestation.replay.ReplayBackend;
+import com.agenttrust.platform.web.warmup.WarmUp;
 import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +11,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class HealthEndpointsController {
 
-  private static final Logger log = LoggerFactory.getLogger(HealthEndpointsController.class);
+  private final ReplayBackend replayBackend;
+  private final WarmUp warmUp;
 
-  private final StringRedisTemplate redisTemplate;
-
-  public HealthEndpointsController(StringRedisTemplate redisTemplate) {
-    this.redisTemplate = redisTemplate;
+  public HealthEndpointsController(ReplayBackend replayBackend, WarmUp warmUp) {
+    this.replayBackend = replayBackend;
+    this.warmUp = warmUp;
   }
 
   @GetMapping("/healthz")
@@ -29,31 +27,46 @@ public class HealthEndpointsController {
     );
   }
 
+  /**
+   * Ready once the JIT warm-up has finished and while at least one replay store answers. With a
+   * sharded store a single shard outage only fails the signing keys routed to it, so it must not take
+   * every instance out of rotation.
+   */
   @GetMapping("/readyz")
   public ResponseEntity<Map<String, Object>> readyz() {
-    try {
-      // Force the RedisCallback overload to avoid ambiguity with SessionCallback.
-      String pong = redisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+    WarmUp.Status warm = warmUp.status();
+    if (!warm.ready()) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+          "status", "not_ready",
+          "detail", "warming up",
+          "warmup", warm.details()
+      ));
+    }
+
+    Map<String, Boolean> stores = replayBackend.ping();
+    boolean anyReachable = stores.containsValue(Boolean.TRUE);
 
-      if (!"PONG".equalsIgnoreCase(pong)) {
+    if (stores.size() == 1) {
+      if (!anyReachable) {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
             "status", "not_ready",
-            "dependency", "redis",
-            "detail", "Unexpected Redis PING response"
+            "dependency", replayBackend.kind(),
+            "detail", replayBackend.kind() + " replay store not reachable",
+            "warmup", warm.details()
         ));
       }
-
       return ResponseEntity.ok(Map.of(
           "status", "ready",
-          "dependency", "redis"
-      ));
-    } catch (Exception ex) {
-      log.warn("Readiness check failed: Redis not reachable.", ex);
-      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
-          "status", "not_ready",
-          "dependency", "redis",
-          "detail", "Redis not reachable"
+          "dependency", replayBackend.kind(),
+          "warmup", warm.details()
       ));
     }
+
+    return ResponseEntity.status(anyReachable ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+        "status", anyReachable ? "ready" : "not_ready",
+        "dependency", replayBackend.kind(),
+        "shards", stores,
+        "warmup", warm.details()
+    ));
   }
 }
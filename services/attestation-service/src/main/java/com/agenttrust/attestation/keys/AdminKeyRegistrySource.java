@@ -0,0 +1,55 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Key registry served by admin-service (control plane), polled with conditional GETs.
+ *
+ * Contract: GET {url} returns a {@link KeyRegistryDocument} as JSON with a strong ETag;
+ * a matching If-None-Match yields 304 so unchanged polls cost one small round trip.
+ */
+final class AdminKeyRegistrySource implements KeyRegistrySource {
+
+  private final RestClient restClient;
+  private final String url;
+  private String etag;
+
+  AdminKeyRegistrySource(RestClient restClient, String url) {
+    this.restClient = Objects.requireNonNull(restClient, "restClient");
+    this.url = Objects.requireNonNull(url, "url");
+  }
+
+  @Override
+  public String describe() {
+    return "admin:" + url;
+  }
+
+  @Override
+  public Optional<List<KeyEntry>> fetchIfChanged() throws Exception {
+    return restClient.get()
+        .uri(url)
+        .headers(h -> {
+          if (etag != null) {
+            h.setIfNoneMatch(etag);
+          }
+        })
+        .exchange((request, response) -> {
+          if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return Optional.<List<KeyEntry>>empty();
+          }
+          if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IOException("admin key registry returned HTTP " + response.getStatusCode().value());
+          }
+          List<KeyEntry> entries = KeyRegistryDocument.parse(response.getBody().readAllBytes());
+          etag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+          return Optional.of(entries);
+        });
+  }
+}
@@ -0,0 +1,15 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.util.List;
+
+/**
+ * Backing store for per-key lookups (cache misses and refreshes of {@link PostgresPublicKeyResolver}).
+ */
+interface AgentKeyStore {
+
+  /**
+   * @return every registration of {@code keyId}, across tenants (empty if unknown)
+   */
+  List<KeyEntry> findByKeyId(String keyId);
+}
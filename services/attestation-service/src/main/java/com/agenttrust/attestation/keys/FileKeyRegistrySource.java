@@ -0,0 +1,45 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Key registry file (YAML/JSON), e.g. a mounted ConfigMap/Secret.
+ *
+ * Change detection compares a content hash instead of mtime: atomic symlink swaps (Kubernetes volume
+ * updates) and coarse mtime granularity would otherwise hide edits. Registry files are small, so
+ * reading them every poll is cheap.
+ */
+final class FileKeyRegistrySource implements KeyRegistrySource {
+
+  private final Path path;
+  private byte[] lastDigest;
+
+  FileKeyRegistrySource(Path path) {
+    this.path = Objects.requireNonNull(path, "path");
+  }
+
+  @Override
+  public String describe() {
+    return "file:" + path;
+  }
+
+  @Override
+  public Optional<List<KeyEntry>> fetchIfChanged() throws Exception {
+    byte[] content = Files.readAllBytes(path);
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+    if (Arrays.equals(digest, lastDigest)) {
+      return Optional.empty();
+    }
+
+    List<KeyEntry> entries = KeyRegistryDocument.parse(content);
+    lastDigest = digest;
+    return Optional.of(entries);
+  }
+}
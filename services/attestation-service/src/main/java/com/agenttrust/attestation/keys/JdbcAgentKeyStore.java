@@ -0,0 +1,40 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Reads the agent_public_keys table (schema owned by admin-service migrations).
+ */
+final class JdbcAgentKeyStore implements AgentKeyStore {
+
+  private static final String SELECT_BY_KEY_ID = """
+      SELECT tenant_id, key_id, status, algorithm, public_key_base64, not_after
+        FROM agent_public_keys
+       WHERE key_id = ?
+      """;
+
+  private final JdbcTemplate jdbc;
+
+  JdbcAgentKeyStore(JdbcTemplate jdbc) {
+    this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+  }
+
+  @Override
+  public List<KeyEntry> findByKeyId(String keyId) {
+    return jdbc.query(SELECT_BY_KEY_ID, (rs, rowNum) -> {
+      KeyEntry e = new KeyEntry();
+      e.setTenantId(rs.getString("tenant_id"));
+      e.setKeyId(rs.getString("key_id"));
+      e.setStatus(rs.getString("status"));
+      e.setAlgorithm(rs.getString("algorithm"));
+      e.setPublicKeyBase64(rs.getString("public_key_base64"));
+      Timestamp notAfter = rs.getTimestamp("not_after");
+      e.setNotAfter((notAfter == null) ? null : notAfter.toInstant());
+      return e;
+    }, keyId);
+  }
+}
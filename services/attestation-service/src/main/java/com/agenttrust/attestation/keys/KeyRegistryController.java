@@ -0,0 +1,74 @@
+package com.agenttrust.attestation.keys;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal ops API for the key registry.
+ *
+ * - GET  /internal/v1/keys/registry        current snapshot version/fingerprint (compare across nodes)
+ * - POST /internal/v1/keys/registry/reload fetch from the configured source now (e.g. right after a revocation)
+ *
+ * Only registered with agenttrust.attestation.keys.ops.enabled=true, and then behind the admin-JWT
+ * filter (KeyResolverConfiguration.RegistryOps): listing keys and forcing reloads against the key store
+ * are operator actions.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "agenttrust.attestation.keys.ops", name = "enabled", havingValue = "true")
+@RequestMapping("/internal/v1/keys/registry")
+public class KeyRegistryController {
+
+  private final PublicKeyResolver resolver;
+  private final ObjectProvider<KeyRegistryReloader> reloader;
+
+  public KeyRegistryController(PublicKeyResolver resolver, ObjectProvider<KeyRegistryReloader> reloader) {
+    this.resolver = resolver;
+    this.reloader = reloader;
+  }
+
+  @GetMapping
+  public ResponseEntity<Map<String, Object>> status() {
+    if (!(resolver instanceof VersionedKeyRegistry registry)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+    return ResponseEntity.ok(describe(registry.snapshot()));
+  }
+
+  @PostMapping("/reload")
+  public ResponseEntity<Map<String, Object>> reload() {
+    KeyRegistryReloader r = reloader.getIfAvailable();
+    if (r == null) {
+      // Static registry: nothing to reload without a restart.
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    return ResponseEntity.ok(describe(r.reloadNow()));
+  }
+
+  private Map<String, Object> describe(KeyRegistrySnapshot snapshot) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("version", snapshot.version());
+    body.put("fingerprint", snapshot.fingerprint());
+    body.put("keys", snapshot.size());
+    body.put("source", snapshot.source());
+    body.put("loadedAt", snapshot.loadedAt().toString());
+
+    KeyRegistryReloader r = reloader.getIfAvailable();
+    if (r != null) {
+      body.put("configuredSource", r.sourceDescription());
+      body.put("lastCheckAt", String.valueOf(r.lastCheckAt()));
+      body.put("lastSuccessAt", String.valueOf(r.lastSuccessAt()));
+      if (r.lastError() != null) {
+        body.put("lastError", r.lastError());
+      }
+    }
+    return body;
+  }
+}
@@ -0,0 +1,51 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire/file format of an externally managed key registry (YAML or JSON):
+ *
+ * <pre>
+ * entries:
+ *   - tenantId: "tenantA"
+ *     keyId: "agent-key-1"
+ *     status: "ACTIVE"
+ *     publicKeyBase64: "..."
+ *     notAfter: "2026-12-31T23:59:59Z"
+ * </pre>
+ *
+ * Same fields as agenttrust.attestation.keys.registry.entries. Store PUBLIC keys only.
+ */
+final class KeyRegistryDocument {
+
+  // YAML is a superset of JSON, so one mapper reads both formats.
+  private static final ObjectMapper MAPPER = YAMLMapper.builder()
+      .addModule(new JavaTimeModule())
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .build();
+
+  private List<KeyEntry> entries = new ArrayList<>();
+
+  public List<KeyEntry> getEntries() {
+    return entries;
+  }
+
+  public void setEntries(List<KeyEntry> entries) {
+    this.entries = (entries != null) ? entries : new ArrayList<>();
+  }
+
+  static List<KeyEntry> parse(byte[] content) throws IOException {
+    KeyRegistryDocument doc = MAPPER.readValue(content, KeyRegistryDocument.class);
+    if (doc == null) {
+      throw new IOException("empty key registry document");
+    }
+    return doc.getEntries();
+  }
+}
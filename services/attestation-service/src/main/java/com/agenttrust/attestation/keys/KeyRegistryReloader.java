@@ -0,0 +1,122 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Polls a {@link KeyRegistrySource} and publishes changes into a {@link ReloadablePublicKeyResolver}.
+ *
+ * - The first load runs synchronously on start, so a node does not take traffic with bootstrap keys
+ *   when its registry source is reachable.
+ * - Any fetch/parse/validation error keeps the current snapshot (a broken file never wipes keys).
+ * - Polling runs on its own daemon thread; lookups are never involved.
+ *
+ * Propagation delay for revocations is bounded by the poll interval (+ one fetch).
+ */
+public final class KeyRegistryReloader implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(KeyRegistryReloader.class);
+
+  private final ReloadablePublicKeyResolver resolver;
+  private final KeyRegistrySource source;
+  private final Duration pollInterval;
+  private final Clock clock;
+
+  private ScheduledExecutorService scheduler;
+  private volatile boolean running;
+
+  private volatile Instant lastCheckAt;
+  private volatile Instant lastSuccessAt;
+  private volatile String lastError;
+  private long consecutiveFailures;
+
+  KeyRegistryReloader(ReloadablePublicKeyResolver resolver,
+                      KeyRegistrySource source,
+                      Duration pollInterval,
+                      Clock clock) {
+    this.resolver = Objects.requireNonNull(resolver, "resolver");
+    this.source = Objects.requireNonNull(source, "source");
+    this.pollInterval = Objects.requireNonNull(pollInterval, "pollInterval");
+    this.clock = Objects.requireNonNull(clock, "clock");
+  }
+
+  @Override
+  public void start() {
+    reloadNow();
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "key-registry-reloader");
+      t.setDaemon(true);
+      return t;
+    });
+    long periodMs = Math.max(100, pollInterval.toMillis());
+    scheduler.scheduleWithFixedDelay(this::reloadNow, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    running = true;
+    log.info("Key registry reloader started source={} pollInterval={}", source.describe(), pollInterval);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Fetches the registry immediately (also used by the ops endpoint). Never throws.
+   */
+  public synchronized KeyRegistrySnapshot reloadNow() {
+    lastCheckAt = Instant.now(clock);
+    try {
+      Optional<List<KeyEntry>> changed = source.fetchIfChanged();
+      if (changed.isPresent()) {
+        resolver.replace(changed.get(), source.describe());
+      }
+      lastSuccessAt = lastCheckAt;
+      lastError = null;
+      consecutiveFailures = 0;
+    } catch (Exception ex) {
+      consecutiveFailures++;
+      lastError = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+      // Log the first failure and then periodically, to keep logs bounded during an outage.
+      if (consecutiveFailures == 1 || consecutiveFailures % 30 == 0) {
+        log.warn("Key registry reload failed source={} consecutiveFailures={} keepingVersion={}: {}",
+            source.describe(), consecutiveFailures, resolver.snapshot().version(), lastError);
+      }
+    }
+    return resolver.snapshot();
+  }
+
+  public String sourceDescription() {
+    return source.describe();
+  }
+
+  public Instant lastCheckAt() {
+    return lastCheckAt;
+  }
+
+  public Instant lastSuccessAt() {
+    return lastSuccessAt;
+  }
+
+  public String lastError() {
+    return lastError;
+  }
+}
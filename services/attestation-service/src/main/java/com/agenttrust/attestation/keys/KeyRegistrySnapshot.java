@@ -0,0 +1,203 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import com.agenttrust.attestation.crypto.SignatureAlgorithm;
+import com.agenttrust.attestation.crypto.SignatureAlgorithms;
+import com.agenttrust.attestation.keys.PublicKeyResolver.Failure;
+import com.agenttrust.attestation.keys.PublicKeyResolver.FailureCode;
+import com.agenttrust.attestation.keys.PublicKeyResolver.KeyMaterial;
+import com.agenttrust.attestation.keys.PublicKeyResolver.ResolveResult;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, fully decoded view of a tenant-scoped key registry.
+ *
+ * Built once per (re)load; lookups only read final maps, so a snapshot can be shared by any number of
+ * threads without locking. Key material is decoded up front: a bad entry is remembered as such and
+ * reported as INVALID_KEY_MATERIAL at lookup time (same order of checks as before: tenant/key binding,
+ * then status and expiry, then material).
+ */
+public final class KeyRegistrySnapshot {
+
+  private static final String STATUS_ACTIVE = "ACTIVE";
+
+  private final long version;
+  private final String source;
+  private final Instant loadedAt;
+  private final String fingerprint;
+  private final int size;
+  private final Map<String, Map<String, RegisteredKey>> byKeyIdThenTenant;
+
+  private KeyRegistrySnapshot(long version,
+                              String source,
+                              Instant loadedAt,
+                              String fingerprint,
+                              int size,
+                              Map<String, Map<String, RegisteredKey>> byKeyIdThenTenant) {
+    this.version = version;
+    this.source = source;
+    this.loadedAt = loadedAt;
+    this.fingerprint = fingerprint;
+    this.size = size;
+    this.byKeyIdThenTenant = byKeyIdThenTenant;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the same (tenantId, keyId) appears more than once
+   */
+  public static KeyRegistrySnapshot of(long version, String source, Instant loadedAt, List<KeyEntry> entries) {
+    List<KeyEntry> safe = (entries == null) ? List.of() : entries;
+
+    Map<String, Map<String, RegisteredKey>> index = new HashMap<>();
+    List<String> canonical = new ArrayList<>(safe.size());
+    int size = 0;
+    for (KeyEntry e : safe) {
+      if (e == null || !notBlank(e.getKeyId()) || !notBlank(e.getTenantId())) {
+        continue;
+      }
+      SignatureAlgorithm algorithm = SignatureAlgorithms.forName(algorithmName(e));
+      RegisteredKey key = new RegisteredKey(
+          e.getTenantId(),
+          e.getKeyId(),
+          STATUS_ACTIVE.equalsIgnoreCase(nullToEmpty(e.getStatus())),
+          algorithm,
+          (algorithm == null) ? null : algorithm.decodeKey(e.getPublicKeyBase64()),
+          e.getNotAfter()
+      );
+      Map<String, RegisteredKey> byTenant = index.computeIfAbsent(e.getKeyId(), k -> new HashMap<>());
+      if (byTenant.putIfAbsent(e.getTenantId(), key) != null) {
+        // Ambiguous registry (e.g. one ACTIVE and one REVOKED row): reject rather than pick one.
+        throw new IllegalArgumentException(
+            "duplicate key registry entry tenantId=" + e.getTenantId() + " keyId=" + e.getKeyId());
+      }
+      size++;
+      canonical.add(String.join("|", e.getTenantId(), e.getKeyId(), nullToEmpty(e.getStatus()),
+          algorithmName(e), nullToEmpty(e.getPublicKeyBase64()), String.valueOf(e.getNotAfter())));
+    }
+
+    Map<String, Map<String, RegisteredKey>> frozen = new HashMap<>(index.size() * 2);
+    index.forEach((keyId, byTenant) -> frozen.put(keyId, Map.copyOf(byTenant)));
+
+    return new KeyRegistrySnapshot(
+        version,
+        Objects.requireNonNull(source, "source"),
+        Objects.requireNonNull(loadedAt, "loadedAt"),
+        fingerprint(canonical),
+        size,
+        Collections.unmodifiableMap(frozen)
+    );
+  }
+
+  public ResolveResult resolve(String tenantId, String keyId, Instant now) {
+    if (!notBlank(tenantId) || !notBlank(keyId)) {
+      return ResolveResult.failure(new Failure(FailureCode.INVALID_INPUT, "tenantId and keyId are required"));
+    }
+
+    Map<String, RegisteredKey> byTenant = byKeyIdThenTenant.get(keyId);
+    if (byTenant == null) {
+      return ResolveResult.failure(new Failure(FailureCode.KEY_NOT_FOUND, "keyId not found"));
+    }
+
+    RegisteredKey key = byTenant.get(tenantId);
+    if (key == null) {
+      // Detect tenant mismatch: keyId exists, but not for this tenant.
+      return ResolveResult.failure(new Failure(FailureCode.TENANT_KEY_MISMATCH, "keyId is not registered for tenant"));
+    }
+
+    if (!key.active()) {
+      return ResolveResult.failure(new Failure(FailureCode.KEY_REVOKED, "key is not active"));
+    }
+    if (key.notAfter() != null && now.isAfter(key.notAfter())) {
+      return ResolveResult.failure(new Failure(FailureCode.KEY_EXPIRED, "key is expired"));
+    }
+    if (key.material() == null) {
+      return ResolveResult.failure(new Failure(FailureCode.INVALID_KEY_MATERIAL, "invalid or unsupported key material"));
+    }
+
+    return ResolveResult.success(key.material());
+  }
+
+  /**
+   * Node-local, monotonically increasing load counter.
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * SHA-256 over the registry content; identical across nodes that loaded the same registry.
+   */
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public String source() {
+    return source;
+  }
+
+  public Instant loadedAt() {
+    return loadedAt;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private static String fingerprint(List<String> canonicalEntries) {
+    List<String> sorted = new ArrayList<>(canonicalEntries);
+    sorted.sort(Comparator.naturalOrder());
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      for (String entry : sorted) {
+        sha256.update(entry.getBytes(StandardCharsets.UTF_8));
+        sha256.update((byte) '\n');
+      }
+      return HexFormat.of().formatHex(sha256.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String algorithmName(KeyEntry e) {
+    String alg = e.getAlgorithm();
+    return (alg == null || alg.isBlank()) ? SignatureAlgorithms.DEFAULT : alg.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean notBlank(String s) {
+    return s != null && !s.trim().isEmpty();
+  }
+
+  private static String nullToEmpty(String s) {
+    return (s == null) ? "" : s;
+  }
+
+  /**
+   * One decoded registry entry. {@code material} is built once so successful lookups do not allocate it.
+   */
+  private record RegisteredKey(
+      String tenantId,
+      String keyId,
+      boolean active,
+      Instant notAfter,
+      KeyMaterial material
+  ) {
+
+    RegisteredKey(String tenantId, String keyId, boolean active, SignatureAlgorithm algorithm, Key key, Instant notAfter) {
+      this(tenantId, keyId, active, notAfter,
+          (key == null) ? null : new KeyMaterial(tenantId, keyId, algorithm, key, notAfter));
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * External origin of the key registry, polled by {@link KeyRegistryReloader}.
+ */
+interface KeyRegistrySource {
+
+  /**
+   * Human-readable origin, e.g. "file:/etc/agenttrust/keys.yaml".
+   */
+  String describe();
+
+  /**
+   * @return the full entry list if the registry changed since the last successful fetch, empty if unchanged
+   * @throws Exception if the registry could not be read or parsed (the current snapshot stays in place)
+   */
+  Optional<List<KeyEntry>> fetchIfChanged() throws Exception;
+}
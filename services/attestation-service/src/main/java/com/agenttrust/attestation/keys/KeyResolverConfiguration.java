@@ -1,14 +1,183 @@
 package com.agenttrust.attestation.keys;
 
 import com.agenttrust.attestation.config.AttestationProperties;
+import com.agenttrust.attestation.config.AttestationProperties.Keys.Source;
+import com.agenttrust.platform.web.profiling.AdminJwtFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestClient;
 
+// Registry files and admin-service responses are read with Jackson databind (KeyRegistryDocument).
+@RegisterReflectionForBinding(KeyRegistryDocument.class)
 @Configuration
 public class KeyResolverConfiguration {
 
+  private static final String SOURCE_PROPERTY = "agenttrust.attestation.keys.source";
+
+  @Bean
+  @Conditional(OnStaticSource.class)
+  public PublicKeyResolver publicKeyResolver(AttestationProperties props, Clock attestationClock) {
+    return new YamlPublicKeyResolver(props, attestationClock);
+  }
+
   @Bean
-  public PublicKeyResolver publicKeyResolver(AttestationProperties props) {
-    return new YamlPublicKeyResolver(props);
+  @Conditional(OnReloadableSource.class)
+  public ReloadablePublicKeyResolver reloadablePublicKeyResolver(AttestationProperties props, Clock attestationClock) {
+    return new ReloadablePublicKeyResolver(YamlPublicKeyResolver.safeEntries(props), attestationClock);
+  }
+
+  @Bean
+  @Conditional(OnReloadableSource.class)
+  public KeyRegistryReloader keyRegistryReloader(AttestationProperties props,
+                                                 ReloadablePublicKeyResolver resolver,
+                                                 RestClient.Builder restClientBuilder,
+                                                 Clock attestationClock) {
+    AttestationProperties.Keys keys = props.getKeys();
+    if (keys.getSource() == Source.FILE) {
+      String path = requireNonBlank(keys.getFile().getPath(), "agenttrust.attestation.keys.file.path");
+      return new KeyRegistryReloader(resolver, new FileKeyRegistrySource(Path.of(path)),
+          keys.getFile().getPollInterval(), attestationClock);
+    }
+
+    String url = requireNonBlank(keys.getAdmin().getUrl(), "agenttrust.attestation.keys.admin.url");
+    Duration timeout = keys.getAdmin().getTimeout();
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(timeout);
+    requestFactory.setReadTimeout(timeout);
+    RestClient restClient = restClientBuilder.requestFactory(requestFactory).build();
+    return new KeyRegistryReloader(resolver, new AdminKeyRegistrySource(restClient, url),
+        keys.getAdmin().getPollInterval(), attestationClock);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @Conditional(OnPostgresSource.class)
+  static class PostgresKeys {
+
+    @Bean(destroyMethod = "close")
+    HikariDataSource agentKeysDataSource(AttestationProperties props) {
+      AttestationProperties.Keys.Postgres pg = props.getKeys().getPostgres();
+      HikariDataSource ds = new HikariDataSource();
+      ds.setPoolName("agent-keys");
+      ds.setJdbcUrl(requireNonBlank(pg.getUrl(), "agenttrust.attestation.keys.postgres.url"));
+      ds.setUsername(pg.getUsername());
+      ds.setPassword(pg.getPassword());
+      ds.setMaximumPoolSize(pg.getMaximumPoolSize());
+      ds.setReadOnly(true);
+      return ds;
+    }
+
+    @Bean
+    PostgresPublicKeyResolver publicKeyResolver(AttestationProperties props,
+                                                DataSource agentKeysDataSource,
+                                                ObjectProvider<MeterRegistry> meterRegistry,
+                                                Clock attestationClock) {
+      PostgresPublicKeyResolver resolver = new PostgresPublicKeyResolver(
+          new JdbcAgentKeyStore(new JdbcTemplate(agentKeysDataSource)),
+          props.getKeys().getPostgres().getCache(),
+          attestationClock);
+      meterRegistry.ifAvailable(registry ->
+          CaffeineCacheMetrics.monitor(registry, resolver.cache(), "attestation.agent_keys"));
+      return resolver;
+    }
+  }
+
+  /**
+   * Admin-JWT guard for the operator API ({@link KeyRegistryController}), which only exists when enabled.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnProperty(prefix = "agenttrust.attestation.keys.ops", name = "enabled", havingValue = "true")
+  static class RegistryOps {
+
+    @Bean
+    FilterRegistrationBean<AdminJwtFilter> keyRegistryAdminJwtFilter(AttestationProperties props) {
+      AttestationProperties.Keys.Ops ops = props.getKeys().getOps();
+      String jwksUri = requireNonBlank(ops.getJwksUri(), "agenttrust.attestation.keys.ops.jwks-uri");
+      FilterRegistrationBean<AdminJwtFilter> bean = new FilterRegistrationBean<>();
+      bean.setFilter(AdminJwtFilter.forAdminService(URI.create(jwksUri), ops.getIssuer(), ops.getRole()));
+      bean.setName("keyRegistryAdminJwtFilter");
+      bean.setOrder(AdminJwtFilter.ORDER);
+      bean.addUrlPatterns("/internal/v1/keys/*");
+      return bean;
+    }
+  }
+
+  /**
+   * The configured source, bound like AttestationProperties (case-insensitive) so bean conditions and
+   * properties always agree. Exactly one resolver condition matches any valid value; anything else fails
+   * startup here instead of leaving no PublicKeyResolver bean.
+   */
+  static Source configuredSource(Environment environment) {
+    try {
+      return Binder.get(environment).bind(SOURCE_PROPERTY, Source.class).orElse(Source.STATIC);
+    } catch (BindException e) {
+      throw new IllegalStateException(SOURCE_PROPERTY + " must be one of "
+          + Arrays.stream(Source.values()).map(v -> v.name().toLowerCase(Locale.ROOT)).toList(), e);
+    }
+  }
+
+  private abstract static class KeySourceCondition extends SpringBootCondition {
+
+    private final Predicate<Source> matches;
+
+    KeySourceCondition(Predicate<Source> matches) {
+      this.matches = matches;
+    }
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+      Source source = configuredSource(context.getEnvironment());
+      String message = SOURCE_PROPERTY + "=" + source;
+      return matches.test(source) ? ConditionOutcome.match(message) : ConditionOutcome.noMatch(message);
+    }
+  }
+
+  static final class OnStaticSource extends KeySourceCondition {
+    OnStaticSource() {
+      super(source -> source == Source.STATIC);
+    }
+  }
+
+  static final class OnReloadableSource extends KeySourceCondition {
+    OnReloadableSource() {
+      super(Source::reloadable);
+    }
+  }
+
+  static final class OnPostgresSource extends KeySourceCondition {
+    OnPostgresSource() {
+      super(source -> source == Source.POSTGRES);
+    }
+  }
+
+  private static String requireNonBlank(String value, String property) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalStateException(property + " must be set");
+    }
+    return value;
   }
 }
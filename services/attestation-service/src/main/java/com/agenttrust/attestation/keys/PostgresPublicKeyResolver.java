@@ -0,0 +1,125 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.Postgres;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Key resolver backed by the agent_public_keys table, fronted by a bounded near cache.
+ *
+ * - Cache key is the keyId; the value holds every tenant registration of it as a one-key
+ *   {@link KeyRegistrySnapshot}, so FailureCode semantics (incl. TENANT_KEY_MISMATCH) are exactly those
+ *   of the YAML/reloadable resolvers and public keys are decoded once per load.
+ * - Unknown keyIds are cached as empty snapshots for a shorter negativeTtl.
+ * - Entries older than refreshAfter are reloaded in the background on access while the cached value
+ *   keeps serving; ttl is the hard bound if refreshes keep failing.
+ * - Concurrent misses for the same keyId share a single query (per-key load coalescing).
+ *
+ * Database errors on a miss propagate; the verifier fails closed with an internal error.
+ */
+public final class PostgresPublicKeyResolver implements PublicKeyResolver, AutoCloseable {
+
+  static final String SOURCE = "postgres";
+
+  private final AgentKeyStore store;
+  private final Clock clock;
+  private final LoadingCache<String, KeyRegistrySnapshot> cache;
+  private final ExecutorService ownedRefreshExecutor;
+
+  /**
+   * Refreshes run on a small dedicated pool: JDBC calls must not occupy the common ForkJoinPool.
+   */
+  PostgresPublicKeyResolver(AgentKeyStore store, Postgres.Cache cacheProps, Clock clock) {
+    this(store, cacheProps, clock, newRefreshExecutor(), Ticker.systemTicker());
+  }
+
+  PostgresPublicKeyResolver(AgentKeyStore store,
+                            Postgres.Cache cacheProps,
+                            Clock clock,
+                            Executor refreshExecutor,
+                            Ticker ticker) {
+    this.store = Objects.requireNonNull(store, "store");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.ownedRefreshExecutor = (refreshExecutor instanceof ExecutorService es) ? es : null;
+
+    Duration ttl = cacheProps.getTtl();
+    Duration negativeTtl = cacheProps.getNegativeTtl();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(cacheProps.getMaximumSize())
+        .expireAfter(new KeyExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+        .refreshAfterWrite(cacheProps.getRefreshAfter())
+        .executor(refreshExecutor)
+        .ticker(ticker)
+        .recordStats()
+        .build(this::load);
+  }
+
+  @Override
+  public ResolveResult resolve(String tenantId, String keyId) {
+    return resolve(tenantId, keyId, Instant.now(clock));
+  }
+
+  @Override
+  public ResolveResult resolve(String tenantId, String keyId, Instant now) {
+    if (tenantId == null || tenantId.isBlank() || keyId == null || keyId.isBlank()) {
+      return ResolveResult.failure(new Failure(FailureCode.INVALID_INPUT, "tenantId and keyId are required"));
+    }
+    return cache.get(keyId).resolve(tenantId, keyId, now);
+  }
+
+  /**
+   * Exposed for cache metrics binding.
+   */
+  public LoadingCache<String, KeyRegistrySnapshot> cache() {
+    return cache;
+  }
+
+  @Override
+  public void close() {
+    if (ownedRefreshExecutor != null) {
+      ownedRefreshExecutor.shutdownNow();
+    }
+  }
+
+  private static ExecutorService newRefreshExecutor() {
+    return Executors.newFixedThreadPool(2, r -> {
+      Thread t = new Thread(r, "agent-keys-refresh");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  private KeyRegistrySnapshot load(String keyId) {
+    return KeyRegistrySnapshot.of(0, SOURCE, Instant.now(clock), store.findByKeyId(keyId));
+  }
+
+  /**
+   * Positive entries live for ttl, negative (unknown keyId) entries for negativeTtl.
+   */
+  private record KeyExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, KeyRegistrySnapshot> {
+
+    @Override
+    public long expireAfterCreate(String keyId, KeyRegistrySnapshot value, long currentTime) {
+      return (value.size() == 0) ? negativeTtlNanos : ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(String keyId, KeyRegistrySnapshot value, long currentTime, long currentDuration) {
+      return expireAfterCreate(keyId, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String keyId, KeyRegistrySnapshot value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
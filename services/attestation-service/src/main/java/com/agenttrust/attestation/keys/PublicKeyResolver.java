@@ -1,5 +1,7 @@
 package com.agenttrust.attestation.keys;
 
+import com.agenttrust.attestation.crypto.SignatureAlgorithm;
+import java.security.Key;
 import java.security.PublicKey;
 import java.time.Instant;
 import java.util.Optional;
@@ -14,6 +16,12 @@ public interface PublicKeyResolver {
 
   ResolveResult resolve(String tenantId, String keyId);
 
+  /**
+   * Resolves against a caller-supplied instant, so key expiry is judged at the same moment as the
+   * signature's created/expires window.
+   */
+  ResolveResult resolve(String tenantId, String keyId, Instant now);
+
   record ResolveResult(Optional<KeyMaterial> key, Optional<Failure> failure) {
 
     public static ResolveResult success(KeyMaterial key) {
@@ -29,12 +37,24 @@ public interface PublicKeyResolver {
     }
   }
 
+  /**
+   * A decoded, verification-ready key and the algorithm it belongs to.
+   */
   record KeyMaterial(
       String tenantId,
       String keyId,
-      PublicKey publicKey,
+      SignatureAlgorithm algorithm,
+      Key key,
       Instant notAfter
-  ) { }
+  ) {
+
+    /**
+     * @return the key if it is asymmetric, otherwise null (e.g. hmac-sha256 secrets)
+     */
+    public PublicKey publicKey() {
+      return (key instanceof PublicKey pk) ? pk : null;
+    }
+  }
 
   record Failure(
       FailureCode code,
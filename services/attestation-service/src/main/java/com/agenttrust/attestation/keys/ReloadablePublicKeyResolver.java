@@ -0,0 +1,64 @@
+package com.agenttrust.attestation.keys;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Key resolver whose registry can be replaced at runtime.
+ *
+ * Copy-on-write: every reload builds a new immutable {@link KeyRegistrySnapshot} off the hot path and
+ * publishes it with a single volatile write. Lookups read the volatile reference once and never lock
+ * or wait, even while a reload is in progress.
+ */
+public final class ReloadablePublicKeyResolver implements PublicKeyResolver, VersionedKeyRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(ReloadablePublicKeyResolver.class);
+
+  private final Clock clock;
+  private volatile KeyRegistrySnapshot current;
+
+  public ReloadablePublicKeyResolver(List<KeyEntry> bootstrapEntries, Clock clock) {
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.current = KeyRegistrySnapshot.of(1, YamlPublicKeyResolver.SOURCE, Instant.now(clock), bootstrapEntries);
+  }
+
+  @Override
+  public ResolveResult resolve(String tenantId, String keyId) {
+    return current.resolve(tenantId, keyId, Instant.now(clock));
+  }
+
+  @Override
+  public ResolveResult resolve(String tenantId, String keyId, Instant now) {
+    return current.resolve(tenantId, keyId, now);
+  }
+
+  @Override
+  public KeyRegistrySnapshot snapshot() {
+    return current;
+  }
+
+  /**
+   * Builds and publishes a new snapshot. Reloads are serialized so versions stay monotonic;
+   * readers are unaffected by the lock.
+   *
+   * @return the published snapshot, or the current one if the content did not change
+   */
+  public synchronized KeyRegistrySnapshot replace(List<KeyEntry> entries, String source) {
+    KeyRegistrySnapshot previous = current;
+    KeyRegistrySnapshot next = KeyRegistrySnapshot.of(previous.version() + 1, source, Instant.now(clock), entries);
+
+    if (next.fingerprint().equals(previous.fingerprint())) {
+      return previous;
+    }
+
+    current = next;
+    log.info("Key registry updated version={} keys={} source={} fingerprint={}",
+        next.version(), next.size(), source, next.fingerprint());
+    return next;
+  }
+}
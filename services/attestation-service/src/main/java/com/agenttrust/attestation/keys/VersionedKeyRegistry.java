@@ -0,0 +1,9 @@
+package com.agenttrust.attestation.keys;
+
+/**
+ * Exposes the key registry snapshot currently used for lookups (for ops endpoints and diagnostics).
+ */
+public interface VersionedKeyRegistry {
+
+  KeyRegistrySnapshot snapshot();
+}
@@ -0,0 +1,224 @@
+package com.agenttrust.attestation.replay;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process nonce store for single-node and test deployments. Nothing is shared between instances,
+ * so running more than one instance behind a load balancer reopens the replay window across them.
+ *
+ * Entries live in a concurrent map keyed by replay key, holding the expiry in epoch millis. Expiry is
+ * driven by a time wheel of one-second slots: each entry is queued on the slot of the second it expires
+ * in, and a daemon thread drains one slot per second, so cleanup costs O(expired) rather than a scan of
+ * the whole map. Expiries further out than one wheel turn are re-queued until their round comes.
+ *
+ * The store is bounded by {@code maxEntries} and fails closed (UNAVAILABLE) when full; it never evicts
+ * a live nonce early. With a {@link Journal}, first-seen nonces are appended to a memory-mapped file
+ * before the result is returned and reloaded on startup, so a restart does not reopen the window.
+ */
+public final class LocalReplayBackend implements ReplayBackend, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(LocalReplayBackend.class);
+
+  private final Clock clock;
+  private final int maxEntries;
+  private final ConcurrentHashMap<String, Long> expiries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<String>[] wheel;
+  private final ReplayJournal journal;
+  private final ReplayResultCounters counters;
+  private final ScheduledExecutorService sweeper;
+
+  /** Last second whose slot has been drained; only touched under {@code synchronized (wheel)}. */
+  private long sweptThrough;
+
+  /**
+   * @param path   journal file; created if missing, grown to {@code size} bytes
+   * @param fsync  force each record to disk before answering (survives power loss, costs a sync per nonce)
+   */
+  public record Journal(Path path, long size, boolean fsync) {
+    public Journal {
+      Objects.requireNonNull(path, "path");
+    }
+  }
+
+  public LocalReplayBackend(Clock clock, int maxEntries, int wheelSlots, Journal journal, MeterRegistry meterRegistry) {
+    this(clock, maxEntries, wheelSlots, journal, meterRegistry, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  LocalReplayBackend(Clock clock, int maxEntries, int wheelSlots, Journal journal, MeterRegistry meterRegistry,
+                     boolean startSweeper) {
+    this.clock = Objects.requireNonNull(clock, "clock");
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    if (wheelSlots <= 0) {
+      throw new IllegalArgumentException("wheelSlots must be positive");
+    }
+    this.maxEntries = maxEntries;
+    this.wheel = new ConcurrentLinkedQueue[wheelSlots];
+    for (int i = 0; i < wheelSlots; i++) {
+      wheel[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.counters = new ReplayResultCounters("local", meterRegistry);
+
+    long now = clock.millis();
+    this.sweptThrough = Math.floorDiv(now, 1000L);
+    if (journal != null) {
+      this.journal = new ReplayJournal(journal.path(), journal.size(), journal.fsync(), now, (key, expiry) -> {
+        if (expiries.merge(key, expiry, Math::max).longValue() == expiry) {
+          schedule(key, expiry);
+        }
+      });
+      log.info("Replay journal {} loaded: {} live nonces", journal.path(), expiries.size());
+    } else {
+      this.journal = null;
+    }
+
+    if (startSweeper) {
+      this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replay-local-sweeper");
+        t.setDaemon(true);
+        return t;
+      });
+      sweeper.scheduleWithFixedDelay(this::sweepQuietly, 1, 1, TimeUnit.SECONDS);
+    } else {
+      this.sweeper = null;
+    }
+  }
+
+  @Override
+  public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl) {
+    try {
+      long now = clock.millis();
+      long expiry = now + ttl.toMillis();
+      Long previous = expiries.get(key);
+      if (previous != null && previous > now) {
+        return counters.record(Result.REPLAY_DETECTED);
+      }
+      if (previous == null && expiries.size() >= maxEntries) {
+        log.warn("Local replay store full ({} entries); failing closed", maxEntries);
+        return counters.record(Result.UNAVAILABLE);
+      }
+
+      boolean inserted = (previous == null)
+          ? expiries.putIfAbsent(key, expiry) == null
+          : expiries.replace(key, previous, expiry);
+      if (!inserted) {
+        // Lost the race to a concurrent first sighting of the same nonce.
+        return counters.record(Result.REPLAY_DETECTED);
+      }
+
+      boolean durable;
+      try {
+        durable = journal == null || journal.append(key, expiry, expiries, now);
+      } finally {
+        // Whatever the journal did, the entry is in the map and only the sweeper removes it.
+        schedule(key, expiry);
+      }
+      if (!durable) {
+        // Not durable, so not accepted. Keep the entry: a retry of this nonce is still a replay.
+        log.warn("Replay journal full; failing closed");
+        return counters.record(Result.UNAVAILABLE);
+      }
+      return counters.record(Result.FIRST_SEEN);
+    } catch (RuntimeException e) {
+      log.warn("Local replay store error: {}", e.toString());
+      return counters.record(Result.UNAVAILABLE);
+    }
+  }
+
+  @Override
+  public Map<String, Boolean> ping() {
+    return Map.of("local", Boolean.TRUE);
+  }
+
+  @Override
+  public String kind() {
+    return "local";
+  }
+
+  int size() {
+    return expiries.size();
+  }
+
+  /**
+   * Drains every slot between the last sweep and now. After a pause longer than one turn each slot is
+   * drained once, which still removes everything that has expired.
+   */
+  void sweep() {
+    synchronized (wheel) {
+      long now = clock.millis();
+      long nowSecond = Math.floorDiv(now, 1000L);
+      long from = Math.max(sweptThrough + 1, nowSecond - wheel.length + 1);
+      for (long second = from; second <= nowSecond; second++) {
+        drain(slot(second), now);
+      }
+      sweptThrough = Math.max(sweptThrough, nowSecond);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (sweeper != null) {
+      sweeper.shutdownNow();
+    }
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  private void drain(int slot, long now) {
+    ConcurrentLinkedQueue<String> queue = wheel[slot];
+    // Bounded by the size on entry, so re-queued later-round keys are not revisited in this pass.
+    for (int n = queue.size(); n > 0; n--) {
+      String key = queue.poll();
+      if (key == null) {
+        return;
+      }
+      Long expiry = expiries.get(key);
+      if (expiry == null) {
+        continue;
+      }
+      if (expiry <= now) {
+        expiries.remove(key, expiry);
+      } else if (slot(expirySecond(expiry)) == slot) {
+        queue.offer(key);
+      }
+      // Otherwise the key was re-recorded with a new expiry and is queued on that slot already.
+    }
+  }
+
+  private void schedule(String key, long expiryMillis) {
+    wheel[slot(expirySecond(expiryMillis))].offer(key);
+  }
+
+  /** The second during whose sweep the entry is expired: expiry rounded up. */
+  private static long expirySecond(long expiryMillis) {
+    return Math.floorDiv(expiryMillis + 999L, 1000L);
+  }
+
+  private int slot(long second) {
+    return (int) Math.floorMod(second, (long) wheel.length);
+  }
+
+  private void sweepQuietly() {
+    try {
+      sweep();
+    } catch (RuntimeException e) {
+      log.warn("Local replay sweep failed: {}", e.toString());
+    }
+  }
+}
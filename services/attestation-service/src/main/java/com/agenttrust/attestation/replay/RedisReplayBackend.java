@@ -0,0 +1,170 @@
+package com.agenttrust.attestation.replay;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * One Redis endpoint (standalone, or a cluster through a cluster-aware template).
+ *
+ * Default layout: one key per nonce, SET NX EX. With {@link Buckets}, nonces are fields of a hash per
+ * (expiry window, partition), inserted with HSETNX by a Lua script; the hash expires when the window ends.
+ * The window is derived from the signature's absolute expiry, so every use of a nonce lands in the same
+ * hash regardless of when it arrives, and the nonce is kept until that expiry (rounded up to the window
+ * end) even if its TTL is shorter. That only ever rejects more, never accepts a replay.
+ *
+ * Results are counted per shard as {@code attestation.replay.results{shard,result}} when a
+ * MeterRegistry is given.
+ */
+public final class RedisReplayBackend implements ReplayBackend, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisReplayBackend.class);
+
+  private static final RedisScript<Long> BUCKET_SET_IF_ABSENT = new DefaultRedisScript<>(
+      "if redis.call('HSETNX', KEYS[1], ARGV[1], '1') == 1 then "
+          + "redis.call('EXPIREAT', KEYS[1], ARGV[2]) return 1 end return 0",
+      Long.class);
+
+  private final String shard;
+  private final StringRedisTemplate redisTemplate;
+  private final LettuceConnectionFactory ownedConnectionFactory;
+  private final ReplayResultCounters counters;
+  private final Buckets buckets;
+
+  /**
+   * Bucketed layout settings. Requires compact keys: the hash field is the key's digest segment.
+   *
+   * @param partitions hashes per window, so one window is not a single hot key (partitioned by signing key)
+   */
+  public record Buckets(String keyPrefix, Duration window, int partitions, boolean hashTags, Clock clock) {
+    public Buckets {
+      Objects.requireNonNull(keyPrefix, "keyPrefix");
+      Objects.requireNonNull(clock, "clock");
+      if (window == null || window.getSeconds() <= 0) {
+        throw new IllegalArgumentException("bucket window must be at least one second");
+      }
+      if (partitions <= 0) {
+        throw new IllegalArgumentException("bucket partitions must be positive");
+      }
+    }
+  }
+
+  public RedisReplayBackend(String shard, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+    this(shard, redisTemplate, null, meterRegistry, null);
+  }
+
+  public RedisReplayBackend(String shard, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry, Buckets buckets) {
+    this(shard, redisTemplate, null, meterRegistry, buckets);
+  }
+
+  private RedisReplayBackend(String shard,
+                             StringRedisTemplate redisTemplate,
+                             LettuceConnectionFactory ownedConnectionFactory,
+                             MeterRegistry meterRegistry,
+                             Buckets buckets) {
+    this.shard = Objects.requireNonNull(shard, "shard");
+    this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate");
+    this.ownedConnectionFactory = ownedConnectionFactory;
+    this.counters = new ReplayResultCounters(shard, meterRegistry);
+    this.buckets = buckets;
+  }
+
+  /**
+   * Backend over its own connection factory (closed with this backend). Used for shards that are not
+   * the Boot-managed spring.data.redis connection.
+   */
+  static RedisReplayBackend standalone(String shard,
+                                       LettuceConnectionFactory connectionFactory,
+                                       MeterRegistry meterRegistry,
+                                       Buckets buckets) {
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    return new RedisReplayBackend(
+        shard, new StringRedisTemplate(connectionFactory), connectionFactory, meterRegistry, buckets);
+  }
+
+  public String shard() {
+    return shard;
+  }
+
+  /**
+   * Without a signature expiry the bucketed layout falls back to now + ttl; the verifier always passes
+   * the expiry.
+   */
+  @Override
+  public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl) {
+    return setIfAbsent(tenantId, keyId, key, ttl, null);
+  }
+
+  @Override
+  public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl, Instant expiresAt) {
+    Result result;
+    try {
+      Boolean wasSet = (buckets == null)
+          ? redisTemplate.opsForValue().setIfAbsent(key, "1", ttl)
+          : setIfAbsentInBucket(tenantId, keyId, key,
+              (expiresAt != null) ? expiresAt : buckets.clock().instant().plus(ttl));
+      if (Boolean.TRUE.equals(wasSet)) {
+        result = Result.FIRST_SEEN;
+      } else if (Boolean.FALSE.equals(wasSet)) {
+        result = Result.REPLAY_DETECTED;
+      } else {
+        log.warn("Replay cache unavailable (redis shard={}). Failing closed.", shard);
+        result = Result.UNAVAILABLE;
+      }
+    } catch (Exception ex) {
+      if (log.isDebugEnabled()) {
+        log.debug("Replay cache unavailable (redis shard={}). Failing closed.", shard, ex);
+      } else {
+        log.warn("Replay cache unavailable (redis shard={}). Failing closed.", shard);
+      }
+      result = Result.UNAVAILABLE;
+    }
+    return counters.record(result);
+  }
+
+  private Boolean setIfAbsentInBucket(String tenantId, String keyId, String key, Instant expiresAt) {
+    long windowSeconds = buckets.window().getSeconds();
+    long window = Math.ceilDiv(expiresAt.getEpochSecond(), windowSeconds);
+    long partition = Math.floorMod(ShardedReplayBackend.hash(tenantId, keyId), buckets.partitions());
+    String hashKey = buckets.hashTags()
+        ? buckets.keyPrefix() + ":b:{" + partition + "}:" + window
+        : buckets.keyPrefix() + ":b:" + partition + ":" + window;
+    String field = key.substring(key.lastIndexOf(':') + 1);
+
+    Long added = redisTemplate.execute(BUCKET_SET_IF_ABSENT, List.of(hashKey), field,
+        Long.toString(window * windowSeconds + 1));
+    return (added == null) ? null : added == 1L;
+  }
+
+  @Override
+  public Map<String, Boolean> ping() {
+    try {
+      // Force the RedisCallback overload to avoid ambiguity with SessionCallback.
+      String pong = redisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+      return Map.of(shard, "PONG".equalsIgnoreCase(pong));
+    } catch (Exception ex) {
+      log.warn("Replay store not reachable (redis shard={}).", shard, ex);
+      return Map.of(shard, false);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (ownedConnectionFactory != null) {
+      ownedConnectionFactory.destroy();
+    }
+  }
+}
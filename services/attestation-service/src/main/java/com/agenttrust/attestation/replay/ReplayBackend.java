@@ -0,0 +1,45 @@
+package com.agenttrust.attestation.replay;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Storage for seen nonces. Implementations must be atomic per key and fail closed:
+ * anything other than a definite answer is {@link Result#UNAVAILABLE}.
+ */
+public interface ReplayBackend {
+
+  /**
+   * Records {@code key} unless it already exists.
+   *
+   * {@code tenantId}/{@code keyId} are passed separately so sharded backends can route all nonces of
+   * one signing key to the same store without parsing the key.
+   *
+   * @return FIRST_SEEN, REPLAY_DETECTED or UNAVAILABLE; never throws
+   */
+  Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl);
+
+  /**
+   * As {@link #setIfAbsent(String, String, String, Duration)}, with the absolute expiry of the signature
+   * carrying the nonce. Backends that group nonces by expiry must derive the group from
+   * {@code expiresAt}, never from their own clock plus {@code ttl}: two clock reads a second apart
+   * would put a nonce and its replay into different groups.
+   */
+  default Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl, Instant expiresAt) {
+    return setIfAbsent(tenantId, keyId, key, ttl);
+  }
+
+  /**
+   * Reachability per store (shard name to reachable), for readiness reporting. Never throws.
+   */
+  Map<String, Boolean> ping();
+
+  /**
+   * What the store is, for readiness reporting.
+   */
+  default String kind() {
+    return "redis";
+  }
+}
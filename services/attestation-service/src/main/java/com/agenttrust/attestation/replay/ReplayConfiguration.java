@@ -1,18 +1,110 @@
 package com.agenttrust.attestation.replay;
 
 import com.agenttrust.attestation.config.AttestationProperties;
+import com.agenttrust.attestation.config.AttestationProperties.Replay;
+import com.agenttrust.platform.web.redis.RedisConnections;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
 public class ReplayConfiguration {
 
   @Bean
-  public ReplayProtectionService replayProtectionService(StringRedisTemplate redisTemplate,
+  public ReplayProtectionService replayProtectionService(ReplayBackend replayBackend,
                                                          AttestationProperties props) {
     String keyPrefix = props.getReplay().getKeyPrefix();
     int defaultTtlSeconds = props.getReplay().getDefaultTtlSeconds();
-    return new ReplayProtectionService(redisTemplate, keyPrefix, defaultTtlSeconds);
+    return new ReplayProtectionService(replayBackend, keyPrefix, defaultTtlSeconds,
+        props.getReplay().isHashTags(), props.getReplay().getKeyEncoding());
+  }
+
+  /**
+   * Redis command spans (child of the verify request's span) on the shared Lettuce ClientResources,
+   * used by the default connection and by every replay shard. Command arguments (nonces) are not tagged.
+   */
+  @Bean
+  public ClientResourcesBuilderCustomizer redisTracingCustomizer(ObjectProvider<ObservationRegistry> observationRegistry) {
+    return builder -> observationRegistry.ifAvailable(registry ->
+        builder.tracing(new MicrometerTracing(registry, "redis")));
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "agenttrust.attestation.replay", name = "backend", havingValue = "redis", matchIfMissing = true)
+  public ReplayBackend redisReplayBackend(AttestationProperties props,
+                                          StringRedisTemplate redisTemplate,
+                                          ObjectProvider<MeterRegistry> meterRegistry,
+                                          Clock attestationClock) {
+    return new RedisReplayBackend("default", redisTemplate, meterRegistry.getIfAvailable(),
+        buckets(props.getReplay(), attestationClock));
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(prefix = "agenttrust.attestation.replay", name = "backend", havingValue = "sharded")
+  public ShardedReplayBackend shardedReplayBackend(AttestationProperties props,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   ObjectProvider<ClientResources> clientResources,
+                                                   Clock attestationClock) {
+    RedisReplayBackend.Buckets buckets = buckets(props.getReplay(), attestationClock);
+    Replay.Sharded sharded = props.getReplay().getSharded();
+    if (sharded.getShards() == null || sharded.getShards().isEmpty()) {
+      throw new IllegalStateException("agenttrust.attestation.replay.sharded.shards must list at least one shard");
+    }
+
+    List<ShardedReplayBackend.Shard> shards = new ArrayList<>();
+    for (Replay.ShardEndpoint endpoint : sharded.getShards()) {
+      if (endpoint.getName() == null || endpoint.getName().isBlank() || endpoint.getUrl() == null) {
+        throw new IllegalStateException("every replay shard needs a name and url");
+      }
+      LettuceConnectionFactory factory = RedisConnections.connectionFactory(
+          endpoint.getUrl(), sharded.getTimeout(), clientResources.getIfAvailable());
+      shards.add(new ShardedReplayBackend.Shard(endpoint.getName(),
+          RedisReplayBackend.standalone(endpoint.getName(), factory, meterRegistry.getIfAvailable(), buckets)));
+    }
+    return new ShardedReplayBackend(shards, sharded.getVirtualNodes());
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(prefix = "agenttrust.attestation.replay", name = "backend", havingValue = "local")
+  public LocalReplayBackend localReplayBackend(AttestationProperties props,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               Clock attestationClock) {
+    Replay.Local local = props.getReplay().getLocal();
+    String journalPath = local.getJournal().getPath();
+    LocalReplayBackend.Journal journal = (journalPath == null || journalPath.isBlank())
+        ? null
+        : new LocalReplayBackend.Journal(Path.of(journalPath), local.getJournal().getSize().toBytes(),
+            local.getJournal().isFsync());
+    return new LocalReplayBackend(attestationClock, local.getMaxEntries(), local.getWheelSlots(), journal,
+        meterRegistry.getIfAvailable());
+  }
+
+  private static RedisReplayBackend.Buckets buckets(Replay replay, Clock clock) {
+    String layout = (replay.getLayout() == null) ? "keys" : replay.getLayout().trim().toLowerCase(Locale.ROOT);
+    if ("keys".equals(layout)) {
+      return null;
+    }
+    if (!"buckets".equals(layout)) {
+      throw new IllegalStateException("agenttrust.attestation.replay.layout must be keys or buckets");
+    }
+    if (ReplayKeys.Encoding.from(replay.getKeyEncoding()) != ReplayKeys.Encoding.COMPACT) {
+      throw new IllegalStateException("agenttrust.attestation.replay.layout=buckets requires keyEncoding=compact");
+    }
+    String keyPrefix = (replay.getKeyPrefix() == null || replay.getKeyPrefix().isBlank()) ? "replay" : replay.getKeyPrefix();
+    return new RedisReplayBackend.Buckets(keyPrefix, replay.getBuckets().getWindow(),
+        replay.getBuckets().getPartitions(), replay.isHashTags(), clock);
   }
 }
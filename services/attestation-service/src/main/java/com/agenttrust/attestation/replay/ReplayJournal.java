@@ -0,0 +1,177 @@
+package com.agenttrust.attestation.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Append-only, memory-mapped record of first-seen nonces for {@link LocalReplayBackend}.
+ *
+ * Layout: 8-byte magic, then records of {@code [short length][long expiryEpochMillis][key bytes]}.
+ * The payload is written before the length, so a record whose length is still zero was never
+ * completed and marks the end of the journal. Writes land in the page cache, so a process crash loses
+ * nothing; surviving power loss needs {@code fsync=true}.
+ *
+ * When the file is full it is compacted by rewriting only unexpired entries into a fresh file.
+ */
+final class ReplayJournal implements AutoCloseable {
+
+  private static final long MAGIC = 0x4154524a524e4c31L; // "ATRJRNL1"
+  private static final int HEADER_BYTES = Long.BYTES;
+  private static final int RECORD_OVERHEAD = Short.BYTES + Long.BYTES;
+  static final int MAX_KEY_BYTES = Short.MAX_VALUE - Long.BYTES;
+
+  private final Path path;
+  private final int capacity;
+  private final boolean fsync;
+
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int position;
+
+  /**
+   * Opens (or creates) the journal and feeds every unexpired record to {@code live}.
+   */
+  ReplayJournal(Path path, long sizeBytes, boolean fsync, long nowMillis, BiConsumer<String, Long> live) {
+    if (sizeBytes < HEADER_BYTES + RECORD_OVERHEAD || sizeBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("replay journal size must be between 18 bytes and 2 GiB");
+    }
+    this.path = path;
+    this.fsync = fsync;
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      boolean existing = Files.exists(path) && Files.size(path) > 0;
+      this.capacity = (int) Math.max(sizeBytes, existing ? Files.size(path) : 0);
+      map(path);
+      if (existing) {
+        if (buffer.getLong(0) != MAGIC) {
+          throw new IllegalStateException("not a replay journal: " + path);
+        }
+        this.position = scan(nowMillis, live);
+      } else {
+        buffer.putLong(0, MAGIC);
+        this.position = HEADER_BYTES;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("cannot open replay journal " + path, e);
+    }
+  }
+
+  /**
+   * @return false if the record does not fit even after compacting against {@code live}
+   */
+  synchronized boolean append(String key, long expiryMillis, Map<String, Long> live, long nowMillis) {
+    byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_KEY_BYTES) {
+      return false;
+    }
+    if (position + RECORD_OVERHEAD + bytes.length > capacity) {
+      compact(live, nowMillis, key);
+      if (position + RECORD_OVERHEAD + bytes.length > capacity) {
+        return false;
+      }
+    }
+    write(buffer, position, bytes, expiryMillis);
+    if (fsync) {
+      buffer.force(position, RECORD_OVERHEAD + bytes.length);
+    }
+    position += RECORD_OVERHEAD + bytes.length;
+    return true;
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      buffer.force();
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private int scan(long nowMillis, BiConsumer<String, Long> live) {
+    int pos = HEADER_BYTES;
+    while (pos + RECORD_OVERHEAD <= capacity) {
+      int length = buffer.getShort(pos);
+      if (length <= 0 || pos + RECORD_OVERHEAD + length > capacity) {
+        break;
+      }
+      long expiry = buffer.getLong(pos + Short.BYTES);
+      if (expiry > nowMillis) {
+        byte[] bytes = new byte[length];
+        buffer.get(pos + RECORD_OVERHEAD, bytes);
+        live.accept(new String(bytes, StandardCharsets.UTF_8), expiry);
+      }
+      pos += RECORD_OVERHEAD + length;
+    }
+    return pos;
+  }
+
+  /**
+   * Rewrites unexpired entries, except {@code pending} which the caller appends next, to a sibling file
+   * and swaps it in. Entries added to {@code live} while this runs either appear in the snapshot or are
+   * appended afterwards; a duplicate is harmless.
+   */
+  private void compact(Map<String, Long> live, long nowMillis, String pending) {
+    Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer next = out.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+      next.putLong(0, MAGIC);
+      int pos = HEADER_BYTES;
+      for (Map.Entry<String, Long> e : live.entrySet()) {
+        long expiry = e.getValue();
+        if (expiry <= nowMillis || e.getKey().equals(pending)) {
+          continue;
+        }
+        byte[] bytes = e.getKey().getBytes(StandardCharsets.UTF_8);
+        if (pos + RECORD_OVERHEAD + bytes.length > capacity) {
+          throw new BufferOverflowException();
+        }
+        write(next, pos, bytes, expiry);
+        pos += RECORD_OVERHEAD + bytes.length;
+      }
+      next.force();
+      channel.close();
+      Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      map(path);
+      position = pos;
+    } catch (BufferOverflowException e) {
+      // Live set alone exceeds the file; keep appending to the old one until entries expire.
+      deleteQuietly(tmp);
+    } catch (IOException e) {
+      deleteQuietly(tmp);
+      throw new UncheckedIOException("cannot compact replay journal " + path, e);
+    }
+  }
+
+  private void map(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+  }
+
+  private static void write(MappedByteBuffer target, int pos, byte[] key, long expiryMillis) {
+    target.putLong(pos + Short.BYTES, expiryMillis);
+    target.put(pos + RECORD_OVERHEAD, key);
+    target.putShort(pos, (short) key.length);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // best effort
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.agenttrust.attestation.replay;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Redis key layout for recorded nonces.
+ *
+ * - PLAIN: {@code prefix:tenantId:keyId:nonce} (readable, ~70 bytes for typical ids)
+ * - COMPACT: {@code prefix:<22 chars>}, the first 16 bytes of SHA-256 over the length-prefixed
+ *   (tenantId, keyId, nonce), base64url without padding. Prefix length + 23 bytes: 29 with the
+ *   default "replay" prefix, 24 with "r"; a hash tag adds 14. A collision can only ever reject a nonce,
+ *   never accept a replay, and 128 bits make that practically impossible.
+ *
+ * With hash tags, tenantId:keyId (PLAIN) or an 8-byte digest of it (COMPACT) is wrapped in {...}, so
+ * all nonces of a signing key map to the same Redis Cluster slot.
+ */
+final class ReplayKeys {
+
+  enum Encoding {
+    PLAIN,
+    COMPACT;
+
+    static Encoding from(String value) {
+      return (value == null || value.isBlank()) ? PLAIN : valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+  private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  });
+
+  private final String keyPrefix;
+  private final Encoding encoding;
+  private final boolean hashTags;
+
+  ReplayKeys(String keyPrefix, Encoding encoding, boolean hashTags) {
+    this.keyPrefix = keyPrefix;
+    this.encoding = encoding;
+    this.hashTags = hashTags;
+  }
+
+  Encoding encoding() {
+    return encoding;
+  }
+
+  String key(String tenantId, String keyId, String nonce) {
+    if (encoding == Encoding.PLAIN) {
+      if (hashTags) {
+        return keyPrefix + ":{" + tenantId + ":" + keyId + "}:" + nonce;
+      }
+      return keyPrefix + ":" + tenantId + ":" + keyId + ":" + nonce;
+    }
+
+    MessageDigest sha = SHA256.get();
+    String tag = null;
+    if (hashTags) {
+      update(sha, tenantId);
+      update(sha, keyId);
+      tag = B64.encodeToString(truncate(sha.digest(), 8));
+    }
+    update(sha, tenantId);
+    update(sha, keyId);
+    update(sha, nonce);
+    String digest = B64.encodeToString(truncate(sha.digest(), 16));
+    return (tag == null) ? keyPrefix + ":" + digest : keyPrefix + ":{" + tag + "}:" + digest;
+  }
+
+  private static void update(MessageDigest sha, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int n = bytes.length;
+    sha.update(new byte[] {(byte) (n >>> 24), (byte) (n >>> 16), (byte) (n >>> 8), (byte) n});
+    sha.update(bytes);
+  }
+
+  private static byte[] truncate(byte[] digest, int length) {
+    byte[] out = new byte[length];
+    System.arraycopy(digest, 0, out, 0, length);
+    return out;
+  }
+}
@@ -1,16 +1,12 @@
 package com.agenttrust.attestation.replay;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
 public final class ReplayProtectionService {
 
-  private static final Logger log = LoggerFactory.getLogger(ReplayProtectionService.class);
-
   public enum Result {
     FIRST_SEEN,
     REPLAY_DETECTED,
@@ -18,49 +14,62 @@ public final class ReplayProtectionService {
     INVALID_INPUT
   }
 
-  private final StringRedisTemplate redisTemplate;
-  private final String keyPrefix;
+  private final ReplayBackend backend;
+  private final ReplayKeys keys;
   private final int defaultTtlSeconds;
 
   public ReplayProtectionService(StringRedisTemplate redisTemplate, String keyPrefix, int defaultTtlSeconds) {
-    this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate");
-    this.keyPrefix = (keyPrefix == null || keyPrefix.isBlank()) ? "replay" : keyPrefix;
+    this(new RedisReplayBackend("default", Objects.requireNonNull(redisTemplate, "redisTemplate"), null),
+        keyPrefix, defaultTtlSeconds, false);
+  }
+
+  /**
+   * @param hashTags wrap tenantId:keyId in a Redis Cluster hash tag ({@code replay:{tenant:key}:nonce}),
+   *                 so all nonces of a signing key map to the same cluster slot
+   */
+  public ReplayProtectionService(ReplayBackend backend, String keyPrefix, int defaultTtlSeconds, boolean hashTags) {
+    this(backend, keyPrefix, defaultTtlSeconds, hashTags, "plain");
+  }
+
+  /**
+   * @param keyEncoding plain ({@code prefix:tenant:keyId:nonce}) or compact ({@code prefix:<128-bit digest>});
+   *                    see {@link ReplayKeys}
+   */
+  public ReplayProtectionService(ReplayBackend backend,
+                                 String keyPrefix,
+                                 int defaultTtlSeconds,
+                                 boolean hashTags,
+                                 String keyEncoding) {
+    this.backend = Objects.requireNonNull(backend, "backend");
+    this.keys = new ReplayKeys(
+        (keyPrefix == null || keyPrefix.isBlank()) ? "replay" : keyPrefix,
+        ReplayKeys.Encoding.from(keyEncoding),
+        hashTags);
     this.defaultTtlSeconds = defaultTtlSeconds > 0 ? defaultTtlSeconds : 480;
   }
 
   public Result recordNonce(String tenantId, String keyId, String nonce, Integer ttlSecondsOverride) {
+    return recordNonce(tenantId, keyId, nonce, ttlSecondsOverride, null);
+  }
+
+  /**
+   * @param expiresAt absolute expiry of the signature carrying the nonce (its {@code expires} parameter);
+   *                  bucketed backends group nonces by it
+   */
+  public Result recordNonce(String tenantId, String keyId, String nonce, Integer ttlSecondsOverride, Instant expiresAt) {
     if (isBlank(tenantId) || isBlank(keyId) || isBlank(nonce)) {
       return Result.INVALID_INPUT;
     }
 
     int ttlSeconds = ttlSecondsOverride != null && ttlSecondsOverride > 0 ? ttlSecondsOverride : defaultTtlSeconds;
-    String redisKey = buildKey(tenantId, keyId, nonce);
-
-    try {
-      ValueOperations<String, String> ops = redisTemplate.opsForValue();
-      Boolean wasSet = ops.setIfAbsent(redisKey, "1", Duration.ofSeconds(ttlSeconds));
+    String redisKey = keys.key(tenantId, keyId, nonce);
 
-      if (Boolean.TRUE.equals(wasSet)) {
-        return Result.FIRST_SEEN;
-      }
-      if (Boolean.FALSE.equals(wasSet)) {
-        return Result.REPLAY_DETECTED;
-      }
-
-      log.warn("Replay cache unavailable (redis). Failing closed.");
-      return Result.UNAVAILABLE;
-    } catch (Exception ex) {
-      if (log.isDebugEnabled()) {
-        log.debug("Replay cache unavailable (redis). Failing closed.", ex);
-      } else {
-        log.warn("Replay cache unavailable (redis). Failing closed.");
-      }
-      return Result.UNAVAILABLE;
-    }
+    // Backends fail closed: errors and indefinite answers come back as UNAVAILABLE.
+    return backend.setIfAbsent(tenantId, keyId, redisKey, Duration.ofSeconds(ttlSeconds), expiresAt);
   }
 
-  private String buildKey(String tenantId, String keyId, String nonce) {
-    return keyPrefix + ":" + tenantId + ":" + keyId + ":" + nonce;
+  public ReplayBackend backend() {
+    return backend;
   }
 
   private static boolean isBlank(String s) {
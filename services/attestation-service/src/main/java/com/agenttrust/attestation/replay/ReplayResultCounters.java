@@ -0,0 +1,37 @@
+package com.agenttrust.attestation.replay;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code attestation.replay.results{shard,result}}, registered once per store; no-op without a registry.
+ */
+final class ReplayResultCounters {
+
+  private final Map<Result, Counter> counters = new EnumMap<>(Result.class);
+
+  ReplayResultCounters(String shard, MeterRegistry registry) {
+    if (registry == null) {
+      return;
+    }
+    for (Result r : new Result[] {Result.FIRST_SEEN, Result.REPLAY_DETECTED, Result.UNAVAILABLE}) {
+      counters.put(r, Counter.builder("attestation.replay.results")
+          .description("Nonce replay checks by store shard and outcome")
+          .tag("shard", shard)
+          .tag("result", r.name().toLowerCase(Locale.ROOT))
+          .register(registry));
+    }
+  }
+
+  Result record(Result result) {
+    Counter counter = counters.get(result);
+    if (counter != null) {
+      counter.increment();
+    }
+    return result;
+  }
+}
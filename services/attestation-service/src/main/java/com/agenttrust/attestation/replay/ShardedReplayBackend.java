@@ -0,0 +1,162 @@
+package com.agenttrust.attestation.replay;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads the replay keyspace over several independent stores with a consistent-hash ring.
+ *
+ * Nonces are routed by (tenantId, keyId), so every nonce of one signing key lives on one shard and a
+ * replay is always checked where the first use was recorded. Each shard has {@code virtualNodes}
+ * points on the ring; adding or removing a shard moves only about 1/N of the signing keys.
+ *
+ * Shards fail independently: a request routed to an unreachable shard gets UNAVAILABLE (fail closed),
+ * all other signing keys keep verifying.
+ */
+public final class ShardedReplayBackend implements ReplayBackend, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ShardedReplayBackend.class);
+
+  public record Shard(String name, ReplayBackend backend) {
+    public Shard {
+      Objects.requireNonNull(name, "name");
+      Objects.requireNonNull(backend, "backend");
+    }
+  }
+
+  private final Shard[] shards;
+  private final long[] ringHashes;
+  private final int[] ringShards;
+
+  public ShardedReplayBackend(List<Shard> shards, int virtualNodes) {
+    if (shards == null || shards.isEmpty()) {
+      throw new IllegalArgumentException("at least one replay shard is required");
+    }
+    if (virtualNodes <= 0) {
+      throw new IllegalArgumentException("virtualNodes must be positive");
+    }
+    Set<String> names = new HashSet<>();
+    for (Shard s : shards) {
+      if (!names.add(s.name())) {
+        throw new IllegalArgumentException("duplicate replay shard name: " + s.name());
+      }
+    }
+    this.shards = shards.toArray(new Shard[0]);
+
+    // Points are derived from shard names (not list positions), so reordering the configuration does
+    // not move keys.
+    int points = this.shards.length * virtualNodes;
+    long[][] ring = new long[points][];
+    int p = 0;
+    for (int s = 0; s < this.shards.length; s++) {
+      for (int v = 0; v < virtualNodes; v++) {
+        ring[p++] = new long[] {hash(this.shards[s].name() + "#" + v), s};
+      }
+    }
+    Arrays.sort(ring, Comparator.<long[]>comparingLong(point -> point[0])
+        .thenComparing(point -> this.shards[(int) point[1]].name()));
+    this.ringHashes = new long[points];
+    this.ringShards = new int[points];
+    for (int i = 0; i < points; i++) {
+      ringHashes[i] = ring[i][0];
+      ringShards[i] = (int) ring[i][1];
+    }
+  }
+
+  @Override
+  public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl) {
+    return shardFor(tenantId, keyId).backend().setIfAbsent(tenantId, keyId, key, ttl);
+  }
+
+  @Override
+  public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl, Instant expiresAt) {
+    return shardFor(tenantId, keyId).backend().setIfAbsent(tenantId, keyId, key, ttl, expiresAt);
+  }
+
+  /**
+   * The shard owning all nonces of (tenantId, keyId).
+   */
+  public Shard shardFor(String tenantId, String keyId) {
+    long h = hash(tenantId, keyId);
+    int i = Arrays.binarySearch(ringHashes, h);
+    if (i < 0) {
+      i = -i - 1;
+      if (i == ringHashes.length) {
+        i = 0;
+      }
+    }
+    return shards[ringShards[i]];
+  }
+
+  @Override
+  public Map<String, Boolean> ping() {
+    Map<String, Boolean> status = new LinkedHashMap<>();
+    for (Shard s : shards) {
+      status.putAll(s.backend().ping());
+    }
+    return status;
+  }
+
+  @Override
+  public void close() {
+    for (Shard s : shards) {
+      if (s.backend() instanceof AutoCloseable c) {
+        try {
+          c.close();
+        } catch (Exception ex) {
+          log.warn("Failed to close replay shard {}", s.name(), ex);
+        }
+      }
+    }
+  }
+
+  static long hash(String tenantId, String keyId) {
+    // FNV-1a over tenantId, a separator that cannot collide with a char, then keyId.
+    long h = 0xcbf29ce484222325L;
+    h = fnv(h, tenantId);
+    h = (h ^ 0x1F) * 0x100000001b3L;
+    h = fnv(h, keyId);
+    return fmix64(h);
+  }
+
+  private static long hash(String point) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : point.getBytes(StandardCharsets.UTF_8)) {
+      h = (h ^ (b & 0xff)) * 0x100000001b3L;
+    }
+    return fmix64(h);
+  }
+
+  private static long fnv(long h, String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      h = (h ^ (c & 0xff)) * 0x100000001b3L;
+      h = (h ^ (c >>> 8)) * 0x100000001b3L;
+    }
+    return h;
+  }
+
+  /**
+   * MurmurHash3 finalizer: FNV alone clusters short, similar ids (key-1, key-2, ...) on the ring.
+   */
+  private static long fmix64(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,219 @@
+package com.agenttrust.attestation.rfc9421;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The request values a signature base can cover: derived components (@method, @authority, ...) and
+ * header fields forwarded by the gateway.
+ *
+ * Canonicalization is lazy: header values and query parameters are only normalized/parsed when a
+ * covered component asks for them, so uncovered headers cost nothing. Instances are immutable and may
+ * be shared by threads verifying different labels of one request.
+ */
+public final class Rfc9421RequestComponents {
+
+  private final String method;
+  private final String scheme;
+  private final String authority;
+  private final String path;
+  private final String query;
+  private final Map<String, String> headers;
+
+  private Rfc9421RequestComponents(String method,
+                                   String scheme,
+                                   String authority,
+                                   String path,
+                                   String query,
+                                   Map<String, String> headers) {
+    this.method = method;
+    this.scheme = scheme;
+    this.authority = authority;
+    this.path = path;
+    this.query = query;
+    this.headers = (headers == null) ? Map.of() : headers;
+  }
+
+  /**
+   * @param query   raw query string without the leading '?', or null
+   * @param headers header values as received (names in any case; multiple values already joined with ", ")
+   */
+  public static Rfc9421RequestComponents of(String method,
+                                            String scheme,
+                                            String authority,
+                                            String path,
+                                            String query,
+                                            Map<String, String> headers) {
+    return new Rfc9421RequestComponents(method, scheme, authority, path, query, headers);
+  }
+
+  String method() {
+    return require(method, "method");
+  }
+
+  String authority() {
+    return normalizeAuthority(require(authority, "authority"));
+  }
+
+  String path() {
+    // Keep path exactly; just trim whitespace. Callers must pass only path (no scheme/host).
+    return require(path, "path").trim();
+  }
+
+  /**
+   * "@query": the query with its leading '?'; a request without query has the value "?".
+   */
+  String query() {
+    return (query == null || query.isEmpty()) ? "?" : "?" + query;
+  }
+
+  String targetUri() {
+    String s = (scheme == null || scheme.isBlank()) ? "https" : lowerAscii(scheme.trim());
+    String a = authority();
+    String p = path();
+    StringBuilder sb = new StringBuilder(s.length() + 3 + a.length() + p.length()
+        + ((query == null) ? 0 : query.length() + 1));
+    sb.append(s).append("://").append(a).append(p);
+    if (query != null && !query.isEmpty()) {
+      sb.append('?').append(query);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * "@query-param";name="...": the decoded-then-re-encoded value of a parameter that occurs exactly once.
+   * Scans the raw query directly; decoding/re-encoding only happens when the value contains escapes.
+   */
+  String queryParam(String name) {
+    String value = null;
+    String q = (query == null) ? "" : query;
+    int start = 0;
+    while (start < q.length()) {
+      int amp = q.indexOf('&', start);
+      int end = (amp < 0) ? q.length() : amp;
+      int eq = q.indexOf('=', start);
+      int nameEnd = (eq < 0 || eq > end) ? end : eq;
+      if (nameEquals(q, start, nameEnd, name)) {
+        if (value != null) {
+          throw new IllegalArgumentException("covered query parameter is repeated: " + name);
+        }
+        value = (nameEnd == end) ? "" : canonicalQueryValue(q.substring(nameEnd + 1, end));
+      }
+      start = end + 1;
+    }
+    if (value == null) {
+      throw new IllegalArgumentException("covered query parameter missing: " + name);
+    }
+    return value;
+  }
+
+  /**
+   * Canonical value of a covered header field: surrounding whitespace removed, obsolete line folding
+   * replaced by a single space.
+   *
+   * @param lowerName lowercase field name
+   */
+  String header(String lowerName) {
+    String raw = headers.get(lowerName);
+    if (raw == null) {
+      for (Map.Entry<String, String> e : headers.entrySet()) {
+        if (e.getKey() != null && e.getKey().equalsIgnoreCase(lowerName)) {
+          raw = e.getValue();
+          break;
+        }
+      }
+    }
+    if (raw == null) {
+      throw new IllegalArgumentException("covered header missing: " + lowerName);
+    }
+    return canonicalHeaderValue(raw);
+  }
+
+  static String canonicalHeaderValue(String raw) {
+    String v = raw.strip();
+    if (v.indexOf('\r') < 0 && v.indexOf('\n') < 0) {
+      return v;
+    }
+    StringBuilder sb = new StringBuilder(v.length());
+    for (int i = 0; i < v.length(); i++) {
+      char c = v.charAt(i);
+      if (c == '\r' || c == '\n') {
+        // obs-fold: CRLF followed by whitespace collapses to one SP
+        while (i + 1 < v.length() && isFoldChar(v.charAt(i + 1))) i++;
+        sb.append(' ');
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static boolean isFoldChar(char c) {
+    return c == '\r' || c == '\n' || c == ' ' || c == '\t';
+  }
+
+  private static boolean nameEquals(String q, int from, int to, String name) {
+    if (!needsDecoding(q, from, to)) {
+      return (to - from) == name.length() && q.regionMatches(from, name, 0, name.length());
+    }
+    return URLDecoder.decode(q.substring(from, to), StandardCharsets.UTF_8).equals(name);
+  }
+
+  /**
+   * RFC 9421 2.2.8: values are percent-decoded, then re-encoded (space as %20, not '+').
+   */
+  private static String canonicalQueryValue(String raw) {
+    if (!needsDecoding(raw, 0, raw.length()) && isUnreserved(raw)) {
+      return raw;
+    }
+    String decoded = URLDecoder.decode(raw, StandardCharsets.UTF_8);
+    return URLEncoder.encode(decoded, StandardCharsets.UTF_8).replace("+", "%20");
+  }
+
+  private static boolean needsDecoding(String s, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char c = s.charAt(i);
+      if (c == '%' || c == '+') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isUnreserved(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      boolean ok = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '-' || c == '.' || c == '_' || c == '*';
+      if (!ok) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String normalizeAuthority(String authority) {
+    String a = authority.trim();
+    for (int i = 0; i < a.length(); i++) {
+      char c = a.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        return a.toLowerCase(Locale.ROOT);
+      }
+    }
+    return a;
+  }
+
+  private static String lowerAscii(String s) {
+    return normalizeAuthority(s);
+  }
+
+  private static String require(String value, String field) {
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+    return value;
+  }
+}
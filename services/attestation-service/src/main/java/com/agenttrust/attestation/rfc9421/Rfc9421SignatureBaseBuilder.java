@@ -2,36 +2,41 @@ package com.agenttrust.attestation.rfc9421;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
-import java.util.StringJoiner;
 
 public final class Rfc9421SignatureBaseBuilder {
 
+  /**
+   * Builds the canonical signature base for a request covering only @authority and @path.
+   */
+  public String build(String authority,
+                      String path,
+                      List<String> coveredComponents,
+                      Rfc9421SignatureInput.SignatureParams params) {
+    return build(Rfc9421RequestComponents.of(null, null, authority, path, null, Map.of()), coveredComponents, params);
+  }
+
   /**
    * Builds the canonical signature base for the given covered components.
    *
-   * This implementation supports only the required derived components:
-   * - @authority
-   * - @path
+   * Supported components:
+   * - derived: @method, @target-uri, @authority, @path, @query, @query-param;name="..."
+   * - header fields by lowercase name (e.g. content-digest, content-type)
    * - @signature-params
    *
-   * Body-related components are intentionally not supported yet.
+   * Values are resolved from {@code request} on demand, so only covered headers are canonicalized.
+   * The whole base is written into a single builder; no per-line strings are allocated.
    */
-  public String build(String authority,
-                      String path,
+  public String build(Rfc9421RequestComponents request,
                       List<String> coveredComponents,
                       Rfc9421SignatureInput.SignatureParams params) {
 
-    if (isBlank(authority)) {
-      throw new IllegalArgumentException("authority is required");
-    }
-    if (isBlank(path)) {
-      throw new IllegalArgumentException("path is required");
-    }
+    Objects.requireNonNull(request, "request");
     Objects.requireNonNull(coveredComponents, "coveredComponents");
     Objects.requireNonNull(params, "params");
 
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(64 * (coveredComponents.size() + 1));
 
     for (String component : coveredComponents) {
       if (isBlank(component)) {
@@ -39,68 +44,117 @@ public final class Rfc9421SignatureBaseBuilder {
       }
 
       String c = component.trim();
-      String cl = c.toLowerCase(Locale.ROOT);
-
-      if ("@authority".equals(cl)) {
-        appendLine(sb, "\"@authority\": " + quote(normalizeAuthority(authority)));
-      } else if ("@path".equals(cl)) {
-        appendLine(sb, "\"@path\": " + quote(normalizePath(path)));
-      } else if ("@signature-params".equals(cl)) {
-        appendLine(sb, "\"@signature-params\": " + buildSignatureParams(coveredComponents, params));
-      } else {
+      int semi = c.indexOf(';');
+      String name = (semi < 0) ? c : c.substring(0, semi);
+      String cl = lowerAscii(name);
+      String componentParams = (semi < 0) ? "" : c.substring(semi);
+
+      if (cl.isEmpty() || (!componentParams.isEmpty() && !"@query-param".equals(cl))) {
         throw new IllegalArgumentException("Unsupported covered component: " + component);
       }
+
+      appendQuoted(sb, cl).append(componentParams).append(": ");
+      switch (cl) {
+        case "@method" -> appendQuoted(sb, request.method());
+        case "@target-uri" -> appendQuoted(sb, request.targetUri());
+        case "@authority" -> appendQuoted(sb, request.authority());
+        case "@path" -> appendQuoted(sb, request.path());
+        case "@query" -> appendQuoted(sb, request.query());
+        case "@query-param" -> appendQuoted(sb, request.queryParam(queryParamName(component, componentParams)));
+        case "@signature-params" -> appendSignatureParams(sb, coveredComponents, params);
+        default -> {
+          if (cl.charAt(0) == '@' || !isFieldName(cl)) {
+            throw new IllegalArgumentException("Unsupported covered component: " + component);
+          }
+          appendQuoted(sb, request.header(cl));
+        }
+      }
+      sb.append('\n');
     }
 
     // Strip trailing newline for a stable base
     if (sb.length() > 0 && sb.charAt(sb.length() - 1) == '\n') {
-      sb.deleteCharAt(sb.length() - 1);
+      sb.setLength(sb.length() - 1);
     }
 
     return sb.toString();
   }
 
-  private static void appendLine(StringBuilder sb, String line) {
-    sb.append(line).append('\n');
-  }
-
-  private static String buildSignatureParams(List<String> coveredComponents,
-                                             Rfc9421SignatureInput.SignatureParams params) {
+  private static void appendSignatureParams(StringBuilder sb,
+                                            List<String> coveredComponents,
+                                            Rfc9421SignatureInput.SignatureParams params) {
 
     // Reconstruct the covered component list exactly as tokens inside parentheses.
     // Example: ("@authority" "@path" "@signature-params");created=...;expires=...;keyid="...";alg="...";nonce="...";tag="..."
-    StringJoiner comps = new StringJoiner(" ");
-    for (String c : coveredComponents) {
-      comps.add(quote(c));
+    sb.append('(');
+    for (int i = 0; i < coveredComponents.size(); i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      String c = coveredComponents.get(i);
+      int semi = c.indexOf(';');
+      if (semi < 0) {
+        appendQuoted(sb, c);
+      } else {
+        appendQuoted(sb, c.substring(0, semi)).append(c, semi, c.length());
+      }
     }
-
-    StringBuilder sb = new StringBuilder();
-    sb.append('(').append(comps).append(')');
+    sb.append(')');
 
     // Parameter ordering is deterministic (matches the required params order in config).
     sb.append(";created=").append(params.created());
     sb.append(";expires=").append(params.expires());
-    sb.append(";keyid=").append(quote(params.keyId()));
-    sb.append(";alg=").append(quote(params.alg()));
-    sb.append(";nonce=").append(quote(params.nonce()));
-    sb.append(";tag=").append(quote(params.tag()));
+    appendQuoted(sb.append(";keyid="), params.keyId());
+    appendQuoted(sb.append(";alg="), params.alg());
+    appendQuoted(sb.append(";nonce="), params.nonce());
+    appendQuoted(sb.append(";tag="), params.tag());
+  }
 
-    return sb.toString();
+  private static String queryParamName(String component, String componentParams) {
+    String prefix = ";name=\"";
+    if (!componentParams.startsWith(prefix) || !componentParams.endsWith("\"")
+        || componentParams.length() <= prefix.length() + 1
+        || componentParams.indexOf('"', prefix.length()) != componentParams.length() - 1) {
+      throw new IllegalArgumentException("Unsupported covered component: " + component);
+    }
+    return componentParams.substring(prefix.length(), componentParams.length() - 1);
   }
 
-  private static String quote(String s) {
-    // Minimal escaping: quotes and backslashes
-    String escaped = s.replace("\\", "\\\\").replace("\"", "\\\"");
-    return "\"" + escaped + "\"";
+  private static StringBuilder appendQuoted(StringBuilder sb, String s) {
+    // Minimal escaping: quotes and backslashes. Common case (nothing to escape) is a bulk append.
+    sb.append('"');
+    if (s.indexOf('"') < 0 && s.indexOf('\\') < 0) {
+      return sb.append(s).append('"');
+    }
+    for (int i = 0; i < s.length(); i++) {
+      char ch = s.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        sb.append('\\');
+      }
+      sb.append(ch);
+    }
+    return sb.append('"');
   }
 
-  private static String normalizeAuthority(String authority) {
-    return authority.trim().toLowerCase(Locale.ROOT);
+  private static String lowerAscii(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char ch = s.charAt(i);
+      if (ch >= 'A' && ch <= 'Z') {
+        return s.toLowerCase(Locale.ROOT);
+      }
+    }
+    return s;
   }
 
-  private static String normalizePath(String path) {
-    // Keep path exactly; just trim whitespace. Callers must pass only path (no scheme/host).
-    return path.trim();
+  private static boolean isFieldName(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char ch = name.charAt(i);
+      boolean ok = (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9') || ch == '-' || ch == '_' || ch == '.';
+      if (!ok) {
+        return false;
+      }
+    }
+    return true;
   }
 
   private static boolean isBlank(String s) {
@@ -1,6 +1,10 @@
 package com.agenttrust.attestation.rfc9421;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public final class Rfc9421SignatureHeaderParser {
 
@@ -28,6 +32,44 @@ public final class Rfc9421SignatureHeaderParser {
       throw new IllegalArgumentException("Multiple Signature labels are not supported");
     }
 
+    return parseMember(raw);
+  }
+
+  /**
+   * Parses a Signature header that may carry several labels, e.g.
+   *   sig1=:MEUCIQ...:, sig2=:MEQCIF...:
+   *
+   * Each member follows the same strict rules as {@link #parseSingle(String)}; duplicate labels are
+   * rejected. Members are returned in header order.
+   */
+  public List<Parsed> parseAll(String signatureHeader) {
+    if (signatureHeader == null || signatureHeader.trim().isEmpty()) {
+      throw new IllegalArgumentException("Signature is required");
+    }
+
+    String raw = signatureHeader.trim();
+    List<Parsed> parsed = new ArrayList<>(2);
+    Set<String> labels = new HashSet<>();
+    int start = 0;
+    while (start <= raw.length()) {
+      // Base64 does not include ','; every comma separates members.
+      int comma = raw.indexOf(',', start);
+      int end = (comma < 0) ? raw.length() : comma;
+      String member = raw.substring(start, end).trim();
+      if (member.isEmpty()) {
+        throw new IllegalArgumentException("Empty Signature member");
+      }
+      Parsed p = parseMember(member);
+      if (!labels.add(p.label())) {
+        throw new IllegalArgumentException("Duplicate Signature label: " + p.label());
+      }
+      parsed.add(p);
+      start = end + 1;
+    }
+    return List.copyOf(parsed);
+  }
+
+  private Parsed parseMember(String raw) {
     int eq = raw.indexOf('=');
     if (eq <= 0) {
       throw new IllegalArgumentException("Invalid Signature format");
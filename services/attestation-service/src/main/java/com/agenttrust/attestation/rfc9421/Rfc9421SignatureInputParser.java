@@ -2,8 +2,10 @@ package com.agenttrust.attestation.rfc9421;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public final class Rfc9421SignatureInputParser {
 
@@ -18,6 +20,9 @@ public final class Rfc9421SignatureInputParser {
    *
    * Supported format (single label):
    *   sig1=("@authority" "@path" "@signature-params");created=...;expires=...;keyid="...";alg="...";nonce="...";tag="..."
+   *
+   * Component parameters are kept with the component, e.g. "@query-param";name="id" is returned as
+   * {@code @query-param;name="id"}.
    */
   public Parsed parseSingle(String signatureInputHeader) {
     if (signatureInputHeader == null || signatureInputHeader.trim().isEmpty()) {
@@ -31,6 +36,38 @@ public final class Rfc9421SignatureInputParser {
       throw new IllegalArgumentException("Multiple Signature-Input labels are not supported");
     }
 
+    return parseMember(raw);
+  }
+
+  /**
+   * Parses a Signature-Input header that may carry several labels (RFC 9421 dictionary members),
+   * e.g. a platform signature and a user-agent signature on the same request.
+   *
+   * Each member is parsed with the same strict rules as {@link #parseSingle(String)}; duplicate
+   * labels are rejected. Members are returned in header order.
+   */
+  public List<Parsed> parseAll(String signatureInputHeader) {
+    if (signatureInputHeader == null || signatureInputHeader.trim().isEmpty()) {
+      throw new IllegalArgumentException("Signature-Input is required");
+    }
+
+    List<String> members = splitTopLevel(signatureInputHeader.trim());
+    List<Parsed> parsed = new ArrayList<>(members.size());
+    Set<String> labels = new HashSet<>();
+    for (String member : members) {
+      if (member.isEmpty()) {
+        throw new IllegalArgumentException("Empty Signature-Input member");
+      }
+      Parsed p = parseMember(member);
+      if (!labels.add(p.label())) {
+        throw new IllegalArgumentException("Duplicate Signature-Input label: " + p.label());
+      }
+      parsed.add(p);
+    }
+    return List.copyOf(parsed);
+  }
+
+  private Parsed parseMember(String raw) {
     int eq = raw.indexOf('=');
     if (eq <= 0) {
       throw new IllegalArgumentException("Invalid Signature-Input format");
@@ -73,6 +110,30 @@ public final class Rfc9421SignatureInputParser {
     return new Parsed(label, input);
   }
 
+  private static List<String> splitTopLevel(String s) {
+    List<String> members = new ArrayList<>(2);
+    boolean inQuotes = false;
+    int parenDepth = 0;
+    int start = 0;
+
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+
+      if (c == '"' && !isEscaped(s, i)) {
+        inQuotes = !inQuotes;
+      } else if (!inQuotes) {
+        if (c == '(') parenDepth++;
+        if (c == ')') parenDepth = Math.max(0, parenDepth - 1);
+        if (c == ',' && parenDepth == 0) {
+          members.add(s.substring(start, i).trim());
+          start = i + 1;
+        }
+      }
+    }
+    members.add(s.substring(start).trim());
+    return members;
+  }
+
   private static boolean containsTopLevelComma(String s) {
     boolean inQuotes = false;
     int parenDepth = 0;
@@ -156,14 +217,44 @@ public final class Rfc9421SignatureInputParser {
       if (value.isBlank()) {
         throw new IllegalArgumentException("Component must not be blank");
       }
-      components.add(value);
-
       i = end + 1;
+
+      // Component parameters, e.g. "@query-param";name="id". Kept in serialized form after the name
+      // (@query-param;name="id") so the signature base can reproduce them verbatim.
+      int paramsStart = i;
+      while (i < inner.length() && inner.charAt(i) == ';') {
+        i++;
+        while (i < inner.length() && isParamKeyChar(inner.charAt(i))) i++;
+        if (i < inner.length() && inner.charAt(i) == '=') {
+          i++;
+          if (i < inner.length() && inner.charAt(i) == '"') {
+            int close = findClosingQuote(inner, i);
+            if (close < 0) {
+              throw new IllegalArgumentException("Unterminated component parameter quote");
+            }
+            i = close + 1;
+          } else {
+            while (i < inner.length() && inner.charAt(i) != ';' && !Character.isWhitespace(inner.charAt(i))) i++;
+          }
+        }
+      }
+      if (i < inner.length() && !Character.isWhitespace(inner.charAt(i))) {
+        throw new IllegalArgumentException("Invalid component parameter");
+      }
+      String component = (i > paramsStart) ? value + inner.substring(paramsStart, i) : value;
+      if (components.contains(component)) {
+        throw new IllegalArgumentException("Duplicate covered component: " + component);
+      }
+      components.add(component);
     }
 
     return List.copyOf(components);
   }
 
+  private static boolean isParamKeyChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.' || c == '*';
+  }
+
   private static int findClosingQuote(String s, int startQuote) {
     for (int i = startQuote + 1; i < s.length(); i++) {
       if (s.charAt(i) == '"' && !isEscaped(s, i)) {
@@ -1,5 +1,8 @@
 package com.agenttrust.attestation.rfc9421;
 
+import java.util.Collection;
+import java.util.HashSet;
+
 public final class SignatureLabelValidator {
 
   public void assertSameLabel(String signatureInputLabel, String signatureLabel) {
@@ -13,4 +16,21 @@ public final class SignatureLabelValidator {
       throw new IllegalArgumentException("Signature label does not match Signature-Input label");
     }
   }
+
+  /**
+   * Multi-label variant: every Signature-Input label needs a Signature with the same label and
+   * vice versa (no unsigned inputs, no signatures without parameters).
+   */
+  public void assertSameLabels(Collection<String> signatureInputLabels, Collection<String> signatureLabels) {
+    if (signatureInputLabels == null || signatureInputLabels.isEmpty()) {
+      throw new IllegalArgumentException("Signature-Input label is required");
+    }
+    if (signatureLabels == null || signatureLabels.isEmpty()) {
+      throw new IllegalArgumentException("Signature label is required");
+    }
+    if (signatureInputLabels.size() != signatureLabels.size()
+        || !new HashSet<>(signatureInputLabels).containsAll(signatureLabels)) {
+      throw new IllegalArgumentException("Signature labels do not match Signature-Input labels");
+    }
+  }
 }
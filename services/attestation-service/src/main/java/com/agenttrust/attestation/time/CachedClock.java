@@ -0,0 +1,84 @@
+package com.agenttrust.attestation.time;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coarse UTC clock: a daemon thread refreshes the current epoch millis every {@code tick}, and reads
+ * return the cached value (a volatile load) instead of querying the OS clock.
+ *
+ * Time checks in attestation are second-granular, so a tick of a few milliseconds costs no precision
+ * that matters. Stop the ticker with {@link #close()}; afterwards the clock keeps returning the last
+ * cached instant.
+ */
+public final class CachedClock extends Clock implements AutoCloseable {
+
+  private final Ticker ticker;
+  private final ZoneId zone;
+
+  private CachedClock(Ticker ticker, ZoneId zone) {
+    this.ticker = ticker;
+    this.zone = zone;
+  }
+
+  public static CachedClock start(Duration tick) {
+    Objects.requireNonNull(tick, "tick");
+    if (tick.isNegative() || tick.isZero()) {
+      throw new IllegalArgumentException("tick must be positive");
+    }
+    Ticker ticker = new Ticker(tick.toNanos());
+    Thread t = new Thread(ticker, "attestation-clock");
+    t.setDaemon(true);
+    t.start();
+    return new CachedClock(ticker, ZoneOffset.UTC);
+  }
+
+  @Override
+  public long millis() {
+    return ticker.millis;
+  }
+
+  @Override
+  public Instant instant() {
+    return Instant.ofEpochMilli(ticker.millis);
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public Clock withZone(ZoneId zone) {
+    return zone.equals(this.zone) ? this : new CachedClock(ticker, zone);
+  }
+
+  @Override
+  public void close() {
+    ticker.running = false;
+  }
+
+  private static final class Ticker implements Runnable {
+
+    private final long tickNanos;
+    private volatile long millis = System.currentTimeMillis();
+    private volatile boolean running = true;
+
+    private Ticker(long tickNanos) {
+      this.tickNanos = tickNanos;
+    }
+
+    @Override
+    public void run() {
+      while (running) {
+        LockSupport.parkNanos(tickNanos);
+        millis = System.currentTimeMillis();
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.agenttrust.attestation.time;
+
+import com.agenttrust.attestation.config.AttestationProperties;
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The one clock attestation time checks read from (signature created/expires, replay TTLs, key expiry).
+ */
+@Configuration
+public class ClockConfiguration {
+
+  @Bean
+  public Clock attestationClock(AttestationProperties props) {
+    AttestationProperties.ClockSettings clock = props.getClock();
+    if (clock.isCached()) {
+      return CachedClock.start(clock.getTick());
+    }
+    return Clock.systemUTC();
+  }
+}
@@ -2,87 +2,239 @@ package com.agenttrust.attestation.verify;
 
 import com.agenttrust.attestation.api.AttestationDtos;
 import com.agenttrust.attestation.config.AttestationProperties;
-import com.agenttrust.attestation.crypto.Ed25519SignatureVerifier;
+import com.agenttrust.attestation.config.AttestationProperties.Signatures.Policy;
+import com.agenttrust.attestation.crypto.SignatureAlgorithms;
 import com.agenttrust.attestation.keys.PublicKeyResolver;
+import com.agenttrust.attestation.keys.PublicKeyResolver.KeyMaterial;
 import com.agenttrust.attestation.keys.PublicKeyResolver.ResolveResult;
 import com.agenttrust.attestation.replay.ReplayProtectionService;
+import com.agenttrust.attestation.rfc9421.Rfc9421RequestComponents;
 import com.agenttrust.attestation.rfc9421.Rfc9421SignatureBaseBuilder;
 import com.agenttrust.attestation.rfc9421.Rfc9421SignatureHeaderParser;
 import com.agenttrust.attestation.rfc9421.Rfc9421SignatureInput;
 import com.agenttrust.attestation.rfc9421.Rfc9421SignatureInputParser;
 import com.agenttrust.attestation.rfc9421.SignatureLabelValidator;
+import com.agenttrust.attestation.verify.VerificationMetrics.Stage;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AttestationVerifierService {
+public class AttestationVerifierService implements DisposableBean {
 
   private final AttestationProperties props;
   private final PublicKeyResolver publicKeyResolver;
   private final ReplayProtectionService replayProtectionService;
+  private final Clock clock;
+  private final VerificationMetrics metrics;
 
   private final Rfc9421SignatureInputParser signatureInputParser = new Rfc9421SignatureInputParser();
   private final Rfc9421SignatureHeaderParser signatureHeaderParser = new Rfc9421SignatureHeaderParser();
   private final SignatureLabelValidator labelValidator = new SignatureLabelValidator();
   private final Rfc9421SignatureBaseBuilder signatureBaseBuilder = new Rfc9421SignatureBaseBuilder();
-  private final Ed25519SignatureVerifier ed25519Verifier = new Ed25519SignatureVerifier();
+
+  // Owned here rather than exposed as a bean: an Executor bean would replace Boot's applicationTaskExecutor.
+  private final ThreadPoolExecutor labelExecutor;
 
   public AttestationVerifierService(AttestationProperties props,
                                     PublicKeyResolver publicKeyResolver,
-                                    ReplayProtectionService replayProtectionService) {
+                                    ReplayProtectionService replayProtectionService,
+                                    Clock attestationClock,
+                                    VerificationMetrics verificationMetrics) {
     this.props = Objects.requireNonNull(props, "props");
     this.publicKeyResolver = Objects.requireNonNull(publicKeyResolver, "publicKeyResolver");
     this.replayProtectionService = Objects.requireNonNull(replayProtectionService, "replayProtectionService");
+    this.clock = Objects.requireNonNull(attestationClock, "attestationClock");
+    this.metrics = Objects.requireNonNull(verificationMetrics, "verificationMetrics");
+    this.labelExecutor = newLabelExecutor(props.getSignatures());
+  }
+
+  @Override
+  public void destroy() {
+    labelExecutor.shutdownNow();
+  }
+
+  private static ThreadPoolExecutor newLabelExecutor(AttestationProperties.Signatures config) {
+    int threads = (config.getThreads() > 0) ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+    int queueCapacity = Math.max(1, config.getQueueCapacity());
+    AtomicInteger seq = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads, threads,
+        60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        r -> {
+          Thread t = new Thread(r, "signature-label-" + seq.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   public VerifyOutcome verify(AttestationDtos.VerifyRequest request) {
+    VerifyOutcome outcome = verifyRequest(request);
+    if (!outcome.verified()) {
+      metrics.failure(outcome.failure().code(), (request == null) ? null : request.tenantId());
+    }
+    return outcome;
+  }
+
+  private VerifyOutcome verifyRequest(AttestationDtos.VerifyRequest request) {
     if (request == null) {
       return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_MISSING_OR_INVALID, "request is required"));
     }
 
+    // One reading of the clock per request: every label, window, key-expiry and TTL check agrees on "now".
+    Instant now = clock.instant();
+
     try {
-      Rfc9421SignatureInputParser.Parsed parsedInput = signatureInputParser.parseSingle(request.signatureInput());
-      Rfc9421SignatureHeaderParser.Parsed parsedSig = signatureHeaderParser.parseSingle(request.signature());
+      long parseStart = metrics.start();
+      List<Rfc9421SignatureInputParser.Parsed> inputs = signatureInputParser.parseAll(request.signatureInput());
+      List<Rfc9421SignatureHeaderParser.Parsed> signatures = signatureHeaderParser.parseAll(request.signature());
+      // Shared by all labels. Only covered headers/query params are canonicalized, once per label that covers them.
+      Rfc9421RequestComponents components = Rfc9421RequestComponents.of(
+          request.method(), request.scheme(), request.authority(), request.path(), request.query(), request.headers());
+      metrics.stop(Stage.PARSE, parseStart);
+
+      if (inputs.size() == 1 && signatures.size() == 1) {
+        labelValidator.assertSameLabel(inputs.get(0).label(), signatures.get(0).label());
+        return verifyLabel(request, components, now, inputs.get(0).input(), signatures.get(0).signatureBytes());
+      }
+
+      int maxLabels = props.getSignatures().getMaxLabels();
+      if (inputs.size() > maxLabels) {
+        return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_MISSING_OR_INVALID, "too many signature labels"));
+      }
+
+      Map<String, byte[]> signatureBytesByLabel = new HashMap<>();
+      for (Rfc9421SignatureHeaderParser.Parsed sig : signatures) {
+        signatureBytesByLabel.put(sig.label(), sig.signatureBytes());
+      }
+      labelValidator.assertSameLabels(
+          inputs.stream().map(Rfc9421SignatureInputParser.Parsed::label).toList(),
+          signatureBytesByLabel.keySet());
+
+      return verifyLabels(request, components, now, inputs, signatureBytesByLabel);
+    } catch (IllegalArgumentException ex) {
+      return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_MISSING_OR_INVALID, ex.getMessage()));
+    } catch (Exception ex) {
+      // Fail closed for unexpected errors.
+      return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_INTERNAL_ERROR, "internal attestation error"));
+    }
+  }
 
-      labelValidator.assertSameLabel(parsedInput.label(), parsedSig.label());
+  /**
+   * Verifies every label and applies the tenant's policy.
+   *
+   * Labels after the first are handed to the bounded label executor while the request thread verifies
+   * the first one, so latency tracks the slowest label rather than the sum. When the executor queue is
+   * full the request thread runs the label itself (back-pressure instead of unbounded queuing).
+   * All labels are always evaluated; the reported failure is the first one in header order, so results
+   * do not depend on scheduling.
+   */
+  private VerifyOutcome verifyLabels(AttestationDtos.VerifyRequest request,
+                                     Rfc9421RequestComponents components,
+                                     Instant now,
+                                     List<Rfc9421SignatureInputParser.Parsed> inputs,
+                                     Map<String, byte[]> signatureBytesByLabel) {
+    int n = inputs.size();
+    List<CompletableFuture<VerifyOutcome>> forked = new ArrayList<>(n - 1);
+    for (int i = 1; i < n; i++) {
+      Rfc9421SignatureInput input = inputs.get(i).input();
+      byte[] signatureBytes = signatureBytesByLabel.get(inputs.get(i).label());
+      forked.add(CompletableFuture.supplyAsync(() -> verifyLabel(request, components, now, input, signatureBytes), labelExecutor));
+    }
+
+    VerifyOutcome[] outcomes = new VerifyOutcome[n];
+    outcomes[0] = verifyLabel(request, components, now, inputs.get(0).input(), signatureBytesByLabel.get(inputs.get(0).label()));
+    for (int i = 1; i < n; i++) {
+      outcomes[i] = forked.get(i - 1).join();
+    }
+
+    boolean requireAll = props.getSignatures().policyFor(request.tenantId()) == Policy.ALL;
+    for (VerifyOutcome outcome : outcomes) {
+      if (outcome.verified() != requireAll) {
+        // ALL: first failure decides. ANY: first success decides.
+        return outcome;
+      }
+    }
+    // ALL: every label verified. ANY: none did; report the first label's failure.
+    return outcomes[0];
+  }
 
-      Rfc9421SignatureInput sigInput = parsedInput.input();
+  /**
+   * Full check of one signature label: profile, timestamps, key, signature, then nonce replay.
+   * Never throws; safe to run on the label executor.
+   */
+  private VerifyOutcome verifyLabel(AttestationDtos.VerifyRequest request,
+                                    Rfc9421RequestComponents components,
+                                    Instant now,
+                                    Rfc9421SignatureInput sigInput,
+                                    byte[] signatureBytes) {
+    try {
+      long stageStart = metrics.start();
       Failure profileFailure = enforceProfile(sigInput);
+      if (profileFailure == null) {
+        profileFailure = enforceCreatedExpires(sigInput.params().created(), sigInput.params().expires(), now.getEpochSecond());
+      }
+      metrics.stop(Stage.PROFILE, stageStart);
       if (profileFailure != null) {
         return VerifyOutcome.failure(profileFailure);
       }
 
-      Failure timeFailure = enforceCreatedExpires(sigInput.params().created(), sigInput.params().expires());
-      if (timeFailure != null) {
-        return VerifyOutcome.failure(timeFailure);
-      }
-
-      ResolveResult resolved = publicKeyResolver.resolve(request.tenantId(), sigInput.params().keyId());
+      stageStart = metrics.start();
+      ResolveResult resolved = publicKeyResolver.resolve(request.tenantId(), sigInput.params().keyId(), now);
+      metrics.stop(Stage.KEY_RESOLVE, stageStart);
       if (!resolved.isSuccess()) {
         Failure failure = mapKeyFailure(resolved);
         return VerifyOutcome.failure(failure);
       }
 
+      stageStart = metrics.start();
       String signatureBase = signatureBaseBuilder.build(
-          request.authority(),
-          request.path(),
+          components,
           sigInput.coveredComponents(),
           sigInput.params()
       );
+      metrics.stop(Stage.BASE_BUILD, stageStart);
+
+      KeyMaterial key = resolved.key().orElseThrow();
+      if (!key.algorithm().name().equals(normalizeAlg(sigInput.params().alg()))) {
+        // The key decides the algorithm; never verify e.g. an hmac-sha256 claim against an asymmetric key.
+        // The key exists, so this is a bad signature, not an unavailable key.
+        return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_INVALID_SIGNATURE, "alg does not match the key"));
+      }
 
-      boolean verified = ed25519Verifier.verify(resolved.key().orElseThrow().publicKey(), signatureBase, parsedSig.signatureBytes());
+      stageStart = metrics.start();
+      boolean verified = key.algorithm().verify(key.key(), signatureBase.getBytes(StandardCharsets.UTF_8), signatureBytes);
+      metrics.stop(Stage.CRYPTO_VERIFY, stageStart);
       if (!verified) {
         return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_INVALID_SIGNATURE, "signature verification failed"));
       }
 
       if (props.getReplay().isEnabled()) {
-        int ttlSeconds = computeReplayTtlSeconds(sigInput.params().expires());
+        int ttlSeconds = computeReplayTtlSeconds(sigInput.params().expires(), now.getEpochSecond());
+        stageStart = metrics.start();
         ReplayProtectionService.Result replayResult =
-            replayProtectionService.recordNonce(request.tenantId(), sigInput.params().keyId(), sigInput.params().nonce(), ttlSeconds);
+            replayProtectionService.recordNonce(request.tenantId(), sigInput.params().keyId(), sigInput.params().nonce(),
+                ttlSeconds, Instant.ofEpochSecond(sigInput.params().expires()));
+        metrics.stop(Stage.REPLAY, stageStart);
 
         if (replayResult == ReplayProtectionService.Result.REPLAY_DETECTED) {
           return VerifyOutcome.failure(Failure.of(FailureCode.ATTESTATION_REPLAY_DETECTED, "nonce replay detected"));
@@ -126,6 +278,9 @@ public class AttestationVerifierService {
     }
 
     String alg = normalizeAlg(sigInput.params().alg());
+    if (SignatureAlgorithms.forName(alg) == null) {
+      return Failure.of(FailureCode.ATTESTATION_MISSING_OR_INVALID, "unsupported algorithm: " + sigInput.params().alg());
+    }
     if (props.getProfile().getAllowedAlgorithms() != null && !props.getProfile().getAllowedAlgorithms().isEmpty()) {
       boolean allowed = props.getProfile().getAllowedAlgorithms().stream()
           .filter(a -> a != null && !a.isBlank())
@@ -140,7 +295,7 @@ public class AttestationVerifierService {
     return null;
   }
 
-  private Failure enforceCreatedExpires(long created, long expires) {
+  private Failure enforceCreatedExpires(long created, long expires, long now) {
     int maxWindow = props.getProfile().getMaxWindowSeconds();
     if (maxWindow <= 0) {
       maxWindow = 480;
@@ -155,7 +310,6 @@ public class AttestationVerifierService {
       return Failure.of(FailureCode.ATTESTATION_TIMESTAMP_INVALID, "created/expires window exceeds maximum");
     }
 
-    long now = Instant.now().getEpochSecond();
     if (created > now) {
       return Failure.of(FailureCode.ATTESTATION_TIMESTAMP_INVALID, "created is in the future");
     }
@@ -166,13 +320,12 @@ public class AttestationVerifierService {
     return null;
   }
 
-  private int computeReplayTtlSeconds(long expiresEpochSeconds) {
+  private int computeReplayTtlSeconds(long expiresEpochSeconds, long now) {
     int defaultTtl = props.getReplay().getDefaultTtlSeconds();
     if (defaultTtl <= 0) {
       defaultTtl = 480;
     }
 
-    long now = Instant.now().getEpochSecond();
     long remaining = expiresEpochSeconds - now;
 
     if (remaining <= 0) {
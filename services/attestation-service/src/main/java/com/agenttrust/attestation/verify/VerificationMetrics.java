@@ -0,0 +1,109 @@
+package com.agenttrust.attestation.verify;
+
+import com.agenttrust.attestation.verify.AttestationVerifierService.FailureCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-stage latency and failure counts for {@link AttestationVerifierService}.
+ *
+ * - {@code attestation.verify.stage{stage}}: one timer per stage, registered up front, so the hot path
+ *   is a nanoTime pair and a timer update with no meter lookup. Percentile histograms are opt-in via
+ *   {@code management.metrics.distribution.percentiles-histogram.attestation.verify.stage}.
+ * - {@code attestation.verify.failures{code,tenant}}: one per failed request, registered on the first
+ *   failure of that code for that tenant, so series grow with the failures actually seen rather than
+ *   codes x tenants. Only the first {@code maxTenants} tenants seen get their own tag value; the rest
+ *   are counted as "other" so a flood of bogus tenant ids cannot blow up the series count.
+ *
+ * No-op without a registry.
+ */
+public final class VerificationMetrics {
+
+  static final String OTHER_TENANT = "other";
+
+  public enum Stage {
+    PARSE,
+    PROFILE,
+    KEY_RESOLVE,
+    BASE_BUILD,
+    CRYPTO_VERIFY,
+    REPLAY
+  }
+
+  private static final VerificationMetrics NOOP = new VerificationMetrics(null, 0);
+
+  private final MeterRegistry registry;
+  private final int maxTenants;
+  private final Timer[] stages = new Timer[Stage.values().length];
+  private final ConcurrentHashMap<String, AtomicReferenceArray<Counter>> failures = new ConcurrentHashMap<>();
+
+  public VerificationMetrics(MeterRegistry registry, int maxTenants) {
+    this.registry = registry;
+    this.maxTenants = Math.max(0, maxTenants);
+    if (registry == null) {
+      return;
+    }
+    for (Stage stage : Stage.values()) {
+      stages[stage.ordinal()] = Timer.builder("attestation.verify.stage")
+          .description("Time spent per signature verification stage")
+          .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+          .register(registry);
+    }
+  }
+
+  public static VerificationMetrics noop() {
+    return NOOP;
+  }
+
+  /**
+   * @return a start time for {@link #stop}; 0 when metrics are off, so the clock is not read
+   */
+  long start() {
+    return (registry == null) ? 0L : System.nanoTime();
+  }
+
+  void stop(Stage stage, long startNanos) {
+    Timer timer = stages[stage.ordinal()];
+    if (timer != null) {
+      timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  void failure(FailureCode code, String tenantId) {
+    if (registry == null) {
+      return;
+    }
+    String tenant = tenantTag(tenantId);
+    AtomicReferenceArray<Counter> byCode = failures.get(tenant);
+    if (byCode == null) {
+      byCode = failures.computeIfAbsent(tenant, t -> new AtomicReferenceArray<>(FailureCode.values().length));
+    }
+    Counter counter = byCode.get(code.ordinal());
+    if (counter == null) {
+      // Registration is idempotent, so a racing first failure ends up with the same counter.
+      counter = Counter.builder("attestation.verify.failures")
+          .description("Failed verifications by failure code and tenant")
+          .tag("code", code.name())
+          .tag("tenant", tenant)
+          .register(registry);
+      byCode.set(code.ordinal(), counter);
+    }
+    counter.increment();
+  }
+
+  private String tenantTag(String tenantId) {
+    if (tenantId == null || tenantId.isBlank()) {
+      return OTHER_TENANT;
+    }
+    if (failures.containsKey(tenantId)) {
+      return tenantId;
+    }
+    // Racy by design: concurrent first sightings can overshoot the cap by a few tenants.
+    return (failures.size() < maxTenants) ? tenantId : OTHER_TENANT;
+  }
+}
@@ -0,0 +1,20 @@
+package com.agenttrust.attestation.verify;
+
+import com.agenttrust.attestation.config.AttestationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class VerificationMetricsConfiguration {
+
+  @Bean
+  public VerificationMetrics verificationMetrics(AttestationProperties props, ObjectProvider<MeterRegistry> meterRegistry) {
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry == null) {
+      return VerificationMetrics.noop();
+    }
+    return new VerificationMetrics(registry, props.getMetrics().getMaxTenants());
+  }
+}
@@ -0,0 +1,301 @@
+package com.agenttrust.attestation.verify;
+
+import com.agenttrust.attestation.api.AttestationDtos;
+import com.agenttrust.attestation.config.AttestationProperties;
+import com.agenttrust.attestation.crypto.SignatureAlgorithm;
+import com.agenttrust.attestation.crypto.SignatureAlgorithms;
+import com.agenttrust.attestation.keys.PublicKeyResolver;
+import com.agenttrust.attestation.keys.PublicKeyResolver.KeyMaterial;
+import com.agenttrust.attestation.keys.PublicKeyResolver.ResolveResult;
+import com.agenttrust.attestation.replay.LocalReplayBackend;
+import com.agenttrust.attestation.replay.ReplayProtectionService;
+import com.agenttrust.attestation.rfc9421.Rfc9421RequestComponents;
+import com.agenttrust.attestation.rfc9421.Rfc9421SignatureBaseBuilder;
+import com.agenttrust.attestation.rfc9421.Rfc9421SignatureInput;
+import com.agenttrust.attestation.rfc9421.Rfc9421SignatureInputParser;
+import com.agenttrust.platform.web.warmup.WarmUpTask;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warm-up for the verify path: JSON binding of the request body, Signature-Input / Signature parsing,
+ * profile checks, signature base, crypto for every allowed algorithm, replay bookkeeping and the
+ * response body.
+ *
+ * Runs the production {@link AttestationVerifierService} code against a private instance: keys are
+ * generated per process under a reserved tenant, nonces go to an in-memory replay store (dry run,
+ * nothing reaches Redis or the shared replay window) and stage metrics go to a throwaway registry.
+ * Every eighth request is replayed and every eighth is tampered with, so the rejection paths are
+ * compiled too.
+ */
+@Component
+public class VerifierWarmUp implements WarmUpTask {
+
+  static final String TENANT_ID = "__warmup__";
+
+  private static final String AUTHORITY = "warmup.agenttrust.internal";
+  private static final String PATH = "/v1/agent/verify";
+  private static final String QUERY = "warmup=1";
+  private static final String TAG = "agenttrust-warmup";
+  private static final int VALIDITY_SECONDS = 60;
+
+  private final AttestationProperties props;
+  private final Clock clock;
+  private final ObjectMapper objectMapper;
+
+  private final Rfc9421SignatureInputParser inputParser = new Rfc9421SignatureInputParser();
+  private final Rfc9421SignatureBaseBuilder baseBuilder = new Rfc9421SignatureBaseBuilder();
+
+  // Created on the first run, released by finish(); nothing is held when warm-up is disabled.
+  private List<SyntheticKey> keys;
+  private List<String> covered;
+  private Map<String, String> headers;
+  private LocalReplayBackend replayStore;
+  private AttestationVerifierService verifier;
+  private AttestationDtos.VerifyRequest lastVerified;
+  private long iteration;
+
+  public VerifierWarmUp(AttestationProperties props, Clock attestationClock, ObjectMapper objectMapper) {
+    this.props = Objects.requireNonNull(props, "props");
+    this.clock = Objects.requireNonNull(attestationClock, "attestationClock");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+  }
+
+  @Override
+  public String name() {
+    return "attestation-verify";
+  }
+
+  @Override
+  public void run() throws Exception {
+    if (verifier == null) {
+      start();
+    }
+    long i = iteration++;
+    boolean replay = (i % 8 == 7) && lastVerified != null && props.getReplay().isEnabled();
+    boolean tamper = (i % 8 == 3);
+
+    AttestationDtos.VerifyRequest request = replay
+        ? lastVerified
+        : signedRequest(keys.get((int) (i % keys.size())), tamper);
+
+    // Through Jackson both ways, as the controller sees it.
+    byte[] body = objectMapper.writeValueAsBytes(request);
+    AttestationVerifierService.VerifyOutcome outcome =
+        verifier.verify(objectMapper.readValue(body, AttestationDtos.VerifyRequest.class));
+    objectMapper.writeValueAsBytes(new AttestationDtos.VerifyResponse(outcome.verified()));
+
+    if (replay || tamper) {
+      if (outcome.verified()) {
+        throw new IllegalStateException("synthetic " + (replay ? "replayed" : "tampered") + " request was accepted");
+      }
+      return;
+    }
+    if (!outcome.verified()) {
+      // The profile requires something the synthetic request does not carry; warming a reject path only is pointless.
+      throw new IllegalStateException("synthetic request rejected: " + outcome.failure().code()
+          + " (" + outcome.failure().message() + ")");
+    }
+    lastVerified = request;
+  }
+
+  @Override
+  public void finish() {
+    if (verifier != null) {
+      verifier.destroy();
+    }
+    if (replayStore != null) {
+      replayStore.close();
+    }
+    verifier = null;
+    replayStore = null;
+    keys = null;
+    lastVerified = null;
+  }
+
+  private void start() throws GeneralSecurityException {
+    keys = generateKeys(props.getProfile().getAllowedAlgorithms());
+    covered = coveredComponents(props.getProfile().getRequiredCoveredComponents());
+    headers = new LinkedHashMap<>();
+    for (String component : covered) {
+      if (!component.startsWith("@")) {
+        headers.put(component, "warm-up");
+      }
+    }
+
+    Map<String, KeyMaterial> byKeyId = new LinkedHashMap<>();
+    for (SyntheticKey key : keys) {
+      byKeyId.put(key.material().keyId(), key.material());
+    }
+    replayStore = new LocalReplayBackend(clock, 64 * 1024, 64, null, null);
+    ReplayProtectionService replay = new ReplayProtectionService(replayStore, props.getReplay().getKeyPrefix(),
+        props.getReplay().getDefaultTtlSeconds(), props.getReplay().isHashTags(), props.getReplay().getKeyEncoding());
+    verifier = new AttestationVerifierService(props, new SyntheticKeys(byKeyId), replay, clock,
+        new VerificationMetrics(new SimpleMeterRegistry(), 1));
+  }
+
+  private AttestationDtos.VerifyRequest signedRequest(SyntheticKey key, boolean tamper) throws Exception {
+    long created = Instant.now(clock).getEpochSecond();
+    StringBuilder params = new StringBuilder("(");
+    for (int c = 0; c < covered.size(); c++) {
+      params.append(c == 0 ? "" : " ").append('"').append(covered.get(c)).append('"');
+    }
+    params.append(");created=").append(created)
+        .append(";expires=").append(created + VALIDITY_SECONDS)
+        .append(";keyid=\"").append(key.material().keyId()).append('"')
+        .append(";alg=\"").append(key.material().algorithm().name()).append('"')
+        .append(";nonce=\"").append(nonce()).append('"')
+        .append(";tag=\"").append(TAG).append('"');
+    String signatureInput = "sig1=" + params;
+
+    Rfc9421SignatureInput input = inputParser.parseSingle(signatureInput).input();
+    Rfc9421RequestComponents components = Rfc9421RequestComponents.of("POST", "https", AUTHORITY, PATH, QUERY, headers);
+    byte[] base = baseBuilder.build(components, input.coveredComponents(), input.params()).getBytes(StandardCharsets.UTF_8);
+    byte[] signature = key.sign(base);
+    if (tamper) {
+      signature[ThreadLocalRandom.current().nextInt(signature.length)] ^= 0x01;
+    }
+    return new AttestationDtos.VerifyRequest("POST", AUTHORITY, PATH, TENANT_ID, signatureInput,
+        "sig1=:" + Base64.getEncoder().encodeToString(signature) + ":", "https", QUERY, headers);
+  }
+
+  private static String nonce() {
+    byte[] bytes = new byte[16];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /**
+   * @authority and @path plus whatever the profile requires, with @signature-params last.
+   */
+  private static List<String> coveredComponents(List<String> required) {
+    Set<String> components = new LinkedHashSet<>(List.of("@authority", "@path"));
+    for (String r : required) {
+      if (r != null && !r.isBlank()) {
+        components.add(r.trim().toLowerCase(Locale.ROOT));
+      }
+    }
+    components.remove("@signature-params");
+    List<String> list = new ArrayList<>(components);
+    list.add("@signature-params");
+    return List.copyOf(list);
+  }
+
+  private static List<SyntheticKey> generateKeys(List<String> allowedAlgorithms) throws GeneralSecurityException {
+    Set<String> names = new LinkedHashSet<>();
+    for (String a : allowedAlgorithms) {
+      if (a != null && !a.isBlank()) {
+        names.add(a.trim().toLowerCase(Locale.ROOT));
+      }
+    }
+    if (names.isEmpty()) {
+      names.add(SignatureAlgorithms.DEFAULT);
+    }
+    List<SyntheticKey> keys = new ArrayList<>();
+    for (String name : names) {
+      SignatureAlgorithm algorithm = SignatureAlgorithms.forName(name);
+      if (algorithm != null) {
+        keys.add(SyntheticKey.generate(algorithm));
+      }
+    }
+    if (keys.isEmpty()) {
+      throw new IllegalStateException("no supported algorithm in profile.allowedAlgorithms " + allowedAlgorithms);
+    }
+    return List.copyOf(keys);
+  }
+
+  /**
+   * A per-process key for one algorithm and the matching signer.
+   */
+  private record SyntheticKey(KeyMaterial material, Key signingKey, String jcaAlgorithm, PSSParameterSpec pss) {
+
+    static SyntheticKey generate(SignatureAlgorithm algorithm) throws GeneralSecurityException {
+      String keyId = "warmup-" + algorithm.name();
+      return switch (algorithm.name()) {
+        case "ed25519" -> asymmetric(algorithm, keyId, KeyPairGenerator.getInstance("Ed25519").generateKeyPair(),
+            "Ed25519", null);
+        case "ecdsa-p256-sha256" -> {
+          KeyPairGenerator gen = KeyPairGenerator.getInstance("EC");
+          gen.initialize(new ECGenParameterSpec("secp256r1"));
+          yield asymmetric(algorithm, keyId, gen.generateKeyPair(), "SHA256withECDSAinP1363Format", null);
+        }
+        case "rsa-pss-sha512" -> {
+          KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+          gen.initialize(2048);
+          yield asymmetric(algorithm, keyId, gen.generateKeyPair(), "RSASSA-PSS",
+              new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1));
+        }
+        case "hmac-sha256" -> {
+          byte[] secret = new byte[32];
+          ThreadLocalRandom.current().nextBytes(secret);
+          SecretKeySpec key = new SecretKeySpec(secret, "HmacSHA256");
+          yield new SyntheticKey(new KeyMaterial(TENANT_ID, keyId, algorithm, key, null), key, "HmacSHA256", null);
+        }
+        default -> throw new IllegalStateException("no warm-up signer for " + algorithm.name());
+      };
+    }
+
+    private static SyntheticKey asymmetric(SignatureAlgorithm algorithm, String keyId, KeyPair pair,
+                                           String jcaAlgorithm, PSSParameterSpec pss) {
+      return new SyntheticKey(new KeyMaterial(TENANT_ID, keyId, algorithm, pair.getPublic(), null),
+          pair.getPrivate(), jcaAlgorithm, pss);
+    }
+
+    byte[] sign(byte[] base) throws GeneralSecurityException {
+      if (signingKey instanceof PrivateKey privateKey) {
+        Signature signer = Signature.getInstance(jcaAlgorithm);
+        if (pss != null) {
+          signer.setParameter(pss);
+        }
+        signer.initSign(privateKey);
+        signer.update(base);
+        return signer.sign();
+      }
+      Mac mac = Mac.getInstance(jcaAlgorithm);
+      mac.init(signingKey);
+      return mac.doFinal(base);
+    }
+  }
+
+  private record SyntheticKeys(Map<String, KeyMaterial> byKeyId) implements PublicKeyResolver {
+
+    @Override
+    public ResolveResult resolve(String tenantId, String keyId) {
+      return resolve(tenantId, keyId, null);
+    }
+
+    @Override
+    public ResolveResult resolve(String tenantId, String keyId, Instant now) {
+      KeyMaterial key = byKeyId.get(keyId);
+      if (key == null || !TENANT_ID.equals(tenantId)) {
+        return ResolveResult.failure(new Failure(FailureCode.KEY_NOT_FOUND, "unknown warm-up key"));
+      }
+      return ResolveResult.success(key);
+    }
+  }
+}
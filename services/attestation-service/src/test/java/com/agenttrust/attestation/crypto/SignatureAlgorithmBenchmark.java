@@ -0,0 +1,134 @@
+package com.agenttrust.attestation.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verification cost per RFC 9421 algorithm (what a tenant pays per request for its key choice), plus
+ * the previous Ed25519 path that looked up a new Signature per request as the baseline.
+ *
+ * Run from services/attestation-service:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       org.openjdk.jmh.Main SignatureAlgorithmBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+  @Param({"ed25519", "ecdsa-p256-sha256", "rsa-pss-sha512", "hmac-sha256"})
+  String alg;
+
+  private SignatureAlgorithm algorithm;
+  private Key key;
+  private byte[] signature;
+
+  private PublicKey ed25519Key;
+  private byte[] ed25519Signature;
+
+  // Typical bodyless signature base (~250 bytes).
+  private final byte[] base = ("\"@authority\": api.example.com\n"
+      + "\"@path\": /v1/agent/verify\n"
+      + "\"@signature-params\": (\"@authority\" \"@path\" \"@signature-params\");created=1700000000;"
+      + "expires=1700000300;keyid=\"agent-key-1\";alg=\"ed25519\";nonce=\"6b1f0c4e-3f7a\";tag=\"agenttrust\"")
+      .getBytes(StandardCharsets.UTF_8);
+
+  @Setup
+  public void setUp() throws Exception {
+    algorithm = SignatureAlgorithms.forName(alg);
+    switch (alg) {
+      case "ed25519" -> {
+        KeyPair kp = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        signature = sign("Ed25519", null, kp);
+        key = algorithm.decodeKey(b64(kp.getPublic().getEncoded()));
+      }
+      case "ecdsa-p256-sha256" -> {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+        kpg.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair kp = kpg.generateKeyPair();
+        signature = sign("SHA256withECDSAinP1363Format", null, kp);
+        key = algorithm.decodeKey(b64(kp.getPublic().getEncoded()));
+      }
+      case "rsa-pss-sha512" -> {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+        kpg.initialize(2048);
+        KeyPair kp = kpg.generateKeyPair();
+        signature = sign("RSASSA-PSS", new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1), kp);
+        key = algorithm.decodeKey(b64(kp.getPublic().getEncoded()));
+      }
+      case "hmac-sha256" -> {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+        signature = mac.doFinal(base);
+        key = algorithm.decodeKey(b64(secret));
+      }
+      default -> throw new IllegalArgumentException(alg);
+    }
+    if (!algorithm.verify(key, base, signature)) {
+      throw new IllegalStateException("benchmark setup produced an invalid signature for " + alg);
+    }
+
+    KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    ed25519Key = ed.getPublic();
+    ed25519Signature = sign("Ed25519", null, ed);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return algorithm.verify(key, base, signature);
+  }
+
+  /**
+   * Previous Ed25519SignatureVerifier: provider lookup + new Signature per request (independent of alg).
+   */
+  @Benchmark
+  public boolean ed25519UnpooledBaseline() throws Exception {
+    Signature sig = Signature.getInstance("Ed25519");
+    sig.initVerify(ed25519Key);
+    sig.update(base);
+    return sig.verify(ed25519Signature);
+  }
+
+  private byte[] sign(String jcaName, PSSParameterSpec params, KeyPair kp) throws Exception {
+    Signature s = Signature.getInstance(jcaName);
+    if (params != null) {
+      s.setParameter(params);
+    }
+    s.initSign(kp.getPrivate());
+    s.update(base);
+    return s.sign();
+  }
+
+  private static String b64(byte[] bytes) {
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+}
@@ -0,0 +1,128 @@
+package com.agenttrust.attestation.crypto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class SignatureAlgorithmsTest {
+
+  private static final byte[] BASE =
+      "\"@authority\": api.example.com\n\"@path\": /v1/agent/verify".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void forName_knownAlgorithms_caseInsensitive() {
+    assertEquals("ed25519", SignatureAlgorithms.forName("ed25519").name());
+    assertEquals("ecdsa-p256-sha256", SignatureAlgorithms.forName(" ECDSA-P256-SHA256 ").name());
+    assertNotNull(SignatureAlgorithms.forName("rsa-pss-sha512"));
+    assertNotNull(SignatureAlgorithms.forName("hmac-sha256"));
+    assertNull(SignatureAlgorithms.forName("rsa-v1_5-sha256"));
+    assertNull(SignatureAlgorithms.forName(null));
+  }
+
+  @Test
+  void ed25519_rawAndSpkiKeys_verify() throws Exception {
+    KeyPair kp = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    byte[] sig = sign("Ed25519", null, kp.getPrivate());
+    byte[] spki = kp.getPublic().getEncoded();
+    byte[] raw = new byte[32];
+    System.arraycopy(spki, spki.length - 32, raw, 0, 32);
+
+    SignatureAlgorithm alg = SignatureAlgorithms.forName("ed25519");
+    assertTrue(alg.verify(alg.decodeKey(b64(spki)), BASE, sig));
+    assertTrue(alg.verify(alg.decodeKey(b64(raw)), BASE, sig));
+    assertFalse(alg.verify(alg.decodeKey(b64(raw)), tampered(), sig));
+  }
+
+  @Test
+  void ecdsaP256_p1363Signature_verifies_andOtherCurvesRejected() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+    kpg.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair kp = kpg.generateKeyPair();
+    byte[] sig = sign("SHA256withECDSAinP1363Format", null, kp.getPrivate());
+    assertEquals(64, sig.length);
+
+    SignatureAlgorithm alg = SignatureAlgorithms.forName("ecdsa-p256-sha256");
+    Key key = alg.decodeKey(b64(kp.getPublic().getEncoded()));
+    assertTrue(alg.verify(key, BASE, sig));
+    assertFalse(alg.verify(key, tampered(), sig));
+
+    kpg.initialize(new ECGenParameterSpec("secp384r1"));
+    assertNull(alg.decodeKey(b64(kpg.generateKeyPair().getPublic().getEncoded())));
+  }
+
+  @Test
+  void rsaPssSha512_verifies_andShortKeysRejected() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(2048);
+    KeyPair kp = kpg.generateKeyPair();
+    byte[] sig = sign("RSASSA-PSS",
+        new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1), kp.getPrivate());
+
+    SignatureAlgorithm alg = SignatureAlgorithms.forName("rsa-pss-sha512");
+    Key key = alg.decodeKey(b64(kp.getPublic().getEncoded()));
+    assertTrue(alg.verify(key, BASE, sig));
+    // Pooled Signature is reusable after a failed verification.
+    assertFalse(alg.verify(key, tampered(), sig));
+    assertTrue(alg.verify(key, BASE, sig));
+
+    kpg.initialize(1024);
+    assertNull(alg.decodeKey(b64(kpg.generateKeyPair().getPublic().getEncoded())));
+  }
+
+  @Test
+  void hmacSha256_verifies_andShortSecretsRejected() throws Exception {
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+    byte[] sig = mac.doFinal(BASE);
+
+    SignatureAlgorithm alg = SignatureAlgorithms.forName("hmac-sha256");
+    Key key = alg.decodeKey(b64(secret));
+    assertTrue(alg.verify(key, BASE, sig));
+    assertFalse(alg.verify(key, tampered(), sig));
+    assertNull(alg.decodeKey(b64(new byte[16])));
+  }
+
+  @Test
+  void verify_keyOfWrongType_failsClosed() throws Exception {
+    KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    byte[] sig = sign("Ed25519", null, ed.getPrivate());
+
+    assertFalse(SignatureAlgorithms.forName("hmac-sha256").verify(ed.getPublic(), BASE, sig));
+    assertFalse(SignatureAlgorithms.forName("ecdsa-p256-sha256").verify(ed.getPublic(), BASE, sig));
+  }
+
+  private static byte[] sign(String jcaName, PSSParameterSpec params, PrivateKey key) throws Exception {
+    Signature s = Signature.getInstance(jcaName);
+    if (params != null) {
+      s.setParameter(params);
+    }
+    s.initSign(key);
+    s.update(BASE);
+    return s.sign();
+  }
+
+  private static byte[] tampered() {
+    byte[] copy = BASE.clone();
+    copy[0] ^= 1;
+    return copy;
+  }
+
+  private static String b64(byte[] bytes) {
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+}
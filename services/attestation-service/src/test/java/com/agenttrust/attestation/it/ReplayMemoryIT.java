@@ -0,0 +1,98 @@
+package com.agenttrust.attestation.it;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.replay.RedisReplayBackend;
+import com.agenttrust.attestation.replay.ReplayProtectionService;
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Redis memory per recorded nonce for each key encoding/layout (used_memory delta over N nonces).
+ *
+ * Bounds are the estimates from the layout design (plain ~160 B, compact ~112 B, compact+buckets ~80 B
+ * on Redis 7 with UUID nonces) plus headroom for hash table sizing.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplayMemoryIT {
+
+  private static final int NONCES = 50_000;
+  private static final double MAX_BYTES_PER_NONCE_COMPACT = 140;
+  private static final double MAX_BYTES_PER_NONCE_BUCKETS = 100;
+
+  private GenericContainer<?> redis;
+  private LettuceConnectionFactory connectionFactory;
+  private StringRedisTemplate template;
+
+  @BeforeAll
+  void start() {
+    redis = new GenericContainer<>("redis:7.4.1-alpine")
+        .withExposedPorts(6379)
+        .withStartupTimeout(Duration.ofSeconds(60));
+    redis.start();
+    connectionFactory = new LettuceConnectionFactory(
+        new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    template = new StringRedisTemplate(connectionFactory);
+  }
+
+  @AfterAll
+  void stop() {
+    if (connectionFactory != null) {
+      connectionFactory.destroy();
+    }
+    if (redis != null) {
+      redis.stop();
+    }
+  }
+
+  @Test
+  void compactKeysAndBuckets_useLessMemoryPerNonce() {
+    double plain = bytesPerNonce(new ReplayProtectionService(
+        new RedisReplayBackend("plain", template, null), "replay", 480, false, "plain"));
+    double compact = bytesPerNonce(new ReplayProtectionService(
+        new RedisReplayBackend("compact", template, null), "r", 480, false, "compact"));
+    double buckets = bytesPerNonce(new ReplayProtectionService(
+        new RedisReplayBackend("buckets", template, null,
+            new RedisReplayBackend.Buckets("r", Duration.ofSeconds(60), 64, false, Clock.systemUTC())),
+        "r", 480, false, "compact"));
+
+    String measured = String.format("plain=%.1f B, compact=%.1f B, compact+buckets=%.1f B", plain, compact, buckets);
+    assertTrue(compact < plain, "compact keys should be smaller: " + measured);
+    assertTrue(buckets < compact, "bucketed hashes should be smaller: " + measured);
+    assertTrue(compact <= MAX_BYTES_PER_NONCE_COMPACT, "compact keys per nonce: " + measured);
+    assertTrue(buckets <= MAX_BYTES_PER_NONCE_BUCKETS, "compact+buckets per nonce: " + measured);
+  }
+
+  private double bytesPerNonce(ReplayProtectionService replay) {
+    template.execute((RedisCallback<Void>) connection -> {
+      connection.serverCommands().flushAll();
+      return null;
+    });
+    long before = usedMemory();
+    for (int i = 0; i < NONCES; i++) {
+      // Realistic ids: tenant slug, key id, UUID nonce.
+      Result r = replay.recordNonce("tenant-" + (i % 100), "agent-key-" + (i % 1000), UUID.randomUUID().toString(), 300);
+      assertEquals(Result.FIRST_SEEN, r);
+    }
+    return (usedMemory() - before) / (double) NONCES;
+  }
+
+  private long usedMemory() {
+    Properties info = template.execute((RedisCallback<Properties>) c -> c.serverCommands().info("memory"));
+    return Long.parseLong(info.getProperty("used_memory"));
+  }
+}
@@ -0,0 +1,128 @@
+package com.agenttrust.attestation.it;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.config.AttestationProperties;
+import com.agenttrust.attestation.config.AttestationProperties.Replay.ShardEndpoint;
+import com.agenttrust.attestation.replay.ReplayConfiguration;
+import com.agenttrust.attestation.replay.ReplayProtectionService;
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import com.agenttrust.attestation.replay.ShardedReplayBackend;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Three real Redis shards: keys land on the shard the ring picks, and losing one shard fails closed
+ * for its signing keys only.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardedReplayBackendIT {
+
+  private static final List<String> SHARDS = List.of("replay-a", "replay-b", "replay-c");
+
+  private final Map<String, GenericContainer<?>> redis = new HashMap<>();
+  private final MeterRegistry meters = new SimpleMeterRegistry();
+  private ShardedReplayBackend backend;
+  private ReplayProtectionService replay;
+
+  @BeforeAll
+  void startShards() {
+    AttestationProperties props = new AttestationProperties();
+    props.getReplay().setBackend("sharded");
+    props.getReplay().getSharded().setTimeout(Duration.ofMillis(300));
+    for (String name : SHARDS) {
+      GenericContainer<?> container = new GenericContainer<>("redis:7.4.1-alpine")
+          .withExposedPorts(6379)
+          .withStartupTimeout(Duration.ofSeconds(60));
+      container.start();
+      redis.put(name, container);
+
+      ShardEndpoint endpoint = new ShardEndpoint();
+      endpoint.setName(name);
+      endpoint.setUrl("redis://" + container.getHost() + ":" + container.getMappedPort(6379));
+      props.getReplay().getSharded().getShards().add(endpoint);
+    }
+
+    StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", meters));
+    ObjectProvider<MeterRegistry> meterRegistry = beans.getBeanProvider(MeterRegistry.class);
+    backend = new ReplayConfiguration().shardedReplayBackend(props, meterRegistry,
+        beans.getBeanProvider(ClientResources.class), Clock.systemUTC());
+    replay = new ReplayProtectionService(backend, "replay", 60, false);
+  }
+
+  @AfterAll
+  void stopShards() {
+    if (backend != null) {
+      backend.close();
+    }
+    redis.values().forEach(GenericContainer::stop);
+  }
+
+  @Test
+  void nonces_storedOnRingShard_andSpreadAcrossAllShards() throws Exception {
+    Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 300; i++) {
+      String keyId = "dist-key-" + i;
+      assertEquals(Result.FIRST_SEEN, replay.recordNonce("tenantA", keyId, "n1", 60));
+      assertEquals(Result.REPLAY_DETECTED, replay.recordNonce("tenantA", keyId, "n1", 60));
+      expected.merge(backend.shardFor("tenantA", keyId).name(), 1, Integer::sum);
+
+      String owner = backend.shardFor("tenantA", keyId).name();
+      assertEquals("1", redisCli(owner, "GET", "replay:tenantA:" + keyId + ":n1"));
+    }
+
+    for (String name : SHARDS) {
+      int count = Integer.parseInt(redisCli(name, "EVAL",
+          "return #redis.call('KEYS', 'replay:tenantA:dist-key-*')", "0"));
+      assertEquals(expected.get(name), count, "keys on " + name);
+      assertTrue(count > 50, () -> "shard " + name + " got too few keys: " + expected);
+      assertTrue(meters.get("attestation.replay.results").tag("shard", name).tag("result", "first_seen")
+          .counter().count() >= count);
+    }
+  }
+
+  @Test
+  void shardDown_failsClosedForItsKeysOnly() {
+    String down = "replay-b";
+    redis.get(down).getDockerClient().pauseContainerCmd(redis.get(down).getContainerId()).exec();
+    try {
+      int unavailable = 0;
+      for (int i = 0; i < 60; i++) {
+        String keyId = "outage-key-" + i;
+        Result result = replay.recordNonce("tenantB", keyId, "n1", 60);
+        if (backend.shardFor("tenantB", keyId).name().equals(down)) {
+          assertEquals(Result.UNAVAILABLE, result);
+          unavailable++;
+        } else {
+          assertEquals(Result.FIRST_SEEN, result);
+        }
+      }
+      assertTrue(unavailable > 0, "expected some keys routed to the paused shard");
+      assertEquals(Boolean.FALSE, backend.ping().get(down));
+      assertTrue(meters.get("attestation.replay.results").tag("shard", down).tag("result", "unavailable")
+          .counter().count() >= unavailable);
+    } finally {
+      redis.get(down).getDockerClient().unpauseContainerCmd(redis.get(down).getContainerId()).exec();
+    }
+  }
+
+  private String redisCli(String shard, String... args) throws Exception {
+    String[] cmd = new String[args.length + 1];
+    cmd[0] = "redis-cli";
+    System.arraycopy(args, 0, cmd, 1, args.length);
+    return redis.get(shard).execInContainer(cmd).getStdout().trim();
+  }
+}
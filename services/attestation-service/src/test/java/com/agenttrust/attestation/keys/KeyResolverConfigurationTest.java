@@ -0,0 +1,29 @@
+package com.agenttrust.attestation.keys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.Source;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class KeyResolverConfigurationTest {
+
+  @Test
+  void source_isBoundCaseInsensitively_defaultingToStatic() {
+    assertEquals(Source.STATIC, KeyResolverConfiguration.configuredSource(new MockEnvironment()));
+    assertEquals(Source.FILE, KeyResolverConfiguration.configuredSource(source("File")));
+    assertEquals(Source.ADMIN, KeyResolverConfiguration.configuredSource(source("ADMIN")));
+    assertEquals(Source.POSTGRES, KeyResolverConfiguration.configuredSource(source("postgres")));
+  }
+
+  @Test
+  void unknownSource_failsFast() {
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> KeyResolverConfiguration.configuredSource(source("redis")));
+    assertTrue(e.getMessage().contains("[static, file, admin, postgres]"), e.getMessage());
+  }
+
+  private static MockEnvironment source(String value) {
+    return new MockEnvironment().withProperty("agenttrust.attestation.keys.source", value);
+  }
+}
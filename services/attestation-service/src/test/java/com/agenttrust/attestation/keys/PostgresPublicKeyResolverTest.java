@@ -0,0 +1,195 @@
+package com.agenttrust.attestation.keys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import com.agenttrust.attestation.config.AttestationProperties.Keys.Postgres;
+import com.agenttrust.attestation.keys.PublicKeyResolver.FailureCode;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostgresPublicKeyResolverTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private FakeStore store;
+  private PostgresPublicKeyResolver resolver;
+  private String pub;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    pub = newPublicKeyBase64();
+    store = new FakeStore();
+
+    Postgres.Cache cache = new Postgres.Cache();
+    cache.setTtl(Duration.ofMinutes(5));
+    cache.setRefreshAfter(Duration.ofSeconds(30));
+    cache.setNegativeTtl(Duration.ofSeconds(10));
+
+    // Same-thread refresh executor keeps refresh-ahead deterministic.
+    resolver = new PostgresPublicKeyResolver(store, cache, CLOCK, Runnable::run, nanos::get);
+  }
+
+  @Test
+  void resolve_matchesYamlResolverFailureSemantics() {
+    store.put(entry("tenantA", "k-active", "ACTIVE", pub, null));
+    store.put(entry("tenantA", "k-revoked", "REVOKED", pub, null));
+    store.put(entry("tenantA", "k-expired", "ACTIVE", pub, NOW.minusSeconds(1)));
+    store.put(entry("tenantA", "k-bad", "ACTIVE", "not-base64!", null));
+
+    assertTrue(resolver.resolve("tenantA", "k-active").isSuccess());
+    assertEquals(FailureCode.TENANT_KEY_MISMATCH, code("tenantB", "k-active"));
+    assertEquals(FailureCode.KEY_REVOKED, code("tenantA", "k-revoked"));
+    assertEquals(FailureCode.KEY_EXPIRED, code("tenantA", "k-expired"));
+    assertEquals(FailureCode.INVALID_KEY_MATERIAL, code("tenantA", "k-bad"));
+    assertEquals(FailureCode.KEY_NOT_FOUND, code("tenantA", "k-unknown"));
+    assertEquals(FailureCode.INVALID_INPUT, code(" ", "k-active"));
+  }
+
+  @Test
+  void resolve_cachesHitsAndUnknownKeyIds() {
+    store.put(entry("tenantA", "k1", "ACTIVE", pub, null));
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+      assertEquals(FailureCode.KEY_NOT_FOUND, code("tenantA", "missing"));
+    }
+    assertEquals(1, store.queries("k1"));
+    assertEquals(1, store.queries("missing"));
+
+    // Negative entries expire sooner than positive ones.
+    advance(Duration.ofSeconds(11));
+    assertEquals(FailureCode.KEY_NOT_FOUND, code("tenantA", "missing"));
+    assertEquals(2, store.queries("missing"));
+  }
+
+  @Test
+  void resolve_refreshesAheadAndPicksUpRevocation() {
+    store.put(entry("tenantA", "k1", "ACTIVE", pub, null));
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+
+    store.put(entry("tenantA", "k1", "REVOKED", pub, null));
+    advance(Duration.ofSeconds(31));
+
+    // The access past refreshAfter triggers a reload instead of waiting for expiry.
+    resolver.resolve("tenantA", "k1");
+    assertEquals(2, store.queries("k1"));
+    assertEquals(FailureCode.KEY_REVOKED, code("tenantA", "k1"));
+    assertEquals(2, store.queries("k1"));
+  }
+
+  @Test
+  void resolve_failedRefreshKeepsServingUntilTtl() {
+    store.put(entry("tenantA", "k1", "ACTIVE", pub, null));
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+
+    store.failing = true;
+    advance(Duration.ofSeconds(31));
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+
+    advance(Duration.ofMinutes(5));
+    assertThrows(IllegalStateException.class, () -> resolver.resolve("tenantA", "k1"));
+  }
+
+  @Test
+  void resolve_concurrentMissesShareOneQuery() throws Exception {
+    store.put(entry("tenantA", "k1", "ACTIVE", pub, null));
+    store.gate = new CountDownLatch(1);
+
+    int threads = 16;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(pool.submit(() -> resolver.resolve("tenantA", "k1").isSuccess()));
+      }
+      assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+      Thread.sleep(50);
+      store.gate.countDown();
+
+      for (Future<Boolean> r : results) {
+        assertTrue(r.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertEquals(1, store.queries("k1"));
+  }
+
+  private FailureCode code(String tenantId, String keyId) {
+    return resolver.resolve(tenantId, keyId).failure().orElseThrow().code();
+  }
+
+  private void advance(Duration d) {
+    nanos.addAndGet(d.toNanos());
+  }
+
+  private static KeyEntry entry(String tenantId, String keyId, String status, String pub, Instant notAfter) {
+    KeyEntry e = new KeyEntry();
+    e.setTenantId(tenantId);
+    e.setKeyId(keyId);
+    e.setStatus(status);
+    e.setPublicKeyBase64(pub);
+    e.setNotAfter(notAfter);
+    return e;
+  }
+
+  private static String newPublicKeyBase64() throws Exception {
+    byte[] spki = KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic().getEncoded();
+    return Base64.getEncoder().encodeToString(spki);
+  }
+
+  private static final class FakeStore implements AgentKeyStore {
+
+    private final Map<String, KeyEntry> rows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> queries = new ConcurrentHashMap<>();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private volatile boolean failing;
+
+    void put(KeyEntry e) {
+      rows.put(e.getTenantId() + "|" + e.getKeyId(), e);
+    }
+
+    int queries(String keyId) {
+      AtomicInteger n = queries.get(keyId);
+      return (n == null) ? 0 : n.get();
+    }
+
+    @Override
+    public List<KeyEntry> findByKeyId(String keyId) {
+      queries.computeIfAbsent(keyId, k -> new AtomicInteger()).incrementAndGet();
+      entered.countDown();
+      if (gate != null) {
+        try {
+          gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (failing) {
+        throw new IllegalStateException("database unavailable");
+      }
+      return rows.values().stream().filter(e -> e.getKeyId().equals(keyId)).toList();
+    }
+  }
+}
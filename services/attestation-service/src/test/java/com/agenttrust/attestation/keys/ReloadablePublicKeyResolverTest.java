@@ -0,0 +1,126 @@
+package com.agenttrust.attestation.keys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReloadablePublicKeyResolverTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+  @TempDir
+  Path tmp;
+
+  @Test
+  void replace_publishesNewVersion_andRevocationIsVisibleImmediately() throws Exception {
+    String pub = newPublicKeyBase64();
+    ReloadablePublicKeyResolver resolver =
+        new ReloadablePublicKeyResolver(List.of(entry("tenantA", "k1", "ACTIVE", pub)), CLOCK);
+
+    assertEquals(1, resolver.snapshot().version());
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+
+    KeyRegistrySnapshot next = resolver.replace(List.of(entry("tenantA", "k1", "REVOKED", pub)), "test");
+
+    assertEquals(2, next.version());
+    assertSame(next, resolver.snapshot());
+    assertEquals(PublicKeyResolver.FailureCode.KEY_REVOKED,
+        resolver.resolve("tenantA", "k1").failure().orElseThrow().code());
+  }
+
+  @Test
+  void replace_sameContent_keepsVersionAndFingerprint() throws Exception {
+    List<KeyEntry> entries = List.of(entry("tenantA", "k1", "ACTIVE", newPublicKeyBase64()));
+    ReloadablePublicKeyResolver resolver = new ReloadablePublicKeyResolver(entries, CLOCK);
+    KeyRegistrySnapshot before = resolver.snapshot();
+
+    KeyRegistrySnapshot after = resolver.replace(entries, "test");
+
+    assertSame(before, after);
+    assertEquals(1, after.version());
+  }
+
+  @Test
+  void replace_duplicateKeys_rejectedAndPreviousSnapshotKept() throws Exception {
+    String pub = newPublicKeyBase64();
+    ReloadablePublicKeyResolver resolver =
+        new ReloadablePublicKeyResolver(List.of(entry("tenantA", "k1", "ACTIVE", pub)), CLOCK);
+
+    assertThrows(IllegalArgumentException.class, () -> resolver.replace(
+        List.of(entry("tenantA", "k1", "ACTIVE", pub), entry("tenantA", "k1", "REVOKED", pub)), "test"));
+
+    assertEquals(1, resolver.snapshot().version());
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+  }
+
+  @Test
+  void fileReloader_picksUpEdits_andKeepsSnapshotOnBrokenFile() throws Exception {
+    String pub = newPublicKeyBase64();
+    Path file = tmp.resolve("keys.yml");
+    Files.writeString(file, document("tenantA", "k1", "ACTIVE", pub), StandardCharsets.UTF_8);
+
+    ReloadablePublicKeyResolver resolver = new ReloadablePublicKeyResolver(List.of(), CLOCK);
+    KeyRegistryReloader reloader =
+        new KeyRegistryReloader(resolver, new FileKeyRegistrySource(file), Duration.ofSeconds(60), CLOCK);
+
+    assertFalse(resolver.resolve("tenantA", "k1").isSuccess());
+
+    reloader.reloadNow();
+    assertEquals(2, resolver.snapshot().version());
+    assertTrue(resolver.resolve("tenantA", "k1").isSuccess());
+    assertNull(reloader.lastError());
+
+    // Unchanged file: no new version.
+    reloader.reloadNow();
+    assertEquals(2, resolver.snapshot().version());
+
+    // Revocation via file edit.
+    Files.writeString(file, document("tenantA", "k1", "REVOKED", pub), StandardCharsets.UTF_8);
+    reloader.reloadNow();
+    assertEquals(3, resolver.snapshot().version());
+    assertEquals(PublicKeyResolver.FailureCode.KEY_REVOKED,
+        resolver.resolve("tenantA", "k1").failure().orElseThrow().code());
+
+    // Broken file: error is recorded, current snapshot stays.
+    Files.writeString(file, "entries: [ {tenantId: ", StandardCharsets.UTF_8);
+    reloader.reloadNow();
+    assertEquals(3, resolver.snapshot().version());
+    assertNotNull(reloader.lastError());
+  }
+
+  private static String document(String tenantId, String keyId, String status, String pub) {
+    return """
+        entries:
+          - tenantId: "%s"
+            keyId: "%s"
+            status: "%s"
+            publicKeyBase64: "%s"
+        """.formatted(tenantId, keyId, status, pub);
+  }
+
+  private static KeyEntry entry(String tenantId, String keyId, String status, String pub) {
+    KeyEntry e = new KeyEntry();
+    e.setTenantId(tenantId);
+    e.setKeyId(keyId);
+    e.setStatus(status);
+    e.setPublicKeyBase64(pub);
+    return e;
+  }
+
+  private static String newPublicKeyBase64() throws Exception {
+    byte[] spki = KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPublic().getEncoded();
+    return Base64.getEncoder().encodeToString(spki);
+  }
+}
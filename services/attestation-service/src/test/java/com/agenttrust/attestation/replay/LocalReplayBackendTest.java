@@ -0,0 +1,181 @@
+package com.agenttrust.attestation.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalReplayBackendTest {
+
+  private static final Duration TTL = Duration.ofSeconds(300);
+
+  @TempDir
+  Path dir;
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T12:00:00Z"));
+
+  @Test
+  void setIfAbsent_firstSeenThenReplay_untilExpiry() {
+    try (LocalReplayBackend backend = backend(100, null)) {
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "replay:t:k:n1", TTL));
+      assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", "replay:t:k:n1", TTL));
+
+      clock.advance(TTL);
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "replay:t:k:n1", TTL),
+          "expired but not yet swept entries do not block");
+    }
+  }
+
+  @Test
+  void sweep_removesExpiredEntries_acrossWheelTurns() {
+    try (LocalReplayBackend backend = backend(100, null)) {
+      backend.setIfAbsent("t", "k", "short", Duration.ofSeconds(5));
+      // Longer than the 64-slot wheel: must survive the sweeps of earlier turns.
+      backend.setIfAbsent("t", "k", "long", Duration.ofSeconds(200));
+
+      for (int s = 0; s < 199; s++) {
+        clock.advance(Duration.ofSeconds(1));
+        backend.sweep();
+      }
+      assertEquals(1, backend.size());
+      assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", "long", TTL));
+
+      clock.advance(Duration.ofSeconds(2));
+      backend.sweep();
+      assertEquals(0, backend.size());
+    }
+  }
+
+  @Test
+  void setIfAbsent_full_failsClosed_withoutEvicting() {
+    try (LocalReplayBackend backend = backend(2, null)) {
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "a", TTL));
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "b", TTL));
+      assertEquals(Result.UNAVAILABLE, backend.setIfAbsent("t", "k", "c", TTL));
+      assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", "a", TTL));
+    }
+  }
+
+  @Test
+  void journal_survivesRestart_andDropsExpiredRecords() {
+    LocalReplayBackend.Journal journal = new LocalReplayBackend.Journal(dir.resolve("replay.journal"), 1 << 16, false);
+    try (LocalReplayBackend backend = backend(100, journal)) {
+      backend.setIfAbsent("t", "k", "short", Duration.ofSeconds(10));
+      backend.setIfAbsent("t", "k", "long", TTL);
+    }
+
+    clock.advance(Duration.ofSeconds(30));
+    try (LocalReplayBackend restarted = backend(100, journal)) {
+      assertEquals(1, restarted.size());
+      assertEquals(Result.REPLAY_DETECTED, restarted.setIfAbsent("t", "k", "long", TTL));
+      assertEquals(Result.FIRST_SEEN, restarted.setIfAbsent("t", "k", "short", TTL));
+    }
+  }
+
+  @Test
+  void journal_full_compactsToLiveEntries() {
+    // Room for exactly ten "live-1xx" records (10-byte header + 8-byte key each).
+    LocalReplayBackend.Journal journal = new LocalReplayBackend.Journal(dir.resolve("small.journal"), 8 + 10 * 18, false);
+    try (LocalReplayBackend backend = backend(1000, journal)) {
+      for (int i = 0; i < 50; i++) {
+        assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "nonce-" + (100 + i), Duration.ofSeconds(1)));
+        clock.advance(Duration.ofSeconds(1));
+      }
+      for (int i = 0; i < 10; i++) {
+        assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "live-" + (100 + i), TTL));
+      }
+      assertEquals(Result.UNAVAILABLE, backend.setIfAbsent("t", "k", "live-999", TTL),
+          "live entries alone fill the journal");
+    }
+
+    try (LocalReplayBackend restarted = backend(1000, journal)) {
+      assertEquals(Result.REPLAY_DETECTED, restarted.setIfAbsent("t", "k", "live-105", TTL));
+    }
+  }
+
+  @Test
+  void journal_error_failsClosed_andEntryIsStillSwept() throws Exception {
+    // Room for two "nonce-0x" records; the third forces a compaction, which cannot create its file.
+    LocalReplayBackend.Journal journal = new LocalReplayBackend.Journal(dir.resolve("broken.journal"), 8 + 2 * 18, false);
+    Files.createDirectories(dir.resolve("broken.journal.compact").resolve("blocker"));
+    try (LocalReplayBackend backend = backend(1000, journal)) {
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "nonce-01", TTL));
+      assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", "nonce-02", TTL));
+      assertEquals(Result.UNAVAILABLE, backend.setIfAbsent("t", "k", "nonce-03", TTL));
+      assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", "nonce-03", TTL));
+      assertEquals(3, backend.size());
+
+      clock.advance(TTL.plusSeconds(1));
+      backend.sweep();
+      assertEquals(0, backend.size(), "entry rejected by the journal must not leak");
+    }
+  }
+
+  @Test
+  void setIfAbsent_concurrentSameNonce_exactlyOneFirstSeen() throws Exception {
+    try (LocalReplayBackend backend = backend(100_000, null)) {
+      ExecutorService pool = Executors.newFixedThreadPool(8);
+      try {
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+          tasks.add(() -> backend.setIfAbsent("t", "k", "same", TTL));
+        }
+        int firstSeen = 0;
+        for (Future<Result> f : pool.invokeAll(tasks)) {
+          if (f.get() == Result.FIRST_SEEN) {
+            firstSeen++;
+          }
+        }
+        assertEquals(1, firstSeen);
+      } finally {
+        pool.shutdownNow();
+      }
+    }
+  }
+
+  private LocalReplayBackend backend(int maxEntries, LocalReplayBackend.Journal journal) {
+    return new LocalReplayBackend(clock, maxEntries, 64, journal, null, false);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration d) {
+      now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.agenttrust.attestation.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisReplayBackendTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.ofEpochSecond(1_700_000_030L), ZoneOffset.UTC);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void buckets_nonceIsFieldOfWindowHash_expiringAtWindowEnd() {
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L, 0L);
+    RedisReplayBackend backend = new RedisReplayBackend("default", redis, null,
+        new RedisReplayBackend.Buckets("r", Duration.ofSeconds(60), 8, true, CLOCK));
+
+    String key = "r:{tagtagtagta}:AAAAAAAAAAAAAAAAAAAAAA";
+    assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("tenantA", "key1", key, Duration.ofSeconds(300)));
+    assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("tenantA", "key1", key, Duration.ofSeconds(300)));
+
+    ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+    verify(redis, times(2)).execute(any(RedisScript.class), keys.capture(), args.capture());
+
+    // now + ttl = 1_700_000_330 -> window 28_333_339 (ends at 1_700_000_340)
+    long partition = Math.floorMod(ShardedReplayBackend.hash("tenantA", "key1"), 8);
+    assertEquals(List.of("r:b:{" + partition + "}:28333339"), keys.getValue());
+    assertArrayEquals(new Object[] {"AAAAAAAAAAAAAAAAAAAAAA", "1700000341"}, args.getValue());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void buckets_windowFollowsSignatureExpiry_notBackendClockPlusTtl() {
+    Set<String> stored = new HashSet<>();
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+      List<String> keys = inv.getArgument(1);
+      Object field = inv.getArguments()[2];
+      if (field instanceof Object[] varargs) {
+        field = varargs[0];
+      }
+      return stored.add(keys.get(0) + "/" + field) ? 1L : 0L;
+    });
+    AtomicLong seconds = new AtomicLong();
+    RedisReplayBackend backend = new RedisReplayBackend("default", redis, null,
+        new RedisReplayBackend.Buckets("r", Duration.ofSeconds(60), 8, false, new SteppedClock(seconds)));
+    Instant expires = Instant.ofEpochSecond(1200);
+    String key = "r:AAAAAAAAAAAAAAAAAAAAAA";
+
+    // First use: verifier and backend both read 1159, ttl = 41.
+    seconds.set(1159);
+    assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", key, Duration.ofSeconds(41), expires));
+
+    // Replay: the verifier read 1160 (ttl = 40), the backend reads 1161. now + ttl would be window 21.
+    seconds.set(1161);
+    assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", key, Duration.ofSeconds(40), expires));
+
+    // A TTL capped below the remaining validity (default-ttl shorter than expires - now) must not move it either.
+    String other = "r:BBBBBBBBBBBBBBBBBBBBBB";
+    seconds.set(1100);
+    assertEquals(Result.FIRST_SEEN, backend.setIfAbsent("t", "k", other, Duration.ofSeconds(30), expires));
+    seconds.set(1125);
+    assertEquals(Result.REPLAY_DETECTED, backend.setIfAbsent("t", "k", other, Duration.ofSeconds(30), expires));
+
+    long partition = Math.floorMod(ShardedReplayBackend.hash("t", "k"), 8);
+    assertEquals(Set.of("r:b:" + partition + ":20/AAAAAAAAAAAAAAAAAAAAAA", "r:b:" + partition + ":20/BBBBBBBBBBBBBBBBBBBBBB"),
+        stored);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void buckets_nullOrErrorFromRedis_failsClosed() {
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+        .thenReturn(null)
+        .thenThrow(new RuntimeException("boom"));
+    RedisReplayBackend backend = new RedisReplayBackend("default", redis, null,
+        new RedisReplayBackend.Buckets("r", Duration.ofSeconds(60), 8, false, CLOCK));
+
+    assertEquals(Result.UNAVAILABLE, backend.setIfAbsent("t", "k", "r:AAAA", Duration.ofSeconds(60)));
+    assertEquals(Result.UNAVAILABLE, backend.setIfAbsent("t", "k", "r:AAAA", Duration.ofSeconds(60)));
+  }
+
+  /**
+   * Clock reading a settable epoch second.
+   */
+  private static final class SteppedClock extends Clock {
+
+    private final AtomicLong seconds;
+
+    SteppedClock(AtomicLong seconds) {
+      this.seconds = seconds;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochSecond(seconds.get());
+    }
+  }
+}
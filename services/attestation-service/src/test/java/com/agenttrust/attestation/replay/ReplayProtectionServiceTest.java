@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -86,4 +87,43 @@ class ReplayProtectionServiceTest {
 
     assertEquals(ReplayProtectionService.Result.UNAVAILABLE, result);
   }
+
+  @Test
+  void recordNonce_hashTags_wrapTenantAndKeyInClusterHashTag() {
+    ReplayBackend backend = mock(ReplayBackend.class);
+    when(backend.setIfAbsent(anyString(), anyString(), anyString(), any(Duration.class), any()))
+        .thenReturn(ReplayProtectionService.Result.FIRST_SEEN);
+    Instant expires = Instant.ofEpochSecond(1_700_000_060L);
+
+    ReplayProtectionService svc = new ReplayProtectionService(backend, "replay", 480, true);
+    assertEquals(ReplayProtectionService.Result.FIRST_SEEN, svc.recordNonce("tenantA", "key1", "nonce1", 60, expires));
+
+    verify(backend).setIfAbsent("tenantA", "key1", "replay:{tenantA:key1}:nonce1", Duration.ofSeconds(60), expires);
+  }
+
+  @Test
+  void recordNonce_compactEncoding_usesFixedLengthDigestKey() {
+    ReplayBackend backend = mock(ReplayBackend.class);
+    when(backend.setIfAbsent(anyString(), anyString(), anyString(), any(Duration.class), any()))
+        .thenReturn(ReplayProtectionService.Result.FIRST_SEEN);
+    ReplayProtectionService svc = new ReplayProtectionService(backend, "r", 480, false, "compact");
+    ReplayProtectionService tagged = new ReplayProtectionService(backend, "r", 480, true, "compact");
+
+    svc.recordNonce("tenantA", "key1", "6b1f0c4e-3f7a-4c1e-9a2b-1234567890ab", 60);
+    svc.recordNonce("tenantA", "key1", "6b1f0c4e-3f7a-4c1e-9a2b-1234567890ab", 60);
+    svc.recordNonce("tenantA", "key1:6b1f0c4e", "3f7a-4c1e-9a2b-1234567890ab", 60);
+    tagged.recordNonce("tenantA", "key1", "n1", 60);
+    tagged.recordNonce("tenantA", "key1", "n2", 60);
+
+    ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+    verify(backend, times(5)).setIfAbsent(eq("tenantA"), anyString(), keys.capture(), eq(Duration.ofSeconds(60)), isNull());
+    var k = keys.getAllValues();
+
+    assertTrue(k.get(0).matches("r:[A-Za-z0-9_-]{22}"), k.get(0));
+    assertEquals(k.get(0), k.get(1));
+    assertNotEquals(k.get(0), k.get(2), "fields are length-prefixed, so shifting ':' changes the key");
+    assertTrue(k.get(3).matches("r:\\{[A-Za-z0-9_-]{11}}:[A-Za-z0-9_-]{22}"), k.get(3));
+    assertEquals(k.get(3).substring(0, 15), k.get(4).substring(0, 15), "same signing key, same hash tag");
+    assertNotEquals(k.get(3), k.get(4));
+  }
 }
@@ -0,0 +1,111 @@
+package com.agenttrust.attestation.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.replay.ReplayProtectionService.Result;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+class ShardedReplayBackendTest {
+
+  private static final int KEYS = 10_000;
+
+  @Test
+  void shardFor_spreadsSigningKeysEvenly() {
+    ShardedReplayBackend backend = new ShardedReplayBackend(shards("a", "b", "c"), 160);
+
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < KEYS; i++) {
+      counts.merge(backend.shardFor("tenant-" + (i % 50), "key-" + i).name(), 1, Integer::sum);
+    }
+
+    assertEquals(Set.of("a", "b", "c"), counts.keySet());
+    counts.values().forEach(n -> assertTrue(n > KEYS * 0.25 && n < KEYS * 0.42, () -> "uneven: " + counts));
+  }
+
+  @Test
+  void addingShard_movesOnlyItsShareOfKeys_andOrderDoesNotMatter() {
+    ShardedReplayBackend three = new ShardedReplayBackend(shards("a", "b", "c"), 160);
+    ShardedReplayBackend reordered = new ShardedReplayBackend(shards("c", "a", "b"), 160);
+    ShardedReplayBackend four = new ShardedReplayBackend(shards("a", "b", "c", "d"), 160);
+
+    int moved = 0;
+    for (int i = 0; i < KEYS; i++) {
+      String before = three.shardFor("t", "key-" + i).name();
+      assertEquals(before, reordered.shardFor("t", "key-" + i).name());
+      String after = four.shardFor("t", "key-" + i).name();
+      if (!before.equals(after)) {
+        assertEquals("d", after, "keys only move to the new shard");
+        moved++;
+      }
+    }
+    assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, "moved=" + moved);
+  }
+
+  @Test
+  void setIfAbsent_downShardFailsClosed_onlyForItsKeys() {
+    FakeStore a = new FakeStore("a");
+    FakeStore b = new FakeStore("b");
+    b.down = true;
+    ShardedReplayBackend backend = new ShardedReplayBackend(
+        List.of(new ShardedReplayBackend.Shard("a", a), new ShardedReplayBackend.Shard("b", b)), 160);
+
+    for (int i = 0; i < 200; i++) {
+      String keyId = "key-" + i;
+      Result first = backend.setIfAbsent("t", keyId, "replay:t:" + keyId + ":n", Duration.ofSeconds(60));
+      Result second = backend.setIfAbsent("t", keyId, "replay:t:" + keyId + ":n", Duration.ofSeconds(60));
+      if (backend.shardFor("t", keyId).name().equals("b")) {
+        assertEquals(Result.UNAVAILABLE, first);
+        assertEquals(Result.UNAVAILABLE, second);
+      } else {
+        assertEquals(Result.FIRST_SEEN, first);
+        assertEquals(Result.REPLAY_DETECTED, second);
+      }
+    }
+    assertEquals(Map.of("a", true, "b", false), backend.ping());
+  }
+
+  @Test
+  void constructor_rejectsEmptyOrDuplicateShards() {
+    assertThrows(IllegalArgumentException.class, () -> new ShardedReplayBackend(List.of(), 160));
+    assertThrows(IllegalArgumentException.class, () -> new ShardedReplayBackend(shards("a", "a"), 160));
+  }
+
+  private static List<ShardedReplayBackend.Shard> shards(String... names) {
+    List<ShardedReplayBackend.Shard> shards = new ArrayList<>();
+    for (String name : names) {
+      shards.add(new ShardedReplayBackend.Shard(name, new FakeStore(name)));
+    }
+    return shards;
+  }
+
+  private static final class FakeStore implements ReplayBackend {
+
+    private final String name;
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private volatile boolean down;
+
+    private FakeStore(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Result setIfAbsent(String tenantId, String keyId, String key, Duration ttl) {
+      if (down) {
+        return Result.UNAVAILABLE;
+      }
+      return keys.add(key) ? Result.FIRST_SEEN : Result.REPLAY_DETECTED;
+    }
+
+    @Override
+    public Map<String, Boolean> ping() {
+      return Map.of(name, !down);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.agenttrust.attestation.rfc9421;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signature base construction for a request covering 8 components, including a query parameter and a
+ * header, with a realistic number of uncovered headers that must not be canonicalized.
+ * A fresh {@link Rfc9421RequestComponents} is built per invocation, as the verifier does per request.
+ *
+ * Run from services/attestation-service:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       org.openjdk.jmh.Main Rfc9421SignatureBaseBuilderBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Rfc9421SignatureBaseBuilderBenchmark {
+
+  private final Rfc9421SignatureBaseBuilder builder = new Rfc9421SignatureBaseBuilder();
+
+  private final List<String> covered = List.of(
+      "@method", "@target-uri", "@authority", "@path", "@query", "@query-param;name=\"id\"",
+      "content-digest", "@signature-params");
+
+  private final Rfc9421SignatureInput.SignatureParams params = new Rfc9421SignatureInput.SignatureParams(
+      "agent-key-1", "ed25519", 1700000000L, 1700000300L, "6b1f0c4e-3f7a", "agenttrust");
+
+  private final Map<String, String> headers = Map.of(
+      "content-digest", "sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:",
+      "content-type", "application/json",
+      "accept", "application/json",
+      "user-agent", "agent-sdk/1.4 (linux; java 21)",
+      "x-correlation-id", "4bf92f3577b34da6",
+      "traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+  @Benchmark
+  public String build8Components() {
+    Rfc9421RequestComponents request = Rfc9421RequestComponents.of(
+        "POST", "https", "api.example.com", "/v1/agent/verify", "id=42&lang=en", headers);
+    return builder.build(request, covered, params);
+  }
+
+  @Benchmark
+  public String buildAuthorityPath() {
+    return builder.build("api.example.com", "/v1/agent/verify", List.of("@authority", "@path", "@signature-params"), params);
+  }
+}
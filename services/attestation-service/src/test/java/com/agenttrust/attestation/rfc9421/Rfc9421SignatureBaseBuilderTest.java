@@ -3,6 +3,7 @@ package com.agenttrust.attestation.rfc9421;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class Rfc9421SignatureBaseBuilderTest {
@@ -37,7 +38,7 @@ class Rfc9421SignatureBaseBuilderTest {
 
   @Test
   void build_unsupportedComponent_rejected() {
-    List<String> covered = List.of("@method");
+    List<String> covered = List.of("@status");
 
     Rfc9421SignatureInput.SignatureParams params =
         new Rfc9421SignatureInput.SignatureParams(
@@ -54,4 +55,53 @@ class Rfc9421SignatureBaseBuilderTest {
 
     assertTrue(ex.getMessage().toLowerCase().contains("unsupported"));
   }
+
+  @Test
+  void build_extendedComponents_resolvedFromRequest() {
+    List<String> covered = List.of(
+        "@method", "@target-uri", "@query", "@query-param;name=\"q\"", "content-digest", "@signature-params");
+    Rfc9421RequestComponents request = Rfc9421RequestComponents.of(
+        "POST", "https", "Api.Example.com", "/v1/agent/verify", "q=a+b%2Fc&x=1",
+        Map.of("Content-Digest", "  sha-256=:abc=:\r\n  ", "X-Uncovered", "ignored"));
+
+    String base = builder.build(request, covered, params());
+
+    String expected =
+        "\"@method\": \"POST\"\n" +
+            "\"@target-uri\": \"https://api.example.com/v1/agent/verify?q=a+b%2Fc&x=1\"\n" +
+            "\"@query\": \"?q=a+b%2Fc&x=1\"\n" +
+            "\"@query-param\";name=\"q\": \"a%20b%2Fc\"\n" +
+            "\"content-digest\": \"sha-256=:abc=:\"\n" +
+            "\"@signature-params\": (\"@method\" \"@target-uri\" \"@query\" \"@query-param\";name=\"q\" " +
+            "\"content-digest\" \"@signature-params\");" +
+            "created=1;expires=2;keyid=\"k\";alg=\"ed25519\";nonce=\"n\";tag=\"t\"";
+
+    assertEquals(expected, base);
+  }
+
+  @Test
+  void build_emptyQuery_isQuestionMark() {
+    Rfc9421RequestComponents request = Rfc9421RequestComponents.of("GET", null, "example.com", "/x", null, Map.of());
+
+    assertEquals("\"@query\": \"?\"", builder.build(request, List.of("@query"), params()));
+  }
+
+  @Test
+  void build_missingOrRepeatedInputs_rejected() {
+    Rfc9421RequestComponents request =
+        Rfc9421RequestComponents.of("GET", null, "example.com", "/x", "a=1&a=2", Map.of());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> builder.build(request, List.of("content-digest"), params()));
+    assertThrows(IllegalArgumentException.class,
+        () -> builder.build(request, List.of("@query-param;name=\"a\""), params()));
+    assertThrows(IllegalArgumentException.class,
+        () -> builder.build(request, List.of("@query-param;name=\"b\""), params()));
+    assertThrows(IllegalArgumentException.class,
+        () -> builder.build(request, List.of("@path;name=\"a\""), params()));
+  }
+
+  private static Rfc9421SignatureInput.SignatureParams params() {
+    return new Rfc9421SignatureInput.SignatureParams("k", "ed25519", 1L, 2L, "n", "t");
+  }
 }
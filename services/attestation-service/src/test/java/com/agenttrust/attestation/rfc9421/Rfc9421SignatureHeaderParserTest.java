@@ -37,4 +37,25 @@ class Rfc9421SignatureHeaderParserTest {
     IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> parser.parseSingle(header));
     assertTrue(ex.getMessage().toLowerCase().contains("base64"), "Expected base64 rejection message");
   }
+
+  @Test
+  void parseAll_multipleLabels_parsedInHeaderOrder() {
+    byte[] a = "a".getBytes(StandardCharsets.UTF_8);
+    byte[] b = "b".getBytes(StandardCharsets.UTF_8);
+    String header = "platform=:" + Base64.getEncoder().encodeToString(a) + ":, agent=:"
+        + Base64.getEncoder().encodeToString(b) + ":";
+
+    var parsed = parser.parseAll(header);
+
+    assertEquals(2, parsed.size());
+    assertEquals("platform", parsed.get(0).label());
+    assertArrayEquals(a, parsed.get(0).signatureBytes());
+    assertEquals("agent", parsed.get(1).label());
+    assertArrayEquals(b, parsed.get(1).signatureBytes());
+  }
+
+  @Test
+  void parseAll_emptyMember_rejected() {
+    assertThrows(IllegalArgumentException.class, () -> parser.parseAll("sig1=:AAAA:,"));
+  }
 }
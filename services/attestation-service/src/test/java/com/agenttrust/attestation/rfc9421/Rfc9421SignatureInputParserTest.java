@@ -2,6 +2,7 @@ package com.agenttrust.attestation.rfc9421;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class Rfc9421SignatureInputParserTest {
@@ -55,4 +56,52 @@ class Rfc9421SignatureInputParserTest {
     IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> parser.parseSingle(header));
     assertTrue(ex.getMessage().toLowerCase().contains("missing required"), "Expected missing-param rejection message");
   }
+
+  @Test
+  void parseAll_multipleLabels_parsedInHeaderOrder() {
+    String header =
+        "platform=(\"@authority\" \"@path\" \"@signature-params\");" +
+            "created=1700000000;expires=1700000480;keyid=\"k-platform\";alg=\"ed25519\";nonce=\"n-1\";tag=\"t\", " +
+            "agent=(\"@authority\" \"@signature-params\");" +
+            "created=1700000001;expires=1700000481;keyid=\"k-agent\";alg=\"ed25519\";nonce=\"n-2\";tag=\"t\"";
+
+    var parsed = parser.parseAll(header);
+
+    assertEquals(2, parsed.size());
+    assertEquals("platform", parsed.get(0).label());
+    assertEquals("k-platform", parsed.get(0).input().params().keyId());
+    assertEquals("agent", parsed.get(1).label());
+    assertEquals(2, parsed.get(1).input().coveredComponents().size());
+    assertEquals("k-agent", parsed.get(1).input().params().keyId());
+  }
+
+  @Test
+  void parseAll_duplicateLabel_rejected() {
+    String member = "sig1=(\"@authority\");created=1;expires=2;keyid=\"k\";alg=\"ed25519\";nonce=\"n\";tag=\"t\"";
+
+    IllegalArgumentException ex =
+        assertThrows(IllegalArgumentException.class, () -> parser.parseAll(member + ", " + member));
+    assertTrue(ex.getMessage().toLowerCase().contains("duplicate"));
+  }
+
+  @Test
+  void parseSingle_componentParameters_keptWithComponent() {
+    String header =
+        "sig1=(\"@method\" \"@query-param\";name=\"id\" \"content-digest\" \"@signature-params\");" +
+            "created=1;expires=2;keyid=\"k\";alg=\"ed25519\";nonce=\"n\";tag=\"t\"";
+
+    var parsed = parser.parseSingle(header);
+
+    assertEquals(
+        List.of("@method", "@query-param;name=\"id\"", "content-digest", "@signature-params"),
+        parsed.input().coveredComponents());
+  }
+
+  @Test
+  void parseSingle_duplicateComponent_rejected() {
+    String header =
+        "sig1=(\"@path\" \"@path\");created=1;expires=2;keyid=\"k\";alg=\"ed25519\";nonce=\"n\";tag=\"t\"";
+
+    assertThrows(IllegalArgumentException.class, () -> parser.parseSingle(header));
+  }
 }
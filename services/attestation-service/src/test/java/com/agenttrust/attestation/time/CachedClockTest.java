@@ -0,0 +1,45 @@
+package com.agenttrust.attestation.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class CachedClockTest {
+
+  @Test
+  void millis_tracksSystemClock_andStopsAfterClose() throws Exception {
+    try (CachedClock clock = CachedClock.start(Duration.ofMillis(1))) {
+      assertEquals(ZoneOffset.UTC, clock.getZone());
+      assertTrue(Math.abs(System.currentTimeMillis() - clock.millis()) < 1_000);
+
+      long first = clock.millis();
+      Thread.sleep(20);
+      assertTrue(clock.millis() > first, "ticker should advance the cached time");
+
+      clock.close();
+      Thread.sleep(20);
+      long stopped = clock.millis();
+      Thread.sleep(20);
+      assertEquals(stopped, clock.millis());
+      assertEquals(stopped, clock.instant().toEpochMilli());
+    }
+  }
+
+  @Test
+  void withZone_sharesTicker() {
+    try (CachedClock clock = CachedClock.start(Duration.ofMillis(1))) {
+      var paris = clock.withZone(ZoneId.of("Europe/Paris"));
+      assertEquals(ZoneId.of("Europe/Paris"), paris.getZone());
+      assertSame(clock, clock.withZone(ZoneOffset.UTC));
+      assertTrue(Math.abs(paris.millis() - clock.millis()) < 1_000);
+    }
+  }
+
+  @Test
+  void start_nonPositiveTick_rejected() {
+    assertThrows(IllegalArgumentException.class, () -> CachedClock.start(Duration.ZERO));
+  }
+}
@@ -0,0 +1,317 @@
+package com.agenttrust.attestation.verify;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.agenttrust.attestation.api.AttestationDtos.VerifyRequest;
+import com.agenttrust.attestation.config.AttestationProperties;
+import com.agenttrust.attestation.config.AttestationProperties.Keys.KeyEntry;
+import com.agenttrust.attestation.config.AttestationProperties.Signatures.Policy;
+import com.agenttrust.attestation.keys.YamlPublicKeyResolver;
+import com.agenttrust.attestation.replay.ReplayProtectionService;
+import com.agenttrust.attestation.rfc9421.Rfc9421SignatureBaseBuilder;
+import com.agenttrust.attestation.rfc9421.Rfc9421SignatureInputParser;
+import com.agenttrust.attestation.verify.AttestationVerifierService.FailureCode;
+import com.agenttrust.attestation.verify.AttestationVerifierService.VerifyOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AttestationVerifierServiceTest {
+
+  private static final String TENANT = "tenantA";
+  private static final String AUTHORITY = "api.example.com";
+  private static final String PATH = "/v1/agent/verify";
+  private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final Rfc9421SignatureInputParser inputParser = new Rfc9421SignatureInputParser();
+  private final Rfc9421SignatureBaseBuilder baseBuilder = new Rfc9421SignatureBaseBuilder();
+
+  private KeyPair platformKey;
+  private KeyPair agentKey;
+  private AttestationProperties props;
+  private AttestationVerifierService verifier;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("Ed25519");
+    platformKey = kpg.generateKeyPair();
+    agentKey = kpg.generateKeyPair();
+
+    props = new AttestationProperties();
+    props.getReplay().setEnabled(false);
+    props.getProfile().setAllowedAlgorithms(List.of("ed25519"));
+    props.getKeys().getRegistry().setEntries(List.of(
+        entry("k-platform", platformKey),
+        entry("k-agent", agentKey)
+    ));
+
+    verifier = new AttestationVerifierService(props, new YamlPublicKeyResolver(props, CLOCK), mock(ReplayProtectionService.class), CLOCK, VerificationMetrics.noop());
+  }
+
+  @AfterEach
+  void tearDown() {
+    verifier.destroy();
+  }
+
+  @Test
+  void verify_singleLabel_verified() throws Exception {
+    Signed platform = sign("sig1", "k-platform", platformKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(platform.input(), platform.signature()));
+
+    assertTrue(outcome.verified(), () -> String.valueOf(outcome.failure()));
+    assertEquals("k-platform", outcome.keyId());
+  }
+
+  @Test
+  void verify_twoValidLabels_verifiedAndReportsFirstLabel() throws Exception {
+    Signed platform = sign("platform", "k-platform", platformKey.getPrivate());
+    Signed agent = sign("agent", "k-agent", agentKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(
+        platform.input() + ", " + agent.input(),
+        agent.signature() + ", " + platform.signature()));
+
+    assertTrue(outcome.verified(), () -> String.valueOf(outcome.failure()));
+    assertEquals("k-platform", outcome.keyId());
+  }
+
+  @Test
+  void verify_policyAll_oneBadLabel_fails() throws Exception {
+    Signed platform = sign("platform", "k-platform", platformKey.getPrivate());
+    // Signed with the wrong private key.
+    Signed agent = sign("agent", "k-agent", platformKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(
+        platform.input() + ", " + agent.input(),
+        platform.signature() + ", " + agent.signature()));
+
+    assertFalse(outcome.verified());
+    assertEquals(FailureCode.ATTESTATION_INVALID_SIGNATURE, outcome.failure().code());
+  }
+
+  @Test
+  void verify_tenantPolicyAny_oneGoodLabelIsEnough() throws Exception {
+    props.getSignatures().setTenantPolicies(Map.of(TENANT, Policy.ANY));
+
+    Signed platform = sign("platform", "k-platform", agentKey.getPrivate());
+    Signed agent = sign("agent", "k-agent", agentKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(
+        platform.input() + ", " + agent.input(),
+        platform.signature() + ", " + agent.signature()));
+
+    assertTrue(outcome.verified(), () -> String.valueOf(outcome.failure()));
+    assertEquals("k-agent", outcome.keyId());
+  }
+
+  @Test
+  void verify_tenantPolicyAny_noGoodLabel_reportsFirstFailure() throws Exception {
+    props.getSignatures().setTenantPolicies(Map.of(TENANT, Policy.ANY));
+
+    Signed platform = sign("platform", "k-unknown", platformKey.getPrivate());
+    Signed agent = sign("agent", "k-agent", platformKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(
+        platform.input() + ", " + agent.input(),
+        platform.signature() + ", " + agent.signature()));
+
+    assertFalse(outcome.verified());
+    assertEquals(FailureCode.ATTESTATION_KEY_UNAVAILABLE, outcome.failure().code());
+  }
+
+  @Test
+  void verify_labelsWithoutMatchingSignature_rejected() throws Exception {
+    Signed platform = sign("platform", "k-platform", platformKey.getPrivate());
+    Signed agent = sign("agent", "k-agent", agentKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(platform.input() + ", " + agent.input(), platform.signature()));
+
+    assertFalse(outcome.verified());
+    assertEquals(FailureCode.ATTESTATION_MISSING_OR_INVALID, outcome.failure().code());
+  }
+
+  @Test
+  void verify_tooManyLabels_rejected() throws Exception {
+    props.getSignatures().setMaxLabels(1);
+
+    Signed platform = sign("platform", "k-platform", platformKey.getPrivate());
+    Signed agent = sign("agent", "k-agent", agentKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(
+        platform.input() + ", " + agent.input(),
+        platform.signature() + ", " + agent.signature()));
+
+    assertFalse(outcome.verified());
+    assertEquals(FailureCode.ATTESTATION_MISSING_OR_INVALID, outcome.failure().code());
+  }
+
+  @Test
+  void verify_ecdsaKey_verifiedWithItsAlgorithm() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+    kpg.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair ecKey = kpg.generateKeyPair();
+    KeyEntry ec = entry("k-ec", ecKey);
+    ec.setAlgorithm("ecdsa-p256-sha256");
+    props.getKeys().getRegistry().setEntries(List.of(ec));
+    props.getProfile().setAllowedAlgorithms(List.of("ed25519", "ecdsa-p256-sha256"));
+    AttestationVerifierService ecVerifier =
+        new AttestationVerifierService(props, new YamlPublicKeyResolver(props, CLOCK), mock(ReplayProtectionService.class), CLOCK, VerificationMetrics.noop());
+
+    try {
+      Signed signed = sign("sig1", "k-ec", "ecdsa-p256-sha256", "SHA256withECDSAinP1363Format", ecKey.getPrivate());
+      VerifyOutcome outcome = ecVerifier.verify(request(signed.input(), signed.signature()));
+
+      assertTrue(outcome.verified(), () -> String.valueOf(outcome.failure()));
+      assertEquals("ecdsa-p256-sha256", outcome.alg());
+    } finally {
+      ecVerifier.destroy();
+    }
+  }
+
+  @Test
+  void verify_algDifferentFromKeyAlgorithm_rejected() throws Exception {
+    props.getProfile().setAllowedAlgorithms(List.of("ed25519", "hmac-sha256"));
+    Signed signed = sign("sig1", "k-platform", "hmac-sha256", "Ed25519", platformKey.getPrivate());
+
+    VerifyOutcome outcome = verifier.verify(request(signed.input(), signed.signature()));
+
+    assertFalse(outcome.verified());
+    assertEquals(FailureCode.ATTESTATION_INVALID_SIGNATURE, outcome.failure().code());
+  }
+
+  @Test
+  void verify_timeWindow_judgedAgainstInjectedClock() throws Exception {
+    long now = NOW.getEpochSecond();
+
+    Signed expired = sign("sig1", "k-platform", now - 300, now - 1, platformKey.getPrivate());
+    assertEquals(FailureCode.ATTESTATION_TIMESTAMP_INVALID,
+        verifier.verify(request(expired.input(), expired.signature())).failure().code());
+
+    Signed future = sign("sig1", "k-platform", now + 1, now + 300, platformKey.getPrivate());
+    assertEquals(FailureCode.ATTESTATION_TIMESTAMP_INVALID,
+        verifier.verify(request(future.input(), future.signature())).failure().code());
+
+    Signed edge = sign("sig1", "k-platform", now, now, platformKey.getPrivate());
+    assertEquals(FailureCode.ATTESTATION_TIMESTAMP_INVALID,
+        verifier.verify(request(edge.input(), edge.signature())).failure().code(), "expires must exceed created");
+
+    Signed exact = sign("sig1", "k-platform", now, now + 1, platformKey.getPrivate());
+    VerifyOutcome outcome = verifier.verify(request(exact.input(), exact.signature()));
+    assertTrue(outcome.verified(), () -> String.valueOf(outcome.failure()));
+  }
+
+  @Test
+  void verify_recordsStageTimers_andCountsFailuresByCodeAndTenant() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AttestationVerifierService metered = new AttestationVerifierService(
+        props, new YamlPublicKeyResolver(props, CLOCK), mock(ReplayProtectionService.class), CLOCK,
+        new VerificationMetrics(registry, 10));
+
+    try {
+      Signed good = sign("sig1", "k-platform", platformKey.getPrivate());
+      assertTrue(metered.verify(request(good.input(), good.signature())).verified());
+      Signed forged = sign("sig1", "k-platform", agentKey.getPrivate());
+      assertFalse(metered.verify(request(forged.input(), forged.signature())).verified());
+
+      for (String stage : List.of("parse", "profile", "key_resolve", "base_build", "crypto_verify")) {
+        assertEquals(2, registry.get("attestation.verify.stage").tag("stage", stage).timer().count(), stage);
+      }
+      // Replay is disabled in this setup.
+      assertEquals(0, registry.get("attestation.verify.stage").tag("stage", "replay").timer().count());
+      assertEquals(1, registry.get("attestation.verify.failures")
+          .tag("code", FailureCode.ATTESTATION_INVALID_SIGNATURE.name())
+          .tag("tenant", TENANT)
+          .counter().count());
+    } finally {
+      metered.destroy();
+    }
+  }
+
+  @Test
+  void verify_keyExpiry_judgedAtSameInstantAsSignatureWindow() throws Exception {
+    KeyEntry expiring = entry("k-platform", platformKey);
+    expiring.setNotAfter(NOW);
+    props.getKeys().getRegistry().setEntries(List.of(expiring));
+    Clock oneSecondLater = Clock.fixed(NOW.plusSeconds(1), ZoneOffset.UTC);
+    AttestationVerifierService later = new AttestationVerifierService(
+        props, new YamlPublicKeyResolver(props, CLOCK), mock(ReplayProtectionService.class), oneSecondLater,
+        VerificationMetrics.noop());
+
+    try {
+      // The resolver's own clock still says NOW; the verifier's instant decides.
+      Signed signed = sign("sig1", "k-platform", NOW.getEpochSecond() - 5, NOW.getEpochSecond() + 300,
+          platformKey.getPrivate());
+      VerifyOutcome outcome = later.verify(request(signed.input(), signed.signature()));
+
+      assertFalse(outcome.verified());
+      assertEquals(FailureCode.ATTESTATION_KEY_UNAVAILABLE, outcome.failure().code());
+      assertTrue(verifier.verify(request(signed.input(), signed.signature())).verified());
+    } finally {
+      later.destroy();
+    }
+  }
+
+  private Signed sign(String label, String keyId, PrivateKey privateKey) throws Exception {
+    return sign(label, keyId, "ed25519", "Ed25519", privateKey);
+  }
+
+  private Signed sign(String label, String keyId, long created, long expires, PrivateKey privateKey) throws Exception {
+    return sign(label, keyId, "ed25519", "Ed25519", created, expires, privateKey);
+  }
+
+  private Signed sign(String label, String keyId, String alg, String jcaName, PrivateKey privateKey) throws Exception {
+    long created = NOW.getEpochSecond() - 5;
+    return sign(label, keyId, alg, jcaName, created, created + 300, privateKey);
+  }
+
+  private Signed sign(String label,
+                      String keyId,
+                      String alg,
+                      String jcaName,
+                      long created,
+                      long expires,
+                      PrivateKey privateKey) throws Exception {
+    String input = label + "=(\"@authority\" \"@path\" \"@signature-params\");"
+        + "created=" + created + ";expires=" + expires + ";"
+        + "keyid=\"" + keyId + "\";alg=\"" + alg + "\";nonce=\"n-" + label + "\";tag=\"agenttrust\"";
+
+    var parsed = inputParser.parseSingle(input).input();
+    String base = baseBuilder.build(AUTHORITY, PATH, parsed.coveredComponents(), parsed.params());
+
+    Signature sig = Signature.getInstance(jcaName);
+    sig.initSign(privateKey);
+    sig.update(base.getBytes(StandardCharsets.UTF_8));
+    return new Signed(input, label + "=:" + Base64.getEncoder().encodeToString(sig.sign()) + ":");
+  }
+
+  private static VerifyRequest request(String signatureInput, String signature) {
+    return new VerifyRequest("GET", AUTHORITY, PATH, TENANT, signatureInput, signature);
+  }
+
+  private static KeyEntry entry(String keyId, KeyPair keyPair) {
+    KeyEntry e = new KeyEntry();
+    e.setTenantId(TENANT);
+    e.setKeyId(keyId);
+    e.setStatus("ACTIVE");
+    e.setPublicKeyBase64(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+    return e;
+  }
+
+  private record Signed(String input, String signature) { }
+}
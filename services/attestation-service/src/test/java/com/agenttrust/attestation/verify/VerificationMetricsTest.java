@@ -0,0 +1,59 @@
+package com.agenttrust.attestation.verify;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.verify.AttestationVerifierService.FailureCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class VerificationMetricsTest {
+
+  @Test
+  void failure_tenantTagsCapped_excessTenantsCountedAsOther() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    VerificationMetrics metrics = new VerificationMetrics(registry, 2);
+
+    metrics.failure(FailureCode.ATTESTATION_INVALID_SIGNATURE, "t1");
+    metrics.failure(FailureCode.ATTESTATION_INVALID_SIGNATURE, "t2");
+    for (int i = 0; i < 50; i++) {
+      metrics.failure(FailureCode.ATTESTATION_INVALID_SIGNATURE, "bogus-" + i);
+    }
+    // Tenants that already have a tag keep it.
+    metrics.failure(FailureCode.ATTESTATION_REPLAY_DETECTED, "t1");
+
+    assertEquals(50, count(registry, FailureCode.ATTESTATION_INVALID_SIGNATURE, VerificationMetrics.OTHER_TENANT));
+    assertEquals(1, count(registry, FailureCode.ATTESTATION_REPLAY_DETECTED, "t1"));
+    assertEquals(3, registry.find("attestation.verify.failures")
+        .tag("code", FailureCode.ATTESTATION_INVALID_SIGNATURE.name())
+        .counters().size());
+    assertNull(registry.find("attestation.verify.failures").tag("tenant", "bogus-0").counter());
+  }
+
+  @Test
+  void failure_registersCountersOnlyForCodesSeen() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    VerificationMetrics metrics = new VerificationMetrics(registry, 100);
+
+    metrics.failure(FailureCode.ATTESTATION_INVALID_SIGNATURE, "t1");
+    metrics.failure(FailureCode.ATTESTATION_INVALID_SIGNATURE, "t1");
+    metrics.failure(FailureCode.ATTESTATION_REPLAY_DETECTED, "t2");
+
+    assertEquals(2, registry.find("attestation.verify.failures").counters().size());
+    assertEquals(2, count(registry, FailureCode.ATTESTATION_INVALID_SIGNATURE, "t1"));
+    assertNull(registry.find("attestation.verify.failures").tag("tenant", "t1")
+        .tag("code", FailureCode.ATTESTATION_REPLAY_DETECTED.name()).counter());
+  }
+
+  @Test
+  void noop_readsNoClock_andRegistersNothing() {
+    VerificationMetrics metrics = VerificationMetrics.noop();
+
+    assertEquals(0, metrics.start());
+    metrics.stop(VerificationMetrics.Stage.CRYPTO_VERIFY, 0);
+    metrics.failure(FailureCode.ATTESTATION_INTERNAL_ERROR, "t1");
+  }
+
+  private static double count(SimpleMeterRegistry registry, FailureCode code, String tenant) {
+    return registry.get("attestation.verify.failures").tag("code", code.name()).tag("tenant", tenant).counter().count();
+  }
+}
@@ -0,0 +1,40 @@
+package com.agenttrust.attestation.verify;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.attestation.config.AttestationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class VerifierWarmUpTest {
+
+  @Test
+  void run_verifiesSyntheticRequests_forEveryAllowedAlgorithm() throws Exception {
+    AttestationProperties props = new AttestationProperties();
+    props.getProfile().setAllowedAlgorithms(List.of("ed25519", "ecdsa-p256-sha256", "rsa-pss-sha512", "hmac-sha256"));
+    props.getProfile().setRequiredCoveredComponents(List.of("@method", "@authority", "@path", "content-type", "@signature-params"));
+    VerifierWarmUp warmUp = new VerifierWarmUp(props, Clock.systemUTC(), new ObjectMapper());
+
+    // Throws if a synthetic request is rejected, or a replayed / tampered one accepted.
+    for (int i = 0; i < 64; i++) {
+      warmUp.run();
+    }
+    warmUp.finish();
+  }
+
+  @Test
+  void run_failsLoudly_whenProfileCannotBeSatisfied() {
+    AttestationProperties props = new AttestationProperties();
+    props.getProfile().setAllowedAlgorithms(List.of("ed25519"));
+    props.getProfile().setRequiredCoveredComponents(List.of("@query-param;name=\"id\""));
+    VerifierWarmUp warmUp = new VerifierWarmUp(props, Clock.systemUTC(), new ObjectMapper());
+
+    try {
+      assertThrows(RuntimeException.class, warmUp::run);
+    } finally {
+      warmUp.finish();
+    }
+  }
+}
@@ -3,10 +3,14 @@ package com.agenttrust.gateway.api;
 import com.agenttrust.gateway.attestation.client.AttestationClientDtos;
 import com.agenttrust.gateway.attestation.client.AttestationServiceClient;
 import com.agenttrust.gateway.attestation.client.AttestationServiceClient.AttestationServiceClientException;
+import com.agenttrust.gateway.ratelimit.RateLimiter;
 import com.agenttrust.platform.web.problem.ProblemMediaTypes;
+import com.agenttrust.platform.web.problem.ProblemTemplate;
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.util.Map;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,12 +23,39 @@ public class AgentVerifyController {
   private static final MediaType APPLICATION_PROBLEM_JSON =
       MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON);
 
+  private static final ProblemTemplate RATE_LIMITED = ProblemTemplate.of(
+      URI.create("https://agenttrust.dev/problems/rate-limited"),
+      "Too many requests",
+      HttpStatus.TOO_MANY_REQUESTS,
+      "RATE_LIMITED");
+
+  private static final ProblemTemplate SIGNATURE_HEADER_MALFORMED = ProblemTemplate.of(
+      URI.create("https://agenttrust.dev/problems/bad-request"),
+      "Bad request",
+      HttpStatus.BAD_REQUEST,
+      "SIGNATURE_HEADER_MALFORMED");
+
+  private static final ProblemTemplate SIGNATURE_HEADER_TOO_LARGE = ProblemTemplate.of(
+      URI.create("https://agenttrust.dev/problems/header-too-large"),
+      "Request header fields too large",
+      HttpStatus.REQUEST_HEADER_FIELDS_TOO_LARGE,
+      "SIGNATURE_HEADER_TOO_LARGE");
+
+  private static final String KEYID_PARAM = ";keyid=\"";
+
   private final HostTenantDeriver tenantDeriver;
   private final AttestationServiceClient attestationClient;
+  private final RateLimiter rateLimiter;
+  private final SignatureHeaderProperties headerLimits;
 
-  public AgentVerifyController(HostTenantDeriver tenantDeriver, AttestationServiceClient attestationClient) {
+  public AgentVerifyController(HostTenantDeriver tenantDeriver,
+                               AttestationServiceClient attestationClient,
+                               RateLimiter rateLimiter,
+                               SignatureHeaderProperties headerLimits) {
     this.tenantDeriver = tenantDeriver;
     this.attestationClient = attestationClient;
+    this.rateLimiter = rateLimiter;
+    this.headerLimits = headerLimits;
   }
 
   @PostMapping(
@@ -37,6 +68,25 @@ public class AgentVerifyController {
 
     String tenantId = tenantDeriver.deriveTenantId(request);
 
+    // Cheap length and shape checks first: garbage never costs a hop to attestation-service.
+    if (signatureInput.length() > headerLimits.getMaxSignatureInputLength()
+        || signature.length() > headerLimits.getMaxSignatureLength()) {
+      return problem(SIGNATURE_HEADER_TOO_LARGE, "Signature-Input or Signature exceeds the allowed length.",
+          request, tenantId);
+    }
+    if (!SignatureHeaderPrecheck.signatureInputWellFormed(signatureInput)) {
+      return problem(SIGNATURE_HEADER_MALFORMED, "Malformed Signature-Input header.", request, tenantId);
+    }
+    if (!SignatureHeaderPrecheck.signatureWellFormed(signature)) {
+      return problem(SIGNATURE_HEADER_MALFORMED, "Malformed Signature header.", request, tenantId);
+    }
+
+    // Before any downstream work, so rejected traffic never reaches attestation-service or Redis.
+    long waitNanos = rateLimiter.tryAcquire(tenantId, signingKeyId(signatureInput));
+    if (waitNanos > 0) {
+      return rateLimited(request, tenantId, waitNanos);
+    }
+
     String method = request.getMethod();
     String authority = headerRequired(request, "Host");
     String path = request.getRequestURI();
@@ -47,7 +97,12 @@ public class AgentVerifyController {
         path,
         tenantId,
         signatureInput,
-        signature
+        signature,
+        // The client's scheme for @target-uri: with server.forward-headers-strategy=native, Tomcat takes it
+        // from X-Forwarded-Proto of a trusted proxy, so TLS terminated in front of the gateway reads https.
+        request.getScheme(),
+        request.getQueryString(),
+        CoveredHeaders.collect(request, signatureInput)
     );
 
     try {
@@ -69,6 +124,52 @@ public class AgentVerifyController {
     }
   }
 
+  private static ResponseEntity<byte[]> problem(ProblemTemplate template,
+                                                String detail,
+                                                HttpServletRequest request,
+                                                String tenantId) {
+    return template.toResponse(
+        detail,
+        request.getRequestURI(),
+        attr(request, "agenttrust.traceId"),
+        attr(request, "agenttrust.requestId"),
+        tenantId);
+  }
+
+  private static ResponseEntity<byte[]> rateLimited(HttpServletRequest request, String tenantId, long waitNanos) {
+    // Retry-After is whole seconds (RFC 9110); round up so clients never retry early.
+    long retryAfterSeconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    return ResponseEntity
+        .status(RATE_LIMITED.status())
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+        .contentType(ProblemTemplate.PROBLEM_JSON)
+        .body(RATE_LIMITED.render(
+            "Rate limit exceeded; retry after " + retryAfterSeconds + "s.",
+            request.getRequestURI(),
+            attr(request, "agenttrust.traceId"),
+            attr(request, "agenttrust.requestId"),
+            tenantId));
+  }
+
+  /**
+   * keyid parameter of the first signature in Signature-Input, or null. Only used to pick a rate limit
+   * bucket; attestation-service does the real parsing and validation.
+   */
+  static String signingKeyId(String signatureInput) {
+    int start = signatureInput.indexOf(KEYID_PARAM);
+    if (start < 0) {
+      return null;
+    }
+    start += KEYID_PARAM.length();
+    int end = signatureInput.indexOf('"', start);
+    return (end <= start) ? null : signatureInput.substring(start, end);
+  }
+
+  private static String attr(HttpServletRequest request, String key) {
+    Object v = request.getAttribute(key);
+    return (v instanceof String s && !s.isBlank()) ? s : null;
+  }
+
   private static String headerRequired(HttpServletRequest request, String name) {
     String value = request.getHeader(name);
     if (value == null || value.isBlank()) {
@@ -0,0 +1,87 @@
+package com.agenttrust.gateway.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collects the header fields a Signature-Input covers, so only those are forwarded to attestation-service.
+ *
+ * The scan only looks at quoted component names inside the component lists; derived components (@...)
+ * and parameters are skipped. Values are forwarded raw (multiple field lines joined with ", ");
+ * attestation-service canonicalizes them.
+ */
+final class CoveredHeaders {
+
+  /** Matches the attestation-service VerifyRequest limit. */
+  static final int MAX_HEADERS = 32;
+
+  private CoveredHeaders() {}
+
+  static Map<String, String> collect(HttpServletRequest request, String signatureInput) {
+    Map<String, String> headers = null;
+    int depth = 0;
+    int i = 0;
+    int n = signatureInput.length();
+    while (i < n) {
+      char c = signatureInput.charAt(i);
+      if (c == '"') {
+        int close = closingQuote(signatureInput, i);
+        if (close < 0) {
+          break;
+        }
+        if (depth > 0 && close > i + 1 && signatureInput.charAt(i + 1) != '@') {
+          String name = signatureInput.substring(i + 1, close).toLowerCase(Locale.ROOT);
+          if (headers == null) {
+            headers = new LinkedHashMap<>();
+          }
+          if (!headers.containsKey(name) && headers.size() < MAX_HEADERS) {
+            String value = joinedValues(request, name);
+            if (value != null) {
+              headers.put(name, value);
+            }
+          }
+        }
+        i = close + 1;
+        continue;
+      }
+      if (c == '(') {
+        depth++;
+      } else if (c == ')' && depth > 0) {
+        depth--;
+      }
+      i++;
+    }
+    return (headers == null) ? Map.of() : headers;
+  }
+
+  private static String joinedValues(HttpServletRequest request, String name) {
+    Enumeration<String> values = request.getHeaders(name);
+    if (values == null || !values.hasMoreElements()) {
+      return null;
+    }
+    String first = values.nextElement();
+    if (!values.hasMoreElements()) {
+      return first;
+    }
+    StringBuilder sb = new StringBuilder(first);
+    while (values.hasMoreElements()) {
+      sb.append(", ").append(values.nextElement());
+    }
+    return sb.toString();
+  }
+
+  private static int closingQuote(String s, int open) {
+    for (int i = open + 1; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '"') {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,168 @@
+package com.agenttrust.gateway.api;
+
+/**
+ * Structural shape check for Signature-Input and Signature (RFC 9421 / RFC 8941 dictionaries), so
+ * garbage is rejected without a network hop and a full parse in attestation-service.
+ *
+ * Each check is one left-to-right pass over the characters with no allocation. It only proves the
+ * value could parse: labels are sf-keys, every Signature-Input member is an inner list with balanced
+ * quoting, and every Signature member is a non-empty base64 byte sequence. Semantics (required
+ * components and parameters, label matching, decoding) stay with attestation-service.
+ */
+final class SignatureHeaderPrecheck {
+
+  private SignatureHeaderPrecheck() {}
+
+  /**
+   * {@code label=("comp" "comp";param="x");created=1;keyid="k", label2=(...)...}
+   */
+  static boolean signatureInputWellFormed(String value) {
+    int n = value.length();
+    int i = skipOws(value, 0);
+    while (true) {
+      i = label(value, i);
+      if (i < 0 || i >= n || value.charAt(i) != '(') {
+        return false;
+      }
+      i++;
+      // Inner list: quoted component names, spaces and ;params, up to the closing parenthesis.
+      while (true) {
+        if (i >= n) {
+          return false;
+        }
+        char c = value.charAt(i);
+        if (c == ')') {
+          i++;
+          break;
+        }
+        if (c == '"') {
+          i = endOfString(value, i);
+          if (i < 0) {
+            return false;
+          }
+          continue;
+        }
+        if (c == '(' || !visible(c)) {
+          return false;
+        }
+        i++;
+      }
+      // Signature parameters, up to the next member.
+      while (i < n) {
+        char c = value.charAt(i);
+        if (c == ',') {
+          break;
+        }
+        if (c == '"') {
+          i = endOfString(value, i);
+          if (i < 0) {
+            return false;
+          }
+          continue;
+        }
+        if (c == '(' || c == ')' || !visible(c)) {
+          return false;
+        }
+        i++;
+      }
+      if (i >= n) {
+        return true;
+      }
+      i = skipOws(value, i + 1);
+      if (i >= n) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * {@code label=:base64:, label2=:base64:}
+   */
+  static boolean signatureWellFormed(String value) {
+    int n = value.length();
+    int i = skipOws(value, 0);
+    while (true) {
+      i = label(value, i);
+      if (i < 0 || i >= n || value.charAt(i) != ':') {
+        return false;
+      }
+      int start = ++i;
+      while (i < n && base64(value.charAt(i))) {
+        i++;
+      }
+      if (i == start || i >= n || value.charAt(i) != ':') {
+        return false;
+      }
+      i = skipOws(value, i + 1);
+      if (i >= n) {
+        return true;
+      }
+      if (value.charAt(i) != ',') {
+        return false;
+      }
+      i = skipOws(value, i + 1);
+      if (i >= n) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * sf-key followed by '='; returns the index after '=' or -1.
+   */
+  private static int label(String s, int i) {
+    int n = s.length();
+    if (i >= n || !keyStart(s.charAt(i))) {
+      return -1;
+    }
+    i++;
+    while (i < n && keyChar(s.charAt(i))) {
+      i++;
+    }
+    return (i < n && s.charAt(i) == '=') ? i + 1 : -1;
+  }
+
+  /**
+   * Index after the closing quote of the sf-string opening at {@code open}, or -1.
+   */
+  private static int endOfString(String s, int open) {
+    for (int i = open + 1; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '\\') {
+        i++;
+        if (i >= s.length() || (s.charAt(i) != '"' && s.charAt(i) != '\\')) {
+          return -1;
+        }
+      } else if (c == '"') {
+        return i + 1;
+      } else if (!visible(c)) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  private static int skipOws(String s, int i) {
+    while (i < s.length() && (s.charAt(i) == ' ' || s.charAt(i) == '\t')) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean visible(char c) {
+    return c >= 0x20 && c <= 0x7e;
+  }
+
+  private static boolean keyStart(char c) {
+    return (c >= 'a' && c <= 'z') || c == '*';
+  }
+
+  private static boolean keyChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.' || c == '*';
+  }
+
+  private static boolean base64(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+        || c == '+' || c == '/' || c == '=';
+  }
+}
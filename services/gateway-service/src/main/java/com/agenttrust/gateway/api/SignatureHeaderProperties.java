@@ -0,0 +1,38 @@
+package com.agenttrust.gateway.api;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for the RFC 9421 headers checked at the edge, before any downstream call.
+ *
+ * Defaults match what attestation-service accepts; lowering them only rejects earlier.
+ */
+@ConfigurationProperties(prefix = "agenttrust.gateway.signature-headers")
+public class SignatureHeaderProperties {
+
+  /**
+   * Maximum Signature-Input length in characters.
+   */
+  private int maxSignatureInputLength = 8192;
+
+  /**
+   * Maximum Signature length in characters.
+   */
+  private int maxSignatureLength = 8192;
+
+  public int getMaxSignatureInputLength() {
+    return maxSignatureInputLength;
+  }
+
+  public void setMaxSignatureInputLength(int maxSignatureInputLength) {
+    this.maxSignatureInputLength = maxSignatureInputLength;
+  }
+
+  public int getMaxSignatureLength() {
+    return maxSignatureLength;
+  }
+
+  public void setMaxSignatureLength(int maxSignatureLength) {
+    this.maxSignatureLength = maxSignatureLength;
+  }
+}
@@ -1,6 +1,7 @@
 package com.agenttrust.gateway.attestation.client;
 
 import jakarta.validation.constraints.NotBlank;
+import java.util.Map;
 
 public final class AttestationClientDtos {
 
@@ -12,8 +13,21 @@ public final class AttestationClientDtos {
       @NotBlank String path,
       @NotBlank String tenantId,
       @NotBlank String signatureInput,
-      @NotBlank String signature
-  ) {}
+      @NotBlank String signature,
+      String scheme,
+      String query,
+      Map<String, String> headers
+  ) {
+
+    public VerifyRequest(String method,
+                         String authority,
+                         String path,
+                         String tenantId,
+                         String signatureInput,
+                         String signature) {
+      this(method, authority, path, tenantId, signatureInput, signature, null, null, Map.of());
+    }
+  }
 
   public record VerifyResponse(
       boolean verified
@@ -1,15 +1,19 @@
 package com.agenttrust.gateway.attestation.client;
 
 import com.agenttrust.gateway.attestation.config.AttestationClientProperties;
+import com.agenttrust.platform.web.observability.RequestCorrelationFilter;
 import com.agenttrust.platform.web.problem.ProblemMediaTypes;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Optional;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClient;
 
+// RestClient (de)serializes the DTOs reflectively; AOT does not infer client-side types for native images.
+@RegisterReflectionForBinding({AttestationClientDtos.VerifyRequest.class, AttestationClientDtos.VerifyResponse.class})
 @Component
 public final class AttestationServiceClient {
 
@@ -50,9 +54,19 @@ public final class AttestationServiceClient {
     }
   }
 
+  /**
+   * The callee sees this hop as its parent: same trace, fresh parent-id. With tracing enabled the
+   * RestClient observation then replaces traceparent with its client span, which is a child of the
+   * gateway's server span in the same trace.
+   */
   private static void propagateTraceHeaders(HttpServletRequest incoming, HttpHeaders outgoing) {
     copyIfPresent(incoming, outgoing, "X-Correlation-Id");
-    copyIfPresent(incoming, outgoing, "traceparent");
+    Object current = incoming.getAttribute(RequestCorrelationFilter.ATTR_TRACEPARENT);
+    String traceparent = RequestCorrelationFilter.childTraceparent(
+        (current instanceof String s) ? s : incoming.getHeader("traceparent"));
+    if (traceparent != null) {
+      outgoing.set("traceparent", traceparent);
+    }
     copyIfPresent(incoming, outgoing, "tracestate");
   }
 
@@ -0,0 +1,29 @@
+package com.agenttrust.gateway.ratelimit;
+
+import com.agenttrust.platform.web.redis.RedisConnections;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Picks the limiter: none, per instance (default) or global through Redis.
+ *
+ * Redis auto-configuration is excluded in application.yml; the global limiter owns its own connection,
+ * so the gateway neither connects to nor health-checks Redis unless global mode is on.
+ */
+@Configuration
+public class RateLimitConfiguration {
+
+  @Bean
+  public RateLimiter rateLimiter(RateLimitProperties props) {
+    if (!props.isEnabled()) {
+      return RateLimiter.UNLIMITED;
+    }
+    if (!props.getGlobal().isEnabled()) {
+      return new TokenBucketRateLimiter(props);
+    }
+
+    RateLimitProperties.Global global = props.getGlobal();
+    return RedisRateLimiter.standalone(props,
+        RedisConnections.connectionFactory(global.getRedisUrl(), global.getTimeout(), null));
+  }
+}
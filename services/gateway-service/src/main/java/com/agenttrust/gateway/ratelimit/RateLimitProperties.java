@@ -0,0 +1,239 @@
+package com.agenttrust.gateway.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-tenant and per-signing-key request limits for /v1/agent/verify.
+ *
+ * Every request spends one permit from its tenant's bucket and one from its (tenant, keyId) bucket.
+ * Limits not set for a tenant fall back to the defaults.
+ */
+@ConfigurationProperties(prefix = "agenttrust.gateway.rate-limit")
+public class RateLimitProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * Default limit for all traffic of one tenant.
+   */
+  private Limit tenant = new Limit(500, 1000);
+
+  /**
+   * Default limit for one agent signing key (keyid of the Signature-Input) within a tenant.
+   */
+  private Limit key = new Limit(50, 100);
+
+  /**
+   * Overrides by tenantId. Use bracket notation for ids with special characters, e.g. "[__platform__]".
+   */
+  private Map<String, TenantLimits> tenants = new HashMap<>();
+
+  /**
+   * Signing-key buckets kept per tenant. Idle buckets are dropped first; beyond the cap new keys of
+   * that tenant are limited by the tenant bucket only (keyids are unverified here, so a shared bucket
+   * for them could be filled by junk keyids and starve real keys).
+   */
+  private int maxKeysPerTenant = 10_000;
+
+  private Global global = new Global();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Limit getTenant() {
+    return tenant;
+  }
+
+  public void setTenant(Limit tenant) {
+    this.tenant = tenant;
+  }
+
+  public Limit getKey() {
+    return key;
+  }
+
+  public void setKey(Limit key) {
+    this.key = key;
+  }
+
+  public Map<String, TenantLimits> getTenants() {
+    return tenants;
+  }
+
+  public void setTenants(Map<String, TenantLimits> tenants) {
+    this.tenants = (tenants == null) ? new HashMap<>() : new HashMap<>(tenants);
+  }
+
+  public int getMaxKeysPerTenant() {
+    return maxKeysPerTenant;
+  }
+
+  public void setMaxKeysPerTenant(int maxKeysPerTenant) {
+    this.maxKeysPerTenant = maxKeysPerTenant;
+  }
+
+  public Global getGlobal() {
+    return global;
+  }
+
+  public void setGlobal(Global global) {
+    this.global = global;
+  }
+
+  public static class Limit {
+
+    /**
+     * Sustained rate.
+     */
+    private double permitsPerSecond;
+
+    /**
+     * Requests allowed back to back after an idle period.
+     */
+    private int burst;
+
+    public Limit() {
+    }
+
+    public Limit(double permitsPerSecond, int burst) {
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+    }
+
+    public double getPermitsPerSecond() {
+      return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+      this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+      return burst;
+    }
+
+    public void setBurst(int burst) {
+      this.burst = burst;
+    }
+  }
+
+  public static class TenantLimits {
+
+    private Limit tenant;
+
+    private Limit key;
+
+    public Limit getTenant() {
+      return tenant;
+    }
+
+    public void setTenant(Limit tenant) {
+      this.tenant = tenant;
+    }
+
+    public Limit getKey() {
+      return key;
+    }
+
+    public void setKey(Limit key) {
+      this.key = key;
+    }
+  }
+
+  /**
+   * Cluster-wide limits shared by all gateway instances through Redis.
+   */
+  public static class Global {
+
+    private boolean enabled = false;
+
+    /**
+     * redis://[:password@]host:port[/database] or rediss:// for TLS.
+     */
+    private String redisUrl = "redis://localhost:6379";
+
+    private String keyPrefix = "ratelimit";
+
+    /**
+     * Permits leased from Redis per round trip; an instance serves them locally until used up.
+     * Larger batches mean fewer round trips but coarser sharing between instances.
+     */
+    private int batch = 10;
+
+    /**
+     * Unused leased permits are discarded after this, so a quiet instance cannot hoard them.
+     */
+    private Duration lease = Duration.ofSeconds(1);
+
+    private Duration timeout = Duration.ofMillis(50);
+
+    /**
+     * After a Redis error, limit locally for this long before trying Redis again.
+     */
+    private Duration retryAfterFailure = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public String getRedisUrl() {
+      return redisUrl;
+    }
+
+    public void setRedisUrl(String redisUrl) {
+      this.redisUrl = redisUrl;
+    }
+
+    public String getKeyPrefix() {
+      return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+      this.keyPrefix = keyPrefix;
+    }
+
+    public int getBatch() {
+      return batch;
+    }
+
+    public void setBatch(int batch) {
+      this.batch = batch;
+    }
+
+    public Duration getLease() {
+      return lease;
+    }
+
+    public void setLease(Duration lease) {
+      this.lease = lease;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+
+    public Duration getRetryAfterFailure() {
+      return retryAfterFailure;
+    }
+
+    public void setRetryAfterFailure(Duration retryAfterFailure) {
+      this.retryAfterFailure = retryAfterFailure;
+    }
+  }
+}
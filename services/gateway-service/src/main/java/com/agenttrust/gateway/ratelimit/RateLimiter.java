@@ -0,0 +1,20 @@
+package com.agenttrust.gateway.ratelimit;
+
+/**
+ * Admission check for agent requests, keyed by tenant and signing key.
+ */
+public interface RateLimiter {
+
+  /** Admits everything; used when rate limiting is disabled. */
+  RateLimiter UNLIMITED = (tenantId, keyId) -> 0L;
+
+  /**
+   * Spends one permit of the tenant and one of (tenantId, keyId).
+   *
+   * The result is a plain long so the admitted path allocates nothing.
+   *
+   * @param keyId signing key from the Signature-Input; null limits by tenant only
+   * @return 0 if admitted, otherwise nanoseconds until a permit is expected to be available (&gt; 0)
+   */
+  long tryAcquire(String tenantId, String keyId);
+}
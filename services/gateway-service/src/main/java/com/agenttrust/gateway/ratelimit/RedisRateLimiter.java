@@ -0,0 +1,255 @@
+package com.agenttrust.gateway.ratelimit;
+
+import com.agenttrust.gateway.ratelimit.TokenBucketRateLimiter.Rate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Cluster-wide limits: the same GCRA buckets as {@link TokenBucketRateLimiter}, kept in Redis and shared
+ * by all gateway instances.
+ *
+ * To keep Redis off the per-request path, an instance leases up to {@code batch} permits per bucket in
+ * one script call and hands them out locally; unused permits lapse after {@code lease}. A rejection is
+ * cached until its retry time, so a throttled client does not cost a round trip per request.
+ *
+ * Fails open to local limiting: on a Redis error the instance falls back to its own
+ * TokenBucketRateLimiter for {@code retryAfterFailure} before trying Redis again. A Redis outage
+ * therefore loosens limits to per-instance ones instead of rejecting all traffic.
+ */
+public final class RedisRateLimiter implements RateLimiter, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+  /**
+   * GCRA for up to ARGV[3] permits at once, on the Redis clock (microseconds).
+   * Returns {granted, retryAfterMicros}.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> ACQUIRE = new DefaultRedisScript<>(
+      "local t = redis.call('TIME') "
+          + "local now = tonumber(t[1]) * 1000000 + tonumber(t[2]) "
+          + "local interval = tonumber(ARGV[1]) "
+          + "local tolerance = tonumber(ARGV[2]) "
+          + "local tat = tonumber(redis.call('GET', KEYS[1]) or '0') "
+          + "if tat < now then tat = now end "
+          + "local granted = math.floor((now + tolerance - tat) / interval) "
+          + "if granted > tonumber(ARGV[3]) then granted = tonumber(ARGV[3]) end "
+          + "if granted < 1 then return {0, tat + interval - tolerance - now} end "
+          + "tat = tat + granted * interval "
+          + "redis.call('SET', KEYS[1], string.format('%.0f', tat), 'PX', math.ceil((tat - now) / 1000) + 1) "
+          + "return {granted, 0}",
+      List.class);
+
+  private final RateLimitProperties props;
+  private final StringRedisTemplate redisTemplate;
+  private final LettuceConnectionFactory ownedConnectionFactory;
+  private final TokenBucketRateLimiter fallback;
+  private final LongSupplier nanoClock;
+  private final long origin;
+  private final String keyPrefix;
+  private final int batch;
+  private final long leaseNanos;
+  private final long retryAfterFailureNanos;
+  private final ConcurrentHashMap<String, TenantLeases> tenants = new ConcurrentHashMap<>();
+
+  /** Lease, denial and retry times are nanos since {@code origin}, so zero means "in the past". */
+  private volatile long redisRetryAt;
+
+  public RedisRateLimiter(RateLimitProperties props, StringRedisTemplate redisTemplate) {
+    this(props, redisTemplate, null, System::nanoTime);
+  }
+
+  RedisRateLimiter(RateLimitProperties props,
+                   StringRedisTemplate redisTemplate,
+                   LettuceConnectionFactory ownedConnectionFactory,
+                   LongSupplier nanoClock) {
+    RateLimitProperties.Global global = props.getGlobal();
+    if (global.getBatch() <= 0) {
+      throw new IllegalArgumentException("agenttrust.gateway.rate-limit.global.batch must be positive");
+    }
+    this.props = props;
+    this.redisTemplate = redisTemplate;
+    this.ownedConnectionFactory = ownedConnectionFactory;
+    this.fallback = new TokenBucketRateLimiter(props, nanoClock);
+    this.nanoClock = nanoClock;
+    this.origin = nanoClock.getAsLong() - 1;
+    this.keyPrefix = global.getKeyPrefix();
+    this.batch = global.getBatch();
+    this.leaseNanos = global.getLease().toNanos();
+    this.retryAfterFailureNanos = global.getRetryAfterFailure().toNanos();
+  }
+
+  /**
+   * Limiter on its own connection, closed with the limiter.
+   */
+  static RedisRateLimiter standalone(RateLimitProperties props, LettuceConnectionFactory connectionFactory) {
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    return new RedisRateLimiter(props, new StringRedisTemplate(connectionFactory), connectionFactory, System::nanoTime);
+  }
+
+  @Override
+  public long tryAcquire(String tenantId, String keyId) {
+    long now = nanoClock.getAsLong() - origin;
+    if (now < redisRetryAt) {
+      return fallback.tryAcquire(tenantId, keyId);
+    }
+    try {
+      TenantLeases t = tenants.get(tenantId);
+      if (t == null) {
+        t = tenants.computeIfAbsent(tenantId, this::newTenant);
+      }
+      Lease key = (keyId == null) ? null : t.key(keyId, now);
+      if (key != null) {
+        long wait = acquire(key, now);
+        if (wait > 0) {
+          return wait;
+        }
+      }
+      long wait = acquire(t.tenant, now);
+      if (wait > 0 && key != null) {
+        key.permits.incrementAndGet();
+      }
+      return wait;
+    } catch (RuntimeException e) {
+      redisRetryAt = now + retryAfterFailureNanos;
+      log.warn("Global rate limit store unavailable; limiting per instance for {} ms: {}",
+          TimeUnit.NANOSECONDS.toMillis(retryAfterFailureNanos), e.toString());
+      return fallback.tryAcquire(tenantId, keyId);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (ownedConnectionFactory != null) {
+      ownedConnectionFactory.destroy();
+    }
+  }
+
+  private long acquire(Lease lease, long now) {
+    if (lease.tryTake(now)) {
+      return 0;
+    }
+    long denied = lease.deniedUntil;
+    if (now < denied) {
+      return denied - now;
+    }
+    synchronized (lease) {
+      if (lease.tryTake(now)) {
+        return 0;
+      }
+      @SuppressWarnings("unchecked")
+      List<Long> result = redisTemplate.execute(ACQUIRE, List.of(lease.redisKey),
+          lease.intervalMicros, lease.toleranceMicros, Integer.toString(batch));
+      if (result == null || result.size() != 2) {
+        throw new IllegalStateException("unexpected rate limit script result: " + result);
+      }
+      long granted = result.get(0);
+      if (granted > 0) {
+        lease.expiresAt = now + leaseNanos;
+        lease.permits.set((int) granted - 1);
+        return 0;
+      }
+      long wait = TimeUnit.MICROSECONDS.toNanos(Math.max(1L, result.get(1)));
+      lease.deniedUntil = now + wait;
+      return wait;
+    }
+  }
+
+  private TenantLeases newTenant(String tenantId) {
+    Rate tenantRate = Rate.tenant(props, tenantId);
+    Rate keyRate = Rate.key(props, tenantId);
+    String tenantKey = keyPrefix + ":" + tenantId;
+    return new TenantLeases(new Lease(tenantKey, tenantRate), tenantKey, keyRate, props.getMaxKeysPerTenant());
+  }
+
+  private static final class Lease {
+
+    final String redisKey;
+    final String intervalMicros;
+    final String toleranceMicros;
+    final AtomicInteger permits = new AtomicInteger();
+    volatile long expiresAt;
+    volatile long deniedUntil;
+
+    Lease(String redisKey, Rate rate) {
+      this.redisKey = redisKey;
+      this.intervalMicros = Long.toString(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(rate.interval())));
+      this.toleranceMicros = Long.toString(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(rate.tolerance())));
+    }
+
+    boolean tryTake(long now) {
+      if (now >= expiresAt) {
+        return false;
+      }
+      for (;;) {
+        int p = permits.get();
+        if (p <= 0) {
+          return false;
+        }
+        if (permits.compareAndSet(p, p - 1)) {
+          return true;
+        }
+      }
+    }
+
+    boolean idle(long now) {
+      return now >= expiresAt && now >= deniedUntil;
+    }
+  }
+
+  private static final class TenantLeases {
+
+    final Lease tenant;
+    final String tenantKey;
+    final Rate keyRate;
+    final int maxKeys;
+    final ConcurrentHashMap<String, Lease> keys = new ConcurrentHashMap<>();
+    volatile long nextPruneAt;
+
+    TenantLeases(Lease tenant, String tenantKey, Rate keyRate, int maxKeys) {
+      this.tenant = tenant;
+      this.tenantKey = tenantKey;
+      this.keyRate = keyRate;
+      this.maxKeys = maxKeys;
+    }
+
+    /**
+     * The key's lease, or null once the tenant has {@code maxKeys} busy keys: the keyid is unverified at
+     * this point, so a shared overflow bucket would let random keyids starve the tenant's real new keys.
+     */
+    Lease key(String keyId, long now) {
+      Lease l = keys.get(keyId);
+      if (l != null) {
+        return l;
+      }
+      if (keys.size() >= maxKeys && now >= nextPruneAt) {
+        // Same once-per-second idle sweep as the local limiter; state lives in Redis, only leases go.
+        synchronized (keys) {
+          if (now >= nextPruneAt) {
+            nextPruneAt = now + TimeUnit.SECONDS.toNanos(1);
+            for (Map.Entry<String, Lease> e : keys.entrySet()) {
+              if (e.getValue().idle(now)) {
+                keys.remove(e.getKey(), e.getValue());
+              }
+            }
+          }
+        }
+      }
+      if (keys.size() >= maxKeys) {
+        return null;
+      }
+      return keys.computeIfAbsent(keyId, k -> new Lease(tenantKey + ":" + k, keyRate));
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.agenttrust.gateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets, one per tenant and one per (tenant, keyId).
+ *
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA): admitting a request
+ * moves it forward by one emission interval, and a request is rejected while that would put it more
+ * than {@code burst} intervals ahead of now. This is equivalent to a token bucket refilled at the
+ * configured rate, but needs no refill bookkeeping and is updated with one CAS, without locks.
+ *
+ * Key buckets live in a per-tenant map, so the hot path is two map lookups and two CASes with no
+ * string building. The map is bounded by {@code maxKeysPerTenant}; see {@link RateLimitProperties}.
+ */
+public final class TokenBucketRateLimiter implements RateLimiter {
+
+  private final RateLimitProperties props;
+  private final LongSupplier nanoClock;
+  private final long origin;
+  private final ConcurrentHashMap<String, TenantBuckets> tenants = new ConcurrentHashMap<>();
+
+  public TokenBucketRateLimiter(RateLimitProperties props) {
+    this(props, System::nanoTime);
+  }
+
+  TokenBucketRateLimiter(RateLimitProperties props, LongSupplier nanoClock) {
+    // Fail at startup on a bad limit rather than on a tenant's first request.
+    Rate.of(props.getTenant());
+    Rate.of(props.getKey());
+    props.getTenants().keySet().forEach(tenantId -> {
+      Rate.tenant(props, tenantId);
+      Rate.key(props, tenantId);
+    });
+    this.props = props;
+    this.nanoClock = nanoClock;
+    // nanoTime may be negative; buckets start at 0 which must read as "idle".
+    this.origin = nanoClock.getAsLong() - 1;
+  }
+
+  @Override
+  public long tryAcquire(String tenantId, String keyId) {
+    TenantBuckets t = tenants.get(tenantId);
+    if (t == null) {
+      t = tenants.computeIfAbsent(tenantId, this::newTenant);
+    }
+    long now = nanoClock.getAsLong() - origin;
+
+    Bucket key = (keyId == null) ? null : t.key(keyId, now);
+    if (key != null) {
+      long wait = key.tryAcquire(now);
+      if (wait > 0) {
+        return wait;
+      }
+    }
+    long wait = t.tenant.tryAcquire(now);
+    if (wait > 0 && key != null) {
+      // Not admitted, so the key's permit was not used.
+      key.refund();
+    }
+    return wait;
+  }
+
+  int keyBuckets(String tenantId) {
+    TenantBuckets t = tenants.get(tenantId);
+    return (t == null) ? 0 : t.keys.size();
+  }
+
+  private TenantBuckets newTenant(String tenantId) {
+    return new TenantBuckets(Rate.tenant(props, tenantId), Rate.key(props, tenantId), props.getMaxKeysPerTenant());
+  }
+
+  /**
+   * Emission interval and burst tolerance in nanoseconds.
+   */
+  record Rate(long interval, long tolerance) {
+
+    static Rate tenant(RateLimitProperties props, String tenantId) {
+      RateLimitProperties.TenantLimits overrides = props.getTenants().get(tenantId);
+      return of((overrides != null && overrides.getTenant() != null) ? overrides.getTenant() : props.getTenant());
+    }
+
+    static Rate key(RateLimitProperties props, String tenantId) {
+      RateLimitProperties.TenantLimits overrides = props.getTenants().get(tenantId);
+      return of((overrides != null && overrides.getKey() != null) ? overrides.getKey() : props.getKey());
+    }
+
+    static Rate of(RateLimitProperties.Limit limit) {
+      if (limit.getPermitsPerSecond() <= 0 || limit.getBurst() <= 0) {
+        throw new IllegalArgumentException("rate limits need permitsPerSecond > 0 and burst > 0");
+      }
+      long interval = Math.max(1L, Math.round(1_000_000_000d / limit.getPermitsPerSecond()));
+      // Saturate instead of overflowing for absurdly slow rates with large bursts.
+      long tolerance = (interval > (Long.MAX_VALUE / 4) / limit.getBurst())
+          ? Long.MAX_VALUE / 4 : interval * limit.getBurst();
+      return new Rate(interval, tolerance);
+    }
+  }
+
+  static final class Bucket extends AtomicLong {
+
+    private final Rate rate;
+
+    Bucket(Rate rate) {
+      this.rate = rate;
+    }
+
+    long tryAcquire(long now) {
+      for (;;) {
+        long tat = get();
+        long next = Math.max(tat, now) + rate.interval();
+        long allowAt = next - rate.tolerance();
+        if (allowAt > now) {
+          return allowAt - now;
+        }
+        if (compareAndSet(tat, next)) {
+          return 0;
+        }
+      }
+    }
+
+    void refund() {
+      addAndGet(-rate.interval());
+    }
+
+    boolean idle(long now) {
+      return get() <= now;
+    }
+  }
+
+  private static final class TenantBuckets {
+
+    private static final long PRUNE_INTERVAL_NANOS = 1_000_000_000L;
+
+    final Bucket tenant;
+    final Rate keyRate;
+    final int maxKeys;
+    final ConcurrentHashMap<String, Bucket> keys = new ConcurrentHashMap<>();
+    final AtomicBoolean pruning = new AtomicBoolean();
+    volatile long nextPruneAt;
+
+    TenantBuckets(Rate tenantRate, Rate keyRate, int maxKeys) {
+      this.tenant = new Bucket(tenantRate);
+      this.keyRate = keyRate;
+      this.maxKeys = maxKeys;
+    }
+
+    /**
+     * The key's bucket, or null once the tenant has {@code maxKeys} busy keys: the keyid is unverified at
+     * this point, so a shared overflow bucket would let random keyids starve the tenant's real new keys.
+     */
+    Bucket key(String keyId, long now) {
+      Bucket b = keys.get(keyId);
+      if (b != null) {
+        return b;
+      }
+      if (keys.size() >= maxKeys) {
+        prune(now);
+        if (keys.size() >= maxKeys) {
+          return null;
+        }
+      }
+      return keys.computeIfAbsent(keyId, k -> new Bucket(keyRate));
+    }
+
+    /**
+     * An idle bucket is indistinguishable from a new one, so dropping it loses nothing. At most one
+     * scan per second, so a full map of busy keys does not turn every new key into a scan.
+     */
+    private void prune(long now) {
+      if (now >= nextPruneAt && pruning.compareAndSet(false, true)) {
+        try {
+          nextPruneAt = now + PRUNE_INTERVAL_NANOS;
+          for (Map.Entry<String, Bucket> e : keys.entrySet()) {
+            if (e.getValue().idle(now)) {
+              keys.remove(e.getKey(), e.getValue());
+            }
+          }
+        } finally {
+          pruning.set(false);
+        }
+      }
+    }
+  }
+}
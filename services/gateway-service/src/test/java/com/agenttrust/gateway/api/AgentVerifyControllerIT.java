@@ -3,6 +3,8 @@ package com.agenttrust.gateway.api;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +30,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 @AutoConfigureMockMvc
 class AgentVerifyControllerIT {
 
+  private static final String SIG_INPUT =
+      "sig1=(\"@authority\" \"@path\" \"@signature-params\");created=1;expires=2;keyid=\"k\";alg=\"ed25519\"";
+  private static final String BAD_SIGNATURE = "sig1=:YmFk:";
+
   private static final AtomicReference<String> LAST_BODY = new AtomicReference<>();
   private static final Map<String, String> LAST_HEADERS = new ConcurrentHashMap<>();
 
@@ -57,8 +63,8 @@ class AgentVerifyControllerIT {
 
     mockMvc.perform(post("/v1/agent/verify")
             .header("Host", "merchant.local")
-            .header("Signature-Input", "siginput")
-            .header("Signature", "good")
+            .header("Signature-Input", SIG_INPUT)
+            .header("Signature", "sig1=:Z29vZA==:")
             .header("X-Correlation-Id", "cid-123")
             .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
             .header("tracestate", "vendor=state"))
@@ -67,8 +73,9 @@ class AgentVerifyControllerIT {
         .andExpect(content().string(containsString("\"verified\":true")));
 
     assertThat(LAST_HEADERS.get("x-correlation-id"), equalTo("cid-123"));
-    assertThat(LAST_HEADERS.get("traceparent"),
-        equalTo("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+    // Same trace, but the attestation call gets its own parent-id.
+    assertThat(LAST_HEADERS.get("traceparent"), startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-"));
+    assertThat(LAST_HEADERS.get("traceparent"), not(containsString("00f067aa0ba902b7")));
     assertThat(LAST_HEADERS.get("tracestate"), equalTo("vendor=state"));
 
     String body = LAST_BODY.get();
@@ -85,8 +92,8 @@ class AgentVerifyControllerIT {
 
     mockMvc.perform(post("/v1/agent/verify")
             .header("Host", "merchant.local")
-            .header("Signature-Input", "siginput")
-            .header("Signature", "bad")
+            .header("Signature-Input", SIG_INPUT)
+            .header("Signature", BAD_SIGNATURE)
             .header("X-Correlation-Id", "cid-999"))
         .andExpect(status().isUnauthorized())
         .andExpect(content().contentType("application/problem+json"))
@@ -129,7 +136,7 @@ class AgentVerifyControllerIT {
         if (tp != null) LAST_HEADERS.put("traceparent", tp);
         if (ts != null) LAST_HEADERS.put("tracestate", ts);
 
-        boolean bad = body.contains("\"signature\":\"bad\"");
+        boolean bad = body.contains("\"signature\":\"" + BAD_SIGNATURE + "\"");
         if (bad) {
           String problem = """
               {"type":"https://agenttrust.dev/problems/attestation-failed","title":"Attestation verification failed","status":401,"detail":"invalid signature","instance":"/v1/attestations/verify","errorCode":"ATTESTATION_INVALID_SIGNATURE"}
@@ -0,0 +1,93 @@
+package com.agenttrust.gateway.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * The scheme forwarded for @target-uri is the client's: behind a TLS-terminating proxy on a trusted
+ * address Tomcat applies X-Forwarded-Proto (server.forward-headers-strategy=native). Needs a real
+ * server, since MockMvc bypasses Tomcat's valves.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "agenttrust.gateway.tenancy.host-to-tenant[127.0.0.1]=__platform__")
+class ForwardedSchemeIT {
+
+  private static final String SIG_INPUT =
+      "sig1=(\"@target-uri\" \"@signature-params\");created=1;expires=2;keyid=\"k\";alg=\"ed25519\"";
+
+  private static final AtomicReference<String> LAST_BODY = new AtomicReference<>();
+  private static HttpServer attestation;
+
+  @LocalServerPort
+  int port;
+
+  @DynamicPropertySource
+  static void overrideProps(DynamicPropertyRegistry registry) throws IOException {
+    attestation = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    attestation.createContext("/v1/attestations/verify", exchange -> {
+      try {
+        LAST_BODY.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        byte[] resp = "{\"verified\":true}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, resp.length);
+        exchange.getResponseBody().write(resp);
+      } finally {
+        exchange.close();
+      }
+    });
+    attestation.start();
+    registry.add("agenttrust.gateway.attestation.base-url",
+        () -> "http://localhost:" + attestation.getAddress().getPort());
+  }
+
+  @AfterAll
+  static void shutdown() {
+    if (attestation != null) {
+      attestation.stop(0);
+    }
+  }
+
+  @Test
+  void tlsTerminatedAtTrustedProxy_forwardsHttps() throws Exception {
+    assertThat(verify("https"), equalTo(200));
+    assertThat(LAST_BODY.get(), containsString("\"scheme\":\"https\""));
+  }
+
+  @Test
+  void withoutForwardedProto_forwardsConnectionScheme() throws Exception {
+    assertThat(verify(null), equalTo(200));
+    assertThat(LAST_BODY.get(), containsString("\"scheme\":\"http\""));
+  }
+
+  private int verify(String forwardedProto) throws Exception {
+    LAST_BODY.set(null);
+    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/v1/agent/verify"))
+        .header("Signature-Input", SIG_INPUT)
+        .header("Signature", "sig1=:Z29vZA==:")
+        .POST(HttpRequest.BodyPublishers.noBody());
+    if (forwardedProto != null) {
+      request.header("X-Forwarded-Proto", forwardedProto);
+    }
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.agenttrust.gateway.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SignatureHeaderPrecheckTest {
+
+  @Test
+  void signatureInput_acceptsRfc9421Shapes() {
+    assertTrue(SignatureHeaderPrecheck.signatureInputWellFormed(
+        "sig1=(\"@authority\" \"@path\" \"@signature-params\");created=1;expires=2;keyid=\"k\";alg=\"ed25519\""));
+    assertTrue(SignatureHeaderPrecheck.signatureInputWellFormed(
+        "sig1=(\"@method\" \"@query-param\";name=\"id\" \"content-digest\");keyid=\"a\\\"b\", "
+            + "sig-2=();created=1"));
+  }
+
+  @Test
+  void signatureInput_rejectsBrokenStructure() {
+    String[] bad = {
+        "",
+        "siginput",
+        "sig1=\"@authority\"",
+        "Sig1=(\"@path\")",
+        "sig1=(\"@path\"",
+        "sig1=(\"@path)",
+        "sig1=((\"@path\"))",
+        "sig1=(\"@path\");keyid=\"k",
+        "sig1=(\"@path\"),",
+        "sig1=(\"@path\");keyid=\"k\u0000\"",
+        "sig1=(\"@path\");nonce=\"\u00e9\"",
+        "sig1=(\"@path\");x=\"\\q\"",
+    };
+    for (String value : bad) {
+      assertFalse(SignatureHeaderPrecheck.signatureInputWellFormed(value), value);
+    }
+  }
+
+  @Test
+  void signature_acceptsByteSequences() {
+    assertTrue(SignatureHeaderPrecheck.signatureWellFormed("sig1=:ZmFrZQ==:"));
+    assertTrue(SignatureHeaderPrecheck.signatureWellFormed("sig1=:ZmFrZQ==:, sig2=:YQ+/:"));
+  }
+
+  @Test
+  void signature_rejectsBrokenStructure() {
+    String[] bad = {
+        "",
+        "good",
+        "sig1=ZmFrZQ==",
+        "sig1=::",
+        "sig1=:ZmFr ZQ==:",
+        "sig1=:ZmFrZQ==",
+        "sig1=:ZmFrZQ==:;alg=x",
+        "sig1=:ZmFrZQ==:,",
+        "=:ZmFrZQ==:",
+    };
+    for (String value : bad) {
+      assertFalse(SignatureHeaderPrecheck.signatureWellFormed(value), value);
+    }
+  }
+}
@@ -7,9 +7,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.agenttrust.gateway.api.AgentVerifyController;
+import com.agenttrust.gateway.api.SignatureHeaderProperties;
 import com.agenttrust.gateway.attestation.client.AttestationClientDtos;
 import com.agenttrust.gateway.attestation.client.AttestationServiceClient;
 import com.agenttrust.gateway.attestation.client.AttestationServiceClient.AttestationServiceClientException;
+import com.agenttrust.gateway.ratelimit.RateLimiter;
 import com.agenttrust.gateway.tenancy.HostTenantDeriver;
 import com.agenttrust.gateway.tenancy.TenancyProperties;
 import com.agenttrust.platform.web.problem.ProblemMediaTypes;
@@ -45,6 +47,10 @@ class GatewayAttestationDelegationTest {
   @MockBean
   AttestationServiceClient attestationClient;
 
+  // Unstubbed it returns 0, i.e. admits every request.
+  @MockBean
+  RateLimiter rateLimiter;
+
   @Autowired
   MockMvc mvc;
 
@@ -92,6 +98,40 @@ class GatewayAttestationDelegationTest {
     assertNotNull(forwardedIncoming.getHeader("traceparent"));
   }
 
+  @Test
+  void verify_forwardsOnlyCoveredHeaders_andQuery() throws Exception {
+    Mockito.when(attestationClient.verify(any(AttestationClientDtos.VerifyRequest.class), any(HttpServletRequest.class)))
+        .thenReturn(new AttestationClientDtos.VerifyResponse(true));
+
+    String sigInput =
+        "sig1=(\"@method\" \"@authority\" \"@path\" \"@query-param\";name=\"id\" \"content-digest\" \"@signature-params\")"
+            + ";created=1;expires=2;keyid=\"k\";alg=\"ed25519\";nonce=\"n\";tag=\"t\"";
+
+    mvc.perform(
+            post("/v1/agent/verify?id=42")
+                .header("Host", HOST)
+                .header("Signature-Input", sigInput)
+                .header("Signature", SIG)
+                .header("Content-Digest", "sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:")
+                .header("X-Not-Covered", "secret")
+                .accept(MediaType.APPLICATION_JSON)
+        )
+        .andExpect(status().isOk());
+
+    ArgumentCaptor<AttestationClientDtos.VerifyRequest> reqCaptor =
+        ArgumentCaptor.forClass(AttestationClientDtos.VerifyRequest.class);
+    verify(attestationClient).verify(reqCaptor.capture(), any(HttpServletRequest.class));
+
+    AttestationClientDtos.VerifyRequest verifyReq = reqCaptor.getValue();
+    assertAll(
+        () -> assertEquals("id=42", verifyReq.query()),
+        () -> assertEquals("http", verifyReq.scheme()),
+        () -> assertEquals(
+            Map.of("content-digest", "sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:"),
+            verifyReq.headers())
+    );
+  }
+
   @Test
   void verify_passesThroughProblemDetails_fromAttestationService() throws Exception {
     String problemBody =
@@ -123,6 +163,61 @@ class GatewayAttestationDelegationTest {
         .andExpect(jsonPath("$.errorCode").value("ATTESTATION_INVALID_SIGNATURE"));
   }
 
+  @Test
+  void verify_rateLimited_returns429ProblemWithRetryAfter_andSkipsAttestation() throws Exception {
+    Mockito.when(rateLimiter.tryAcquire(TENANT_ID, "k")).thenReturn(1_500_000_000L);
+
+    mvc.perform(
+            post("/v1/agent/verify")
+                .header("Host", HOST)
+                .header("Signature-Input", SIG_INPUT)
+                .header("Signature", SIG)
+                .accept(MediaType.APPLICATION_JSON, MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON))
+        )
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "2"))
+        .andExpect(content().contentTypeCompatibleWith(MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON)))
+        .andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"))
+        .andExpect(jsonPath("$.tenantId").value(TENANT_ID));
+
+    Mockito.verifyNoInteractions(attestationClient);
+  }
+
+  @Test
+  void verify_malformedSignatureHeaders_rejectedWithoutCallingAttestation() throws Exception {
+    mvc.perform(
+            post("/v1/agent/verify")
+                .header("Host", HOST)
+                .header("Signature-Input", "sig1=(\"@authority\"")
+                .header("Signature", SIG)
+                .accept(MediaType.APPLICATION_JSON, MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON))
+        )
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value("SIGNATURE_HEADER_MALFORMED"));
+
+    mvc.perform(
+            post("/v1/agent/verify")
+                .header("Host", HOST)
+                .header("Signature-Input", SIG_INPUT)
+                .header("Signature", "sig1=:not base64:")
+                .accept(MediaType.APPLICATION_JSON, MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON))
+        )
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value("SIGNATURE_HEADER_MALFORMED"));
+
+    mvc.perform(
+            post("/v1/agent/verify")
+                .header("Host", HOST)
+                .header("Signature-Input", SIG_INPUT + ";tag=\"" + "x".repeat(8192) + "\"")
+                .header("Signature", SIG)
+                .accept(MediaType.APPLICATION_JSON, MediaType.valueOf(ProblemMediaTypes.APPLICATION_PROBLEM_JSON))
+        )
+        .andExpect(status().isRequestHeaderFieldsTooLarge())
+        .andExpect(jsonPath("$.errorCode").value("SIGNATURE_HEADER_TOO_LARGE"));
+
+    Mockito.verifyNoInteractions(attestationClient, rateLimiter);
+  }
+
   @TestConfiguration
   static class TestBeans {
 
@@ -135,6 +230,11 @@ class GatewayAttestationDelegationTest {
       return p;
     }
 
+    @Bean
+    SignatureHeaderProperties signatureHeaderProperties() {
+      return new SignatureHeaderProperties();
+    }
+
     @Bean
     HostTenantDeriver hostTenantDeriver(TenancyProperties props) {
       return new HostTenantDeriver(props);
@@ -0,0 +1,75 @@
+package com.agenttrust.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Two limiters on one real Redis, as two gateway instances: leased batches never admit more than the
+ * shared burst between them, and the Lua script's retry time is what a throttled caller is told.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RedisRateLimiterIT {
+
+  private GenericContainer<?> redis;
+  private RedisRateLimiter first;
+  private RedisRateLimiter second;
+
+  @BeforeAll
+  void startRedis() {
+    redis = new GenericContainer<>("redis:7.4.1-alpine")
+        .withExposedPorts(6379)
+        .withStartupTimeout(Duration.ofSeconds(60));
+    redis.start();
+
+    RateLimitProperties props = new RateLimitProperties();
+    // One permit per 100s: nothing refills while the test runs.
+    props.setTenant(new RateLimitProperties.Limit(0.01, 7));
+    props.setKey(new RateLimitProperties.Limit(0.01, 100));
+    props.getGlobal().setBatch(3);
+    first = RedisRateLimiter.standalone(props, connectionFactory());
+    second = RedisRateLimiter.standalone(props, connectionFactory());
+  }
+
+  @AfterAll
+  void stopRedis() {
+    if (first != null) {
+      first.close();
+    }
+    if (second != null) {
+      second.close();
+    }
+    if (redis != null) {
+      redis.stop();
+    }
+  }
+
+  @Test
+  void instancesShareTenantBurst_throughLeasedBatches() {
+    int admitted = 0;
+    long wait = 0;
+    for (int i = 0; i < 20; i++) {
+      RedisRateLimiter instance = (i % 2 == 0) ? first : second;
+      long w = instance.tryAcquire("shared", "k" + (i % 3));
+      if (w == 0) {
+        admitted++;
+      } else {
+        wait = w;
+      }
+    }
+    assertEquals(7, admitted, "tenant burst spans both instances");
+    assertTrue(wait > Duration.ofSeconds(90).toNanos() && wait <= Duration.ofSeconds(100).toNanos(),
+        "retry time comes from the script: " + wait);
+  }
+
+  private LettuceConnectionFactory connectionFactory() {
+    return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+  }
+}
@@ -0,0 +1,129 @@
+package com.agenttrust.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisRateLimiterTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong nanos = new AtomicLong(-5 * SECOND);
+  private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+  /** Redis key of every script call, in order. */
+  private final List<String> calls = new ArrayList<>();
+
+  @Test
+  void tryAcquire_oneScriptCallLeasesBatch_andLeaseLapses() {
+    RedisRateLimiter limiter = limiter(props(1_000, 1_000, 1_000, 1_000), 3);
+    script(key -> List.of(3L, 0L));
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire("t", "k"));
+    }
+    assertEquals(List.of("ratelimit:t:k", "ratelimit:t"), calls, "batch of 3 served from one call per bucket");
+
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertEquals(4, calls.size(), "lease used up, refilled from Redis");
+
+    // Two permits are left, but unused permits lapse with the lease.
+    nanos.addAndGet(SECOND + 1);
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertEquals(6, calls.size());
+  }
+
+  @Test
+  void tryAcquire_exhausted_returnsRedisWait_andCachesDenial() {
+    RedisRateLimiter limiter = limiter(props(1_000, 1_000, 1, 1), 10);
+    script(key -> key.endsWith(":k") ? List.of(0L, 250_000L) : List.of(10L, 0L));
+
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(250), limiter.tryAcquire("t", "k"));
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(150), limiter.tryAcquire("t", "k"));
+    assertEquals(List.of("ratelimit:t:k"), calls, "denial answered locally until its retry time");
+
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+    assertTrue(limiter.tryAcquire("t", "k") > 0);
+    assertEquals(2, calls.size());
+  }
+
+  @Test
+  void tryAcquire_tenantRejects_keyPermitReturnedToLease() {
+    RedisRateLimiter limiter = limiter(props(1, 1, 1_000, 1_000), 2);
+    script(key -> key.endsWith(":k") ? List.of(2L, 0L) : List.of(0L, 500_000L));
+
+    assertTrue(limiter.tryAcquire("t", "k") > 0);
+    nanos.addAndGet(SECOND / 2);
+    script(key -> List.of(1L, 0L));
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertEquals(0, limiter.tryAcquire("t", "k"), "key lease still holds the refunded permit");
+    assertEquals(List.of("ratelimit:t:k", "ratelimit:t", "ratelimit:t", "ratelimit:t"), calls);
+  }
+
+  @Test
+  void tryAcquire_redisDown_limitsLocally_untilRetry() {
+    RedisRateLimiter limiter = limiter(props(1_000, 1_000, 1, 2), 10);
+    script(key -> {
+      throw new RedisConnectionFailureException("down");
+    });
+
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertTrue(limiter.tryAcquire("t", "k") > 0, "local key burst of 2 applies");
+    assertEquals(1, calls.size(), "no Redis call while backing off");
+
+    nanos.addAndGet(5 * SECOND);
+    script(key -> List.of(10L, 0L));
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertEquals(3, calls.size(), "Redis retried after retry-after-failure");
+  }
+
+  @Test
+  void tryAcquire_keyCapReached_newKeysLimitedByTenantOnly() {
+    RateLimitProperties props = props(1_000, 1_000, 1, 1);
+    props.setMaxKeysPerTenant(1);
+    RedisRateLimiter limiter = limiter(props, 10);
+    script(key -> List.of(1L, 0L));
+
+    assertEquals(0, limiter.tryAcquire("t", "junk"));
+    calls.clear();
+
+    // "junk" holds the only key slot; later keys do not share a per-key bucket with it or each other.
+    assertEquals(0, limiter.tryAcquire("t", "real"));
+    assertEquals(0, limiter.tryAcquire("t", "other"));
+    assertEquals(List.of("ratelimit:t", "ratelimit:t"), calls);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void script(Function<String, List<Long>> answer) {
+    doAnswer(inv -> {
+      String key = ((List<String>) inv.getArgument(1)).get(0);
+      calls.add(key);
+      return answer.apply(key);
+    }).when(redis).execute(any(RedisScript.class), anyList(), any(), any(), any());
+  }
+
+  private RedisRateLimiter limiter(RateLimitProperties props, int batch) {
+    props.getGlobal().setBatch(batch);
+    return new RedisRateLimiter(props, redis, null, nanos::get);
+  }
+
+  private static RateLimitProperties props(double tenantRate, int tenantBurst, double keyRate, int keyBurst) {
+    RateLimitProperties props = new RateLimitProperties();
+    props.setTenant(new RateLimitProperties.Limit(tenantRate, tenantBurst));
+    props.setKey(new RateLimitProperties.Limit(keyRate, keyBurst));
+    return props;
+  }
+}
@@ -0,0 +1,53 @@
+package com.agenttrust.gateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Admission check on the hot path: one tenant, 1024 signing keys, limits high enough that every call
+ * is admitted (the common case). Run with -t N to see CAS contention on the shared tenant bucket.
+ *
+ * Run from services/gateway-service:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       org.openjdk.jmh.Main TokenBucketRateLimiterBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class TokenBucketRateLimiterBenchmark {
+
+  private static final int KEYS = 1024;
+
+  private final TokenBucketRateLimiter limiter;
+  private final String[] keyIds = new String[KEYS];
+  private int next;
+
+  public TokenBucketRateLimiterBenchmark() {
+    RateLimitProperties props = new RateLimitProperties();
+    props.setTenant(new RateLimitProperties.Limit(1e9, Integer.MAX_VALUE));
+    props.setKey(new RateLimitProperties.Limit(1e9, Integer.MAX_VALUE));
+    limiter = new TokenBucketRateLimiter(props);
+    for (int i = 0; i < KEYS; i++) {
+      keyIds[i] = "agent-key-" + i;
+    }
+  }
+
+  @Benchmark
+  public long tryAcquire() {
+    return limiter.tryAcquire("__platform__", keyIds[next++ & (KEYS - 1)]);
+  }
+}
@@ -0,0 +1,131 @@
+package com.agenttrust.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong nanos = new AtomicLong(-5 * SECOND);
+
+  @Test
+  void tryAcquire_allowsBurst_thenRefillsAtRate() {
+    TokenBucketRateLimiter limiter = limiter(props(100, 200, 10, 3));
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire("t", "k"));
+    }
+    long wait = limiter.tryAcquire("t", "k");
+    assertEquals(SECOND / 10, wait, "next permit one interval (100ms) away");
+
+    nanos.addAndGet(wait);
+    assertEquals(0, limiter.tryAcquire("t", "k"));
+    assertTrue(limiter.tryAcquire("t", "k") > 0);
+
+    // Other keys of the tenant have their own bucket.
+    assertEquals(0, limiter.tryAcquire("t", "other"));
+  }
+
+  @Test
+  void tryAcquire_tenantLimitSpansKeys_andRejectionDoesNotSpendKeyPermit() {
+    TokenBucketRateLimiter limiter = limiter(props(1, 2, 10, 2));
+
+    assertEquals(0, limiter.tryAcquire("t", "a"));
+    assertEquals(0, limiter.tryAcquire("t", "b"));
+    assertTrue(limiter.tryAcquire("t", "c") > 0, "tenant burst of 2 used up");
+
+    nanos.addAndGet(SECOND);
+    // "c" was rejected by the tenant bucket, so its own burst of 2 is still intact.
+    assertEquals(0, limiter.tryAcquire("t", "c"));
+    nanos.addAndGet(SECOND);
+    assertEquals(0, limiter.tryAcquire("t", "c"));
+  }
+
+  @Test
+  void tryAcquire_usesTenantOverrides() {
+    RateLimitProperties props = props(1, 1, 1, 1);
+    RateLimitProperties.TenantLimits vip = new RateLimitProperties.TenantLimits();
+    vip.setKey(new RateLimitProperties.Limit(1, 5));
+    vip.setTenant(new RateLimitProperties.Limit(1, 5));
+    props.setTenants(Map.of("vip", vip));
+    TokenBucketRateLimiter limiter = limiter(props);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, limiter.tryAcquire("vip", "k"));
+    }
+    assertEquals(0, limiter.tryAcquire("regular", "k"));
+    assertTrue(limiter.tryAcquire("regular", "k") > 0);
+  }
+
+  @Test
+  void keyBuckets_boundedPerTenant_idleBucketsPrunedFirst() {
+    RateLimitProperties props = props(1_000_000, 1_000_000, 1, 1);
+    props.setMaxKeysPerTenant(4);
+    TokenBucketRateLimiter limiter = limiter(props);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(0, limiter.tryAcquire("t", "k" + i));
+    }
+    // All four are busy: new keys are limited by the tenant bucket only, so junk keyids filling the
+    // map cannot starve a real key through a shared per-key bucket.
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire("t", "new-" + i));
+    }
+    assertEquals(4, limiter.keyBuckets("t"));
+
+    nanos.addAndGet(2 * SECOND);
+    assertEquals(0, limiter.tryAcquire("t", "fresh"));
+    assertEquals(1, limiter.keyBuckets("t"));
+  }
+
+  @Test
+  void tryAcquire_concurrent_admitsExactlyBurst() throws Exception {
+    TokenBucketRateLimiter limiter = limiter(props(1_000, 1_000, 0.001, 100));
+    AtomicInteger admitted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < 100; i++) {
+          if (limiter.tryAcquire("t", "k") == 0) {
+            admitted.incrementAndGet();
+          }
+        }
+      });
+      threads[t].start();
+    }
+    start.countDown();
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(100, admitted.get());
+  }
+
+  @Test
+  void invalidLimit_rejectedAtConstruction() {
+    assertThrows(IllegalArgumentException.class, () -> limiter(props(0, 10, 1, 1)));
+  }
+
+  private TokenBucketRateLimiter limiter(RateLimitProperties props) {
+    return new TokenBucketRateLimiter(props, nanos::get);
+  }
+
+  private static RateLimitProperties props(double tenantRate, int tenantBurst, double keyRate, int keyBurst) {
+    RateLimitProperties props = new RateLimitProperties();
+    props.setTenant(new RateLimitProperties.Limit(tenantRate, tenantBurst));
+    props.setKey(new RateLimitProperties.Limit(keyRate, keyBurst));
+    return props;
+  }
+}
@@ -0,0 +1,86 @@
+package com.agenttrust.token.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes token lifecycle events into the transactional outbox.
+ *
+ * Every append joins the caller's transaction (MANDATORY), so an event exists if and only if
+ * the state change it describes committed. Publishing to Kafka is done by {@link TokenEventOutboxRelay}.
+ *
+ * Envelope: CloudEvents 1.0 structured JSON (docs/contracts/events.md), data fields in snake_case.
+ */
+@Component
+public class TokenEventOutbox {
+
+    public static final String TYPE_TOKEN_ISSUED = "com.agenttrust.token.issued.v1";
+    public static final String TYPE_TOKEN_USED = "com.agenttrust.token.used.v1";
+    public static final String TYPE_TOKEN_REVOKED = "com.agenttrust.token.revoked.v1";
+
+    private static final String SPEC_VERSION = "1.0";
+    private static final String DATA_CONTENT_TYPE = "application/json";
+
+    private final TokenEventOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final String source;
+
+    public TokenEventOutbox(
+            TokenEventOutboxRepository repository,
+            ObjectMapper objectMapper,
+            TokenEventsProperties properties
+    ) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.source = Objects.requireNonNull(properties, "properties").getSource();
+    }
+
+    /**
+     * @param data        event data (snake_case keys; insertion order is preserved in the payload)
+     * @param traceparent W3C traceparent of the request that caused the event, if any
+     *                    (CloudEvents distributed tracing extension)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(
+            String eventType,
+            String tenantId,
+            UUID tokenId,
+            Instant occurredAt,
+            Map<String, Object> data,
+            String traceparent
+    ) {
+        UUID eventId = UUID.randomUUID();
+
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("specversion", SPEC_VERSION);
+        envelope.put("id", eventId.toString());
+        envelope.put("source", source);
+        envelope.put("type", eventType);
+        envelope.put("subject", tokenId.toString());
+        envelope.put("time", occurredAt.toString());
+        envelope.put("datacontenttype", DATA_CONTENT_TYPE);
+        envelope.put("partitionkey", tenantId);
+        if (traceparent != null && !traceparent.isBlank()) {
+            envelope.put("traceparent", traceparent);
+        }
+        envelope.set("data", objectMapper.valueToTree(data));
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize token event " + eventType, e);
+        }
+
+        repository.save(new TokenEventOutboxEntry(eventId, eventType, tenantId, tokenId, occurredAt, payload));
+    }
+}
@@ -0,0 +1,106 @@
+package com.agenttrust.token.events;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One pending (or already relayed) token lifecycle event.
+ *
+ * The payload is the complete CloudEvents JSON envelope; it is written once and never modified.
+ */
+@Entity
+@Table(name = "token_event_outbox")
+public class TokenEventOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private UUID eventId;
+
+    @Column(name = "event_type", nullable = false, length = 128)
+    private String eventType;
+
+    @Column(name = "tenant_id", nullable = false, length = 128)
+    private String tenantId;
+
+    @Column(name = "token_id", nullable = false)
+    private UUID tokenId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    protected TokenEventOutboxEntry() {
+        // for JPA
+    }
+
+    public TokenEventOutboxEntry(
+            UUID eventId,
+            String eventType,
+            String tenantId,
+            UUID tokenId,
+            Instant occurredAt,
+            String payload
+    ) {
+        this.eventId = Objects.requireNonNull(eventId, "eventId");
+        this.eventType = requireNonBlank(eventType, "eventType");
+        this.tenantId = requireNonBlank(tenantId, "tenantId");
+        this.tokenId = Objects.requireNonNull(tokenId, "tokenId");
+        this.occurredAt = Objects.requireNonNull(occurredAt, "occurredAt");
+        this.payload = requireNonBlank(payload, "payload");
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    private static String requireNonBlank(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value;
+    }
+}
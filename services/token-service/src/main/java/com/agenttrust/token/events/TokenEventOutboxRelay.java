@@ -0,0 +1,159 @@
+package com.agenttrust.token.events;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships outbox rows to Kafka in batches.
+ *
+ * One relay round = one DB transaction:
+ * - take the cluster-wide relay advisory lock (skip the round if another instance holds it)
+ * - read the oldest unpublished rows (up to batchSize)
+ * - hand all of them to the producer at once so linger.ms / batch.size / compression apply
+ * - wait for every acknowledgement, then mark the rows published
+ *
+ * If any send fails or times out, the transaction rolls back and the whole batch is retried on the
+ * next poll. Delivery is therefore at-least-once; consumers dedupe on the CloudEvents id.
+ *
+ * Ordering: records are keyed by tenant_id, so all events of a tenant land on one partition in
+ * outbox id order. The producer runs idempotent (acks=all, max.in.flight <= 5), which keeps that
+ * order across broker retries.
+ */
+@Component
+@ConditionalOnProperty(prefix = "agenttrust.token.events.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TokenEventOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenEventOutboxRelay.class);
+
+    /**
+     * Advisory lock key shared by all token-service instances ("tokenobx" as ASCII).
+     */
+    static final long RELAY_LOCK_KEY = 0x746f6b656e6f6278L;
+
+    static final String HEADER_CONTENT_TYPE = "content-type";
+    static final String CLOUDEVENTS_STRUCTURED_JSON = "application/cloudevents+json; charset=UTF-8";
+
+    private final TokenEventOutboxRepository repository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final TokenEventsProperties properties;
+    private final Clock clock;
+
+    public TokenEventOutboxRelay(
+            TokenEventOutboxRepository repository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            TokenEventsProperties properties,
+            ObjectProvider<Clock> clockProvider
+    ) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate, "kafkaTemplate");
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager, "transactionManager"));
+        this.taskScheduler = Objects.requireNonNull(taskScheduler, "taskScheduler");
+        this.properties = Objects.requireNonNull(properties, "properties");
+        this.clock = Optional.ofNullable(clockProvider.getIfAvailable()).orElse(Clock.systemUTC());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        TokenEventsProperties.Relay relay = properties.getRelay();
+        taskScheduler.scheduleWithFixedDelay(this::relayPending, relay.getPollInterval());
+        taskScheduler.scheduleWithFixedDelay(this::purgePublished, Duration.ofMinutes(5));
+        log.info("Token event relay started topic={} batchSize={} pollInterval={}",
+                properties.getTopic(), relay.getBatchSize(), relay.getPollInterval());
+    }
+
+    /**
+     * Drains the outbox: keeps producing full batches (bounded by maxBatchesPerPoll) until a partial
+     * batch signals the backlog is gone.
+     */
+    public void relayPending() {
+        int batchSize = Math.max(1, properties.getRelay().getBatchSize());
+        int maxBatches = Math.max(1, properties.getRelay().getMaxBatchesPerPoll());
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                Integer published = transactionTemplate.execute(status -> publishNextBatch(batchSize));
+                if (published == null || published < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            // Rows stay unpublished and are retried on the next poll.
+            log.warn("Token event relay round failed: {}", ex.toString());
+        }
+    }
+
+    int publishNextBatch(int batchSize) {
+        if (!repository.tryAcquireRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<TokenEventOutboxEntry> batch = repository.findNextUnpublished(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        String topic = properties.getTopic();
+        List<CompletableFuture<SendResult<String, String>>> acks = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (TokenEventOutboxEntry entry : batch) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(topic, entry.getTenantId(), entry.getPayload());
+            record.headers().add(HEADER_CONTENT_TYPE, CLOUDEVENTS_STRUCTURED_JSON.getBytes(StandardCharsets.US_ASCII));
+            acks.add(kafkaTemplate.send(record));
+            ids.add(entry.getId());
+        }
+
+        awaitAcks(acks);
+
+        repository.markPublished(ids, Instant.now(clock));
+        return batch.size();
+    }
+
+    private void awaitAcks(List<CompletableFuture<SendResult<String, String>>> acks) {
+        long timeoutMs = properties.getRelay().getSendTimeout().toMillis();
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka acknowledgements", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge token event batch", e);
+        }
+    }
+
+    public void purgePublished() {
+        Instant cutoff = Instant.now(clock).minus(properties.getRelay().getRetention());
+        try {
+            Integer purged = transactionTemplate.execute(status -> repository.deletePublishedBefore(cutoff));
+            if (purged != null && purged > 0) {
+                log.info("Purged published token events count={}", purged);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Token event outbox purge failed: {}", ex.toString());
+        }
+    }
+}
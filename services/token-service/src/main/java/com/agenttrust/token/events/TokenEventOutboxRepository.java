@@ -0,0 +1,36 @@
+package com.agenttrust.token.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TokenEventOutboxRepository extends JpaRepository<TokenEventOutboxEntry, Long> {
+
+    /**
+     * Transaction-scoped advisory lock so only one relay (across all token-service instances)
+     * publishes at a time. A single active relay is what keeps per-tenant ordering intact.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAcquireRelayLock(@Param("lockKey") long lockKey);
+
+    @Query(
+            value = "SELECT * FROM token_event_outbox WHERE published_at IS NULL ORDER BY id LIMIT :limit",
+            nativeQuery = true
+    )
+    List<TokenEventOutboxEntry> findNextUnpublished(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE TokenEventOutboxEntry e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM TokenEventOutboxEntry e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+
+    long countByPublishedAtIsNull();
+}
@@ -0,0 +1,27 @@
+package com.agenttrust.token.events;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(TokenEventsProperties.class)
+public class TokenEventsConfiguration {
+
+    /**
+     * Declared only when the relay runs, so KafkaAdmin never contacts a broker in outbox-only mode.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "agenttrust.token.events.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    NewTopic tokenLifecycleTopic(TokenEventsProperties properties) {
+        return TopicBuilder.name(properties.getTopic())
+                .partitions(properties.getTopicPartitions())
+                .replicas(properties.getTopicReplicas())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.agenttrust.token.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Token lifecycle event publishing (transactional outbox -> Kafka).
+ *
+ * Producer-level batching knobs (linger.ms, batch.size, compression.type) live under
+ * spring.kafka.producer.* so they reach the Kafka client unchanged; this class only covers
+ * the outbox relay itself.
+ */
+@ConfigurationProperties(prefix = "agenttrust.token.events")
+public class TokenEventsProperties {
+
+    /**
+     * Kafka topic for token lifecycle CloudEvents.
+     */
+    private String topic = "agenttrust.token.lifecycle.v1";
+
+    /**
+     * Partitions used when the topic is created on startup (auto topic creation is disabled locally).
+     */
+    private int topicPartitions = 6;
+
+    /**
+     * Replication factor used when the topic is created on startup.
+     */
+    private short topicReplicas = 1;
+
+    /**
+     * CloudEvents "source" attribute.
+     */
+    private String source = "/agenttrust/token-service";
+
+    private final Relay relay = new Relay();
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public int getTopicPartitions() {
+        return topicPartitions;
+    }
+
+    public void setTopicPartitions(int topicPartitions) {
+        this.topicPartitions = topicPartitions;
+    }
+
+    public short getTopicReplicas() {
+        return topicReplicas;
+    }
+
+    public void setTopicReplicas(short topicReplicas) {
+        this.topicReplicas = topicReplicas;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Relay getRelay() {
+        return relay;
+    }
+
+    public static final class Relay {
+
+        /**
+         * When false, outbox rows are still written (same transaction as the state change) but nothing
+         * is shipped to Kafka. Useful for tests and for running without a broker.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between relay polls when the outbox has been drained.
+         */
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * Max outbox rows per Kafka produce round (one DB transaction).
+         */
+        private int batchSize = 500;
+
+        /**
+         * Max produce rounds per poll; bounds how long one poll holds the relay lock under backlog.
+         */
+        private int maxBatchesPerPoll = 20;
+
+        /**
+         * How long to wait for broker acknowledgements of a batch before rolling it back for retry.
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Published rows older than this are purged.
+         */
+        private Duration retention = Duration.ofDays(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerPoll() {
+            return maxBatchesPerPoll;
+        }
+
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+            this.maxBatchesPerPoll = maxBatchesPerPoll;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+}
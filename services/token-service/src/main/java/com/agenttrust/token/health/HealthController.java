@@ -1,5 +1,6 @@
 package com.agenttrust.token.health;
 
+import com.agenttrust.platform.web.warmup.WarmUp;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +14,11 @@ import java.util.Map;
 public class HealthController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final WarmUp warmUp;
 
-    public HealthController(JdbcTemplate jdbcTemplate) {
+    public HealthController(JdbcTemplate jdbcTemplate, WarmUp warmUp) {
         this.jdbcTemplate = jdbcTemplate;
+        this.warmUp = warmUp;
     }
 
     @GetMapping(path = "/healthz", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -26,18 +29,23 @@ public class HealthController {
 
     @GetMapping(path = "/readyz", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> readyz() {
-        // Readiness: service can reach its required dependencies (DB).
+        // Readiness: validation path warmed up (JIT) and required dependencies (DB) reachable.
+        WarmUp.Status warm = warmUp.status();
+        if (!warm.ready()) {
+            return ResponseEntity.status(503)
+                    .body(Map.of("status", "not_ready", "reason", "warming_up", "warmup", warm.details()));
+        }
         try {
             // Lightweight connectivity check; avoids ORM overhead.
             Integer one = jdbcTemplate.queryForObject("SELECT 1", Integer.class);
             if (one == null || one != 1) {
                 return ResponseEntity.status(503)
-                        .body(Map.of("status", "not_ready", "reason", "db_unexpected_response"));
+                        .body(Map.of("status", "not_ready", "reason", "db_unexpected_response", "warmup", warm.details()));
             }
-            return ResponseEntity.ok(Map.of("status", "ready"));
+            return ResponseEntity.ok(Map.of("status", "ready", "warmup", warm.details()));
         } catch (DataAccessException ex) {
             return ResponseEntity.status(503)
-                    .body(Map.of("status", "not_ready", "reason", "db_unreachable"));
+                    .body(Map.of("status", "not_ready", "reason", "db_unreachable", "warmup", warm.details()));
         }
     }
 }
@@ -4,6 +4,7 @@ import com.agenttrust.token.api.IssueTokenRequest;
 import com.agenttrust.token.api.IssueTokenResponse;
 import com.agenttrust.token.api.ValidateTokenRequest;
 import com.agenttrust.token.api.ValidateTokenResponse;
+import com.agenttrust.token.events.TokenEventOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -15,6 +16,8 @@ import java.security.SecureRandom;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,15 +32,18 @@ public class TokenService {
 
     private final ScopedTokenRepository tokenRepository;
     private final ScopedTokenUsageRepository usageRepository;
+    private final TokenEventOutbox eventOutbox;
     private final Clock clock;
 
     public TokenService(
             ScopedTokenRepository tokenRepository,
             ScopedTokenUsageRepository usageRepository,
+            TokenEventOutbox eventOutbox,
             ObjectProvider<Clock> clockProvider
     ) {
         this.tokenRepository = Objects.requireNonNull(tokenRepository, "tokenRepository");
         this.usageRepository = Objects.requireNonNull(usageRepository, "usageRepository");
+        this.eventOutbox = Objects.requireNonNull(eventOutbox, "eventOutbox");
         this.clock = Optional.ofNullable(clockProvider.getIfAvailable()).orElse(Clock.systemUTC());
     }
 
@@ -47,6 +53,7 @@ public class TokenService {
      * IMPORTANT:
      * - Returns the raw token only at issue time.
      * - Persists only tokenHash (SHA-256(rawToken) hex) and tokenId for safe audit/logging.
+     * - Appends a token.issued event to the outbox in the same transaction.
      *
      * Merchant identity in Sprint 4:
      * - merchantId constraint is enforced as equal to tenantId (Option A).
@@ -91,6 +98,7 @@ public class TokenService {
 
             try {
                 tokenRepository.save(entity);
+                appendIssuedEvent(entity);
                 // Never log rawToken.
                 log.info("Issued scoped token tokenId={} tenantId={}", tokenId, t);
                 return new IssueTokenResponse(tokenId, rawToken, expiresAt);
@@ -109,7 +117,8 @@ public class TokenService {
      * Behavior:
      * - Uses rawToken only to compute tokenHash and look up the token record.
      * - Enforces tenant scoping by lookup using (tenantId, tokenHash).
-     * - Records usage/audit when a token record exists (valid or invalid due to constraints).
+     * - Records usage/audit when a token record exists (valid or invalid due to constraints),
+     *   together with a token.used outbox event in the same transaction.
      *
      * Does NOT log raw token.
      */
@@ -136,45 +145,51 @@ public class TokenService {
         }
 
         ScopedToken token = tokenOpt.get();
+        String reasonCode = evaluate(token, t, req, now);
+        if (reasonCode != null) {
+            recordUsage(token, t, usedAt, "INVALID", reasonCode, correlationId, traceparent);
+            return ValidateTokenResponse.invalid(reasonCode);
+        }
+
+        recordUsage(token, t, usedAt, "VALID", null, correlationId, traceparent);
+        return ValidateTokenResponse.valid(token.getTokenId(), token.getExpiresAt());
+    }
 
+    /**
+     * Checks a looked-up token against the request constraints, in a fixed order.
+     *
+     * Pure: no repository access, no clock read, no events. Used by {@link #validate} and by the
+     * startup warm-up.
+     *
+     * @return null when the token may be used, otherwise the reason code of the first failed check
+     */
+    static String evaluate(ScopedToken token, String tenantId, ValidateTokenRequest req, Instant now) {
         // Option A invariant: merchant identity equals tenant identity.
-        if (!t.equals(token.getMerchantId())) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_MERCHANT_MISMATCH, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_MERCHANT_MISMATCH);
+        if (!tenantId.equals(token.getMerchantId())) {
+            return ReasonCodes.TOKEN_MERCHANT_MISMATCH;
         }
-
         if (token.isRevoked()) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_REVOKED, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_REVOKED);
+            return ReasonCodes.TOKEN_REVOKED;
         }
         if (token.isNotYetValidAt(now)) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_NOT_YET_VALID, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_NOT_YET_VALID);
+            return ReasonCodes.TOKEN_NOT_YET_VALID;
         }
         if (token.isExpiredAt(now)) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_EXPIRED, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_EXPIRED);
+            return ReasonCodes.TOKEN_EXPIRED;
         }
-
         if (!token.getAction().equals(req.action())) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_ACTION_MISMATCH, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_ACTION_MISMATCH);
+            return ReasonCodes.TOKEN_ACTION_MISMATCH;
         }
         if (!token.getCurrency().equals(req.currency())) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_CURRENCY_MISMATCH, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_CURRENCY_MISMATCH);
+            return ReasonCodes.TOKEN_CURRENCY_MISMATCH;
         }
         if (req.amount() == null || req.amount() < 0) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_AMOUNT_INVALID, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_AMOUNT_INVALID);
+            return ReasonCodes.TOKEN_AMOUNT_INVALID;
         }
         if (req.amount() > token.getMaxAmountMinor()) {
-            recordUsage(token, t, usedAt, "INVALID", ReasonCodes.TOKEN_AMOUNT_EXCEEDS_LIMIT, correlationId, traceparent);
-            return ValidateTokenResponse.invalid(ReasonCodes.TOKEN_AMOUNT_EXCEEDS_LIMIT);
+            return ReasonCodes.TOKEN_AMOUNT_EXCEEDS_LIMIT;
         }
-
-        recordUsage(token, t, usedAt, "VALID", null, correlationId, traceparent);
-        return ValidateTokenResponse.valid(token.getTokenId(), token.getExpiresAt());
+        return null;
     }
 
     @Transactional
@@ -190,8 +205,10 @@ public class TokenService {
         }
 
         if (!token.isRevoked()) {
-            token.revoke(Instant.now(clock), reasonCode);
+            Instant revokedAt = Instant.now(clock);
+            token.revoke(revokedAt, reasonCode);
             tokenRepository.save(token);
+            appendRevokedEvent(token, revokedAt);
             log.info("Revoked scoped token tokenId={} tenantId={}", id, t);
         }
     }
@@ -215,6 +232,40 @@ public class TokenService {
                 traceparent
         );
         usageRepository.save(usage);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("tenant_id", tenantId);
+        data.put("token_id", token.getTokenId().toString());
+        data.put("result", result);
+        data.put("reason_code", reasonCode);
+        data.put("used_at", usedAt.toString());
+        data.put("correlation_id", correlationId);
+        eventOutbox.append(TokenEventOutbox.TYPE_TOKEN_USED, tenantId, token.getTokenId(), usedAt, data, traceparent);
+    }
+
+    private void appendIssuedEvent(ScopedToken token) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("tenant_id", token.getTenantId());
+        data.put("token_id", token.getTokenId().toString());
+        data.put("action", token.getAction());
+        data.put("merchant_id", token.getMerchantId());
+        data.put("max_amount_minor", token.getMaxAmountMinor());
+        data.put("currency", token.getCurrency());
+        data.put("issued_at", token.getIssuedAt().toString());
+        data.put("not_before", token.getNotBefore() == null ? null : token.getNotBefore().toString());
+        data.put("expires_at", token.getExpiresAt().toString());
+        eventOutbox.append(TokenEventOutbox.TYPE_TOKEN_ISSUED, token.getTenantId(), token.getTokenId(),
+                token.getIssuedAt(), data, null);
+    }
+
+    private void appendRevokedEvent(ScopedToken token, Instant revokedAt) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("tenant_id", token.getTenantId());
+        data.put("token_id", token.getTokenId().toString());
+        data.put("revoked_at", revokedAt.toString());
+        data.put("reason_code", token.getRevocationReason());
+        eventOutbox.append(TokenEventOutbox.TYPE_TOKEN_REVOKED, token.getTenantId(), token.getTokenId(),
+                revokedAt, data, null);
     }
 
     private static String generateRawToken() {
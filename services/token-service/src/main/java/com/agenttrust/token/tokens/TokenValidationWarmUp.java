@@ -0,0 +1,89 @@
+package com.agenttrust.token.tokens;
+
+import com.agenttrust.platform.web.warmup.WarmUpTask;
+import com.agenttrust.token.api.ValidateTokenRequest;
+import com.agenttrust.token.api.ValidateTokenResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Warm-up for the validate hot path without touching the database: request binding and bean
+ * validation, token hashing, {@link TokenService#evaluate} against synthetic tokens in every state
+ * (valid, revoked, expired, not yet valid, constraint mismatches) and the response body.
+ *
+ * The lookup, usage row and outbox event of a real validation are left out on purpose: warm-up
+ * must not write audit records. Their JDBC/JPA paths warm up with the first real requests.
+ */
+@Component
+class TokenValidationWarmUp implements WarmUpTask {
+
+    private static final String TENANT_ID = "__warmup__";
+    private static final Instant NOW = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final List<ScopedToken> tokens;
+    private final List<ValidateTokenRequest> requests;
+    private long iteration;
+
+    TokenValidationWarmUp(ObjectMapper objectMapper, ObjectProvider<Validator> validator) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.validator = validator.getIfAvailable();
+
+        ScopedToken revoked = token(TENANT_ID, null, NOW.plusSeconds(300));
+        revoked.revoke(NOW.minusSeconds(1), "warm-up");
+        this.tokens = List.of(
+                token(TENANT_ID, null, NOW.plusSeconds(300)),
+                token(TENANT_ID, NOW.minusSeconds(60), NOW.plusSeconds(300)),
+                revoked,
+                token(TENANT_ID, null, NOW.minusSeconds(1)),
+                token(TENANT_ID, NOW.plusSeconds(60), NOW.plusSeconds(300)),
+                token("other-merchant", null, NOW.plusSeconds(300)));
+        this.requests = List.of(
+                new ValidateTokenRequest("PURCHASE", 1_000L, "USD", rawToken(0)),
+                new ValidateTokenRequest("PURCHASE", 20_000L, "USD", rawToken(1)),
+                new ValidateTokenRequest("PURCHASE", 1_000L, "EUR", rawToken(2)),
+                new ValidateTokenRequest("REFUND", 1_000L, "USD", rawToken(3)));
+    }
+
+    @Override
+    public String name() {
+        return "token-validate";
+    }
+
+    @Override
+    public void run() throws Exception {
+        long i = iteration++;
+        ValidateTokenRequest request = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(requests.get((int) (i % requests.size()))), ValidateTokenRequest.class);
+        if (validator != null) {
+            validator.validate(request);
+        }
+        TokenHasher.sha256Hex(request.rawToken());
+
+        ScopedToken token = tokens.get((int) ((i / requests.size()) % tokens.size()));
+        String reasonCode = TokenService.evaluate(token, TENANT_ID, request,
+                NOW.plus(Duration.ofMillis(i % 1000)));
+        ValidateTokenResponse response = (reasonCode == null)
+                ? ValidateTokenResponse.valid(token.getTokenId(), token.getExpiresAt())
+                : ValidateTokenResponse.invalid(reasonCode);
+        objectMapper.writeValueAsBytes(response);
+    }
+
+    private static ScopedToken token(String merchantId, Instant notBefore, Instant expiresAt) {
+        return new ScopedToken(UUID.randomUUID(), TENANT_ID, "0".repeat(64), "PURCHASE", merchantId,
+                10_000L, "USD", NOW.minusSeconds(600), notBefore, expiresAt);
+    }
+
+    private static String rawToken(int n) {
+        return "stkn_warmup" + n + "_" + UUID.randomUUID();
+    }
+}
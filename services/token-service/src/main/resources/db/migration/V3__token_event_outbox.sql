@@ -0,0 +1,31 @@
+-- Transactional outbox for token lifecycle events (issued / used / revoked).
+-- Notes:
+-- - Rows are written in the same transaction as the state change they describe.
+-- - payload holds the complete CloudEvents JSON envelope (docs/contracts/events.md), so the relay
+--   only ships bytes and never re-reads token state.
+-- - published_at is set by the relay once Kafka acknowledged the record; published rows are purged
+--   after a retention period.
+
+CREATE TABLE token_event_outbox (
+  id BIGSERIAL PRIMARY KEY,
+
+  -- CloudEvents "id"; consumers dedupe on it (relay delivery is at-least-once).
+  event_id UUID NOT NULL UNIQUE,
+
+  -- CloudEvents "type", e.g. com.agenttrust.token.issued.v1
+  event_type VARCHAR(128) NOT NULL,
+
+  -- Kafka partition key (events.md: default partition key = tenant_id).
+  tenant_id VARCHAR(128) NOT NULL,
+  token_id UUID NOT NULL,
+
+  occurred_at TIMESTAMPTZ NOT NULL,
+  payload TEXT NOT NULL,
+
+  published_at TIMESTAMPTZ NULL
+);
+
+-- Relay scan: oldest unpublished rows first. Causally ordered events for one token
+-- (issued -> used -> revoked) always receive increasing ids because each one commits before the next starts.
+CREATE INDEX idx_token_event_outbox_unpublished ON token_event_outbox (id) WHERE published_at IS NULL;
+CREATE INDEX idx_token_event_outbox_published_at ON token_event_outbox (published_at) WHERE published_at IS NOT NULL;
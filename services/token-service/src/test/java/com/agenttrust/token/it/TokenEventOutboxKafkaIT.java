@@ -0,0 +1,135 @@
+package com.agenttrust.token.it;
+
+import com.agenttrust.token.TokenServiceApplication;
+import com.agenttrust.token.api.IssueTokenRequest;
+import com.agenttrust.token.api.IssueTokenResponse;
+import com.agenttrust.token.api.ValidateTokenRequest;
+import com.agenttrust.token.events.TokenEventOutbox;
+import com.agenttrust.token.events.TokenEventOutboxRepository;
+import com.agenttrust.token.testsupport.PostgresTestContainerSupport;
+import com.agenttrust.token.tokens.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end outbox relay check against a real broker:
+ * - every committed lifecycle change reaches Kafka exactly in the CloudEvents envelope
+ * - records are keyed by tenant_id and each tenant's events arrive in outbox order
+ * - a few thousand events drain well within the relay's batching budget
+ */
+@SpringBootTest(classes = TokenServiceApplication.class)
+class TokenEventOutboxKafkaIT extends PostgresTestContainerSupport {
+
+    private static final String TOPIC = "agenttrust.token.lifecycle.it";
+    private static final List<String> TENANTS = List.of("tenant-a", "tenant-b", "tenant-c");
+    private static final int TOKENS_PER_TENANT = 300;
+
+    @SuppressWarnings("resource")
+    private static final KafkaContainer KAFKA = new KafkaContainer(DockerImageName.parse("apache/kafka:3.8.0"));
+
+    static {
+        KAFKA.start();
+    }
+
+    @DynamicPropertySource
+    static void registerKafkaProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", KAFKA::getBootstrapServers);
+        registry.add("agenttrust.token.events.topic", () -> TOPIC);
+        registry.add("agenttrust.token.events.topic-partitions", () -> "3");
+        registry.add("agenttrust.token.events.relay.enabled", () -> "true");
+        registry.add("agenttrust.token.events.relay.poll-interval", () -> "50ms");
+    }
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    TokenEventOutboxRepository outboxRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void lifecycleEvents_areRelayedInOrderPerTenant_withCloudEventsEnvelope() throws Exception {
+        Map<String, List<String>> expectedSubjectsByTenant = new HashMap<>();
+
+        for (int i = 0; i < TOKENS_PER_TENANT; i++) {
+            for (String tenant : TENANTS) {
+                IssueTokenResponse issued = tokenService.issue(tenant, new IssueTokenRequest(
+                        "PURCHASE", tenant, 10_000L, "USD", null, 3600L));
+                tokenService.validate(tenant, new ValidateTokenRequest(
+                        "PURCHASE", 500L, "USD", issued.rawToken()), "corr-" + i, null);
+                tokenService.revoke(tenant, issued.tokenId(), "TEST");
+
+                List<String> expected = expectedSubjectsByTenant.computeIfAbsent(tenant, k -> new ArrayList<>());
+                String tokenId = issued.tokenId().toString();
+                expected.add(TokenEventOutbox.TYPE_TOKEN_ISSUED + "|" + tokenId);
+                expected.add(TokenEventOutbox.TYPE_TOKEN_USED + "|" + tokenId);
+                expected.add(TokenEventOutbox.TYPE_TOKEN_REVOKED + "|" + tokenId);
+            }
+        }
+        int expectedTotal = TENANTS.size() * TOKENS_PER_TENANT * 3;
+
+        Map<String, List<String>> actualByTenant = new HashMap<>();
+        Set<String> eventIds = new HashSet<>();
+        int received = 0;
+
+        try (KafkaConsumer<String, String> consumer = newConsumer()) {
+            consumer.subscribe(List.of(TOPIC));
+            long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+            while (received < expectedTotal && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(250))) {
+                    JsonNode event = objectMapper.readTree(record.value());
+
+                    assertThat(event.path("specversion").asText()).isEqualTo("1.0");
+                    assertThat(event.path("source").asText()).isEqualTo("/agenttrust/token-service");
+                    assertThat(event.path("datacontenttype").asText()).isEqualTo("application/json");
+                    assertThat(event.path("time").asText()).isNotBlank();
+                    assertThat(event.path("data").path("tenant_id").asText()).isEqualTo(record.key());
+                    assertThat(eventIds.add(event.path("id").asText())).isTrue();
+
+                    actualByTenant.computeIfAbsent(record.key(), k -> new ArrayList<>())
+                            .add(event.path("type").asText() + "|" + event.path("subject").asText());
+                    received++;
+                }
+            }
+        }
+
+        assertThat(received).isEqualTo(expectedTotal);
+        assertThat(actualByTenant).isEqualTo(expectedSubjectsByTenant);
+        assertThat(outboxRepository.countByPublishedAtIsNull()).isZero();
+    }
+
+    private static KafkaConsumer<String, String> newConsumer() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "token-events-it-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        return new KafkaConsumer<>(props);
+    }
+}
@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Builds gateway-service, attestation-service and the load generator, starts both services locally
+# against a freshly generated key registry, runs the load test and exits with its status
+# (0 = within SLOs, 1 = SLO breached, 2 = setup error).
+#
+# Replay protection uses attestation-service's in-process backend as the stand-in for Redis, so no
+# Docker is needed; set ATTESTATION_REPLAY_BACKEND=redis (plus ATTESTATION_REDIS_HOST) to include Redis.
+#
+# Extra arguments go to the load generator, e.g.:
+#   tools/load-test/run-local.sh --rate=1000 --duration=120s --slo-p99=30ms --replay-ratio=0.1
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/../.." && pwd)"
+WORK="${LOAD_TEST_WORK:-$ROOT/tools/load-test/target/run}"
+TENANTS="${LOAD_TEST_TENANTS:-4}"
+KEYS_PER_TENANT="${LOAD_TEST_KEYS_PER_TENANT:-2}"
+GATEWAY_PORT="${LOAD_TEST_GATEWAY_PORT:-18080}"
+ATTESTATION_PORT="${LOAD_TEST_ATTESTATION_PORT:-18082}"
+REPLAY_BACKEND="${ATTESTATION_REPLAY_BACKEND:-local}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+cd "$ROOT"
+if [[ "${LOAD_TEST_SKIP_BUILD:-false}" != "true" ]]; then
+  mvn -q -DskipTests -pl services/gateway-service,services/attestation-service,tools/load-test -am install
+fi
+
+rm -rf "$WORK" && mkdir -p "$WORK"
+"$JAVA" -jar tools/load-test/target/load-test.jar generate --out="$WORK" \
+  --tenants="$TENANTS" --keys-per-tenant="$KEYS_PER_TENANT"
+
+pids=()
+cleanup() {
+  for pid in "${pids[@]}"; do
+    kill "$pid" 2>/dev/null || true
+  done
+  wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+redis_health=false
+[[ "$REPLAY_BACKEND" == "redis" ]] && redis_health=true
+"$JAVA" -jar services/attestation-service/target/attestation-service-*.jar \
+  --server.port="$ATTESTATION_PORT" \
+  --agenttrust.attestation.replay.backend="$REPLAY_BACKEND" \
+  --management.health.redis.enabled="$redis_health" \
+  --agenttrust.attestation.keys.source=file \
+  --agenttrust.attestation.keys.file.path="$WORK/key-registry.yaml" \
+  > "$WORK/attestation-service.log" 2>&1 &
+pids+=($!)
+
+# The gateway's own rate limits would turn a load test into a 429 test; measure verification instead.
+GATEWAY_RATE_LIMIT_ENABLED=false "$JAVA" -jar services/gateway-service/target/gateway-service-*.jar \
+  --server.port="$GATEWAY_PORT" \
+  --agenttrust.gateway.attestation.base-url="http://localhost:$ATTESTATION_PORT" \
+  --spring.config.additional-location="file:$WORK/gateway-tenants.yaml" \
+  > "$WORK/gateway-service.log" 2>&1 &
+pids+=($!)
+
+wait_ready() {
+  local name="$1" url="$2"
+  for _ in $(seq 1 120); do
+    if curl -fs "$url" > /dev/null 2>&1; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "$name did not become ready; see $WORK/$name.log" >&2
+  exit 2
+}
+wait_ready attestation-service "http://localhost:$ATTESTATION_PORT/readyz"
+wait_ready gateway-service "http://localhost:$GATEWAY_PORT/readyz"
+
+set +e
+"$JAVA" -jar tools/load-test/target/load-test.jar run \
+  --keys="$WORK/keys.json" \
+  --target="http://localhost:$GATEWAY_PORT" \
+  --hgrm-out="$WORK/hgrm" \
+  "$@"
+status=$?
+set -e
+exit "$status"
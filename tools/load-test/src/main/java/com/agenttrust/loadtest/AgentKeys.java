@@ -0,0 +1,124 @@
+package com.agenttrust.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ed25519 signing keys for synthetic tenants, and the service configuration that trusts them.
+ *
+ * {@link #generate} writes three files:
+ * - keys.json: private keys for the load generator (test-only material, never reuse elsewhere)
+ * - key-registry.yaml: the public keys in attestation-service's registry file format
+ *   (agenttrust.attestation.keys.source=file)
+ * - gateway-tenants.yaml: host-to-tenant mappings for gateway-service
+ *   (spring.config.additional-location)
+ */
+final class AgentKeys {
+
+  static final String KEYS_FILE = "keys.json";
+  static final String REGISTRY_FILE = "key-registry.yaml";
+  static final String GATEWAY_TENANTS_FILE = "gateway-tenants.yaml";
+
+  private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final ObjectMapper YAML = new YAMLMapper();
+
+  /**
+   * @param host Host header (and signed @authority) that gateway-service maps to the tenant
+   */
+  record Tenant(String tenantId, String host, List<SigningKey> keys) {
+  }
+
+  record SigningKey(String keyId, String publicKeyBase64, String privateKeyBase64) {
+
+    PrivateKey privateKey() {
+      try {
+        return KeyFactory.getInstance("Ed25519")
+            .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKeyBase64)));
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("invalid private key for " + keyId, e);
+      }
+    }
+  }
+
+  record KeySet(List<Tenant> tenants) {
+  }
+
+  private AgentKeys() {
+  }
+
+  static KeySet generate(int tenants, int keysPerTenant) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("Ed25519");
+      List<Tenant> result = new ArrayList<>(tenants);
+      for (int t = 0; t < tenants; t++) {
+        String tenantId = "load-tenant-" + t;
+        List<SigningKey> keys = new ArrayList<>(keysPerTenant);
+        for (int k = 0; k < keysPerTenant; k++) {
+          KeyPair pair = generator.generateKeyPair();
+          keys.add(new SigningKey(tenantId + "-key-" + k,
+              Base64.getEncoder().encodeToString(rawPublicKey(pair)),
+              Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded())));
+        }
+        result.add(new Tenant(tenantId, "tenant-" + t + ".load.local", List.copyOf(keys)));
+      }
+      return new KeySet(List.copyOf(result));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Ed25519 unavailable", e);
+    }
+  }
+
+  static void write(KeySet keySet, Path dir) throws IOException {
+    Files.createDirectories(dir);
+    JSON.writeValue(dir.resolve(KEYS_FILE).toFile(), keySet);
+
+    List<Map<String, String>> entries = new ArrayList<>();
+    Map<String, String> hostToTenant = new LinkedHashMap<>();
+    for (Tenant tenant : keySet.tenants()) {
+      hostToTenant.put("[" + tenant.host() + "]", tenant.tenantId());
+      for (SigningKey key : tenant.keys()) {
+        Map<String, String> entry = new LinkedHashMap<>();
+        entry.put("tenantId", tenant.tenantId());
+        entry.put("keyId", key.keyId());
+        entry.put("status", "ACTIVE");
+        entry.put("publicKeyBase64", key.publicKeyBase64());
+        entries.add(entry);
+      }
+    }
+    YAML.writeValue(dir.resolve(REGISTRY_FILE).toFile(), Map.of("entries", entries));
+    YAML.writeValue(dir.resolve(GATEWAY_TENANTS_FILE).toFile(),
+        Map.of("agenttrust", Map.of("gateway", Map.of("tenancy", Map.of("host-to-tenant", hostToTenant)))));
+  }
+
+  static KeySet read(Path keysFile) throws IOException {
+    KeySet keySet = JSON.readValue(keysFile.toFile(), KeySet.class);
+    if (keySet.tenants() == null || keySet.tenants().isEmpty()) {
+      throw new IOException("no tenants in " + keysFile);
+    }
+    return keySet;
+  }
+
+  /**
+   * The registry stores raw 32-byte Ed25519 keys; the X.509 encoding ends with them.
+   */
+  private static byte[] rawPublicKey(KeyPair pair) {
+    byte[] spki = pair.getPublic().getEncoded();
+    byte[] raw = new byte[32];
+    System.arraycopy(spki, spki.length - 32, raw, 0, 32);
+    return raw;
+  }
+}
@@ -0,0 +1,139 @@
+package com.agenttrust.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms (microseconds, per request kind) and outcome counts of the measured part of a
+ * run, and the SLO verdict over them.
+ *
+ * Latency is taken from the request's scheduled send time, not the actual one, so a stalled server
+ * shows up in the percentiles instead of silently lowering the send rate (coordinated omission).
+ */
+final class LoadReport {
+
+  private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+  private final Map<RequestKind, ConcurrentHistogram> latency = new EnumMap<>(RequestKind.class);
+  private final Map<RequestKind, LongAdder> unexpected = new EnumMap<>(RequestKind.class);
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  LoadReport() {
+    for (RequestKind kind : RequestKind.values()) {
+      latency.put(kind, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+      unexpected.put(kind, new LongAdder());
+    }
+  }
+
+  /**
+   * @param outcome HTTP status, or the transport error's class name
+   */
+  void record(RequestKind kind, long latencyNanos, String outcome, boolean expected) {
+    latency.get(kind).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1_000)));
+    outcomes.computeIfAbsent(kind.name().toLowerCase(Locale.ROOT) + " " + outcome, k -> new LongAdder()).increment();
+    if (!expected) {
+      unexpected.get(kind).increment();
+    }
+  }
+
+  Histogram total() {
+    Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+    latency.values().forEach(total::add);
+    return total;
+  }
+
+  long unexpectedCount() {
+    return unexpected.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  /**
+   * @return one line per violated SLO; empty when the run passes
+   */
+  List<String> breaches(LoadTestOptions options) {
+    List<String> breaches = new ArrayList<>();
+    Histogram total = total();
+    long count = total.getTotalCount();
+    if (count == 0) {
+      breaches.add("no requests completed in the measured window");
+      return breaches;
+    }
+    long p99 = total.getValueAtPercentile(99.0);
+    if (p99 > micros(options.sloP99)) {
+      breaches.add(String.format(Locale.ROOT, "p99 %.2f ms > SLO %d ms", p99 / 1000.0, options.sloP99.toMillis()));
+    }
+    if (options.sloP999 != null) {
+      long p999 = total.getValueAtPercentile(99.9);
+      if (p999 > micros(options.sloP999)) {
+        breaches.add(String.format(Locale.ROOT, "p99.9 %.2f ms > SLO %d ms", p999 / 1000.0,
+            options.sloP999.toMillis()));
+      }
+    }
+    double unexpectedRatio = (double) unexpectedCount() / count;
+    if (unexpectedRatio > options.maxUnexpectedRatio) {
+      breaches.add(String.format(Locale.ROOT, "unexpected responses %.4f > allowed %.4f", unexpectedRatio,
+          options.maxUnexpectedRatio));
+    }
+    return breaches;
+  }
+
+  void print(PrintStream out, Duration measured) {
+    Histogram total = total();
+    double seconds = measured.toNanos() / 1e9;
+    out.printf(Locale.ROOT, "%nrequests: %d in %.1f s, throughput %.1f req/s, unexpected %d%n",
+        total.getTotalCount(), seconds, total.getTotalCount() / seconds, unexpectedCount());
+    out.printf(Locale.ROOT, "%-18s %9s %10s %9s %9s %9s %9s %9s%n",
+        "latency (ms)", "count", "unexpected", "p50", "p90", "p99", "p99.9", "max");
+    for (RequestKind kind : RequestKind.values()) {
+      row(out, kind.name().toLowerCase(Locale.ROOT), latency.get(kind), unexpected.get(kind).sum());
+    }
+    row(out, "all", total, unexpectedCount());
+    out.println();
+    outcomes.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(e -> out.printf(Locale.ROOT, "  %-40s %d%n", e.getKey(), e.getValue().sum()));
+  }
+
+  /**
+   * Writes {@code <kind>.hgrm} percentile distributions (milliseconds) for plotting and comparing runs.
+   */
+  void writeHgrm(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    for (RequestKind kind : RequestKind.values()) {
+      writeHgrm(dir.resolve(kind.name().toLowerCase(Locale.ROOT) + ".hgrm"), latency.get(kind));
+    }
+    writeHgrm(dir.resolve("all.hgrm"), total());
+  }
+
+  private static void writeHgrm(Path file, Histogram histogram) throws IOException {
+    try (PrintStream ps = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+      histogram.outputPercentileDistribution(ps, 1000.0);
+    }
+  }
+
+  private static void row(PrintStream out, String name, Histogram h, long unexpected) {
+    out.printf(Locale.ROOT, "%-18s %9d %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+        name, h.getTotalCount(), unexpected,
+        ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+        ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+  }
+
+  private static double ms(long micros) {
+    return micros / 1000.0;
+  }
+
+  private static long micros(Duration d) {
+    return d.toNanos() / 1_000;
+  }
+}
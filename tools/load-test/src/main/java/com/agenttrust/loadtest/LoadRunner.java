@@ -0,0 +1,150 @@
+package com.agenttrust.loadtest;
+
+import com.agenttrust.loadtest.SignedRequestFactory.SignedRequest;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives POST /v1/agent/verify for warm-up plus duration and fills a {@link LoadReport} with the
+ * measured part.
+ *
+ * With {@code rate > 0} requests are sent on a fixed schedule (open model, like real agent traffic)
+ * with at most {@code concurrency} in flight; otherwise {@code concurrency} workers send back to back.
+ */
+final class LoadRunner {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+  private static final int REPLAY_POOL = 1024;
+
+  private final LoadTestOptions options;
+  private final SignedRequestFactory requests;
+  private final HttpClient client;
+  private final URI verifyUri;
+  private final LoadReport report = new LoadReport();
+  /** Recently accepted requests, resent as replays. */
+  private final AtomicReferenceArray<SignedRequest> accepted = new AtomicReferenceArray<>(REPLAY_POOL);
+  private final AtomicLong acceptedCount = new AtomicLong();
+
+  private long measureFromNanos;
+
+  LoadRunner(LoadTestOptions options, SignedRequestFactory requests, HttpClient client) {
+    this.options = options;
+    this.requests = requests;
+    this.client = client;
+    this.verifyUri = options.target.resolve(SignedRequestFactory.PATH);
+  }
+
+  LoadReport run(PrintStream log) throws InterruptedException {
+    long start = System.nanoTime();
+    measureFromNanos = start + options.warmup.toNanos();
+    long endNanos = measureFromNanos + options.duration.toNanos();
+    log.printf("warm-up %ds, measuring %ds against %s (%s)%n", options.warmup.toSeconds(),
+        options.duration.toSeconds(), verifyUri,
+        options.rate > 0 ? options.rate + " req/s, max " + options.concurrency + " in flight"
+            : options.concurrency + " closed-loop workers");
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      if (options.rate > 0) {
+        openLoop(executor, start, endNanos);
+      } else {
+        for (int i = 0; i < options.concurrency; i++) {
+          executor.execute(() -> {
+            while (System.nanoTime() < endNanos) {
+              send(System.nanoTime());
+            }
+          });
+        }
+      }
+      executor.shutdown();
+      executor.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+    }
+    return report;
+  }
+
+  private void openLoop(ExecutorService executor, long start, long endNanos) throws InterruptedException {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+    Semaphore inFlight = new Semaphore(options.concurrency);
+    for (long i = 0; ; i++) {
+      long scheduled = start + i * intervalNanos;
+      if (scheduled >= endNanos) {
+        return;
+      }
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      // Blocking here delays later sends; their latency still counts from the schedule.
+      inFlight.acquire();
+      executor.execute(() -> {
+        try {
+          send(scheduled);
+        } finally {
+          inFlight.release();
+        }
+      });
+    }
+  }
+
+  private void send(long scheduledNanos) {
+    SignedRequest request = nextRequest();
+    HttpRequest http = HttpRequest.newBuilder(verifyUri)
+        .timeout(REQUEST_TIMEOUT)
+        .header("Host", request.host())
+        .header("Signature-Input", request.signatureInput())
+        .header("Signature", request.signature())
+        .header("Accept", "application/json, application/problem+json")
+        .POST(HttpRequest.BodyPublishers.noBody())
+        .build();
+
+    String outcome;
+    boolean expected;
+    try {
+      HttpResponse<String> response = client.send(http, HttpResponse.BodyHandlers.ofString());
+      outcome = Integer.toString(response.statusCode());
+      expected = request.kind().matches(response.statusCode(), response.body());
+      if (expected && request.kind() == RequestKind.VALID) {
+        accepted.set((int) (acceptedCount.getAndIncrement() % REPLAY_POOL), request);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception e) {
+      outcome = e.getClass().getSimpleName();
+      expected = false;
+    }
+
+    if (scheduledNanos >= measureFromNanos) {
+      report.record(request.kind(), System.nanoTime() - scheduledNanos, outcome, expected);
+    }
+  }
+
+  private SignedRequest nextRequest() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double r = random.nextDouble();
+    if (r < options.replayRatio) {
+      long n = acceptedCount.get();
+      if (n > 0) {
+        SignedRequest original = accepted.get(random.nextInt((int) Math.min(n, REPLAY_POOL)));
+        if (original != null) {
+          return new SignedRequest(RequestKind.REPLAY, original.host(), original.signatureInput(),
+              original.signature());
+        }
+      }
+    } else if (r < options.replayRatio + options.invalidSignatureRatio) {
+      return requests.next(RequestKind.INVALID_SIGNATURE, System.currentTimeMillis() / 1000);
+    }
+    return requests.next(RequestKind.VALID, System.currentTimeMillis() / 1000);
+  }
+}
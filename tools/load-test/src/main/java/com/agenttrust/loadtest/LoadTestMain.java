@@ -0,0 +1,84 @@
+package com.agenttrust.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Load generator for gateway-service → attestation-service.
+ *
+ * <pre>
+ *   java -jar load-test.jar generate --out=DIR [--tenants=4] [--keys-per-tenant=2]
+ *   java -jar load-test.jar run --keys=DIR/keys.json [--target=http://localhost:8080] [--rate=500]
+ *       [--duration=60s] [--warmup=10s] [--replay-ratio=0.05] [--invalid-signature-ratio=0.05]
+ *       [--slo-p99=50ms] [--slo-p999=...] [--max-unexpected-ratio=0.001] [--hgrm-out=DIR]
+ * </pre>
+ *
+ * Exit status: 0 = within SLOs, 1 = SLO breached, 2 = usage or setup error.
+ * tools/load-test/run-local.sh generates keys, starts both services and runs this end to end.
+ */
+public final class LoadTestMain {
+
+  static final int EXIT_OK = 0;
+  static final int EXIT_SLO_BREACH = 1;
+  static final int EXIT_USAGE = 2;
+
+  private LoadTestMain() {
+  }
+
+  public static void main(String[] args) {
+    // Tenants are derived from Host, so every request names its own; the JDK client refuses that otherwise.
+    System.setProperty("jdk.httpclient.allowRestrictedHeaders", "host");
+    System.exit(run(args));
+  }
+
+  static int run(String[] args) {
+    if (args.length == 0 || (!"generate".equals(args[0]) && !"run".equals(args[0]))) {
+      System.err.println("usage: load-test generate|run [--name=value ...] (see LoadTestMain)");
+      return EXIT_USAGE;
+    }
+    try {
+      LoadTestOptions options = LoadTestOptions.parse(args, 1);
+      return "generate".equals(args[0]) ? generate(options) : load(options);
+    } catch (IllegalArgumentException | IOException e) {
+      System.err.println("load-test: " + e.getMessage());
+      return EXIT_USAGE;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return EXIT_USAGE;
+    }
+  }
+
+  private static int generate(LoadTestOptions options) throws IOException {
+    AgentKeys.write(AgentKeys.generate(options.tenants, options.keysPerTenant), options.out);
+    System.out.printf("wrote %d tenants x %d keys to %s%n", options.tenants, options.keysPerTenant,
+        options.out.toAbsolutePath());
+    return EXIT_OK;
+  }
+
+  private static int load(LoadTestOptions options) throws IOException, InterruptedException {
+    AgentKeys.KeySet keys = AgentKeys.read(options.keys);
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(2))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    LoadReport report = new LoadRunner(options, new SignedRequestFactory(keys.tenants()), client).run(System.out);
+    report.print(System.out, options.duration);
+    if (options.hgrmOut != null) {
+      report.writeHgrm(options.hgrmOut);
+    }
+
+    List<String> breaches = report.breaches(options);
+    if (breaches.isEmpty()) {
+      System.out.printf("%nPASS: p99 within %d ms%n", options.sloP99.toMillis());
+      return EXIT_OK;
+    }
+    System.out.println();
+    breaches.forEach(b -> System.out.println("FAIL: " + b));
+    return EXIT_SLO_BREACH;
+  }
+}
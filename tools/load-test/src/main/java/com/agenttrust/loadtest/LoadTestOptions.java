@@ -0,0 +1,125 @@
+package com.agenttrust.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options ({@code --name=value}) for both sub-commands, with the defaults used by
+ * tools/load-test/run-local.sh.
+ */
+final class LoadTestOptions {
+
+  private static final Set<String> KNOWN = Set.of(
+      "out", "tenants", "keys-per-tenant",
+      "keys", "target", "duration", "warmup", "rate", "concurrency",
+      "replay-ratio", "invalid-signature-ratio", "slo-p99", "slo-p999", "max-unexpected-ratio", "hgrm-out");
+
+  // generate
+  Path out = Path.of("target", "load-test");
+  int tenants = 4;
+  int keysPerTenant = 2;
+
+  // run
+  Path keys = Path.of("target", "load-test", AgentKeys.KEYS_FILE);
+  URI target = URI.create("http://localhost:8080");
+  Duration duration = Duration.ofSeconds(60);
+  Duration warmup = Duration.ofSeconds(10);
+  /** Requests per second on a fixed schedule (open model); 0 = closed loop with {@code concurrency} workers. */
+  int rate = 500;
+  int concurrency = 64;
+  double replayRatio = 0.05;
+  double invalidSignatureRatio = 0.05;
+  Duration sloP99 = Duration.ofMillis(50);
+  /** Optional; null = not checked. */
+  Duration sloP999;
+  double maxUnexpectedRatio = 0.001;
+  /** Optional directory for per-outcome .hgrm percentile files (plot with HdrHistogram's plotter). */
+  Path hgrmOut;
+
+  static LoadTestOptions parse(String[] args, int from) {
+    Map<String, String> values = new HashMap<>();
+    for (int i = from; i < args.length; i++) {
+      String arg = args[i];
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("expected --name=value, got: " + arg);
+      }
+      String name = arg.substring(2, eq);
+      if (!KNOWN.contains(name)) {
+        throw new IllegalArgumentException("unknown option: --" + name);
+      }
+      values.put(name, arg.substring(eq + 1));
+    }
+
+    LoadTestOptions o = new LoadTestOptions();
+    values.forEach((name, v) -> {
+      switch (name) {
+        case "out" -> o.out = Path.of(v);
+        case "tenants" -> o.tenants = positive(name, Integer.parseInt(v));
+        case "keys-per-tenant" -> o.keysPerTenant = positive(name, Integer.parseInt(v));
+        case "keys" -> o.keys = Path.of(v);
+        case "target" -> o.target = URI.create(v);
+        case "duration" -> o.duration = duration(name, v);
+        case "warmup" -> o.warmup = duration(name, v);
+        case "rate" -> o.rate = Integer.parseInt(v);
+        case "concurrency" -> o.concurrency = positive(name, Integer.parseInt(v));
+        case "replay-ratio" -> o.replayRatio = ratio(name, v);
+        case "invalid-signature-ratio" -> o.invalidSignatureRatio = ratio(name, v);
+        case "slo-p99" -> o.sloP99 = duration(name, v);
+        case "slo-p999" -> o.sloP999 = duration(name, v);
+        case "max-unexpected-ratio" -> o.maxUnexpectedRatio = ratio(name, v);
+        case "hgrm-out" -> o.hgrmOut = Path.of(v);
+        default -> throw new IllegalStateException(name);
+      }
+    });
+    if (o.rate < 0) {
+      throw new IllegalArgumentException("--rate must be >= 0");
+    }
+    if (o.replayRatio + o.invalidSignatureRatio > 1.0) {
+      throw new IllegalArgumentException("--replay-ratio + --invalid-signature-ratio must not exceed 1");
+    }
+    if (o.duration.isZero() || o.duration.isNegative()) {
+      throw new IllegalArgumentException("--duration must be positive");
+    }
+    return o;
+  }
+
+  /**
+   * Accepts 250ms, 30s, 2m or a plain number of seconds.
+   */
+  static Duration duration(String name, String v) {
+    try {
+      if (v.endsWith("ms")) {
+        return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+      }
+      if (v.endsWith("s")) {
+        return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+      }
+      if (v.endsWith("m")) {
+        return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+      }
+      return Duration.ofSeconds(Long.parseLong(v));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("--" + name + ": not a duration: " + v);
+    }
+  }
+
+  private static int positive(String name, int v) {
+    if (v <= 0) {
+      throw new IllegalArgumentException("--" + name + " must be positive");
+    }
+    return v;
+  }
+
+  private static double ratio(String name, String v) {
+    double d = Double.parseDouble(v);
+    if (d < 0 || d > 1) {
+      throw new IllegalArgumentException("--" + name + " must be within [0, 1]");
+    }
+    return d;
+  }
+}
@@ -0,0 +1,28 @@
+package com.agenttrust.loadtest;
+
+/**
+ * Traffic mix of a run, each with the gateway answer it must get.
+ */
+enum RequestKind {
+
+  VALID(200, null),
+  /** Exact resend of an already-answered valid request (same nonce). */
+  REPLAY(409, "ATTESTATION_REPLAY_DETECTED"),
+  /** Well-formed headers, signature bytes that do not verify. */
+  INVALID_SIGNATURE(401, "ATTESTATION_INVALID_SIGNATURE");
+
+  final int expectedStatus;
+  final String expectedErrorCode;
+
+  RequestKind(int expectedStatus, String expectedErrorCode) {
+    this.expectedStatus = expectedStatus;
+    this.expectedErrorCode = expectedErrorCode;
+  }
+
+  boolean matches(int status, String body) {
+    if (status != expectedStatus) {
+      return false;
+    }
+    return expectedErrorCode == null || (body != null && body.contains("\"" + expectedErrorCode + "\""));
+  }
+}
@@ -0,0 +1,100 @@
+package com.agenttrust.loadtest;
+
+import com.agenttrust.loadtest.AgentKeys.SigningKey;
+import com.agenttrust.loadtest.AgentKeys.Tenant;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Signs requests the way an agent does for attestation-service's default profile: RFC 9421 over
+ * {@code @authority}, {@code @path} and {@code @signature-params} with keyid, alg, created, expires,
+ * nonce and tag, Ed25519.
+ */
+final class SignedRequestFactory {
+
+  static final String PATH = "/v1/agent/verify";
+  static final String LABEL = "sig1";
+  static final String COVERED = "(\"@authority\" \"@path\" \"@signature-params\")";
+  static final String ALG = "ed25519";
+  static final String TAG = "agenttrust-load";
+  static final long VALIDITY_SECONDS = 120;
+
+  /**
+   * What the gateway receives: Host plus the two signature headers.
+   */
+  record SignedRequest(RequestKind kind, String host, String signatureInput, String signature) {
+  }
+
+  private final List<Tenant> tenants;
+  private final PrivateKey[][] privateKeys;
+
+  SignedRequestFactory(List<Tenant> tenants) {
+    this.tenants = tenants;
+    this.privateKeys = new PrivateKey[tenants.size()][];
+    for (int t = 0; t < tenants.size(); t++) {
+      List<SigningKey> keys = tenants.get(t).keys();
+      privateKeys[t] = new PrivateKey[keys.size()];
+      for (int k = 0; k < keys.size(); k++) {
+        privateKeys[t][k] = keys.get(k).privateKey();
+      }
+    }
+  }
+
+  /**
+   * A fresh request from a uniformly chosen tenant and key; {@code INVALID_SIGNATURE} flips one
+   * bit of an otherwise correct signature.
+   */
+  SignedRequest next(RequestKind kind, long nowEpochSeconds) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int t = random.nextInt(tenants.size());
+    Tenant tenant = tenants.get(t);
+    int k = random.nextInt(tenant.keys().size());
+
+    long created = nowEpochSeconds;
+    String params = COVERED
+        + ";created=" + created
+        + ";expires=" + (created + VALIDITY_SECONDS)
+        + ";keyid=\"" + tenant.keys().get(k).keyId() + "\""
+        + ";alg=\"" + ALG + "\""
+        + ";nonce=\"" + nonce(random) + "\""
+        + ";tag=\"" + TAG + "\"";
+
+    byte[] signature = sign(privateKeys[t][k], signatureBase(tenant.host(), PATH, params));
+    if (kind == RequestKind.INVALID_SIGNATURE) {
+      signature[random.nextInt(signature.length)] ^= (byte) (1 << random.nextInt(8));
+    }
+    return new SignedRequest(kind, tenant.host(), LABEL + "=" + params,
+        LABEL + "=:" + Base64.getEncoder().encodeToString(signature) + ":");
+  }
+
+  /**
+   * Same lines and order as attestation-service's Rfc9421SignatureBaseBuilder for this profile.
+   */
+  static String signatureBase(String authority, String path, String signatureParams) {
+    return "\"@authority\": \"" + authority + "\"\n"
+        + "\"@path\": \"" + path + "\"\n"
+        + "\"@signature-params\": " + signatureParams;
+  }
+
+  private static byte[] sign(PrivateKey key, String base) {
+    try {
+      Signature signer = Signature.getInstance("Ed25519");
+      signer.initSign(key);
+      signer.update(base.getBytes(StandardCharsets.UTF_8));
+      return signer.sign();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Ed25519 signing failed", e);
+    }
+  }
+
+  private static String nonce(ThreadLocalRandom random) {
+    byte[] bytes = new byte[16];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
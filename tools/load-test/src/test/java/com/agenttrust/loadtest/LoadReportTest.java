@@ -0,0 +1,69 @@
+package com.agenttrust.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LoadReportTest {
+
+  private static final long MS = 1_000_000L;
+
+  @Test
+  void breaches_whenP99AboveSlo() {
+    LoadTestOptions options = LoadTestOptions.parse(new String[] {"run", "--slo-p99=20ms"}, 1);
+    LoadReport report = new LoadReport();
+    for (int i = 0; i < 980; i++) {
+      report.record(RequestKind.VALID, 5 * MS, "200", true);
+    }
+    assertEquals(List.of(), report.breaches(options));
+
+    for (int i = 0; i < 20; i++) {
+      report.record(RequestKind.INVALID_SIGNATURE, 80 * MS, "401", true);
+    }
+    List<String> breaches = report.breaches(options);
+    assertEquals(1, breaches.size());
+    assertTrue(breaches.get(0).startsWith("p99 80."), breaches.get(0));
+  }
+
+  @Test
+  void breaches_onUnexpectedAnswersAndOptionalP999() {
+    LoadTestOptions options = LoadTestOptions.parse(
+        new String[] {"run", "--slo-p99=1s", "--slo-p999=50ms", "--max-unexpected-ratio=0.01"}, 1);
+    LoadReport report = new LoadReport();
+    for (int i = 0; i < 990; i++) {
+      report.record(RequestKind.VALID, MS, "200", true);
+    }
+    for (int i = 0; i < 10; i++) {
+      report.record(RequestKind.REPLAY, 200 * MS, "200", false);
+    }
+    assertEquals(1, report.breaches(options).size(), "p99.9 only; 1% unexpected is allowed");
+
+    report.record(RequestKind.VALID, MS, "HttpTimeoutException", false);
+    assertEquals(2, report.breaches(options).size());
+  }
+
+  @Test
+  void emptyRun_fails() {
+    assertFalse(new LoadReport().breaches(LoadTestOptions.parse(new String[] {"run"}, 1)).isEmpty());
+  }
+
+  @Test
+  void requestKinds_matchGatewayAnswers() {
+    assertTrue(RequestKind.VALID.matches(200, "{\"verified\":true}"));
+    assertTrue(RequestKind.REPLAY.matches(409, "{\"errorCode\":\"ATTESTATION_REPLAY_DETECTED\"}"));
+    assertFalse(RequestKind.REPLAY.matches(401, "{\"errorCode\":\"ATTESTATION_INVALID_SIGNATURE\"}"));
+    assertFalse(RequestKind.INVALID_SIGNATURE.matches(429, null));
+  }
+
+  @Test
+  void options_rejectBadValues() {
+    assertEquals(Duration.ofMillis(250), LoadTestOptions.duration("x", "250ms"));
+    assertEquals(Duration.ofMinutes(2), LoadTestOptions.duration("x", "2m"));
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[] {"run", "--nope=1"}, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> LoadTestOptions.parse(new String[] {"run", "--replay-ratio=0.7", "--invalid-signature-ratio=0.5"}, 1));
+    assertEquals(LoadTestMain.EXIT_USAGE, LoadTestMain.run(new String[] {"bench"}));
+  }
+}
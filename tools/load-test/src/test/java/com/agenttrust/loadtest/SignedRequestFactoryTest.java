@@ -0,0 +1,100 @@
+package com.agenttrust.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.agenttrust.loadtest.SignedRequestFactory.SignedRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SignedRequestFactoryTest {
+
+  private static final long NOW = 1_760_000_000L;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void valid_verifiesWithRegistryKey_overAttestationSignatureBase() throws Exception {
+    AgentKeys.KeySet keys = AgentKeys.generate(1, 1);
+    AgentKeys.Tenant tenant = keys.tenants().get(0);
+    SignedRequest request = new SignedRequestFactory(keys.tenants()).next(RequestKind.VALID, NOW);
+
+    assertEquals("tenant-0.load.local", request.host());
+    String params = request.signatureInput().substring("sig1=".length());
+    assertTrue(params.startsWith("(\"@authority\" \"@path\" \"@signature-params\");created=" + NOW
+        + ";expires=" + (NOW + 120) + ";keyid=\"load-tenant-0-key-0\";alg=\"ed25519\";nonce=\""), params);
+    assertTrue(params.endsWith(";tag=\"agenttrust-load\""), params);
+
+    String base = "\"@authority\": \"tenant-0.load.local\"\n"
+        + "\"@path\": \"/v1/agent/verify\"\n"
+        + "\"@signature-params\": " + params;
+    assertTrue(verify(tenant.keys().get(0).publicKeyBase64(), base, request.signature()));
+
+    SignedRequest invalid = new SignedRequestFactory(keys.tenants()).next(RequestKind.INVALID_SIGNATURE, NOW);
+    String invalidBase = SignedRequestFactory.signatureBase(invalid.host(), SignedRequestFactory.PATH,
+        invalid.signatureInput().substring("sig1=".length()));
+    assertFalse(verify(tenant.keys().get(0).publicKeyBase64(), invalidBase, invalid.signature()));
+  }
+
+  @Test
+  void requests_spreadOverTenants_withFreshNonces() {
+    AgentKeys.KeySet keys = AgentKeys.generate(3, 2);
+    SignedRequestFactory factory = new SignedRequestFactory(keys.tenants());
+
+    Set<String> hosts = new HashSet<>();
+    Set<String> inputs = new HashSet<>();
+    for (int i = 0; i < 200; i++) {
+      SignedRequest r = factory.next(RequestKind.VALID, NOW);
+      hosts.add(r.host());
+      inputs.add(r.signatureInput());
+    }
+    assertEquals(3, hosts.size());
+    assertEquals(200, inputs.size());
+  }
+
+  @Test
+  void keys_roundTripThroughFiles_andRegistryHoldsOnlyPublicKeys() throws Exception {
+    AgentKeys.KeySet keys = AgentKeys.generate(2, 2);
+    AgentKeys.write(keys, dir);
+
+    assertEquals(keys, AgentKeys.read(dir.resolve(AgentKeys.KEYS_FILE)));
+    String registry = Files.readString(dir.resolve(AgentKeys.REGISTRY_FILE));
+    assertTrue(registry.contains("keyId: \"load-tenant-1-key-1\""), registry);
+    assertFalse(registry.contains(keys.tenants().get(0).keys().get(0).privateKeyBase64()));
+    String tenants = Files.readString(dir.resolve(AgentKeys.GATEWAY_TENANTS_FILE));
+    assertTrue(tenants.contains("'[tenant-1.load.local]': \"load-tenant-1\""), tenants);
+  }
+
+  private static boolean verify(String rawPublicKeyBase64, String base, String signatureHeader) throws Exception {
+    // Raw 32-byte key as stored in the registry, wrapped back into X.509 for the JDK.
+    byte[] spki = HexFormat.of().parseHex("302a300506032b6570032100");
+    byte[] raw = Base64.getDecoder().decode(rawPublicKeyBase64);
+    byte[] encoded = new byte[spki.length + raw.length];
+    System.arraycopy(spki, 0, encoded, 0, spki.length);
+    System.arraycopy(raw, 0, encoded, spki.length, raw.length);
+    PublicKey key = KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded));
+
+    String b64 = signatureHeader.substring("sig1=:".length(), signatureHeader.length() - 1);
+    Signature verifier = Signature.getInstance("Ed25519");
+    verifier.initVerify(key);
+    verifier.update(base.getBytes(StandardCharsets.UTF_8));
+    try {
+      return verifier.verify(Base64.getDecoder().decode(b64));
+    } catch (SignatureException e) {
+      // A flipped bit in R can leave no valid curve point; attestation-service treats that as a mismatch too.
+      return false;
+    }
+  }
+}